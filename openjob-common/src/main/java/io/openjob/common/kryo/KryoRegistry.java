@@ -0,0 +1,134 @@
+package io.openjob.common.kryo;
+
+import com.esotericsoftware.kryo.kryo5.Kryo;
+import io.openjob.common.request.ServerBatchCheckTaskMasterRequest;
+import io.openjob.common.request.ServerCheckTaskMasterRequest;
+import io.openjob.common.request.ServerDelayInstanceStopRequest;
+import io.openjob.common.request.ServerInstanceTaskChildListPullRequest;
+import io.openjob.common.request.ServerInstanceTaskListPullRequest;
+import io.openjob.common.request.ServerStopInstanceTaskRequest;
+import io.openjob.common.request.ServerStopJobInstanceRequest;
+import io.openjob.common.request.ServerSubmitJobInstanceRequest;
+import io.openjob.common.request.ServerWorkerHeartbeatRequest;
+import io.openjob.common.request.WorkerDelayAddRequest;
+import io.openjob.common.request.WorkerDelayItemPullRequest;
+import io.openjob.common.request.WorkerDelayPullRequest;
+import io.openjob.common.request.WorkerDelayStatusRequest;
+import io.openjob.common.request.WorkerDelayTaskRequest;
+import io.openjob.common.request.WorkerDelayTopicPullRequest;
+import io.openjob.common.request.WorkerHeartbeatRequest;
+import io.openjob.common.request.WorkerJobInstanceStatusRequest;
+import io.openjob.common.request.WorkerJobInstanceTaskBatchRequest;
+import io.openjob.common.request.WorkerJobInstanceTaskLogFieldRequest;
+import io.openjob.common.request.WorkerJobInstanceTaskLogRequest;
+import io.openjob.common.request.WorkerJobInstanceTaskRequest;
+import io.openjob.common.request.WorkerStartRequest;
+import io.openjob.common.request.WorkerStopRequest;
+import io.openjob.common.response.Result;
+import io.openjob.common.response.ServerDelayAddResponse;
+import io.openjob.common.response.ServerDelayInstanceResponse;
+import io.openjob.common.response.ServerDelayPullResponse;
+import io.openjob.common.response.ServerDelayTopicPullResponse;
+import io.openjob.common.response.ServerDelayTopicResponse;
+import io.openjob.common.response.ServerHeartbeatResponse;
+import io.openjob.common.response.ServerHeartbeatSystemResponse;
+import io.openjob.common.response.ServerResponse;
+import io.openjob.common.response.ServerWorkerStartResponse;
+import io.openjob.common.response.WorkerBatchCheckTaskMasterResponse;
+import io.openjob.common.response.WorkerInstanceTaskChildListPullResponse;
+import io.openjob.common.response.WorkerInstanceTaskListPullResponse;
+import io.openjob.common.response.WorkerInstanceTaskResponse;
+import io.openjob.common.response.WorkerResponse;
+import io.openjob.common.response.WorkerSubmitJobInstanceResponse;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+
+/**
+ * Stable kryo registration ids of messages exchanged between server and worker.
+ * Registered class is written as a varint id instead of full class name, unregistered class still works by name.
+ * Ids must never be reused or reordered, new class is always appended with a new id.
+ *
+ * @author stelin swoft@qq.com
+ * @since 1.0.8
+ */
+public class KryoRegistry {
+
+    /**
+     * First id, ids below are reserved by kryo default registrations.
+     */
+    private static final int BASE_ID = 100;
+
+    /**
+     * Registered classes, index + BASE_ID is the id.
+     */
+    private static final Class<?>[] CLASSES = new Class<?>[]{
+            // Common types
+            byte[].class,
+            ArrayList.class,
+            LinkedList.class,
+            HashMap.class,
+            LinkedHashMap.class,
+            HashSet.class,
+
+            // Requests
+            ServerCheckTaskMasterRequest.class,
+            ServerDelayInstanceStopRequest.class,
+            ServerInstanceTaskChildListPullRequest.class,
+            ServerInstanceTaskListPullRequest.class,
+            ServerStopInstanceTaskRequest.class,
+            ServerStopJobInstanceRequest.class,
+            ServerSubmitJobInstanceRequest.class,
+            ServerWorkerHeartbeatRequest.class,
+            WorkerDelayAddRequest.class,
+            WorkerDelayItemPullRequest.class,
+            WorkerDelayPullRequest.class,
+            WorkerDelayStatusRequest.class,
+            WorkerDelayTaskRequest.class,
+            WorkerDelayTopicPullRequest.class,
+            WorkerHeartbeatRequest.class,
+            WorkerJobInstanceStatusRequest.class,
+            WorkerJobInstanceTaskBatchRequest.class,
+            WorkerJobInstanceTaskLogFieldRequest.class,
+            WorkerJobInstanceTaskLogRequest.class,
+            WorkerJobInstanceTaskRequest.class,
+            WorkerStartRequest.class,
+            WorkerStartRequest.Metric.class,
+            WorkerStopRequest.class,
+
+            // Responses
+            Result.class,
+            ServerDelayAddResponse.class,
+            ServerDelayInstanceResponse.class,
+            ServerDelayPullResponse.class,
+            ServerDelayTopicPullResponse.class,
+            ServerDelayTopicResponse.class,
+            ServerHeartbeatResponse.class,
+            ServerHeartbeatSystemResponse.class,
+            ServerResponse.class,
+            ServerWorkerStartResponse.class,
+            WorkerInstanceTaskChildListPullResponse.class,
+            WorkerInstanceTaskListPullResponse.class,
+            WorkerInstanceTaskResponse.class,
+            WorkerResponse.class,
+
+            // Appended since 1.0.8
+            ServerBatchCheckTaskMasterRequest.class,
+            WorkerBatchCheckTaskMasterResponse.class,
+            WorkerSubmitJobInstanceResponse.class,
+    };
+
+    /**
+     * Register classes
+     *
+     * @param kryo kryo
+     */
+    public static void register(Kryo kryo) {
+        for (int i = 0; i < CLASSES.length; i++) {
+            kryo.register(CLASSES[i], BASE_ID + i);
+        }
+    }
+}
@@ -1,14 +1,53 @@
 package io.openjob.common.kryo;
 
+import akka.actor.ExtendedActorSystem;
+import akka.serialization.ByteBufferSerializer;
 import akka.serialization.JSerializer;
+import com.esotericsoftware.kryo.kryo5.Kryo;
+import com.esotericsoftware.kryo.kryo5.io.ByteBufferInput;
+import com.esotericsoftware.kryo.kryo5.io.ByteBufferOutput;
 import io.openjob.common.util.KryoUtil;
 
+import java.nio.ByteBuffer;
+
 /**
+ * Compact format writes registered classes as ids without reference tracking, it is off by default,
+ * so nodes of different versions decode each other's messages. Turn on `openjob.kryo-compact` when all nodes are upgraded.
+ * Artery calls the `ByteBuffer` methods and writes into its own pooled buffers directly.
+ *
  * @author stelin swoft@qq.com
  * @see akka https://doc.akka.io/docs/akka/current/serialization.html
  * @since 1.0.0
  */
-public class KryoSerializer extends JSerializer {
+public class KryoSerializer extends JSerializer implements ByteBufferSerializer {
+    /**
+     * Compact format config path.
+     */
+    private static final String COMPACT_CONFIG = "openjob.kryo-compact";
+
+    private static final ThreadLocal<ByteBufferOutput> OUTPUT_LOCAL = ThreadLocal.withInitial(ByteBufferOutput::new);
+
+    private static final ThreadLocal<ByteBufferInput> INPUT_LOCAL = ThreadLocal.withInitial(ByteBufferInput::new);
+
+    private final ThreadLocal<Kryo> kryoLocal;
+
+    /**
+     * Created by akka with actor system config.
+     *
+     * @param system actor system
+     */
+    public KryoSerializer(ExtendedActorSystem system) {
+        this(system.settings().config().hasPath(COMPACT_CONFIG) && system.settings().config().getBoolean(COMPACT_CONFIG));
+    }
+
+    /**
+     * New serializer.
+     *
+     * @param compact compact format, registered classes without reference tracking.
+     */
+    public KryoSerializer(Boolean compact) {
+        this.kryoLocal = ThreadLocal.withInitial(() -> KryoUtil.newKryo(!compact, compact));
+    }
 
     /**
      * Deserialize the given array to object.
@@ -20,7 +59,7 @@ public class KryoSerializer extends JSerializer {
      */
     @Override
     public Object fromBinaryJava(byte[] bytes, Class<?> manifest) {
-        return KryoUtil.deserialize(bytes);
+        return KryoUtil.deserialize(this.kryoLocal.get(), bytes);
     }
 
     /**
@@ -43,7 +82,39 @@ public class KryoSerializer extends JSerializer {
      */
     @Override
     public byte[] toBinary(Object o) {
-        return KryoUtil.serialize(o);
+        return KryoUtil.serialize(this.kryoLocal.get(), o);
+    }
+
+    /**
+     * Serialize the given object into the buffer.
+     *
+     * @param o   object
+     * @param buf buffer
+     */
+    @Override
+    public void toBinary(Object o, ByteBuffer buf) {
+        // Buffer can not grow, overflow is thrown to artery.
+        ByteBufferOutput output = OUTPUT_LOCAL.get();
+        output.setBuffer(buf, buf.capacity());
+        this.kryoLocal.get().writeClassAndObject(output, o);
+        output.flush();
+        buf.position(output.position());
+    }
+
+    /**
+     * Deserialize the buffer to object.
+     *
+     * @param buf      buffer
+     * @param manifest manifest
+     * @return object
+     */
+    @Override
+    public Object fromBinary(ByteBuffer buf, String manifest) {
+        ByteBufferInput input = INPUT_LOCAL.get();
+        input.setBuffer(buf);
+        Object object = this.kryoLocal.get().readClassAndObject(input);
+        buf.position(input.position());
+        return object;
     }
 
     /**
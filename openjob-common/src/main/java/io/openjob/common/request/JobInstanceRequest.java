@@ -0,0 +1,17 @@
+package io.openjob.common.request;
+
+/**
+ * Request of one job instance, used to route all requests of the instance to the same actor.
+ *
+ * @author stelin swoft@qq.com
+ * @since 1.0.8
+ */
+public interface JobInstanceRequest {
+
+    /**
+     * Job instance id.
+     *
+     * @return Long
+     */
+    Long getJobInstanceId();
+}
@@ -0,0 +1,17 @@
+package io.openjob.common.request;
+
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Check task masters of many job instances on one worker.
+ *
+ * @author stelin swoft@qq.com
+ * @since 1.0.8
+ */
+@Data
+public class ServerBatchCheckTaskMasterRequest implements Serializable {
+    private List<Long> jobInstanceIds;
+}
@@ -9,7 +9,7 @@ import java.io.Serializable;
  * @since 1.0.0
  */
 @Data
-public class ServerCheckTaskMasterRequest implements Serializable {
+public class ServerCheckTaskMasterRequest implements Serializable, JobInstanceRequest {
     private Long jobId;
     private Long jobInstanceId;
 }
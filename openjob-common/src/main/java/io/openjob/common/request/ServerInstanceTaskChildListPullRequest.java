@@ -11,7 +11,7 @@ import java.io.Serializable;
  * @since 1.0.7
  */
 @Data
-public class ServerInstanceTaskChildListPullRequest implements Serializable {
+public class ServerInstanceTaskChildListPullRequest implements Serializable, JobInstanceRequest {
 
     /**
      * Job instance id
@@ -9,7 +9,7 @@ import java.io.Serializable;
  * @since 1.0.7
  */
 @Data
-public class ServerStopInstanceTaskRequest implements Serializable {
+public class ServerStopInstanceTaskRequest implements Serializable, JobInstanceRequest {
     /**
      * Job instance id
      */
@@ -9,7 +9,7 @@ import java.io.Serializable;
  * @since 1.0.0
  */
 @Data
-public class ServerStopJobInstanceRequest implements Serializable {
+public class ServerStopJobInstanceRequest implements Serializable, JobInstanceRequest {
     private Long jobId;
 
     private Long jobInstanceId;
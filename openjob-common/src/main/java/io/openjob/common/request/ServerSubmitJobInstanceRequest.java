@@ -4,14 +4,20 @@ import lombok.Data;
 
 import java.io.Serializable;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * @author stelin swoft@qq.com
  * @since 1.0.0
  */
 @Data
-public class ServerSubmitJobInstanceRequest implements Serializable {
+public class ServerSubmitJobInstanceRequest implements Serializable, JobInstanceRequest {
     private Long jobId;
+
+    /**
+     * Version of job definition, definition fields are omitted when worker has cached this version.
+     */
+    private Long jobVersion;
     private Long jobInstanceId;
     private Long circleId;
     private Long dispatchVersion;
@@ -30,4 +36,18 @@ public class ServerSubmitJobInstanceRequest implements Serializable {
     private String timeExpressionType;
     private String timeExpression;
     private Integer executeOnce;
+
+    /**
+     * Slots id of job instance, worker routes instance messages to the server owning it.
+     */
+    private Long slotsId;
+
+    /**
+     * Whether definition fields are omitted.
+     *
+     * @return Boolean
+     */
+    public Boolean withoutDefinition() {
+        return Objects.isNull(this.processorType);
+    }
 }
@@ -23,4 +23,39 @@ public class WorkerHeartbeatRequest implements Serializable {
      * Running job instance ids.
      */
     private List<Long> runningJobInstanceIds;
+
+    /**
+     * Worker membership version known by worker.
+     */
+    private Long workerVersion;
+
+    /**
+     * Version of server slots known by worker.
+     */
+    private Long slotsVersion;
+
+    /**
+     * Tasks queued or running in task containers.
+     */
+    private Integer containerTaskNum;
+
+    /**
+     * System load average of last minute, negative is not available.
+     */
+    private Double systemLoad;
+
+    /**
+     * Available processors.
+     */
+    private Integer cpuNum;
+
+    /**
+     * Capacity weight of worker, default is available processors.
+     */
+    private Integer capacity;
+
+    /**
+     * Worker caches job definitions, job instances can be dispatched without definition.
+     */
+    private Boolean definitionCache;
 }
@@ -53,4 +53,9 @@ public class WorkerJobInstanceStatusRequest implements Serializable {
      * Delivery id.
      */
     private Long deliveryId;
+
+    /**
+     * Slots id, only for routing.
+     */
+    private Long slotsId;
 }
@@ -22,4 +22,9 @@ public class WorkerJobInstanceTaskBatchRequest implements Serializable {
      * Aggregation many circle task, if second delay task.
      */
     private List<WorkerJobInstanceTaskRequest> taskRequestList;
+
+    /**
+     * Slots id, only for routing.
+     */
+    private Long slotsId;
 }
@@ -4,6 +4,7 @@ import lombok.Data;
 
 import java.io.Serializable;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -14,9 +15,35 @@ import java.util.Set;
 public class ServerHeartbeatResponse implements Serializable {
 
     /**
-     * Worker address list.
+     * Worker address list, only returned when worker version is unknown.
      */
     private Set<String> workerAddressList;
 
+    /**
+     * Worker membership version.
+     */
+    private Long workerVersion;
+
+    /**
+     * Added workers since the worker version.
+     */
+    private Set<String> addWorkers;
+
+    /**
+     * Removed workers since the worker version.
+     */
+    private Set<String> removeWorkers;
+
     private ServerHeartbeatSystemResponse systemResponse;
+
+    /**
+     * Version of server slots.
+     */
+    private Long slotsVersion;
+
+    /**
+     * Server slots, only returned when worker version is changed.
+     * Key is server akka address, value is slots ids.
+     */
+    private Map<String, List<Long>> serverSlots;
 }
@@ -0,0 +1,18 @@
+package io.openjob.common.response;
+
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * @author stelin swoft@qq.com
+ * @since 1.0.8
+ */
+@Data
+public class WorkerBatchCheckTaskMasterResponse implements Serializable {
+    /**
+     * Job instances with running task master.
+     */
+    private List<Long> jobInstanceIds;
+}
@@ -0,0 +1,17 @@
+package io.openjob.common.response;
+
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * @author stelin swoft@qq.com
+ * @since 1.0.8
+ */
+@Data
+public class WorkerSubmitJobInstanceResponse implements Serializable {
+    /**
+     * Job definition of submit request version is not cached by worker, request must be resent with definition.
+     */
+    private Boolean definitionMiss = false;
+}
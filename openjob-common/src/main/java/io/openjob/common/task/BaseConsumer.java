@@ -18,7 +18,14 @@ import java.util.concurrent.atomic.AtomicInteger;
 @Slf4j
 public abstract class BaseConsumer<T> {
 
+    /**
+     * Max park time(ms) when queue is empty.
+     */
     protected Long pollIdleTime = 1000L;
+
+    /**
+     * Max park time(ms) for a full batch after a partial batch.
+     */
     protected Long pollSleepTime = 500L;
     protected final Long id;
     protected final Integer consumerCoreThreadNum;
@@ -125,16 +132,21 @@ public abstract class BaseConsumer<T> {
 
         this.pullExecutor.submit(() -> {
             try {
+                boolean partial = false;
                 while (!Thread.currentThread().isInterrupted()) {
-                    List<T> tasks = this.pollTasks();
-                    if (tasks.size() < this.pollSize) {
-                        if (tasks.isEmpty()) {
-                            Thread.sleep(this.pollIdleTime);
-                            continue;
-                        }
-                        Thread.sleep(this.pollSleepTime);
+                    if (partial) {
+                        // Last batch is partial, park for a full batch at most sleep time.
+                        this.queues.await(this.pollSize, this.pollSleepTime);
+                    } else if (!this.queues.await(1, this.pollIdleTime)) {
+                        // Idle, park until the first task arrives.
+                        continue;
                     }
+
+                    List<T> tasks = this.pollTasks();
+                    partial = !tasks.isEmpty() && tasks.size() < this.pollSize;
                 }
+            } catch (InterruptedException ignored) {
+                // Stopped.
             } catch (Throwable ex) {
                 log.warn("Task consumer failed! message={}", ex.getMessage());
             }
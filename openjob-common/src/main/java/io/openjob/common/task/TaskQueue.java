@@ -1,20 +1,47 @@
 package io.openjob.common.task;
 
-import com.google.common.collect.Lists;
-
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
-import java.util.Objects;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
+ * Bounded ring buffer queue.
+ * Tasks are drained in batches under one lock, and the consumer parks until enough tasks arrive,
+ * so producers only signal it when the awaited batch size is reached.
+ *
  * @author stelin swoft@qq.com
  * @since 1.0.0
  */
 public class TaskQueue<T> {
     private final Long id;
     private final Integer capacity;
-    private final BlockingQueue<T> queues;
+    private final Object[] items;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = this.lock.newCondition();
+    private final Condition notFull = this.lock.newCondition();
+
+    /**
+     * Read index.
+     */
+    private int head;
+
+    /**
+     * Write index.
+     */
+    private int tail;
+
+    /**
+     * Task count.
+     */
+    private volatile int count;
+
+    /**
+     * Size awaited by consumer, 0 means no consumer is waiting.
+     */
+    private int awaitSize;
 
     /**
      * Task queue.
@@ -25,7 +52,7 @@ public class TaskQueue<T> {
     public TaskQueue(Long id, Integer capacity) {
         this.id = id;
         this.capacity = capacity;
-        this.queues = new LinkedBlockingQueue<>(capacity);
+        this.items = new Object[capacity];
     }
 
     /**
@@ -36,7 +63,23 @@ public class TaskQueue<T> {
      */
     public void submit(T task) throws InterruptedException {
         assert task != null;
-        queues.put(task);
+        this.lock.lockInterruptibly();
+        try {
+            while (this.count == this.items.length) {
+                this.notFull.await();
+            }
+
+            this.items[this.tail] = task;
+            this.tail = this.next(this.tail);
+            this.count++;
+
+            // Wake up consumer when awaited size is reached.
+            if (this.awaitSize > 0 && this.count >= this.awaitSize) {
+                this.notEmpty.signal();
+            }
+        } finally {
+            this.lock.unlock();
+        }
     }
 
     /**
@@ -46,23 +89,83 @@ public class TaskQueue<T> {
      * @return List
      */
     public List<T> poll(Integer size) {
-        List<T> list = Lists.newLinkedList();
-        for (int i = 0; i < size; i++) {
-            T task = queues.poll();
-            if (Objects.isNull(task)) {
-                break;
+        List<T> list = new ArrayList<>(Math.min(size, Math.max(this.count, 1)));
+        this.drainTo(list, size);
+        return list;
+    }
+
+    /**
+     * Drain tasks to collection.
+     *
+     * @param collection collection
+     * @param maxSize    max size
+     * @return drained size
+     */
+    @SuppressWarnings("unchecked")
+    public int drainTo(Collection<? super T> collection, Integer maxSize) {
+        this.lock.lock();
+        try {
+            int size = Math.min(maxSize, this.count);
+            for (int i = 0; i < size; i++) {
+                collection.add((T) this.items[this.head]);
+                this.items[this.head] = null;
+                this.head = this.next(this.head);
             }
 
-            list.add(task);
+            this.count -= size;
+            if (size > 0) {
+                this.notFull.signalAll();
+            }
+            return size;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Park until queue has the size of tasks or timeout.
+     *
+     * @param size    size
+     * @param timeout timeout(ms)
+     * @return true if queue has the size of tasks.
+     * @throws InterruptedException InterruptedException
+     */
+    public boolean await(Integer size, Long timeout) throws InterruptedException {
+        long nanos = TimeUnit.MILLISECONDS.toNanos(timeout);
+        this.lock.lockInterruptibly();
+        try {
+            this.awaitSize = size;
+            while (this.count < size) {
+                if (nanos <= 0) {
+                    return false;
+                }
+                nanos = this.notEmpty.awaitNanos(nanos);
+            }
+            return true;
+        } finally {
+            this.awaitSize = 0;
+            this.lock.unlock();
         }
-        return list;
     }
 
     /**
      * Clear
      */
     public void clear() {
-        queues.clear();
+        this.lock.lock();
+        try {
+            for (int i = 0; i < this.count; i++) {
+                this.items[this.head] = null;
+                this.head = this.next(this.head);
+            }
+
+            this.head = 0;
+            this.tail = 0;
+            this.count = 0;
+            this.notFull.signalAll();
+        } finally {
+            this.lock.unlock();
+        }
     }
 
     /**
@@ -71,7 +174,7 @@ public class TaskQueue<T> {
      * @return Integer
      */
     public Integer size() {
-        return queues.size();
+        return this.count;
     }
 
     /**
@@ -91,4 +194,8 @@ public class TaskQueue<T> {
     public Integer getCapacity() {
         return capacity;
     }
+
+    private int next(int index) {
+        return index + 1 == this.items.length ? 0 : index + 1;
+    }
 }
@@ -1,14 +1,17 @@
 package io.openjob.common.util;
 
 import akka.actor.ActorSelection;
+import akka.pattern.AskTimeoutException;
 import akka.pattern.Patterns;
-import akka.util.Timeout;
 import io.openjob.common.response.Result;
-import scala.concurrent.Await;
-import scala.concurrent.Future;
-import scala.concurrent.duration.Duration;
 
-import java.util.concurrent.TimeUnit;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
 
 /**
  * @author stelin swoft@qq.com
@@ -28,22 +31,85 @@ public class FutureUtil {
      * @return ignoredType
      */
     public static <T> T mustAsk(ActorSelection selection, Object request, Class<T> ignoredType, Long ms) {
-        Timeout timeout = new Timeout(Duration.create(ms, TimeUnit.MILLISECONDS));
-        Future<Object> future = Patterns.ask(selection, request, timeout);
-
         String path = selection.pathString();
         String anchor = selection.anchorPath().toString();
         try {
-            @SuppressWarnings("unchecked")
-            Result<T> result = (Result<T>) Await.result(future, timeout.duration());
+            return ask(selection, request, ignoredType, ms).toCompletableFuture().get();
+        } catch (ExecutionException ex) {
+            throw new RuntimeException(String.format("Must ask fail! path=%s anchor=%s", path, anchor), ex.getCause());
+        } catch (Throwable ex) {
+            throw new RuntimeException(String.format("Must ask fail! path=%s anchor=%s", path, anchor), ex);
+        }
+    }
+
+    /**
+     * Async ask, no thread is blocked while waiting for the response.
+     *
+     * @param selection   selection
+     * @param request     request
+     * @param ignoredType ignored type
+     * @param ms          milliseconds
+     * @param <T>         ignoredType
+     * @return CompletionStage, completed exceptionally on timeout or fail result.
+     */
+    public static <T> CompletionStage<T> ask(ActorSelection selection, Object request, Class<T> ignoredType, Long ms) {
+        return ask(selection, request, ignoredType, ms, 0);
+    }
+
+    /**
+     * Async ask with retry, only timeout is retried.
+     *
+     * @param selection   selection
+     * @param request     request
+     * @param ignoredType ignored type
+     * @param ms          milliseconds of every ask
+     * @param retryTimes  retry times
+     * @param <T>         ignoredType
+     * @return CompletionStage, completed exceptionally on timeout or fail result.
+     */
+    public static <T> CompletionStage<T> ask(ActorSelection selection, Object request, Class<T> ignoredType, Long ms, Integer retryTimes) {
+        CompletionStage<T> stage = Patterns.ask(selection, request, Duration.ofMillis(ms))
+                .thenApply(response -> {
+                    @SuppressWarnings("unchecked")
+                    Result<T> result = (Result<T>) response;
+                    if (!ResultUtil.isSuccess(result)) {
+                        throw new CompletionException(new RuntimeException(String.format("Must ask result fail! message=%s path=%s anchor=%s",
+                                result.getMessage(), selection.pathString(), selection.anchorPath())));
+                    }
+                    return result.getData();
+                });
+
+        if (retryTimes <= 0) {
+            return stage;
+        }
 
-            if (!ResultUtil.isSuccess(result)) {
-                throw new RuntimeException(String.format("Must ask result fail! message=%s path=%s anchor=%s", result.getMessage(), path, anchor));
+        // Retry on timeout.
+        return stage.handle((data, ex) -> {
+            if (Objects.nonNull(ex) && unwrap(ex) instanceof AskTimeoutException) {
+                return ask(selection, request, ignoredType, ms, retryTimes - 1);
             }
 
-            return result.getData();
-        } catch (Throwable ex) {
-            throw new RuntimeException(String.format("Must ask fail! path=%s anchor=%s", path, anchor), ex);
+            CompletableFuture<T> future = new CompletableFuture<>();
+            if (Objects.nonNull(ex)) {
+                future.completeExceptionally(unwrap(ex));
+            } else {
+                future.complete(data);
+            }
+            return future;
+        }).thenCompose(Function.identity());
+    }
+
+    /**
+     * Unwrap completion exception.
+     *
+     * @param throwable throwable
+     * @return Throwable
+     */
+    public static Throwable unwrap(Throwable throwable) {
+        Throwable cause = throwable;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException) && Objects.nonNull(cause.getCause())) {
+            cause = cause.getCause();
         }
+        return cause;
     }
 }
@@ -3,23 +3,31 @@ package io.openjob.common.util;
 import com.esotericsoftware.kryo.kryo5.Kryo;
 import com.esotericsoftware.kryo.kryo5.io.Input;
 import com.esotericsoftware.kryo.kryo5.io.Output;
-
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
+import io.openjob.common.kryo.KryoRegistry;
 
 /**
  * @author stelin swoft@qq.com
  * @since 1.0.0
  */
 public class KryoUtil {
-    private static final ThreadLocal<Kryo> KRYO_LOCAL = ThreadLocal.withInitial(() -> {
-        Kryo kryo = new Kryo();
 
-        kryo.setReferences(true);
-        kryo.setRegistrationRequired(false);
-        kryo.setClassLoader(Thread.currentThread().getContextClassLoader());
-        return kryo;
-    });
+    /**
+     * Initial size of pooled output buffer.
+     */
+    private static final int OUTPUT_BUFFER_SIZE = 4 * 1024;
+
+    /**
+     * Pooled output buffer larger than this is released after use.
+     */
+    private static final int MAX_POOLED_BUFFER_SIZE = 1024 * 1024;
+
+    private static final byte[] EMPTY_BYTES = new byte[0];
+
+    private static final ThreadLocal<Kryo> KRYO_LOCAL = ThreadLocal.withInitial(() -> newKryo(true, false));
+
+    private static final ThreadLocal<Output> OUTPUT_LOCAL = ThreadLocal.withInitial(KryoUtil::newOutput);
+
+    private static final ThreadLocal<Input> INPUT_LOCAL = ThreadLocal.withInitial(Input::new);
 
     /**
      * Serialize
@@ -28,14 +36,7 @@ public class KryoUtil {
      * @return byte
      */
     public static byte[] serialize(Object object) {
-        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
-        Output output = new Output(byteArrayOutputStream);
-
-        Kryo kryo = KRYO_LOCAL.get();
-        kryo.writeClassAndObject(output, object);
-        output.flush();
-
-        return byteArrayOutputStream.toByteArray();
+        return serialize(KRYO_LOCAL.get(), object);
     }
 
     /**
@@ -45,10 +46,82 @@ public class KryoUtil {
      * @return Object
      */
     public static Object deserialize(byte[] byteArray) {
-        ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(byteArray);
-        Input input = new Input(byteArrayInputStream);
+        return deserialize(KRYO_LOCAL.get(), byteArray);
+    }
+
+    /**
+     * Serialize by kryo, output buffer is pooled.
+     *
+     * @param kryo   kryo
+     * @param object object
+     * @return byte
+     */
+    public static byte[] serialize(Kryo kryo, Object object) {
+        Output output = OUTPUT_LOCAL.get();
+        try {
+            output.reset();
+            kryo.writeClassAndObject(output, object);
+            return output.toBytes();
+        } finally {
+            releaseOutput(output);
+        }
+    }
+
+    /**
+     * Deserialize by kryo, input is pooled.
+     *
+     * @param kryo      kryo
+     * @param byteArray byte array
+     * @return Object
+     */
+    public static Object deserialize(Kryo kryo, byte[] byteArray) {
+        Input input = INPUT_LOCAL.get();
+        try {
+            input.setBuffer(byteArray);
+            return kryo.readClassAndObject(input);
+        } finally {
+            // Do not hold message bytes.
+            input.setBuffer(EMPTY_BYTES);
+        }
+    }
+
+    /**
+     * New kryo with registered classes.
+     *
+     * @param references references
+     * @return Kryo
+     */
+    public static Kryo newKryo(Boolean references) {
+        return newKryo(references, true);
+    }
+
+    /**
+     * New kryo.
+     *
+     * @param references   references
+     * @param registration whether message classes are registered
+     * @return Kryo
+     */
+    public static Kryo newKryo(Boolean references, Boolean registration) {
+        Kryo kryo = new Kryo();
+
+        kryo.setReferences(references);
+        kryo.setRegistrationRequired(false);
+        kryo.setClassLoader(Thread.currentThread().getContextClassLoader());
+        if (registration) {
+            KryoRegistry.register(kryo);
+        }
+        return kryo;
+    }
+
+    private static Output newOutput() {
+        return new Output(OUTPUT_BUFFER_SIZE, -1);
+    }
 
-        Kryo kryo = KRYO_LOCAL.get();
-        return kryo.readClassAndObject(input);
+    private static void releaseOutput(Output output) {
+        // Do not hold big buffer.
+        if (output.getBuffer().length > MAX_POOLED_BUFFER_SIZE) {
+            OUTPUT_LOCAL.set(newOutput());
+        }
     }
 }
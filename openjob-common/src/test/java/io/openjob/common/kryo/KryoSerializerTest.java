@@ -0,0 +1,217 @@
+package io.openjob.common.kryo;
+
+import com.esotericsoftware.kryo.kryo5.Kryo;
+import io.openjob.common.request.WorkerHeartbeatRequest;
+import io.openjob.common.request.WorkerJobInstanceTaskBatchRequest;
+import io.openjob.common.request.WorkerJobInstanceTaskRequest;
+import io.openjob.common.util.KryoUtil;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * @author stelin swoft@qq.com
+ * @since 1.0.8
+ */
+public class KryoSerializerTest {
+    private final KryoSerializer serializer = new KryoSerializer(true);
+
+    @Test
+    public void testDefaultFormat() {
+        // Default format is the same as nodes without compact format.
+        KryoSerializer defaultSerializer = new KryoSerializer(false);
+        WorkerHeartbeatRequest request = this.heartbeatRequest();
+        byte[] bytes = defaultSerializer.toBinary(request);
+        Assertions.assertArrayEquals(KryoUtil.serialize(request), bytes);
+        Assertions.assertEquals(request, KryoUtil.deserialize(bytes));
+
+        ByteBuffer buffer = ByteBuffer.allocate(1024);
+        defaultSerializer.toBinary(request, buffer);
+        buffer.flip();
+        Assertions.assertEquals(request, defaultSerializer.fromBinary(buffer, ""));
+    }
+
+    @Test
+    public void testByteBuffer() {
+        WorkerHeartbeatRequest request = this.heartbeatRequest();
+        ByteBuffer buffer = ByteBuffer.allocate(1024);
+        serializer.toBinary(request, buffer);
+        buffer.flip();
+
+        Object object = serializer.fromBinary(buffer, "");
+        Assertions.assertEquals(request, object);
+        Assertions.assertFalse(buffer.hasRemaining());
+
+        // Same bytes with array path
+        Assertions.assertEquals(request, serializer.fromBinaryJava(serializer.toBinary(request), null));
+    }
+
+    @Test
+    public void testMessageSize() {
+        List<Object> messages = Arrays.asList(this.heartbeatRequest(), this.taskBatchRequest());
+        for (Object message : messages) {
+            int registered = serializer.toBinary(message).length;
+            int unregistered = KryoUtil.serialize(this.unregisteredKryo(), message).length;
+            Assertions.assertTrue(registered < unregistered, message.getClass().getName());
+        }
+    }
+
+    @Test
+    public void testRegistryRoundTrip() throws Exception {
+        // Registered ids are continuous from the base id.
+        Kryo kryo = KryoUtil.newKryo(false);
+        int count = 0;
+        ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+        for (int id = 100; Objects.nonNull(kryo.getRegistration(id)); id++) {
+            Class<?> clazz = kryo.getRegistration(id).getType();
+            Object message = this.sample(clazz, 0);
+            Assertions.assertNotNull(message, clazz.getName());
+
+            // Array path
+            this.assertRoundTrip(message, serializer.fromBinaryJava(serializer.toBinary(message), null));
+
+            // Buffer path
+            buffer.clear();
+            serializer.toBinary(message, buffer);
+            buffer.flip();
+            this.assertRoundTrip(message, serializer.fromBinary(buffer, ""));
+            Assertions.assertFalse(buffer.hasRemaining(), clazz.getName());
+            count++;
+        }
+        Assertions.assertTrue(count > 0);
+    }
+
+    private void assertRoundTrip(Object expected, Object actual) throws NoSuchMethodException {
+        Assertions.assertNotNull(actual);
+        Assertions.assertEquals(expected.getClass(), actual.getClass());
+        if (expected instanceof byte[]) {
+            Assertions.assertArrayEquals((byte[]) expected, (byte[]) actual);
+            return;
+        }
+
+        // Messages without fields have no equals.
+        if (!Object.class.equals(expected.getClass().getMethod("equals", Object.class).getDeclaringClass())) {
+            Assertions.assertEquals(expected, actual);
+        }
+    }
+
+    /**
+     * Sample value of type, all fields of message are set.
+     *
+     * @param type  type
+     * @param depth depth
+     * @return Object
+     */
+    @SuppressWarnings("unchecked")
+    private Object sample(Type type, int depth) throws Exception {
+        if (type instanceof ParameterizedType) {
+            ParameterizedType parameterizedType = (ParameterizedType) type;
+            Type[] args = parameterizedType.getActualTypeArguments();
+            Class<?> raw = (Class<?>) parameterizedType.getRawType();
+            if (Map.class.isAssignableFrom(raw)) {
+                Map<Object, Object> map = new HashMap<>(4);
+                map.put(this.sample(args[0], depth + 1), this.sample(args[1], depth + 1));
+                return map;
+            }
+
+            Collection<Object> collection = Set.class.isAssignableFrom(raw) ? new HashSet<>() : new ArrayList<>();
+            collection.add(this.sample(args[0], depth + 1));
+            return collection;
+        }
+
+        Class<?> clazz = type instanceof Class ? (Class<?>) type : Object.class;
+        if (String.class.equals(clazz) || Object.class.equals(clazz)) {
+            return "openjob";
+        }
+        if (Long.class.equals(clazz) || long.class.equals(clazz)) {
+            return 1001L + depth;
+        }
+        if (Integer.class.equals(clazz) || int.class.equals(clazz)) {
+            return 7 + depth;
+        }
+        if (Double.class.equals(clazz) || double.class.equals(clazz)) {
+            return 1.5D;
+        }
+        if (Boolean.class.equals(clazz) || boolean.class.equals(clazz)) {
+            return true;
+        }
+        if (byte[].class.equals(clazz)) {
+            return new byte[]{1, 2, 3};
+        }
+
+        Object object = clazz.getDeclaredConstructor().newInstance();
+        if (object instanceof Collection) {
+            ((Collection<Object>) object).add("openjob");
+            return object;
+        }
+        if (object instanceof Map) {
+            ((Map<Object, Object>) object).put("openjob", 1001L);
+            return object;
+        }
+
+        // Fields of class and super classes
+        for (Class<?> c = clazz; Objects.nonNull(c) && !Object.class.equals(c); c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || depth > 3) {
+                    continue;
+                }
+                field.setAccessible(true);
+                field.set(object, this.sample(field.getGenericType(), depth + 1));
+            }
+        }
+        return object;
+    }
+
+    private Kryo unregisteredKryo() {
+        Kryo kryo = new Kryo();
+        kryo.setReferences(true);
+        kryo.setRegistrationRequired(false);
+        return kryo;
+    }
+
+    private WorkerHeartbeatRequest heartbeatRequest() {
+        WorkerHeartbeatRequest request = new WorkerHeartbeatRequest();
+        request.setAppId(1L);
+        request.setAppName("openjob");
+        request.setAddress("127.0.0.1:25588");
+        request.setVersion("1.0.8");
+        request.setRunningJobInstanceIds(new ArrayList<>(Arrays.asList(1001L, 1002L, 1003L)));
+        return request;
+    }
+
+    private WorkerJobInstanceTaskBatchRequest taskBatchRequest() {
+        List<WorkerJobInstanceTaskRequest> tasks = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            WorkerJobInstanceTaskRequest task = new WorkerJobInstanceTaskRequest();
+            task.setJobId(1L);
+            task.setJobInstanceId(1001L);
+            task.setDispatchVersion(1L);
+            task.setCircleId(1L);
+            task.setTaskId("1001_1_" + i);
+            task.setStatus(5);
+            task.setWorkerAddress("127.0.0.1:25588");
+            task.setCreateTime(System.currentTimeMillis());
+            task.setUpdateTime(System.currentTimeMillis());
+            tasks.add(task);
+        }
+
+        WorkerJobInstanceTaskBatchRequest request = new WorkerJobInstanceTaskBatchRequest();
+        request.setDeliveryId(1L);
+        request.setTaskRequestList(tasks);
+        return request;
+    }
+}
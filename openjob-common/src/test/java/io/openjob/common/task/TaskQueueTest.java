@@ -0,0 +1,87 @@
+package io.openjob.common.task;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * @author stelin swoft@qq.com
+ * @since 1.0.8
+ */
+public class TaskQueueTest {
+    @Test
+    public void testDrain() throws InterruptedException {
+        TaskQueue<Integer> queue = new TaskQueue<>(1L, 4);
+
+        // Wrap around the ring.
+        for (int round = 0; round < 3; round++) {
+            queue.submit(1);
+            queue.submit(2);
+            queue.submit(3);
+            Assertions.assertEquals(Arrays.asList(1, 2), queue.poll(2));
+            Assertions.assertEquals(1, queue.size());
+
+            List<Integer> list = new ArrayList<>();
+            Assertions.assertEquals(1, queue.drainTo(list, 10));
+            Assertions.assertEquals(Arrays.asList(3), list);
+        }
+
+        Assertions.assertTrue(queue.poll(10).isEmpty());
+    }
+
+    @Test
+    public void testAwait() throws InterruptedException {
+        TaskQueue<Integer> queue = new TaskQueue<>(1L, 16);
+        Assertions.assertFalse(queue.await(1, 10L));
+
+        // Wake up when the awaited size is reached.
+        AtomicBoolean reached = new AtomicBoolean(false);
+        CountDownLatch latch = new CountDownLatch(1);
+        Thread consumer = new Thread(() -> {
+            try {
+                reached.set(queue.await(2, 5000L));
+            } catch (InterruptedException ignored) {
+                // Stopped.
+            }
+            latch.countDown();
+        });
+        consumer.start();
+
+        // Not woken up below the awaited size.
+        queue.submit(1);
+        Assertions.assertFalse(latch.await(50L, TimeUnit.MILLISECONDS));
+
+        queue.submit(2);
+        Assertions.assertTrue(latch.await(1, TimeUnit.SECONDS));
+        Assertions.assertTrue(reached.get());
+        Assertions.assertEquals(Arrays.asList(1, 2), queue.poll(10));
+    }
+
+    @Test
+    public void testFull() throws InterruptedException {
+        TaskQueue<Integer> queue = new TaskQueue<>(1L, 1);
+        queue.submit(1);
+
+        // Producer blocks until drained.
+        Thread producer = new Thread(() -> {
+            try {
+                queue.submit(2);
+            } catch (InterruptedException ignored) {
+                // Stopped.
+            }
+        });
+        producer.start();
+        producer.join(50L);
+        Assertions.assertTrue(producer.isAlive());
+
+        Assertions.assertEquals(Arrays.asList(1), queue.poll(10));
+        producer.join(1000L);
+        Assertions.assertEquals(Arrays.asList(2), queue.poll(10));
+    }
+}
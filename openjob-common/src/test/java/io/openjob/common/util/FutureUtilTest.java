@@ -0,0 +1,117 @@
+package io.openjob.common.util;
+
+import akka.actor.AbstractActor;
+import akka.actor.ActorSelection;
+import akka.actor.ActorSystem;
+import akka.actor.Props;
+import akka.pattern.AskTimeoutException;
+import com.typesafe.config.ConfigFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author stelin swoft@qq.com
+ * @since 1.0.8
+ */
+public class FutureUtilTest {
+    private static final int REQUESTS = 64;
+    private static final long TIMEOUT = 200L;
+
+    private static ActorSystem actorSystem;
+    private static ActorSelection stalledActor;
+
+    @BeforeAll
+    public static void setUp() {
+        actorSystem = ActorSystem.create("future-util-test", ConfigFactory.parseString("akka.actor.provider=local").withFallback(ConfigFactory.load()));
+        actorSystem.actorOf(Props.create(StalledActor.class), "stalled");
+        stalledActor = actorSystem.actorSelection("/user/stalled");
+    }
+
+    @AfterAll
+    public static void tearDown() {
+        actorSystem.terminate();
+    }
+
+    @Test
+    public void testAskStalledPeer() {
+        int threadsBefore = Thread.activeCount();
+        long start = System.currentTimeMillis();
+
+        // All asks are in flight at once, no thread waits for the stalled peer.
+        List<CompletableFuture<Object>> futures = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            futures.add(FutureUtil.ask(stalledActor, i, Object.class, TIMEOUT).toCompletableFuture());
+        }
+        int threadsInFlight = Thread.activeCount() - threadsBefore;
+
+        AtomicInteger timeouts = new AtomicInteger();
+        futures.forEach(f -> f.handle((r, t) -> FutureUtil.unwrap(t) instanceof AskTimeoutException ? timeouts.incrementAndGet() : 0).join());
+        long asyncElapsed = System.currentTimeMillis() - start;
+
+        // Blocking asks with a pool of 8 threads.
+        long blockingElapsed = this.mustAskElapsed(8);
+
+        Assertions.assertEquals(REQUESTS, timeouts.get());
+        Assertions.assertTrue(threadsInFlight < REQUESTS / 2);
+
+        // Async asks time out together, blocking asks time out batch by batch.
+        Assertions.assertTrue(blockingElapsed >= REQUESTS / 8 * TIMEOUT);
+        Assertions.assertTrue(asyncElapsed < blockingElapsed);
+    }
+
+    @Test
+    public void testRetryOnTimeout() {
+        long start = System.currentTimeMillis();
+        Throwable throwable = FutureUtil.ask(stalledActor, 1, Object.class, 100L, 2)
+                .handle((r, t) -> t)
+                .toCompletableFuture()
+                .join();
+
+        Assertions.assertTrue(FutureUtil.unwrap(throwable) instanceof AskTimeoutException);
+        Assertions.assertTrue(System.currentTimeMillis() - start >= 300L);
+    }
+
+    private long mustAskElapsed(int threads) {
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < REQUESTS; i++) {
+            int request = i;
+            executorService.submit(() -> {
+                try {
+                    FutureUtil.mustAsk(stalledActor, request, Object.class, TIMEOUT);
+                } catch (RuntimeException ignored) {
+                    // Timeout.
+                }
+            });
+        }
+
+        executorService.shutdown();
+        try {
+            Assertions.assertTrue(executorService.awaitTermination(30, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return System.currentTimeMillis() - start;
+    }
+
+    /**
+     * Actor never replies.
+     */
+    public static class StalledActor extends AbstractActor {
+        @Override
+        public Receive createReceive() {
+            return receiveBuilder().matchAny(message -> {
+            }).build();
+        }
+    }
+}
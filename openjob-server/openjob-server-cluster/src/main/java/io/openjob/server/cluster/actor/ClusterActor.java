@@ -2,6 +2,7 @@ package io.openjob.server.cluster.actor;
 
 import akka.actor.AbstractActor;
 import io.openjob.common.response.Result;
+import io.openjob.server.cluster.detector.NodeFailureDetector;
 import io.openjob.server.cluster.dto.NodeFailDTO;
 import io.openjob.server.cluster.dto.NodeJoinDTO;
 import io.openjob.server.cluster.dto.NodePingDTO;
@@ -9,14 +10,17 @@ import io.openjob.server.cluster.dto.NodePongDTO;
 import io.openjob.server.cluster.dto.NodeResponseDTO;
 import io.openjob.server.cluster.dto.NodeShutdownDTO;
 import io.openjob.server.cluster.dto.WorkerFailDTO;
+import io.openjob.server.cluster.dto.WorkerHeartbeatForwardDTO;
 import io.openjob.server.cluster.dto.WorkerJoinDTO;
 import io.openjob.server.cluster.service.ClusterService;
 import io.openjob.server.common.ClusterContext;
+import io.openjob.server.common.WorkerLoadTable;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
+import org.springframework.util.CollectionUtils;
 
 /**
  * @author stelin swoft@qq.com
@@ -27,10 +31,12 @@ import org.springframework.stereotype.Component;
 @Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
 public class ClusterActor extends AbstractActor {
     private final ClusterService clusterService;
+    private final NodeFailureDetector nodeFailureDetector;
 
     @Autowired
-    public ClusterActor(ClusterService nodeService) {
+    public ClusterActor(ClusterService nodeService, NodeFailureDetector nodeFailureDetector) {
         this.clusterService = nodeService;
+        this.nodeFailureDetector = nodeFailureDetector;
     }
 
     @Override
@@ -42,6 +48,7 @@ public class ClusterActor extends AbstractActor {
                 .match(NodeShutdownDTO.class, this::handleNodeShutdown)
                 .match(WorkerJoinDTO.class, this::handleWorkerJoin)
                 .match(WorkerFailDTO.class, this::handleWorkerFail)
+                .match(WorkerHeartbeatForwardDTO.class, this::handleWorkerHeartbeatForward)
                 .matchAny(obj -> System.out.println("akk mesage tst"))
                 .build();
     }
@@ -52,6 +59,9 @@ public class ClusterActor extends AbstractActor {
      * @param nodePingDTO nodePing
      */
     public void handleNodePing(NodePingDTO nodePingDTO) {
+        // Ping from a node is its heartbeat.
+        this.nodeFailureDetector.heartbeat(nodePingDTO.getServerId());
+
         // Do node ping.
         this.clusterService.receiveNodePing(nodePingDTO);
 
@@ -100,6 +110,21 @@ public class ClusterActor extends AbstractActor {
         getSender().tell(Result.success(this.getNodeResponse()), getSelf());
     }
 
+    /**
+     * Handle worker heartbeat forwarded by other servers, no response.
+     *
+     * @param forwardDTO forward
+     */
+    public void handleWorkerHeartbeatForward(WorkerHeartbeatForwardDTO forwardDTO) {
+        if (!CollectionUtils.isEmpty(forwardDTO.getJobInstanceIds())) {
+            ClusterContext.getLeaseTable().renew(forwardDTO.getJobInstanceIds());
+        }
+
+        if (!CollectionUtils.isEmpty(forwardDTO.getWorkerLoads())) {
+            WorkerLoadTable workerLoadTable = ClusterContext.getWorkerLoadTable();
+            forwardDTO.getWorkerLoads().forEach(workerLoadTable::report);
+        }
+    }
 
     /**
      * Get node response.
@@ -1,5 +1,6 @@
 package io.openjob.server.cluster.autoconfigure;
 
+import io.openjob.server.cluster.constant.ClusterConstant;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
@@ -16,6 +17,11 @@ public class ClusterProperties {
      */
     private ClusterProperties.Worker worker = new ClusterProperties.Worker();
 
+    /**
+     * Cluster node failure detector
+     */
+    private ClusterProperties.Detector detector = new ClusterProperties.Detector();
+
     /**
      * Ping timeout(ms).
      */
@@ -32,19 +38,19 @@ public class ClusterProperties {
     private Integer spreadRetryTimes = 3;
 
     /**
-     * Node fail times.
+     * Node success times.
      */
-    private Integer nodeFailTimes = 3;
+    private Integer nodeSuccessTimes = 3;
 
     /**
-     * Node success times.
+     * Slots assignment when node joins or fails, `range` or `hash`.
      */
-    private Integer nodeSuccessTimes = 3;
+    private String slotsAssignment = ClusterConstant.SLOTS_ASSIGNMENT_RANGE;
 
     /**
-     * Cluster node fail period time(ms).
+     * Virtual nodes of every server in `hash` slots assignment.
      */
-    private Integer nodeFailPeriodTime = 15000;
+    private Integer slotsVirtualNodes = 160;
 
     /**
      * Cluster node success period time(ms).
@@ -63,5 +69,39 @@ public class ClusterProperties {
          * Worker offline period(s).
          */
         private Integer offlinePeriod = 20;
+
+        /**
+         * Worker heartbeat flush to db period(s).
+         */
+        private Integer heartbeatFlushPeriod = 30;
+    }
+
+    @Data
+    public static class Detector {
+
+        /**
+         * Node is failed when phi is greater than threshold.
+         */
+        private Double phiThreshold = 8.0;
+
+        /**
+         * Heartbeat interval sample size.
+         */
+        private Integer maxSampleSize = 200;
+
+        /**
+         * Min standard deviation(ms).
+         */
+        private Long minStdDeviation = 500L;
+
+        /**
+         * Acceptable heartbeat pause(ms).
+         */
+        private Long acceptableHeartbeatPause = 3000L;
+
+        /**
+         * First heartbeat interval estimate(ms).
+         */
+        private Long firstHeartbeatEstimate = 3000L;
     }
 }
@@ -1,13 +1,14 @@
 package io.openjob.server.cluster.common;
 
-import com.google.common.collect.Maps;
 import io.openjob.common.OpenjobSpringContext;
 import io.openjob.common.context.Node;
 import io.openjob.server.cluster.autoconfigure.ClusterProperties;
+import io.openjob.server.cluster.constant.ClusterConstant;
 import io.openjob.server.cluster.data.RefreshData;
 import io.openjob.server.cluster.dto.NodeFailDTO;
 import io.openjob.server.cluster.dto.NodeShutdownDTO;
 import io.openjob.server.cluster.util.ClusterUtil;
+import io.openjob.server.cluster.util.SlotsAssignUtil;
 import io.openjob.server.common.ClusterContext;
 import io.openjob.server.repository.constant.ServerStatusEnum;
 import io.openjob.server.repository.dao.JobSlotsDAO;
@@ -150,31 +151,14 @@ public class FailCommon {
             return;
         }
 
-        int index = 0;
-        int slotsSize = (int) Math.floor((double) currentJobSlots.size() / serverCount);
-
-        Map<Long, List<Long>> migrationSlots = Maps.newHashMap();
-        for (int i = 0; i < servers.size(); i++) {
-            Server s = servers.get(i);
-
-            // Last server.
-            if (i + 1 == servers.size()) {
-                List<Long> lastSlotsId = currentJobSlots.subList(index, currentJobSlots.size())
-                        .stream()
-                        .map(JobSlots::getId)
-                        .collect(Collectors.toList());
-                migrationSlots.put(s.getId(), lastSlotsId);
-                break;
-            }
-
-            int segmentSize = (i + 1) * slotsSize;
-            List<Long> slotIds = currentJobSlots.subList(index, segmentSize)
-                    .stream()
-                    .map(JobSlots::getId)
-                    .collect(Collectors.toList());
-
-            index = segmentSize;
-            migrationSlots.put(s.getId(), slotIds);
+        List<Long> failSlots = currentJobSlots.stream().map(JobSlots::getId).collect(Collectors.toList());
+        List<Long> remainServerIds = servers.stream().map(Server::getId).collect(Collectors.toList());
+        Map<Long, List<Long>> migrationSlots;
+        if (ClusterConstant.SLOTS_ASSIGNMENT_HASH.equals(this.clusterProperties.getSlotsAssignment())) {
+            // Consistent hash.
+            migrationSlots = SlotsAssignUtil.hashFail(failSlots, remainServerIds, this.clusterProperties.getSlotsVirtualNodes());
+        } else {
+            migrationSlots = SlotsAssignUtil.rangeFail(failSlots, remainServerIds);
         }
 
         migrationSlots.forEach(this.jobSlotsDAO::updateByServerId);
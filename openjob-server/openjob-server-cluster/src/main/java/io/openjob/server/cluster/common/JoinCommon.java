@@ -4,13 +4,16 @@ import com.google.common.collect.Maps;
 import io.openjob.common.OpenjobSpringContext;
 import io.openjob.common.context.Node;
 import io.openjob.server.cluster.autoconfigure.ClusterProperties;
+import io.openjob.server.cluster.constant.ClusterConstant;
 import io.openjob.server.cluster.data.RefreshData;
 import io.openjob.server.cluster.dto.NodeJoinDTO;
 import io.openjob.server.cluster.util.ClusterUtil;
+import io.openjob.server.cluster.util.SlotsAssignUtil;
 import io.openjob.server.common.ClusterContext;
 import io.openjob.server.repository.constant.ServerStatusEnum;
 import io.openjob.server.repository.dao.JobSlotsDAO;
 import io.openjob.server.repository.dao.ServerDAO;
+import io.openjob.server.repository.entity.JobSlots;
 import io.openjob.server.repository.entity.Server;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -22,6 +25,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
  * @author stelin swoft@qq.com
@@ -136,33 +140,37 @@ public class JoinCommon {
      * @return slots map.
      */
     private List<Server> migrateSlots(Server currentServer) {
+        List<JobSlots> jobSlots = jobSlotsDAO.listJobSlots();
+        List<Server> servers = serverDAO.listServers(ServerStatusEnum.OK.getStatus());
+
+        // Consistent hash.
+        Map<Long, List<Long>> migrations;
+        if (ClusterConstant.SLOTS_ASSIGNMENT_HASH.equals(this.clusterProperties.getSlotsAssignment())) {
+            Map<Long, Long> slotServers = jobSlots.stream().collect(Collectors.toMap(JobSlots::getId, JobSlots::getServerId));
+            List<Long> serverIds = servers.stream().map(Server::getId).collect(Collectors.toList());
+            migrations = SlotsAssignUtil.hashJoin(slotServers, serverIds, currentServer.getId(), this.clusterProperties.getSlotsVirtualNodes());
+            migrations.forEach(jobSlotsDAO::updateByServerId);
+            log.info("Migration slots by hash {}", migrations);
+            return servers;
+        }
+
         Map<Long, List<Long>> serverIdToSlots = Maps.newHashMap();
-        jobSlotsDAO.listJobSlots().forEach(taskSlots -> {
+        jobSlots.forEach(taskSlots -> {
             if (taskSlots.getServerId() > 0) {
-                List<Long> slots = serverIdToSlots.computeIfAbsent(taskSlots.getServerId(), m -> new ArrayList<>());
-                slots.add(taskSlots.getId());
-                serverIdToSlots.put(taskSlots.getServerId(), slots);
+                serverIdToSlots.computeIfAbsent(taskSlots.getServerId(), m -> new ArrayList<>()).add(taskSlots.getId());
             }
         });
 
         // Remove server slots.
-        List<Server> servers = serverDAO.listServers(ServerStatusEnum.OK.getStatus());
-        int slotsServerCount = servers.size() - 1;
-        List<Long> migratedList = new ArrayList<>();
-        serverIdToSlots.forEach((id, slots) -> {
-            int migratedSize = (int) Math.floor(slots.size() * (1.0 / (slotsServerCount + 1)));
-            List<Long> migratedIds = slots.subList(0, migratedSize);
-            migratedList.addAll(migratedIds);
-        });
-
+        migrations = SlotsAssignUtil.rangeJoin(serverIdToSlots, servers.size(), currentServer.getId());
 
         // First server node.
-        if (migratedList.isEmpty()) {
+        if (migrations.isEmpty()) {
             jobSlotsDAO.updateByServerId(currentServer.getId());
             return servers;
         }
 
-        jobSlotsDAO.updateByServerId(currentServer.getId(), migratedList);
+        migrations.forEach(jobSlotsDAO::updateByServerId);
         return servers;
     }
 
@@ -10,4 +10,19 @@ public class ClusterConstant {
      * Worker check delay(ms)
      */
     public static final long WORKER_CHECK_DELAY = 20000L;
+
+    /**
+     * Worker heartbeat flush check delay(ms)
+     */
+    public static final long WORKER_HEARTBEAT_FLUSH_DELAY = 1000L;
+
+    /**
+     * Slots assignment by range.
+     */
+    public static final String SLOTS_ASSIGNMENT_RANGE = "range";
+
+    /**
+     * Slots assignment by consistent hash.
+     */
+    public static final String SLOTS_ASSIGNMENT_HASH = "hash";
 }
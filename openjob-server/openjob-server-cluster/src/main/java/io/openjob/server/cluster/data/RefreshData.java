@@ -3,6 +3,7 @@ package io.openjob.server.cluster.data;
 import io.openjob.server.alarm.context.AlarmContext;
 import io.openjob.common.context.Node;
 import io.openjob.server.cluster.exception.ClusterNodeOperatingException;
+import io.openjob.server.cluster.manager.WorkerHeartbeatManager;
 import io.openjob.server.cluster.util.ClusterUtil;
 import io.openjob.server.common.ClusterContext;
 import io.openjob.server.common.dto.SystemDTO;
@@ -22,6 +23,7 @@ import org.springframework.stereotype.Component;
 
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -37,13 +39,19 @@ public class RefreshData {
     private final ServerDAO serverDAO;
     private final JobSlotsDAO jobSlotsDAO;
     private final WorkerDAO workerDAO;
+    private final WorkerHeartbeatManager workerHeartbeatManager;
 
     @Autowired
-    public RefreshData(SystemDAO systemDAO, ServerDAO serverDAO, JobSlotsDAO jobSlotsDAO, WorkerDAO workerDAO) {
+    public RefreshData(SystemDAO systemDAO,
+                       ServerDAO serverDAO,
+                       JobSlotsDAO jobSlotsDAO,
+                       WorkerDAO workerDAO,
+                       WorkerHeartbeatManager workerHeartbeatManager) {
         this.systemDAO = systemDAO;
         this.serverDAO = serverDAO;
         this.jobSlotsDAO = jobSlotsDAO;
         this.workerDAO = workerDAO;
+        this.workerHeartbeatManager = workerHeartbeatManager;
     }
 
     /**
@@ -178,10 +186,36 @@ public class RefreshData {
         ClusterContext.refreshCurrentSlots(newCurrentSlots);
 
         log.info(String.format("Refresh slots %s", newCurrentSlots));
+        Set<Long> addSlots = new HashSet<>(newCurrentSlots);
+        addSlots.removeAll(removeSlots);
         removeSlots.removeAll(newCurrentSlots);
+
+        // Leases of running job instances follow slots ownership.
+        this.workerHeartbeatManager.refreshLeases(addSlots, removeSlots);
+
+        // All server slots for worker routing.
+        this.refreshServerSlots();
+
+        // Ownership changed, new owners read worker heartbeats of this server from db.
+        this.workerHeartbeatManager.flushHeartbeat(true);
         return removeSlots;
     }
 
+    /**
+     * Refresh all server slots, versioned by content.
+     */
+    public void refreshServerSlots() {
+        Map<Long, Node> nodes = ClusterContext.getNodesMap();
+        Map<String, List<Long>> serverSlots = this.jobSlotsDAO.listJobSlots().stream()
+                .filter(s -> nodes.containsKey(s.getServerId()))
+                .collect(Collectors.groupingBy(s -> nodes.get(s.getServerId()).getAkkaAddress(),
+                        Collectors.mapping(JobSlots::getId, Collectors.toList())));
+
+        Long version = ClusterUtil.getServerSlotsVersion(serverSlots);
+        ClusterContext.refreshServerSlots(serverSlots, version);
+        log.info("Refresh server slots version={} servers={}", version, serverSlots.keySet());
+    }
+
     /**
      * Refresh cluster alarm context
      */
@@ -0,0 +1,106 @@
+package io.openjob.server.cluster.detector;
+
+import com.google.common.collect.Maps;
+import io.openjob.server.cluster.autoconfigure.ClusterProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * In-memory failure detectors of cluster nodes.
+ * Fed by ping responses and pings from other nodes.
+ *
+ * @author stelin swoft@qq.com
+ * @since 1.0.8
+ */
+@Component
+public class NodeFailureDetector {
+    private final ClusterProperties.Detector properties;
+
+    /**
+     * Key is server id, value is detector.
+     */
+    private final Map<Long, PhiAccrualFailureDetector> detectors = Maps.newConcurrentMap();
+
+    @Autowired
+    public NodeFailureDetector(ClusterProperties clusterProperties) {
+        this.properties = clusterProperties.getDetector();
+    }
+
+    /**
+     * Heartbeat of node.
+     *
+     * @param serverId server id
+     */
+    public void heartbeat(Long serverId) {
+        this.detectors.computeIfAbsent(serverId, this::newDetector).heartbeat();
+    }
+
+    /**
+     * Start monitoring node, the first check counts as heartbeat,
+     * so node never responding is detected too.
+     *
+     * @param serverId server id
+     */
+    public void monitor(Long serverId) {
+        this.detectors.computeIfAbsent(serverId, id -> {
+            PhiAccrualFailureDetector detector = this.newDetector(id);
+            detector.heartbeat();
+            return detector;
+        });
+    }
+
+    /**
+     * Whether node is available, node without heartbeat is available.
+     *
+     * @param serverId server id
+     * @return Boolean
+     */
+    public Boolean isAvailable(Long serverId) {
+        PhiAccrualFailureDetector detector = this.detectors.get(serverId);
+        return Objects.isNull(detector) || detector.isAvailable();
+    }
+
+    /**
+     * Node phi.
+     *
+     * @param serverId server id
+     * @return double
+     */
+    public double phi(Long serverId) {
+        PhiAccrualFailureDetector detector = this.detectors.get(serverId);
+        return Objects.isNull(detector) ? 0.0 : detector.phi();
+    }
+
+    /**
+     * Remove node.
+     *
+     * @param serverId server id
+     */
+    public void remove(Long serverId) {
+        this.detectors.remove(serverId);
+    }
+
+    /**
+     * Only keep the nodes.
+     *
+     * @param serverIds server ids
+     */
+    public void retain(Set<Long> serverIds) {
+        this.detectors.keySet().retainAll(serverIds);
+    }
+
+    private PhiAccrualFailureDetector newDetector(Long serverId) {
+        return new PhiAccrualFailureDetector(
+                this.properties.getPhiThreshold(),
+                this.properties.getMaxSampleSize(),
+                this.properties.getMinStdDeviation(),
+                this.properties.getAcceptableHeartbeatPause(),
+                this.properties.getFirstHeartbeatEstimate(),
+                System::currentTimeMillis
+        );
+    }
+}
@@ -0,0 +1,140 @@
+package io.openjob.server.cluster.detector;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.LongSupplier;
+
+/**
+ * Phi accrual failure detector of one node.
+ * Phi is the suspicion level computed from the distribution of heartbeat intervals,
+ * phi of 8 means the chance that the node is still alive is about 1e-8.
+ *
+ * @author stelin swoft@qq.com
+ * @see <a href="https://doc.akka.io/docs/akka/current/typed/failure-detector.html">Phi Accrual Failure Detector</a>
+ * @since 1.0.8
+ */
+public class PhiAccrualFailureDetector {
+    private final Double threshold;
+    private final Integer maxSampleSize;
+    private final Long minStdDeviation;
+    private final Long acceptableHeartbeatPause;
+    private final Long firstHeartbeatEstimate;
+    private final LongSupplier clock;
+
+    /**
+     * Heartbeat intervals(ms).
+     */
+    private final Deque<Long> intervals = new ArrayDeque<>();
+    private double intervalSum;
+    private double squaredIntervalSum;
+
+    /**
+     * Last heartbeat time(ms), -1 means not monitoring.
+     */
+    private long lastHeartbeat = -1L;
+
+    /**
+     * New detector.
+     *
+     * @param threshold                phi threshold
+     * @param maxSampleSize            max sample size
+     * @param minStdDeviation          min standard deviation(ms)
+     * @param acceptableHeartbeatPause acceptable heartbeat pause(ms)
+     * @param firstHeartbeatEstimate   first heartbeat interval estimate(ms)
+     * @param clock                    clock(ms)
+     */
+    public PhiAccrualFailureDetector(Double threshold,
+                                     Integer maxSampleSize,
+                                     Long minStdDeviation,
+                                     Long acceptableHeartbeatPause,
+                                     Long firstHeartbeatEstimate,
+                                     LongSupplier clock) {
+        this.threshold = threshold;
+        this.maxSampleSize = maxSampleSize;
+        this.minStdDeviation = minStdDeviation;
+        this.acceptableHeartbeatPause = acceptableHeartbeatPause;
+        this.firstHeartbeatEstimate = firstHeartbeatEstimate;
+        this.clock = clock;
+    }
+
+    /**
+     * Heartbeat arrived.
+     */
+    public synchronized void heartbeat() {
+        long now = this.clock.getAsLong();
+
+        // First heartbeat, bootstrap with estimate mean and deviation.
+        if (this.lastHeartbeat < 0) {
+            long deviation = this.firstHeartbeatEstimate / 4;
+            this.addInterval(this.firstHeartbeatEstimate - deviation);
+            this.addInterval(this.firstHeartbeatEstimate + deviation);
+        } else {
+            this.addInterval(now - this.lastHeartbeat);
+        }
+        this.lastHeartbeat = now;
+    }
+
+    /**
+     * Current suspicion level, 0 if not monitoring.
+     *
+     * @return double
+     */
+    public synchronized double phi() {
+        if (this.lastHeartbeat < 0) {
+            return 0.0;
+        }
+
+        double size = this.intervals.size();
+        double mean = this.intervalSum / size;
+        double variance = this.squaredIntervalSum / size - mean * mean;
+        double stdDeviation = Math.max(Math.sqrt(Math.max(variance, 0)), this.minStdDeviation);
+        return phi(this.clock.getAsLong() - this.lastHeartbeat, mean + this.acceptableHeartbeatPause, stdDeviation);
+    }
+
+    /**
+     * Whether node is available.
+     *
+     * @return Boolean
+     */
+    public Boolean isAvailable() {
+        return this.phi() < this.threshold;
+    }
+
+    /**
+     * Whether any heartbeat has arrived.
+     *
+     * @return Boolean
+     */
+    public synchronized Boolean isMonitoring() {
+        return this.lastHeartbeat >= 0;
+    }
+
+    /**
+     * Phi with logistic approximation of the normal cumulative distribution.
+     *
+     * @param timeDiff     time since last heartbeat
+     * @param mean         mean interval
+     * @param stdDeviation standard deviation
+     * @return double
+     */
+    static double phi(long timeDiff, double mean, double stdDeviation) {
+        double y = (timeDiff - mean) / stdDeviation;
+        double e = Math.exp(-y * (1.5976 + 0.070566 * y * y));
+        if (timeDiff > mean) {
+            return -Math.log10(e / (1.0 + e));
+        }
+        return -Math.log10(1.0 - 1.0 / (1.0 + e));
+    }
+
+    private void addInterval(long interval) {
+        if (this.intervals.size() >= this.maxSampleSize) {
+            long dropped = this.intervals.removeFirst();
+            this.intervalSum -= dropped;
+            this.squaredIntervalSum -= (double) dropped * dropped;
+        }
+
+        this.intervals.addLast(interval);
+        this.intervalSum += interval;
+        this.squaredIntervalSum += (double) interval * interval;
+    }
+}
@@ -0,0 +1,27 @@
+package io.openjob.server.cluster.dto;
+
+import io.openjob.server.common.dto.WorkerLoadDTO;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Lease renewals and worker loads forwarded by the server receiving worker heartbeats.
+ *
+ * @author stelin swoft@qq.com
+ * @since 1.0.8
+ */
+@Data
+public class WorkerHeartbeatForwardDTO implements Serializable {
+
+    /**
+     * Running job instance ids.
+     */
+    private List<Long> jobInstanceIds;
+
+    /**
+     * Worker loads.
+     */
+    private List<WorkerLoadDTO> workerLoads;
+}
@@ -22,4 +22,31 @@ public class WorkerHeartbeatReqDTO {
      * Running job instance ids.
      */
     private List<Long> runningJobInstanceIds;
+
+    /**
+     * Worker membership version known by worker.
+     */
+    private Long workerVersion;
+
+    /**
+     * Tasks queued or running in task containers.
+     */
+    private Integer containerTaskNum;
+
+    /**
+     * System load average, negative is not available.
+     */
+    private Double systemLoad;
+
+    private Integer cpuNum;
+
+    /**
+     * Capacity weight.
+     */
+    private Integer capacity;
+
+    /**
+     * Worker caches job definitions.
+     */
+    private Boolean definitionCache;
 }
@@ -12,10 +12,25 @@ import java.util.Set;
 public class WorkerHeartbeatRespDTO {
 
     /**
-     * Worker address list.
+     * Worker address list, only when worker version is unknown.
      */
     private Set<String> workerAddressList;
 
+    /**
+     * Worker membership version.
+     */
+    private Long workerVersion;
+
+    /**
+     * Added workers since worker version.
+     */
+    private Set<String> addWorkers;
+
+    /**
+     * Removed workers since worker version.
+     */
+    private Set<String> removeWorkers;
+
     /**
      * Cluster version
      */
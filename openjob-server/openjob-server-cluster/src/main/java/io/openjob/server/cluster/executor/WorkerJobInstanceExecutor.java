@@ -21,13 +21,13 @@ public class WorkerJobInstanceExecutor {
     public WorkerJobInstanceExecutor() {
         this.queue = new TaskQueue<>(0L, 1024);
 
-        //Consumer
+        // Consumer, single thread to keep status order of each instance.
         WorkerJobInstanceConsumer consumer = new WorkerJobInstanceConsumer(
                 0L,
                 1,
-                32,
+                1,
                 "Openjob-instance-executor",
-                20,
+                500,
                 "Openjob-instance-consumer",
                 this.queue
         );
@@ -3,6 +3,7 @@ package io.openjob.server.cluster.manager;
 import io.openjob.common.constant.CommonConstant;
 import io.openjob.common.constant.FailStatusEnum;
 import io.openjob.common.constant.InstanceStatusEnum;
+import io.openjob.common.util.DateUtil;
 import io.openjob.server.alarm.constant.AlarmEventEnum;
 import io.openjob.server.alarm.dto.AlarmEventDTO;
 import io.openjob.server.alarm.event.AlarmEvent;
@@ -13,8 +14,10 @@ import io.openjob.server.cluster.dto.WorkerJobInstanceTaskBatchReqDTO;
 import io.openjob.server.cluster.dto.WorkerJobInstanceTaskBatchRespDTO;
 import io.openjob.server.cluster.executor.WorkerJobInstanceExecutor;
 import io.openjob.server.cluster.executor.WorkerJobInstanceTaskExecutor;
+import io.openjob.server.common.ClusterContext;
 import io.openjob.server.repository.dao.JobInstanceDAO;
 import io.openjob.server.repository.dao.JobInstanceTaskDAO;
+import io.openjob.server.repository.entity.JobInstance;
 import io.openjob.server.repository.entity.JobInstanceTask;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -24,8 +27,11 @@ import org.springframework.transaction.UnexpectedRollbackException;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
  * @author stelin swoft@qq.com
@@ -55,12 +61,44 @@ public class JobInstanceManager {
         return new WorkerJobInstanceStatusRespDTO();
     }
 
+    /**
+     * Handle instance status.
+     * Statuses polled in one window are coalesced to the latest one of each instance and updated by one jdbc batch.
+     * Status list is consumed by a single thread in arrival order, so the order of each instance is kept.
+     *
+     * @param statusList status list
+     */
     @Transactional(rollbackFor = Exception.class)
     public void handleConsumerInstanceStatus(List<WorkerJobInstanceStatusReqDTO> statusList) {
+        // Latest status wins, a complete status is never overwritten by a running one.
+        Map<Long, WorkerJobInstanceStatusReqDTO> latestMap = new LinkedHashMap<>();
+        statusList.forEach(s -> latestMap.merge(s.getJobInstanceId(), s, (o, n) -> {
+            if (!InstanceStatusEnum.isRunning(o.getStatus()) && InstanceStatusEnum.isRunning(n.getStatus())) {
+                return o;
+            }
+            return n;
+        }));
+
         // Update status
-        statusList.forEach(s -> {
-            this.jobInstanceDAO.updateStatusById(s.getJobInstanceId(), s.getStatus(), s.getFailStatus());
-            this.addAlarmEvent(s);
+        long now = DateUtil.timestamp();
+        List<JobInstance> updateList = latestMap.values().stream().map(s -> {
+            JobInstance jobInstance = new JobInstance();
+            jobInstance.setId(s.getJobInstanceId());
+            jobInstance.setStatus(s.getStatus());
+            jobInstance.setFailStatus(s.getFailStatus());
+            jobInstance.setCompleteTime(now);
+            jobInstance.setUpdateTime(now);
+            return jobInstance;
+        }).collect(Collectors.toList());
+        this.jobInstanceDAO.batchUpdateStatus(updateList);
+
+        statusList.forEach(this::addAlarmEvent);
+
+        // Complete to release lease.
+        latestMap.values().forEach(s -> {
+            if (!InstanceStatusEnum.isRunning(s.getStatus())) {
+                ClusterContext.getLeaseTable().release(s.getJobInstanceId());
+            }
         });
     }
 
@@ -1,26 +1,39 @@
 package io.openjob.server.cluster.manager;
 
+import akka.actor.ActorRef;
+import io.openjob.common.constant.CommonConstant;
 import io.openjob.common.request.WorkerHeartbeatRequest;
 import io.openjob.common.response.ServerHeartbeatResponse;
 import io.openjob.common.response.ServerHeartbeatSystemResponse;
 import io.openjob.common.util.DateUtil;
+import io.openjob.server.cluster.autoconfigure.ClusterProperties;
+import io.openjob.server.cluster.dto.WorkerHeartbeatForwardDTO;
 import io.openjob.server.cluster.dto.WorkerHeartbeatReqDTO;
 import io.openjob.server.cluster.dto.WorkerHeartbeatRespDTO;
 import io.openjob.server.cluster.executor.WorkerHeartbeatExecutor;
 import io.openjob.server.cluster.util.ClusterUtil;
 import io.openjob.server.common.ClusterContext;
+import io.openjob.server.common.HeartbeatTable;
+import io.openjob.server.common.LeaseTable;
+import io.openjob.server.common.WorkerLoadTable;
+import io.openjob.server.common.WorkerMembership;
 import io.openjob.server.common.dto.SystemDTO;
+import io.openjob.server.common.dto.WorkerLoadDTO;
+import io.openjob.server.common.util.ServerUtil;
 import io.openjob.server.repository.dao.JobInstanceDAO;
 import io.openjob.server.repository.dao.WorkerDAO;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.CollectionUtils;
 
+import javax.annotation.PreDestroy;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 
 /**
@@ -33,14 +46,19 @@ public class WorkerHeartbeatManager {
     private final WorkerDAO workerDAO;
     private final JobInstanceDAO jobInstanceDAO;
     private final WorkerHeartbeatExecutor workerHeartbeatExecutor;
+    private long lastFlushTime = 0L;
 
     @Autowired
     public WorkerHeartbeatManager(WorkerDAO workerDAO,
                                   JobInstanceDAO jobInstanceDAO,
-                                  WorkerHeartbeatExecutor workerHeartbeatExecutor) {
+                                  WorkerHeartbeatExecutor workerHeartbeatExecutor,
+                                  ClusterProperties clusterProperties) {
         this.workerDAO = workerDAO;
         this.jobInstanceDAO = jobInstanceDAO;
         this.workerHeartbeatExecutor = workerHeartbeatExecutor;
+
+        // Flush period
+        ClusterContext.getHeartbeatTable().setFlushPeriod(clusterProperties.getWorker().getHeartbeatFlushPeriod().longValue());
     }
 
     /**
@@ -56,43 +74,177 @@ public class WorkerHeartbeatManager {
         // System information.
         SystemDTO system = ClusterContext.getSystem();
 
-        // Online workers  and exclude start worker.
-        Set<String> onlineWorkers = ClusterUtil.getOnlineWorkers(heartbeatReq.getAppId());
-
         WorkerHeartbeatRespDTO respDTO = new WorkerHeartbeatRespDTO();
         respDTO.setClusterVersion(system.getClusterVersion());
         respDTO.setClusterDelayVersion(system.getClusterDelayVersion());
-        respDTO.setWorkerAddressList(onlineWorkers);
+
+        // Online workers  and exclude start worker.
+        this.setOnlineWorkers(heartbeatReq, respDTO);
         return respDTO;
     }
 
     /**
-     * Batch heartbeat
+     * Set online workers, only changes are returned if worker version is known.
+     *
+     * @param heartbeatReq heartbeatReq
+     * @param respDTO      respDTO
+     */
+    private void setOnlineWorkers(WorkerHeartbeatReqDTO heartbeatReq, WorkerHeartbeatRespDTO respDTO) {
+        WorkerMembership membership = ClusterContext.getWorkerMembership();
+        Long currentVersion = membership.getVersion(heartbeatReq.getAppId());
+        respDTO.setWorkerVersion(currentVersion);
+
+        // Not changed
+        if (currentVersion.equals(heartbeatReq.getWorkerVersion())) {
+            return;
+        }
+
+        // Unknown version
+        Set<String> onlineWorkers = ClusterUtil.getOnlineWorkers(heartbeatReq.getAppId());
+        Set<String> knownWorkers = membership.getAddresses(heartbeatReq.getAppId(), heartbeatReq.getWorkerVersion());
+        if (Objects.isNull(knownWorkers)) {
+            respDTO.setWorkerAddressList(onlineWorkers);
+            return;
+        }
+
+        Set<String> addWorkers = new HashSet<>(onlineWorkers);
+        addWorkers.removeAll(knownWorkers);
+        Set<String> removeWorkers = new HashSet<>(knownWorkers);
+        removeWorkers.removeAll(onlineWorkers);
+        respDTO.setAddWorkers(addWorkers);
+        respDTO.setRemoveWorkers(removeWorkers);
+    }
+
+    /**
+     * Batch heartbeat, only the in-memory tables are updated.
+     * Running job instances renew leases of current server, the others and changed worker loads are forwarded to other servers in one batch.
      *
      * @param requests requests
      */
-    @Transactional(rollbackFor = Exception.class)
     public void batchHeartbeat(List<WorkerHeartbeatReqDTO> requests) {
-        Long timestamp = DateUtil.timestamp();
-        Set<String> addressList = new HashSet<>();
-        Set<Long> instanceIds = new HashSet<>();
+        WorkerHeartbeatForwardDTO forwardDTO = this.renew(requests);
+
+        // Nothing to forward.
+        if (Objects.isNull(forwardDTO)) {
+            return;
+        }
+
+        // Forward to other servers, lease is renewed by the owner and loads are used by all servers.
+        Long currentServerId = ClusterContext.getCurrentNode().getServerId();
+        ClusterContext.getNodesMap().forEach((serverId, node) -> {
+            if (!serverId.equals(currentServerId)) {
+                ServerUtil.getServerClusterActor(node.getAkkaAddress()).tell(forwardDTO, ActorRef.noSender());
+            }
+        });
+    }
 
-        // Merge requests
+    /**
+     * Update heartbeat and load tables and renew leases.
+     *
+     * @param requests requests
+     * @return unknown job instances and changed worker loads, null is nothing to forward.
+     */
+    WorkerHeartbeatForwardDTO renew(List<WorkerHeartbeatReqDTO> requests) {
+        Long timestamp = DateUtil.timestamp();
+        Long reportTime = DateUtil.milliLongTime();
+        HeartbeatTable heartbeatTable = ClusterContext.getHeartbeatTable();
+        WorkerLoadTable workerLoadTable = ClusterContext.getWorkerLoadTable();
+        List<Long> instanceIds = new ArrayList<>();
+        List<WorkerLoadDTO> workerLoads = new ArrayList<>();
         requests.forEach(r -> {
-            addressList.add(r.getAddress());
-            if (!CollectionUtils.isEmpty(r.getRunningJobInstanceIds())) {
+            heartbeatTable.heartbeat(r.getAddress(), timestamp);
+            if (Objects.nonNull(r.getRunningJobInstanceIds())) {
                 instanceIds.addAll(r.getRunningJobInstanceIds());
             }
+
+            // Only changed loads are forwarded, steady loads in a coarse interval.
+            WorkerLoadDTO load = this.getWorkerLoad(r, reportTime);
+            workerLoadTable.report(load);
+            if (workerLoadTable.shouldForward(load)) {
+                workerLoads.add(load);
+            }
         });
+        workerLoadTable.removeExpired();
+
+        // Renew leases.
+        List<Long> unknownIds = ClusterContext.getLeaseTable().renew(instanceIds);
+        if (CollectionUtils.isEmpty(unknownIds) && CollectionUtils.isEmpty(workerLoads)) {
+            return null;
+        }
+
+        WorkerHeartbeatForwardDTO forwardDTO = new WorkerHeartbeatForwardDTO();
+        forwardDTO.setJobInstanceIds(unknownIds);
+        forwardDTO.setWorkerLoads(workerLoads);
+        return forwardDTO;
+    }
 
-        // Worker heartbeat
-        if (!CollectionUtils.isEmpty(addressList)) {
-            this.workerDAO.updateLastHeartbeatTimeByAddresses(new ArrayList<>(addressList), timestamp);
+    /**
+     * Refresh leases when slots ownership changed.
+     * Running job instances of new slots get a full lease period to be renewed by heartbeats.
+     *
+     * @param addSlots    new slots
+     * @param removeSlots removed slots
+     */
+    public void refreshLeases(Set<Long> addSlots, Set<Long> removeSlots) {
+        LeaseTable leaseTable = ClusterContext.getLeaseTable();
+        if (!removeSlots.isEmpty()) {
+            leaseTable.releaseBySlotsIds(removeSlots);
         }
 
-        // Instance last report time.
-        if (!CollectionUtils.isEmpty(instanceIds)) {
-            this.jobInstanceDAO.updateLastReportTimeByIds(new ArrayList<>(instanceIds), timestamp);
+        if (!addSlots.isEmpty()) {
+            this.jobInstanceDAO.getRunningList(addSlots).forEach(j -> leaseTable.grant(j.getId(), j.getSlotsId(),
+                    CommonConstant.YES.equals(j.getExecuteOnce()) ? null : j.getJobId(), j.getWorkerAddress()));
         }
     }
+
+    /**
+     * Flush heartbeat table to db.
+     *
+     * @param force whether to flush before the period, such as ownership changed.
+     */
+    public synchronized void flushHeartbeat(Boolean force) {
+        long now = DateUtil.milliLongTime();
+        if (!force && now - this.lastFlushTime < ClusterContext.getHeartbeatTable().getFlushPeriod() * 1000L) {
+            return;
+        }
+        this.lastFlushTime = now;
+
+        // Coalesced by time, one update for entries with the same time.
+        HeartbeatTable heartbeatTable = ClusterContext.getHeartbeatTable();
+        Map<Long, List<String>> workers = heartbeatTable.drainWorkers();
+        try {
+            workers.forEach((time, addresses) -> this.workerDAO.updateLastHeartbeatTimeByAddresses(addresses, time));
+        } catch (Throwable throwable) {
+            // Entries are dirty again on next heartbeat.
+            log.error("Worker heartbeat flush failed!", throwable);
+        }
+    }
+
+    /**
+     * Worker load of heartbeat, metrics not reported by old workers are defaults.
+     *
+     * @param heartbeatReq heartbeat request
+     * @param reportTime   report time(ms)
+     * @return WorkerLoadDTO
+     */
+    private WorkerLoadDTO getWorkerLoad(WorkerHeartbeatReqDTO heartbeatReq, Long reportTime) {
+        WorkerLoadDTO load = new WorkerLoadDTO();
+        load.setAddress(heartbeatReq.getAddress());
+        load.setRunningInstanceNum(Optional.ofNullable(heartbeatReq.getRunningJobInstanceIds()).map(List::size).orElse(0));
+        load.setContainerTaskNum(Optional.ofNullable(heartbeatReq.getContainerTaskNum()).orElse(0));
+        load.setSystemLoad(Optional.ofNullable(heartbeatReq.getSystemLoad()).orElse(-1D));
+        load.setCpuNum(Optional.ofNullable(heartbeatReq.getCpuNum()).orElse(0));
+        load.setCapacity(Math.max(1, Optional.ofNullable(heartbeatReq.getCapacity()).orElse(1)));
+        load.setDefinitionCache(Boolean.TRUE.equals(heartbeatReq.getDefinitionCache()));
+        load.setReportTime(reportTime);
+        return load;
+    }
+
+    /**
+     * Flush heartbeat table before shutdown.
+     */
+    @PreDestroy
+    public void destroy() {
+        this.flushHeartbeat(true);
+    }
 }
@@ -1,6 +1,7 @@
 package io.openjob.server.cluster.scheduling;
 
 import io.openjob.server.cluster.constant.ClusterConstant;
+import io.openjob.server.cluster.manager.WorkerHeartbeatManager;
 import io.openjob.server.cluster.service.WorkerService;
 import io.openjob.server.common.ClusterContext;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,14 +15,21 @@ import org.springframework.stereotype.Component;
 @Component
 public class WorkerScheduling {
     private final WorkerService workerService;
+    private final WorkerHeartbeatManager workerHeartbeatManager;
 
     @Autowired
-    public WorkerScheduling(WorkerService workerService) {
+    public WorkerScheduling(WorkerService workerService, WorkerHeartbeatManager workerHeartbeatManager) {
         this.workerService = workerService;
+        this.workerHeartbeatManager = workerHeartbeatManager;
     }
 
     @Scheduled(initialDelay = 3000L, fixedDelay = ClusterConstant.WORKER_CHECK_DELAY)
     public void workerCheck() {
         this.workerService.workerCheck();
     }
+
+    @Scheduled(initialDelay = 3000L, fixedDelay = ClusterConstant.WORKER_HEARTBEAT_FLUSH_DELAY)
+    public void heartbeatFlush() {
+        this.workerHeartbeatManager.flushHeartbeat(false);
+    }
 }
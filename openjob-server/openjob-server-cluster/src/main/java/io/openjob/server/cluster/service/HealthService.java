@@ -3,7 +3,6 @@ package io.openjob.server.cluster.service;
 import akka.actor.ActorSelection;
 import akka.actor.ActorSystem;
 import com.typesafe.config.Config;
-import io.openjob.common.OpenjobSpringContext;
 import io.openjob.common.context.Node;
 import io.openjob.common.util.DateUtil;
 import io.openjob.common.util.FutureUtil;
@@ -12,24 +11,25 @@ import io.openjob.server.cluster.dto.NodePingDTO;
 import io.openjob.server.cluster.dto.NodePongDTO;
 import io.openjob.server.cluster.common.FailCommon;
 import io.openjob.server.cluster.common.JoinCommon;
+import io.openjob.server.cluster.detector.NodeFailureDetector;
 import io.openjob.server.cluster.util.ClusterUtil;
 import io.openjob.server.common.ClusterContext;
 import io.openjob.server.common.constant.AkkaConfigConstant;
 import io.openjob.server.common.util.ServerUtil;
-import io.openjob.server.repository.constant.ServerReportStatusEnum;
 import io.openjob.server.repository.dao.JobSlotsDAO;
-import io.openjob.server.repository.dao.ServerReportsDAO;
 import io.openjob.server.repository.entity.JobSlots;
-import io.openjob.server.repository.entity.ServerReports;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.CollectionUtils;
 
+import java.util.Deque;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedDeque;
 
 /**
  * @author stelin swoft@qq.com
@@ -39,20 +39,30 @@ import java.util.Objects;
 @Service
 public class HealthService {
     private final FailCommon failCommon;
-    private final ServerReportsDAO serverReportsDAO;
     private final ClusterProperties clusterProperties;
     private final JobSlotsDAO jobSlotsDAO;
     private final JoinCommon joinCommon;
+    private final NodeFailureDetector nodeFailureDetector;
 
     private final ActorSystem actorSystem;
 
+    /**
+     * Times that current node is unknown to other nodes.
+     */
+    private final Deque<Long> unknownReports = new ConcurrentLinkedDeque<>();
+
     @Autowired
-    public HealthService(ServerReportsDAO serverReportsDAO, FailCommon failCommon, ClusterProperties clusterProperties, JobSlotsDAO jobSlotsDAO, JoinCommon joinCommon, ActorSystem actorSystem) {
-        this.serverReportsDAO = serverReportsDAO;
+    public HealthService(FailCommon failCommon,
+                         ClusterProperties clusterProperties,
+                         JobSlotsDAO jobSlotsDAO,
+                         JoinCommon joinCommon,
+                         NodeFailureDetector nodeFailureDetector,
+                         ActorSystem actorSystem) {
         this.failCommon = failCommon;
         this.clusterProperties = clusterProperties;
         this.jobSlotsDAO = jobSlotsDAO;
         this.joinCommon = joinCommon;
+        this.nodeFailureDetector = nodeFailureDetector;
         this.actorSystem = actorSystem;
     }
 
@@ -69,62 +79,76 @@ public class HealthService {
             return;
         }
 
+        // Forget removed nodes.
+        this.nodeFailureDetector.retain(nodesMap.keySet());
+
         List<Long> fixedPingList = ClusterUtil.getKnowServers(nodesMap, currentNode, this.clusterProperties.getSpreadSize());
-        fixedPingList.forEach(serverId -> doCheck(nodesMap, serverId));
+
+        // Ping all nodes at once, so a stalled node only costs one ping timeout for the whole round.
+        Map<Long, CompletableFuture<NodePongDTO>> pingFutures = new LinkedHashMap<>(fixedPingList.size());
+        fixedPingList.forEach(serverId -> pingFutures.put(serverId, this.ping(nodesMap.get(serverId))));
+        pingFutures.forEach((serverId, future) -> this.doCheck(nodesMap.get(serverId), future));
     }
 
     /**
-     * Do check.
+     * Ping node.
      *
-     * @param nodesMap nodesMap
-     * @param serverId serverId
+     * @param node node
+     * @return CompletableFuture
      */
-    public void doCheck(Map<Long, Node> nodesMap, Long serverId) {
+    public CompletableFuture<NodePongDTO> ping(Node node) {
         // Ping info.
         NodePingDTO nodePingDTO = new NodePingDTO();
         nodePingDTO.setClusterVersion(ClusterContext.getSystem().getClusterVersion());
         nodePingDTO.setServerId(ClusterContext.getCurrentNode().getServerId());
 
-        Node node = nodesMap.get(serverId);
+        this.nodeFailureDetector.monitor(node.getServerId());
+        ActorSelection actor = ServerUtil.getServerClusterActor(node.getAkkaAddress());
+        return FutureUtil.ask(actor, nodePingDTO, NodePongDTO.class, clusterProperties.getPingTimeout())
+                .thenApply(nodePongDTO -> {
+                    // Heartbeat arrival time.
+                    this.nodeFailureDetector.heartbeat(node.getServerId());
+                    return nodePongDTO;
+                })
+                .toCompletableFuture();
+    }
+
+    /**
+     * Do check.
+     *
+     * @param node       node
+     * @param pingFuture ping future
+     */
+    public void doCheck(Node node, CompletableFuture<NodePongDTO> pingFuture) {
         try {
-            ActorSelection actor = ServerUtil.getServerClusterActor(node.getAkkaAddress());
-            NodePongDTO nodePongDTO = FutureUtil.mustAsk(actor, nodePingDTO, NodePongDTO.class, clusterProperties.getPingTimeout());
+            NodePongDTO nodePongDTO = pingFuture.join();
 
             // Current server is unknow.
             if (!nodePongDTO.getKnowServer()) {
                 this.checkOnline(node);
             }
         } catch (Exception e) {
-            log.info(String.format("Node %s ping failed!", node.toString()), e);
+            log.info(String.format("Node %s ping failed!", node.toString()), FutureUtil.unwrap(e));
 
             // Node failed.
-            // Record node fail message.
-            OpenjobSpringContext.getBean(HealthService.class).checkFailReports(serverId, node);
+            // Only confirmed failure is persisted.
+            this.checkFail(node);
         }
     }
 
     /**
-     * Check fail reports.
+     * Check fail by failure detector.
      *
-     * @param failServerId failServerId
-     * @param failNode     failNode
+     * @param failNode failNode
      */
-    @Transactional(rollbackFor = Exception.class)
-    public void checkFailReports(Long failServerId, Node failNode) {
-        // Save report
-        ServerReports serverReports = new ServerReports();
-        serverReports.setServerId(failNode.getServerId());
-        serverReports.setReportServerId(failServerId);
-        serverReports.setStatus(ServerReportStatusEnum.FAIL.getStatus());
-        serverReportsDAO.save(serverReports);
-
-        Long startTime = DateUtil.timestamp() - this.clusterProperties.getNodeFailPeriodTime() / 1000 * 2;
-        Long reportsCount = serverReportsDAO.countServerReports(startTime, failServerId, ServerReportStatusEnum.FAIL.getStatus());
-
-        // Offline
-        if (reportsCount > this.clusterProperties.getNodeFailTimes()) {
-            this.failCommon.fail(failNode);
+    public void checkFail(Node failNode) {
+        if (this.nodeFailureDetector.isAvailable(failNode.getServerId())) {
+            return;
         }
+
+        log.warn("Node {} is failed! phi={}", failNode, this.nodeFailureDetector.phi(failNode.getServerId()));
+        this.nodeFailureDetector.remove(failNode.getServerId());
+        this.failCommon.fail(failNode);
     }
 
     /**
@@ -136,21 +160,23 @@ public class HealthService {
 
         // Current is online.
         if (!CollectionUtils.isEmpty(jobSlots)) {
+            this.unknownReports.clear();
             return;
         }
 
-        // Save report
-        ServerReports serverReports = new ServerReports();
-        serverReports.setServerId(currentServerId);
-        serverReports.setReportServerId(reportNode.getServerId());
-        serverReports.setStatus(ServerReportStatusEnum.FAIL.getStatus());
-        serverReportsDAO.save(serverReports);
-
-        Long startTime = DateUtil.timestamp() - this.clusterProperties.getNodeSuccessPeriodTime() / 1000 * 2;
-        Long reportsCount = serverReportsDAO.countServerReports(startTime, currentServerId, ServerReportStatusEnum.FAIL.getStatus());
+        // Unknown reports in period.
+        long now = DateUtil.timestamp();
+        long startTime = now - this.clusterProperties.getNodeSuccessPeriodTime() / 1000 * 2;
+        this.unknownReports.addLast(now);
+        while (!this.unknownReports.isEmpty() && this.unknownReports.peekFirst() < startTime) {
+            this.unknownReports.pollFirst();
+        }
 
         // Online
-        if (reportsCount > this.clusterProperties.getNodeSuccessTimes()) {
+        log.info("Current node is unknown to {}! times={}", reportNode.getServerId(), this.unknownReports.size());
+        if (this.unknownReports.size() > this.clusterProperties.getNodeSuccessTimes()) {
+            this.unknownReports.clear();
+
             // Join node to cluster.
             Config config = this.actorSystem.settings().config();
             Integer bindPort = config.getInt(AkkaConfigConstant.AKKA_CANONICAL_PORT);
@@ -158,4 +184,4 @@ public class HealthService {
             this.joinCommon.join(bindHostname, bindPort);
         }
     }
-}
\ No newline at end of file
+}
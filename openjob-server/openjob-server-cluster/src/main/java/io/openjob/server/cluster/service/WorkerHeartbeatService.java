@@ -6,11 +6,14 @@ import io.openjob.common.response.ServerHeartbeatSystemResponse;
 import io.openjob.server.cluster.dto.WorkerHeartbeatReqDTO;
 import io.openjob.server.cluster.dto.WorkerHeartbeatRespDTO;
 import io.openjob.server.cluster.manager.WorkerHeartbeatManager;
+import io.openjob.server.common.ClusterContext;
 import io.openjob.server.common.util.BeanMapperUtil;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.HashMap;
+
 /**
  * @author stelin swoft@qq.com
  * @since 1.0.0
@@ -41,7 +44,17 @@ public class WorkerHeartbeatService {
         // Response
         ServerHeartbeatResponse serverHeartbeatResponse = new ServerHeartbeatResponse();
         serverHeartbeatResponse.setWorkerAddressList(workerHeartbeatRespDTO.getWorkerAddressList());
+        serverHeartbeatResponse.setWorkerVersion(workerHeartbeatRespDTO.getWorkerVersion());
+        serverHeartbeatResponse.setAddWorkers(workerHeartbeatRespDTO.getAddWorkers());
+        serverHeartbeatResponse.setRemoveWorkers(workerHeartbeatRespDTO.getRemoveWorkers());
         serverHeartbeatResponse.setSystemResponse(systemResponse);
+
+        // Server slots only when changed.
+        Long slotsVersion = ClusterContext.getServerSlotsVersion();
+        serverHeartbeatResponse.setSlotsVersion(slotsVersion);
+        if (!slotsVersion.equals(heartbeatReq.getSlotsVersion())) {
+            serverHeartbeatResponse.setServerSlots(new HashMap<>(ClusterContext.getServerSlots()));
+        }
         return serverHeartbeatResponse;
     }
 }
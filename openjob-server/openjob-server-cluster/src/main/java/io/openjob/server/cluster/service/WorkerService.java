@@ -11,6 +11,7 @@ import io.openjob.server.cluster.dto.WorkerStartRespDTO;
 import io.openjob.server.cluster.dto.WorkerStopReqDTO;
 import io.openjob.server.cluster.manager.WorkerManager;
 import io.openjob.server.common.ClusterContext;
+import io.openjob.server.common.HeartbeatTable;
 import io.openjob.server.common.util.BeanMapperUtil;
 import io.openjob.server.repository.constant.WorkerStatusEnum;
 import io.openjob.server.repository.dao.WorkerDAO;
@@ -83,13 +84,17 @@ public class WorkerService {
                 .stream()
                 .collect(Collectors.groupingBy(Worker::getStatus));
 
+        // Liveness from heartbeat table, db time for workers reporting to other servers.
+        HeartbeatTable heartbeatTable = ClusterContext.getHeartbeatTable();
+
         // New join worker
-        long onlinePos = DateUtil.timestamp() - this.clusterProperties.getWorker().getOnlinePeriod();
+        long onlinePeriod = this.clusterProperties.getWorker().getOnlinePeriod();
+        long onlinePos = DateUtil.timestamp() - onlinePeriod;
         List<Worker> offlineWorkers = Optional.ofNullable(workerMap.get(WorkerStatusEnum.OFFLINE.getStatus())).orElseGet(ArrayList::new);
         offlineWorkers.forEach(w -> {
             // Join worker
             // Ignore just off the line
-            if (w.getUpdateTime() < onlinePos && w.getLastHeartbeatTime() > onlinePos) {
+            if (w.getUpdateTime() < onlinePos && heartbeatTable.isWorkerAlive(w.getAddress(), w.getLastHeartbeatTime(), onlinePeriod)) {
                 WorkerStartRequest workerStartRequest = new WorkerStartRequest();
                 workerStartRequest.setAddress(w.getAddress());
                 workerStartRequest.setAppName(w.getAppName());
@@ -102,11 +107,11 @@ public class WorkerService {
         });
 
         // New fail worker.
-        long offlinePos = DateUtil.timestamp() - this.clusterProperties.getWorker().getOfflinePeriod();
+        long offlinePeriod = this.clusterProperties.getWorker().getOfflinePeriod();
         List<Worker> onlineWorkers = Optional.ofNullable(workerMap.get(WorkerStatusEnum.ONLINE.getStatus())).orElseGet(ArrayList::new);
         onlineWorkers.forEach(w -> {
             // Fail worker
-            if (w.getLastHeartbeatTime() < offlinePos) {
+            if (!heartbeatTable.isWorkerAlive(w.getAddress(), w.getLastHeartbeatTime(), offlinePeriod)) {
                 WorkerStopRequest workerStopRequest = new WorkerStopRequest();
                 workerStopRequest.setWorkerKey(w.getWorkerKey());
                 workerStopRequest.setAddress(w.getAddress());
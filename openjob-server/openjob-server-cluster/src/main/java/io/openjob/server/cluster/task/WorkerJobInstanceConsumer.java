@@ -22,7 +22,7 @@ public class WorkerJobInstanceConsumer extends BaseConsumer<WorkerJobInstanceSta
                                      Integer pollSize,
                                      String pollThreadName,
                                      TaskQueue<WorkerJobInstanceStatusReqDTO> queues) {
-        super(id, consumerCoreThreadNum, consumerMaxThreadNum, consumerThreadName, pollSize, pollThreadName, queues, 1000L, 1000L);
+        super(id, consumerCoreThreadNum, consumerMaxThreadNum, consumerThreadName, pollSize, pollThreadName, queues, 1000L, 200L);
     }
 
     @Override
@@ -1,6 +1,5 @@
 package io.openjob.server.cluster.util;
 
-import akka.actor.ActorRef;
 import io.openjob.common.context.Node;
 import io.openjob.common.util.FutureUtil;
 import io.openjob.server.cluster.dto.NodeResponseDTO;
@@ -13,11 +12,15 @@ import io.openjob.server.repository.entity.Worker;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.util.CollectionUtils;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -48,6 +51,26 @@ public class ClusterUtil {
         log.info(String.format("Refresh servers %s", servers));
     }
 
+    /**
+     * Server slots version is the FNV-1a hash of the slots map, so servers publish the same version
+     * for the same map no matter when the cluster version is refreshed.
+     *
+     * @param serverSlots server slots, key is server akka address.
+     * @return Long
+     */
+    public static Long getServerSlotsVersion(Map<String, List<Long>> serverSlots) {
+        long hash = 0xcbf29ce484222325L;
+        for (Map.Entry<String, List<Long>> entry : new TreeMap<>(serverSlots).entrySet()) {
+            List<Long> slots = new ArrayList<>(entry.getValue());
+            Collections.sort(slots);
+            String content = String.format("%s=%s;", entry.getKey(), slots);
+            for (byte b : content.getBytes(StandardCharsets.UTF_8)) {
+                hash = (hash ^ (b & 0xff)) * 0x100000001b3L;
+            }
+        }
+        return hash;
+    }
+
     /**
      * Refresh app workers.
      *
@@ -142,22 +165,27 @@ public class ClusterUtil {
             return true;
         }
 
-        // Loop to send message.
+        // Send message to all servers at once, total wait is one timeout instead of one per server.
         AtomicInteger successCounter = new AtomicInteger(0);
-        sendServers.forEach(knowId -> {
-            try {
-                String akkaAddress = nodesList.get(knowId).getAkkaAddress();
-                ServerUtil.getServerClusterActor(akkaAddress).tell(message, ActorRef.noSender());
-                NodeResponseDTO nodeResponse = FutureUtil.mustAsk(ServerUtil.getServerClusterActor(akkaAddress), message, NodeResponseDTO.class, 3000L);
-
-                // Counter
-                successCounter.incrementAndGet();
-
-                log.info("Cluster message success! akkaAddress={}, message={} response={}", akkaAddress, message, nodeResponse);
-            } catch (Throwable e) {
-                log.warn("Akka cluster message error!", e);
-            }
-        });
+        CompletableFuture<?>[] futures = sendServers.stream().map(knowId -> {
+            String akkaAddress = nodesList.get(knowId).getAkkaAddress();
+            return FutureUtil.ask(ServerUtil.getServerClusterActor(akkaAddress), message, NodeResponseDTO.class, 3000L)
+                    .whenComplete((nodeResponse, throwable) -> {
+                        if (Objects.nonNull(throwable)) {
+                            log.warn("Akka cluster message error!", FutureUtil.unwrap(throwable));
+                            return;
+                        }
+
+                        // Counter
+                        successCounter.incrementAndGet();
+
+                        log.info("Cluster message success! akkaAddress={}, message={} response={}", akkaAddress, message, nodeResponse);
+                    })
+                    .toCompletableFuture();
+        }).toArray(CompletableFuture[]::new);
+
+        // Failures are counted by handlers.
+        CompletableFuture.allOf(futures).exceptionally(t -> null).join();
 
         int half = (int) Math.ceil((double) sendServers.size() / 2);
         return successCounter.get() >= half;
@@ -0,0 +1,143 @@
+package io.openjob.server.cluster.util;
+
+import com.google.common.hash.Hashing;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Slots assignment when server joins or fails.
+ * Range mode splits slots by count, hash mode places servers on a consistent hash ring with virtual nodes,
+ * so the owner of a slot only depends on the servers, and a membership change moves about 1/N slots.
+ * Every method returns migrations, key is server id, value is slots ids to move to the server.
+ *
+ * @author stelin swoft@qq.com
+ * @since 1.0.8
+ */
+public class SlotsAssignUtil {
+
+    private SlotsAssignUtil() {
+
+    }
+
+    /**
+     * Range join, every server gives 1/N of its slots to the joined server.
+     *
+     * @param serverSlots  current server slots, unassigned slots are excluded.
+     * @param serverCount  server count including the joined server.
+     * @param joinServerId joined server id
+     * @return Map
+     */
+    public static Map<Long, List<Long>> rangeJoin(Map<Long, List<Long>> serverSlots, Integer serverCount, Long joinServerId) {
+        List<Long> migratedList = new ArrayList<>();
+        serverSlots.forEach((id, slots) -> {
+            int migratedSize = (int) Math.floor(slots.size() * (1.0 / serverCount));
+            migratedList.addAll(slots.subList(0, migratedSize));
+        });
+
+        Map<Long, List<Long>> migrations = new HashMap<>(4);
+        if (!migratedList.isEmpty()) {
+            migrations.put(joinServerId, migratedList);
+        }
+        return migrations;
+    }
+
+    /**
+     * Range fail, slots of failed server are split to remaining servers in order.
+     *
+     * @param failSlots       slots of failed server
+     * @param remainServerIds remaining server ids, must not be empty.
+     * @return Map
+     */
+    public static Map<Long, List<Long>> rangeFail(List<Long> failSlots, List<Long> remainServerIds) {
+        int index = 0;
+        int serverCount = remainServerIds.size();
+        int slotsSize = (int) Math.floor((double) failSlots.size() / serverCount);
+
+        Map<Long, List<Long>> migrations = new HashMap<>(16);
+        for (int i = 0; i < serverCount; i++) {
+            // Last server.
+            if (i + 1 == serverCount) {
+                migrations.put(remainServerIds.get(i), new ArrayList<>(failSlots.subList(index, failSlots.size())));
+                break;
+            }
+
+            int segmentSize = (i + 1) * slotsSize;
+            migrations.put(remainServerIds.get(i), new ArrayList<>(failSlots.subList(index, segmentSize)));
+            index = segmentSize;
+        }
+        return migrations;
+    }
+
+    /**
+     * Hash join, only slots owned by the joined server on the ring and unassigned slots are moved.
+     *
+     * @param slotServers  key is slots id, value is current server id, 0 is unassigned.
+     * @param serverIds    server ids including the joined server.
+     * @param joinServerId joined server id
+     * @param virtualNodes virtual nodes of every server
+     * @return Map
+     */
+    public static Map<Long, List<Long>> hashJoin(Map<Long, Long> slotServers, Collection<Long> serverIds, Long joinServerId, Integer virtualNodes) {
+        Map<Long, Long> owners = hashOwners(slotServers.keySet(), serverIds, virtualNodes);
+
+        Map<Long, List<Long>> migrations = new HashMap<>(16);
+        slotServers.forEach((slotsId, serverId) -> {
+            Long owner = owners.get(slotsId);
+            boolean unassigned = Objects.isNull(serverId) || serverId <= 0;
+            if ((unassigned || owner.equals(joinServerId)) && !owner.equals(serverId)) {
+                migrations.computeIfAbsent(owner, k -> new ArrayList<>()).add(slotsId);
+            }
+        });
+        return migrations;
+    }
+
+    /**
+     * Hash fail, only slots of the failed server are moved to their owners on the ring.
+     *
+     * @param failSlots       slots of failed server
+     * @param remainServerIds remaining server ids, must not be empty.
+     * @param virtualNodes    virtual nodes of every server
+     * @return Map
+     */
+    public static Map<Long, List<Long>> hashFail(List<Long> failSlots, Collection<Long> remainServerIds, Integer virtualNodes) {
+        Map<Long, List<Long>> migrations = new HashMap<>(16);
+        hashOwners(failSlots, remainServerIds, virtualNodes)
+                .forEach((slotsId, owner) -> migrations.computeIfAbsent(owner, k -> new ArrayList<>()).add(slotsId));
+        return migrations;
+    }
+
+    /**
+     * Owner of every slot on the ring.
+     *
+     * @param slotIds      slots ids
+     * @param serverIds    server ids, must not be empty.
+     * @param virtualNodes virtual nodes of every server
+     * @return Map, key is slots id, value is server id.
+     */
+    public static Map<Long, Long> hashOwners(Collection<Long> slotIds, Collection<Long> serverIds, Integer virtualNodes) {
+        TreeMap<Long, Long> ring = new TreeMap<>();
+        serverIds.forEach(serverId -> {
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.put(hash(String.format("server-%d-%d", serverId, i)), serverId);
+            }
+        });
+
+        Map<Long, Long> owners = new HashMap<>(slotIds.size());
+        slotIds.forEach(slotsId -> {
+            Map.Entry<Long, Long> entry = ring.ceilingEntry(hash(String.format("slots-%d", slotsId)));
+            owners.put(slotsId, Objects.isNull(entry) ? ring.firstEntry().getValue() : entry.getValue());
+        });
+        return owners;
+    }
+
+    private static Long hash(String key) {
+        return Hashing.murmur3_128().hashString(key, StandardCharsets.UTF_8).asLong();
+    }
+}
@@ -0,0 +1,82 @@
+package io.openjob.server.cluster.detector;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @author stelin swoft@qq.com
+ * @since 1.0.8
+ */
+public class PhiAccrualFailureDetectorTest {
+    private final AtomicLong clock = new AtomicLong(0L);
+
+    @Test
+    public void testPhi() {
+        PhiAccrualFailureDetector detector = this.detector();
+        Assertions.assertFalse(detector.isMonitoring());
+        Assertions.assertTrue(detector.isAvailable());
+
+        detector.heartbeat();
+        for (int i = 0; i < 10; i++) {
+            this.clock.addAndGet(3000L);
+            detector.heartbeat();
+        }
+
+        // Phi increases with time since last heartbeat, still available in the acceptable pause.
+        this.clock.addAndGet(3000L);
+        double onTime = detector.phi();
+        this.clock.addAndGet(4000L);
+        double late = detector.phi();
+        Assertions.assertTrue(onTime < late);
+        Assertions.assertTrue(detector.isAvailable());
+
+        this.clock.addAndGet(30000L);
+        Assertions.assertFalse(detector.isAvailable());
+    }
+
+    @Test
+    public void testSimulation() {
+        Random random = new Random(2023L);
+        PhiAccrualFailureDetector detector = this.detector();
+
+        // Heartbeat every 3s with jitter, 2% heartbeats are delayed by a ping timeout(3s).
+        long checks = 0;
+        long falsePositives = 0;
+        long nextHeartbeat = 0;
+        long lastHeartbeat = 0;
+        long end = 24 * 3600 * 1000L;
+        for (long now = 0; now < end; now += 100) {
+            this.clock.set(now);
+            if (now >= nextHeartbeat) {
+                detector.heartbeat();
+                lastHeartbeat = now;
+                long interval = 3000L + (long) (random.nextGaussian() * 300);
+                nextHeartbeat = now + interval + (random.nextInt(100) < 2 ? 3000L : 0L);
+            }
+
+            checks++;
+            if (!detector.isAvailable()) {
+                falsePositives++;
+            }
+        }
+
+        // Node crashed after last heartbeat.
+        long detectTime = this.clock.get();
+        while (detector.isAvailable()) {
+            detectTime += 100;
+            this.clock.set(detectTime);
+        }
+
+        // Not detected in mean interval plus acceptable pause, detected before a fixed 15s timeout.
+        Assertions.assertTrue((double) falsePositives / checks < 0.0001);
+        Assertions.assertTrue(detectTime - lastHeartbeat > 6000L);
+        Assertions.assertTrue(detectTime - lastHeartbeat < 15000L);
+    }
+
+    private PhiAccrualFailureDetector detector() {
+        return new PhiAccrualFailureDetector(8.0, 200, 500L, 3000L, 3000L, this.clock::get);
+    }
+}
@@ -0,0 +1,67 @@
+package io.openjob.server.cluster.manager;
+
+import io.openjob.server.cluster.autoconfigure.ClusterProperties;
+import io.openjob.server.cluster.dto.WorkerHeartbeatForwardDTO;
+import io.openjob.server.cluster.dto.WorkerHeartbeatReqDTO;
+import io.openjob.server.common.ClusterContext;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * @author stelin swoft@qq.com
+ * @since 1.0.8
+ */
+public class WorkerHeartbeatManagerTest {
+    private final WorkerHeartbeatManager manager = new WorkerHeartbeatManager(null, null, null, new ClusterProperties());
+
+    @Test
+    public void testSteadyHeartbeatNotForwarded() {
+        ClusterContext.getLeaseTable().grant(9001L, 1L, 1L, "127.0.0.1:26001");
+        ClusterContext.getLeaseTable().grant(9002L, 1L, 1L, "127.0.0.1:26002");
+        List<WorkerHeartbeatReqDTO> requests = Arrays.asList(
+                this.newRequest("127.0.0.1:26001", 9001L),
+                this.newRequest("127.0.0.1:26002", 9002L));
+
+        // First loads are forwarded.
+        WorkerHeartbeatForwardDTO forwardDTO = this.manager.renew(requests);
+        Assertions.assertNotNull(forwardDTO);
+        Assertions.assertEquals(2, forwardDTO.getWorkerLoads().size());
+        Assertions.assertTrue(forwardDTO.getJobInstanceIds().isEmpty());
+
+        // Steady heartbeats with leases of current server.
+        for (int i = 0; i < 3; i++) {
+            Assertions.assertNull(this.manager.renew(requests));
+        }
+
+        ClusterContext.getLeaseTable().release(9001L);
+        ClusterContext.getLeaseTable().release(9002L);
+    }
+
+    @Test
+    public void testUnknownInstanceForwarded() {
+        List<WorkerHeartbeatReqDTO> requests = Collections.singletonList(this.newRequest("127.0.0.1:26003", 9003L));
+        this.manager.renew(requests);
+
+        // Lease is not on current server.
+        WorkerHeartbeatForwardDTO forwardDTO = this.manager.renew(requests);
+        Assertions.assertNotNull(forwardDTO);
+        Assertions.assertEquals(Collections.singletonList(9003L), forwardDTO.getJobInstanceIds());
+        Assertions.assertTrue(forwardDTO.getWorkerLoads().isEmpty());
+    }
+
+    private WorkerHeartbeatReqDTO newRequest(String address, Long instanceId) {
+        WorkerHeartbeatReqDTO request = new WorkerHeartbeatReqDTO();
+        request.setAppId(1L);
+        request.setAddress(address);
+        request.setRunningJobInstanceIds(Collections.singletonList(instanceId));
+        request.setContainerTaskNum(0);
+        request.setSystemLoad(1D);
+        request.setCpuNum(4);
+        request.setCapacity(1);
+        return request;
+    }
+}
@@ -5,9 +5,12 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * @author stelin swoft@qq.com
@@ -246,4 +249,24 @@ public class ClusterUtilTest {
         expect.add(8L);
         Assertions.assertEquals(knowServers, expect);
     }
+
+    @Test
+    public void testGetServerSlotsVersion() {
+        Map<String, List<Long>> serverSlots = new HashMap<>(16);
+        serverSlots.put("127.0.0.1:25520", Arrays.asList(1L, 2L));
+        serverSlots.put("127.0.0.1:25521", Arrays.asList(4L, 3L));
+        Long version = ClusterUtil.getServerSlotsVersion(serverSlots);
+
+        // Same content, same version.
+        Map<String, List<Long>> sameSlots = new TreeMap<>();
+        sameSlots.put("127.0.0.1:25521", Arrays.asList(3L, 4L));
+        sameSlots.put("127.0.0.1:25520", Arrays.asList(2L, 1L));
+        Assertions.assertEquals(version, ClusterUtil.getServerSlotsVersion(sameSlots));
+
+        // Slot moved to other server.
+        Map<String, List<Long>> movedSlots = new HashMap<>(16);
+        movedSlots.put("127.0.0.1:25520", Arrays.asList(1L, 2L, 3L));
+        movedSlots.put("127.0.0.1:25521", Collections.singletonList(4L));
+        Assertions.assertNotEquals(version, ClusterUtil.getServerSlotsVersion(movedSlots));
+    }
 }
@@ -0,0 +1,152 @@
+package io.openjob.server.cluster.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * @author stelin swoft@qq.com
+ * @since 1.0.8
+ */
+public class SlotsAssignUtilTest {
+    private static final int MAX_SLOT = 256;
+    private static final int VIRTUAL_NODES = 160;
+
+    @Test
+    public void testHashJoinMovesOnlyToJoinedServer() {
+        Map<Long, Long> slotServers = this.unassigned();
+        this.join(slotServers, 1L, true);
+        this.join(slotServers, 2L, true);
+        this.join(slotServers, 3L, true);
+        Map<Long, Long> before = new HashMap<>(slotServers);
+
+        int moved = this.join(slotServers, 4L, true);
+        slotServers.forEach((slotsId, serverId) -> {
+            if (!serverId.equals(before.get(slotsId))) {
+                Assertions.assertEquals(4L, serverId);
+            }
+        });
+        Assertions.assertTrue(moved > MAX_SLOT / 8 && moved < MAX_SLOT / 2);
+    }
+
+    @Test
+    public void testHashRestartRestoresSlots() {
+        Map<Long, Long> slotServers = this.unassigned();
+        for (long id = 1; id <= 4; id++) {
+            this.join(slotServers, id, true);
+        }
+        Map<Long, Long> before = new HashMap<>(slotServers);
+
+        this.fail(slotServers, 2L, true);
+        this.join(slotServers, 2L, true);
+        Assertions.assertEquals(before, slotServers);
+    }
+
+    @Test
+    public void testChurn() {
+        // Join 1-4, server 2 restarts, server 5 joins, server 3 fails, server 3 restarts.
+        int rangeMoved = this.churn(false);
+        int hashMoved = this.churn(true);
+        Assertions.assertTrue(hashMoved <= rangeMoved);
+    }
+
+    private int churn(boolean hash) {
+        Map<Long, Long> slotServers = this.unassigned();
+        for (long id = 1; id <= 4; id++) {
+            this.join(slotServers, id, hash);
+        }
+
+        // Every membership change moves about 1/N slots.
+        int failMoved = this.assertMoved(this.fail(slotServers, 2L, hash), 4);
+        int restartMoved = this.assertMoved(this.join(slotServers, 2L, hash), 4);
+        int moved = failMoved + restartMoved;
+        moved += this.assertMoved(this.join(slotServers, 5L, hash), 5);
+        int secondFailMoved = this.assertMoved(this.fail(slotServers, 3L, hash), 5);
+        int secondRestartMoved = this.assertMoved(this.join(slotServers, 3L, hash), 5);
+        moved += secondFailMoved + secondRestartMoved;
+
+        // Hash restart moves back exactly the failed slots.
+        if (hash) {
+            Assertions.assertEquals(failMoved, restartMoved);
+            Assertions.assertEquals(secondFailMoved, secondRestartMoved);
+        }
+
+        // Every live server keeps some slots.
+        Assertions.assertEquals(5, new TreeSet<>(slotServers.values()).size());
+        return moved;
+    }
+
+    private int assertMoved(int moved, int serverCount) {
+        Assertions.assertTrue(moved > MAX_SLOT / serverCount / 2, String.valueOf(moved));
+        Assertions.assertTrue(moved < MAX_SLOT / serverCount * 2, String.valueOf(moved));
+        return moved;
+    }
+
+    private int join(Map<Long, Long> slotServers, Long joinServerId, boolean hash) {
+        TreeSet<Long> serverIds = new TreeSet<>(slotServers.values());
+        serverIds.remove(0L);
+        serverIds.add(joinServerId);
+
+        Map<Long, List<Long>> migrations;
+        if (hash) {
+            migrations = SlotsAssignUtil.hashJoin(slotServers, serverIds, joinServerId, VIRTUAL_NODES);
+        } else {
+            Map<Long, List<Long>> serverSlots = new TreeMap<>();
+            slotServers.forEach((slotsId, serverId) -> {
+                if (serverId > 0) {
+                    serverSlots.computeIfAbsent(serverId, k -> new ArrayList<>()).add(slotsId);
+                }
+            });
+            migrations = SlotsAssignUtil.rangeJoin(serverSlots, serverIds.size(), joinServerId);
+
+            // First server node.
+            if (migrations.isEmpty()) {
+                slotServers.replaceAll((k, v) -> joinServerId);
+                return MAX_SLOT;
+            }
+        }
+        return this.apply(slotServers, migrations);
+    }
+
+    private int fail(Map<Long, Long> slotServers, Long failServerId, boolean hash) {
+        List<Long> failSlots = new ArrayList<>();
+        slotServers.forEach((slotsId, serverId) -> {
+            if (serverId.equals(failServerId)) {
+                failSlots.add(slotsId);
+            }
+        });
+
+        TreeSet<Long> remainServerIds = new TreeSet<>(slotServers.values());
+        remainServerIds.remove(failServerId);
+        Map<Long, List<Long>> migrations = hash
+                ? SlotsAssignUtil.hashFail(failSlots, remainServerIds, VIRTUAL_NODES)
+                : SlotsAssignUtil.rangeFail(failSlots, new ArrayList<>(remainServerIds));
+        return this.apply(slotServers, migrations);
+    }
+
+    private int apply(Map<Long, Long> slotServers, Map<Long, List<Long>> migrations) {
+        int moved = 0;
+        for (Map.Entry<Long, List<Long>> entry : migrations.entrySet()) {
+            for (Long slotsId : entry.getValue()) {
+                if (!entry.getKey().equals(slotServers.put(slotsId, entry.getKey()))) {
+                    moved++;
+                }
+            }
+        }
+        return moved;
+    }
+
+    private Map<Long, Long> unassigned() {
+        Map<Long, Long> slotServers = new TreeMap<>();
+        for (long i = 1; i <= MAX_SLOT; i++) {
+            slotServers.put(i, 0L);
+        }
+        return slotServers;
+    }
+}
@@ -7,11 +7,11 @@ import io.openjob.server.common.dto.SystemDTO;
 import io.openjob.server.common.dto.WorkerDTO;
 
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * @author stelin swoft@qq.com
@@ -35,21 +35,30 @@ public class ClusterContext {
     private static SystemDTO system;
 
     /**
-     * Current slots
+     * Cluster snapshot of nodes, slots and app workers.
+     * Writers are serialized and publish a new snapshot, readers never lock.
      */
-    private static final Set<Long> CURRENT_SLOTS = new HashSet<>();
+    private static volatile ClusterSnapshot snapshot = ClusterSnapshot.EMPTY;
 
     /**
-     * Cluster nodes.
-     * Key is server id, Value is server node.
+     * App worker membership versions.
      */
-    private static final Map<Long, Node> NODES_LIST = Maps.newConcurrentMap();
+    private static final WorkerMembership WORKER_MEMBERSHIP = new WorkerMembership();
 
     /**
-     * App worker list.
-     * Key is appid, Value is workers.
+     * Worker heartbeat liveness table.
      */
-    private static final Map<Long, List<WorkerDTO>> APP_WORKERS = Maps.newConcurrentMap();
+    private static final HeartbeatTable HEARTBEAT_TABLE = new HeartbeatTable();
+
+    /**
+     * Leases of running job instances owned by current server.
+     */
+    private static final LeaseTable LEASE_TABLE = new LeaseTable();
+
+    /**
+     * Worker loads for dispatch.
+     */
+    private static final WorkerLoadTable WORKER_LOAD_TABLE = new WorkerLoadTable();
 
     /**
      * Refresh Current node.
@@ -57,8 +66,17 @@ public class ClusterContext {
      * @param slotsIds Current slots ids.
      */
     public static synchronized void refreshCurrentSlots(Set<Long> slotsIds) {
-        CURRENT_SLOTS.clear();
-        CURRENT_SLOTS.addAll(slotsIds);
+        snapshot = snapshot.withCurrentSlots(slotsIds);
+    }
+
+    /**
+     * Refresh all server slots.
+     *
+     * @param slots   slots
+     * @param version version
+     */
+    public static synchronized void refreshServerSlots(Map<String, List<Long>> slots, Long version) {
+        snapshot = snapshot.withServerSlots(slots, version);
     }
 
     /**
@@ -67,8 +85,7 @@ public class ClusterContext {
      * @param nodes nodes
      */
     public static synchronized void refreshNodeList(Map<Long, Node> nodes) {
-        NODES_LIST.clear();
-        NODES_LIST.putAll(nodes);
+        snapshot = snapshot.withNodes(nodes);
     }
 
     /**
@@ -77,8 +94,12 @@ public class ClusterContext {
      * @param workers workers
      */
     public static synchronized void refreshAppWorkers(Map<Long, List<WorkerDTO>> workers) {
-        APP_WORKERS.clear();
-        APP_WORKERS.putAll(workers);
+        snapshot = snapshot.withAppWorkers(workers);
+
+        // Membership versions
+        Map<Long, List<String>> appAddresses = Maps.newHashMap();
+        workers.forEach((appId, list) -> appAddresses.put(appId, list.stream().map(WorkerDTO::getAddress).collect(Collectors.toList())));
+        WORKER_MEMBERSHIP.refreshAll(appAddresses);
     }
 
     /**
@@ -112,16 +133,41 @@ public class ClusterContext {
         return ClusterContext.system;
     }
 
+    /**
+     * Return cluster snapshot, read it once for a consistent view.
+     *
+     * @return ClusterSnapshot
+     */
+    public static ClusterSnapshot getSnapshot() {
+        return snapshot;
+    }
+
     public static Map<Long, List<WorkerDTO>> get() {
-        return APP_WORKERS;
+        return snapshot.getAppWorkers();
     }
 
     public static Map<Long, List<WorkerDTO>> getAppWorkers() {
-        return APP_WORKERS;
+        return snapshot.getAppWorkers();
+    }
+
+    public static WorkerMembership getWorkerMembership() {
+        return WORKER_MEMBERSHIP;
+    }
+
+    public static HeartbeatTable getHeartbeatTable() {
+        return HEARTBEAT_TABLE;
+    }
+
+    public static LeaseTable getLeaseTable() {
+        return LEASE_TABLE;
+    }
+
+    public static WorkerLoadTable getWorkerLoadTable() {
+        return WORKER_LOAD_TABLE;
     }
 
     public static List<WorkerDTO> getWorkersByAppId(Long appId) {
-        return Optional.ofNullable(APP_WORKERS.get(appId))
+        return Optional.ofNullable(snapshot.getAppWorkers().get(appId))
                 .orElseGet(ArrayList::new);
     }
 
@@ -131,7 +177,7 @@ public class ClusterContext {
      * @return Set<Long>
      */
     public static Set<Long> getCurrentSlots() {
-        return CURRENT_SLOTS;
+        return snapshot.getCurrentSlots();
     }
 
 
@@ -141,7 +187,15 @@ public class ClusterContext {
      * @return Map<Long, Node>
      */
     public static Map<Long, Node> getNodesMap() {
-        return NODES_LIST;
+        return snapshot.getNodes();
+    }
+
+    public static Map<String, List<Long>> getServerSlots() {
+        return snapshot.getServerSlots();
+    }
+
+    public static Long getServerSlotsVersion() {
+        return snapshot.getServerSlotsVersion();
     }
 
     public static ActorRef getClusterActorRef() {
@@ -0,0 +1,149 @@
+package io.openjob.server.common;
+
+import io.openjob.common.context.Node;
+import io.openjob.server.common.dto.WorkerDTO;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable cluster snapshot.
+ * Every refresh publishes a new snapshot with a greater version, readers get a consistent view without locks,
+ * and the version tells whether anything changed since the last read.
+ *
+ * @author stelin swoft@qq.com
+ * @since 1.0.8
+ */
+public final class ClusterSnapshot {
+
+    /**
+     * Empty snapshot.
+     */
+    public static final ClusterSnapshot EMPTY = new ClusterSnapshot(0L, Collections.emptyMap(), Collections.emptySet(),
+            Collections.emptyMap(), 0L, Collections.emptyMap());
+
+    /**
+     * Snapshot version.
+     */
+    private final Long version;
+
+    /**
+     * Cluster nodes.
+     * Key is server id, Value is server node.
+     */
+    private final Map<Long, Node> nodes;
+
+    /**
+     * Current slots.
+     */
+    private final Set<Long> currentSlots;
+
+    /**
+     * All server slots.
+     * Key is server akka address, Value is slots ids.
+     */
+    private final Map<String, List<Long>> serverSlots;
+
+    /**
+     * Server slots version.
+     */
+    private final Long serverSlotsVersion;
+
+    /**
+     * App worker list.
+     * Key is appid, Value is workers.
+     */
+    private final Map<Long, List<WorkerDTO>> appWorkers;
+
+    private ClusterSnapshot(Long version,
+                            Map<Long, Node> nodes,
+                            Set<Long> currentSlots,
+                            Map<String, List<Long>> serverSlots,
+                            Long serverSlotsVersion,
+                            Map<Long, List<WorkerDTO>> appWorkers) {
+        this.version = version;
+        this.nodes = nodes;
+        this.currentSlots = currentSlots;
+        this.serverSlots = serverSlots;
+        this.serverSlotsVersion = serverSlotsVersion;
+        this.appWorkers = appWorkers;
+    }
+
+    /**
+     * New snapshot with nodes.
+     *
+     * @param nodes nodes
+     * @return ClusterSnapshot
+     */
+    public ClusterSnapshot withNodes(Map<Long, Node> nodes) {
+        return new ClusterSnapshot(this.version + 1, Collections.unmodifiableMap(new HashMap<>(nodes)), this.currentSlots,
+                this.serverSlots, this.serverSlotsVersion, this.appWorkers);
+    }
+
+    /**
+     * New snapshot with current slots.
+     *
+     * @param currentSlots current slots
+     * @return ClusterSnapshot
+     */
+    public ClusterSnapshot withCurrentSlots(Set<Long> currentSlots) {
+        return new ClusterSnapshot(this.version + 1, this.nodes, Collections.unmodifiableSet(new HashSet<>(currentSlots)),
+                this.serverSlots, this.serverSlotsVersion, this.appWorkers);
+    }
+
+    /**
+     * New snapshot with server slots.
+     *
+     * @param serverSlots        server slots
+     * @param serverSlotsVersion server slots version
+     * @return ClusterSnapshot
+     */
+    public ClusterSnapshot withServerSlots(Map<String, List<Long>> serverSlots, Long serverSlotsVersion) {
+        Map<String, List<Long>> copy = new HashMap<>(serverSlots.size());
+        serverSlots.forEach((k, v) -> copy.put(k, Collections.unmodifiableList(new ArrayList<>(v))));
+        return new ClusterSnapshot(this.version + 1, this.nodes, this.currentSlots,
+                Collections.unmodifiableMap(copy), serverSlotsVersion, this.appWorkers);
+    }
+
+    /**
+     * New snapshot with app workers.
+     *
+     * @param appWorkers app workers
+     * @return ClusterSnapshot
+     */
+    public ClusterSnapshot withAppWorkers(Map<Long, List<WorkerDTO>> appWorkers) {
+        Map<Long, List<WorkerDTO>> copy = new HashMap<>(appWorkers.size());
+        appWorkers.forEach((k, v) -> copy.put(k, Collections.unmodifiableList(new ArrayList<>(v))));
+        return new ClusterSnapshot(this.version + 1, this.nodes, this.currentSlots,
+                this.serverSlots, this.serverSlotsVersion, Collections.unmodifiableMap(copy));
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public Map<Long, Node> getNodes() {
+        return nodes;
+    }
+
+    public Set<Long> getCurrentSlots() {
+        return currentSlots;
+    }
+
+    public Map<String, List<Long>> getServerSlots() {
+        return serverSlots;
+    }
+
+    public Long getServerSlotsVersion() {
+        return serverSlotsVersion;
+    }
+
+    public Map<Long, List<WorkerDTO>> getAppWorkers() {
+        return appWorkers;
+    }
+}
@@ -0,0 +1,117 @@
+package io.openjob.server.common;
+
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import io.openjob.common.util.DateUtil;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * In-memory liveness table of worker heartbeats received by current server.
+ * It is the source of truth for liveness checks, changed entries are flushed to db in coalesced batches,
+ * so times in db lag at most one flush period and are only used for heartbeats received by other servers.
+ *
+ * @author stelin swoft@qq.com
+ * @since 1.0.8
+ */
+public class HeartbeatTable {
+
+    /**
+     * Flushed entries not reported in this time(s) are removed.
+     */
+    private static final Long EXPIRE_SECONDS = 300L;
+
+    /**
+     * Worker heartbeat times.
+     * Key is worker address, value is last heartbeat time.
+     */
+    private final Map<String, Long> workers = Maps.newConcurrentMap();
+
+    /**
+     * Not flushed workers.
+     */
+    private final Set<String> dirtyWorkers = Sets.newConcurrentHashSet();
+
+    /**
+     * Flush period(s).
+     */
+    private volatile Long flushPeriod = 0L;
+
+    /**
+     * Worker heartbeat, running job instances are renewed by lease table.
+     *
+     * @param address   worker address
+     * @param timestamp heartbeat time
+     */
+    public void heartbeat(String address, Long timestamp) {
+        this.workers.merge(address, timestamp, Math::max);
+        this.dirtyWorkers.add(address);
+    }
+
+    /**
+     * Drain not flushed workers and remove expired workers.
+     *
+     * @return Map, key is heartbeat time, value is worker addresses.
+     */
+    public Map<Long, List<String>> drainWorkers() {
+        return drain(this.workers, this.dirtyWorkers);
+    }
+
+    /**
+     * Whether worker is alive in the period.
+     *
+     * @param address worker address
+     * @param dbTime  last heartbeat time in db
+     * @param period  period(s)
+     * @return Boolean
+     */
+    public Boolean isWorkerAlive(String address, Long dbTime, Long period) {
+        return this.isAlive(this.workers.get(address), dbTime, period);
+    }
+
+    public void setFlushPeriod(Long flushPeriod) {
+        this.flushPeriod = flushPeriod;
+    }
+
+    public Long getFlushPeriod() {
+        return this.flushPeriod;
+    }
+
+    private Boolean isAlive(Long localTime, Long dbTime, Long period) {
+        long now = DateUtil.timestamp();
+        if (Objects.nonNull(localTime) && localTime >= now - period) {
+            return true;
+        }
+
+        // Reported to other servers, db time lags one flush period.
+        if (Objects.isNull(dbTime) || (Objects.nonNull(localTime) && dbTime <= localTime)) {
+            return false;
+        }
+        return dbTime >= now - period - this.flushPeriod;
+    }
+
+    private static <K> Map<Long, List<K>> drain(Map<K, Long> times, Set<K> dirty) {
+        Map<Long, List<K>> drained = new HashMap<>(16);
+        Iterator<K> iterator = dirty.iterator();
+        while (iterator.hasNext()) {
+            K key = iterator.next();
+            iterator.remove();
+
+            Long time = times.get(key);
+            if (Objects.nonNull(time)) {
+                drained.computeIfAbsent(time, t -> new ArrayList<>()).add(key);
+            }
+        }
+
+        // Remove expired entries.
+        long expireTime = DateUtil.timestamp() - EXPIRE_SECONDS;
+        times.entrySet().removeIf(e -> e.getValue() < expireTime && !dirty.contains(e.getKey()));
+        return drained;
+    }
+}
@@ -0,0 +1,287 @@
+package io.openjob.server.common;
+
+import io.openjob.common.util.DateUtil;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * In-memory leases of running job instances owned by current server.
+ * A lease is granted on dispatch, renewed by worker heartbeats and released on complete,
+ * leases are rebuilt from db when slots are acquired and indexed by job for misfire strategies.
+ * Expiries are kept in a delay queue, renew only moves the expire time and the queue entry is
+ * pushed back when it is due, so a lease costs one queue operation per lease period instead of per renew.
+ *
+ * @author stelin swoft@qq.com
+ * @since 1.0.8
+ */
+@Slf4j
+public class LeaseTable {
+
+    /**
+     * Leases, key is job instance id.
+     */
+    private final Map<Long, Lease> leases = new ConcurrentHashMap<>();
+
+    /**
+     * Running job instances, key is job id.
+     */
+    private final Map<Long, Set<Long>> jobInstances = new ConcurrentHashMap<>();
+
+    /**
+     * Lease expiries.
+     */
+    private final DelayQueue<Lease> expiries = new DelayQueue<>();
+
+    /**
+     * Lease period(ms).
+     */
+    private volatile Long leasePeriod = 15000L;
+
+    /**
+     * Expire thread.
+     */
+    private Thread expireThread;
+
+    /**
+     * Start expire thread.
+     *
+     * @param listener expired leases listener, expired leases are handed over in batches.
+     */
+    public synchronized void start(Consumer<List<Lease>> listener) {
+        if (Objects.nonNull(this.expireThread)) {
+            return;
+        }
+
+        this.expireThread = new Thread(() -> this.expire(listener), "openjob-lease-expire");
+        this.expireThread.setDaemon(true);
+        this.expireThread.start();
+    }
+
+    /**
+     * Stop expire thread.
+     */
+    public synchronized void stop() {
+        if (Objects.nonNull(this.expireThread)) {
+            this.expireThread.interrupt();
+            this.expireThread = null;
+        }
+    }
+
+    /**
+     * Grant a new lease, an existing lease is replaced.
+     *
+     * @param instanceId    job instance id
+     * @param slotsId       slots id
+     * @param jobId         job id, null is not indexed by job, such as execute once instance.
+     * @param workerAddress worker address
+     */
+    public void grant(Long instanceId, Long slotsId, Long jobId, String workerAddress) {
+        Lease lease = new Lease(instanceId, slotsId, jobId, workerAddress, DateUtil.milliLongTime() + this.leasePeriod);
+        Lease old = this.leases.put(instanceId, lease);
+        if (Objects.nonNull(old)) {
+            this.unindex(old);
+        }
+        if (Objects.nonNull(jobId)) {
+            // Added in compute, a concurrent unindex can not remove the set before the add.
+            this.jobInstances.compute(jobId, (k, ids) -> {
+                Set<Long> instanceIds = Objects.isNull(ids) ? ConcurrentHashMap.newKeySet() : ids;
+                instanceIds.add(instanceId);
+                return instanceIds;
+            });
+        }
+        this.expiries.offer(lease);
+    }
+
+    /**
+     * Renew leases.
+     *
+     * @param instanceIds job instance ids
+     * @return job instance ids without lease on current server
+     */
+    public List<Long> renew(Collection<Long> instanceIds) {
+        long expireTime = DateUtil.milliLongTime() + this.leasePeriod;
+        List<Long> unknownIds = new ArrayList<>();
+        instanceIds.forEach(id -> {
+            Lease lease = this.leases.get(id);
+            if (Objects.isNull(lease)) {
+                unknownIds.add(id);
+                return;
+            }
+            lease.expireTime = expireTime;
+        });
+        return unknownIds;
+    }
+
+    /**
+     * Release lease.
+     *
+     * @param instanceId job instance id
+     */
+    public void release(Long instanceId) {
+        Lease lease = this.leases.remove(instanceId);
+        if (Objects.nonNull(lease)) {
+            this.unindex(lease);
+        }
+    }
+
+    /**
+     * Release leases of slots, such as slots are migrated to other servers.
+     *
+     * @param slotsIds slots ids
+     */
+    public void releaseBySlotsIds(Set<Long> slotsIds) {
+        this.leases.values().forEach(l -> {
+            if (slotsIds.contains(l.getSlotsId()) && this.leases.remove(l.getInstanceId(), l)) {
+                this.unindex(l);
+            }
+        });
+    }
+
+    /**
+     * Leases of running job instances of job.
+     *
+     * @param jobId job id
+     * @return List
+     */
+    public List<Lease> getByJobId(Long jobId) {
+        Set<Long> instanceIds = this.jobInstances.get(jobId);
+        if (Objects.isNull(instanceIds)) {
+            return Collections.emptyList();
+        }
+
+        List<Lease> jobLeases = new ArrayList<>();
+        instanceIds.forEach(id -> Optional.ofNullable(this.leases.get(id)).ifPresent(jobLeases::add));
+        return jobLeases;
+    }
+
+    /**
+     * Whether lease is held by current server.
+     *
+     * @param instanceId job instance id
+     * @return Boolean
+     */
+    public Boolean contains(Long instanceId) {
+        return this.leases.containsKey(instanceId);
+    }
+
+    public void setLeasePeriod(Long leasePeriod) {
+        this.leasePeriod = leasePeriod;
+    }
+
+    private void expire(Consumer<List<Lease>> listener) {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                List<Lease> expired = new ArrayList<>();
+                Lease lease = this.expiries.take();
+                do {
+                    this.expireLease(lease, expired);
+                } while (Objects.nonNull(lease = this.expiries.poll()));
+
+                if (!expired.isEmpty()) {
+                    listener.accept(expired);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Throwable throwable) {
+                log.error("Lease expire failed!", throwable);
+            }
+        }
+    }
+
+    private void expireLease(Lease lease, List<Lease> expired) {
+        // Released or replaced.
+        if (this.leases.get(lease.getInstanceId()) != lease) {
+            return;
+        }
+
+        // Renewed, wait for new expire time.
+        if (lease.expireTime > DateUtil.milliLongTime()) {
+            lease.dueTime = lease.expireTime;
+            this.expiries.offer(lease);
+            return;
+        }
+
+        if (this.leases.remove(lease.getInstanceId(), lease)) {
+            this.unindex(lease);
+            expired.add(lease);
+        }
+    }
+
+    private void unindex(Lease lease) {
+        if (Objects.isNull(lease.getJobId())) {
+            return;
+        }
+
+        this.jobInstances.computeIfPresent(lease.getJobId(), (k, ids) -> {
+            // Replaced lease of the same instance is still indexed.
+            if (!this.leases.containsKey(lease.getInstanceId())) {
+                ids.remove(lease.getInstanceId());
+            }
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    /**
+     * Lease of job instance.
+     */
+    public static class Lease implements Delayed {
+        private final Long instanceId;
+        private final Long slotsId;
+        private final Long jobId;
+        private final String workerAddress;
+        private volatile long expireTime;
+
+        /**
+         * Queue order, only changed by expire thread when lease is out of queue.
+         */
+        private long dueTime;
+
+        public Lease(Long instanceId, Long slotsId, Long jobId, String workerAddress, long expireTime) {
+            this.instanceId = instanceId;
+            this.slotsId = slotsId;
+            this.jobId = jobId;
+            this.workerAddress = workerAddress;
+            this.expireTime = expireTime;
+            this.dueTime = expireTime;
+        }
+
+        public Long getInstanceId() {
+            return this.instanceId;
+        }
+
+        public Long getSlotsId() {
+            return this.slotsId;
+        }
+
+        public Long getJobId() {
+            return this.jobId;
+        }
+
+        public String getWorkerAddress() {
+            return this.workerAddress;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(this.dueTime - DateUtil.milliLongTime(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed o) {
+            return Long.compare(this.dueTime, ((Lease) o).dueTime);
+        }
+    }
+}
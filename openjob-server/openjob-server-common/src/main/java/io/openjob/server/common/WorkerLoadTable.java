@@ -0,0 +1,186 @@
+package io.openjob.server.common;
+
+import com.google.common.collect.Maps;
+import io.openjob.common.util.DateUtil;
+import io.openjob.server.common.dto.WorkerLoadDTO;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory load table of workers, loads are reported by heartbeats and shared by all servers.
+ * Job instances dispatched by current server since the last report are counted locally,
+ * so workers are not selected again and again between two heartbeats.
+ *
+ * @author stelin swoft@qq.com
+ * @since 1.0.8
+ */
+public class WorkerLoadTable {
+
+    /**
+     * Loads not reported in this time(ms) are unknown.
+     */
+    private static final Long EXPIRE_MILLIS = 30000L;
+
+    /**
+     * Steady loads are forwarded in this interval(ms), so other servers do not expire them.
+     */
+    private static final Long FORWARD_INTERVAL_MILLIS = 10000L;
+
+    /**
+     * System load change smaller than this is steady.
+     */
+    private static final Double SYSTEM_LOAD_DELTA = 0.5D;
+
+    /**
+     * Worker loads, key is worker address.
+     */
+    private final Map<String, Entry> workers = Maps.newConcurrentMap();
+
+    /**
+     * Report worker load, out of order reports are ignored.
+     *
+     * @param load worker load
+     */
+    public void report(WorkerLoadDTO load) {
+        Entry entry = this.workers.computeIfAbsent(load.getAddress(), k -> new Entry());
+        synchronized (entry) {
+            if (Objects.nonNull(entry.load) && entry.load.getReportTime() > load.getReportTime()) {
+                return;
+            }
+
+            // Dispatched job instances are counted by the new report.
+            entry.load = load;
+            entry.dispatched.set(0);
+        }
+    }
+
+    /**
+     * Whether load reported to current server should be forwarded to other servers.
+     * Only changed loads are forwarded, steady loads are forwarded in a coarse interval.
+     *
+     * @param load worker load
+     * @return Boolean
+     */
+    public Boolean shouldForward(WorkerLoadDTO load) {
+        Entry entry = this.workers.computeIfAbsent(load.getAddress(), k -> new Entry());
+        synchronized (entry) {
+            WorkerLoadDTO forwarded = entry.forwarded;
+            if (Objects.nonNull(forwarded)
+                    && load.getReportTime() - forwarded.getReportTime() < FORWARD_INTERVAL_MILLIS
+                    && isSteady(forwarded, load)) {
+                return false;
+            }
+
+            entry.forwarded = load;
+            return true;
+        }
+    }
+
+    /**
+     * Job instance is dispatched to worker by current server.
+     *
+     * @param address worker address
+     */
+    public void dispatch(String address) {
+        Entry entry = this.workers.computeIfAbsent(address, k -> new Entry());
+        entry.dispatchTime = DateUtil.milliLongTime();
+        entry.dispatched.incrementAndGet();
+    }
+
+    /**
+     * Worker load, pending work per capacity plus system load per cpu.
+     * Unknown worker only counts dispatched job instances.
+     *
+     * @param address worker address
+     * @return Double
+     */
+    public Double getLoad(String address) {
+        Entry entry = this.workers.get(address);
+        if (Objects.isNull(entry)) {
+            return 0D;
+        }
+
+        int dispatched = entry.dispatched.get();
+        WorkerLoadDTO load = this.getActiveLoad(entry);
+        if (Objects.isNull(load)) {
+            return (double) dispatched;
+        }
+
+        double value = (double) (load.getRunningInstanceNum() + load.getContainerTaskNum() + dispatched) / load.getCapacity();
+        if (load.getSystemLoad() >= 0 && load.getCpuNum() > 0) {
+            value += load.getSystemLoad() / load.getCpuNum();
+        }
+        return value;
+    }
+
+    /**
+     * Worker capacity, unknown worker is 1.
+     *
+     * @param address worker address
+     * @return Integer
+     */
+    public Integer getCapacity(String address) {
+        Entry entry = this.workers.get(address);
+        WorkerLoadDTO load = Objects.isNull(entry) ? null : this.getActiveLoad(entry);
+        return Objects.isNull(load) ? 1 : load.getCapacity();
+    }
+
+    /**
+     * Whether worker advertises job definition cache, unknown worker is false,
+     * so it is always dispatched with definition.
+     *
+     * @param address worker address
+     * @return Boolean
+     */
+    public Boolean isDefinitionCached(String address) {
+        Entry entry = this.workers.get(address);
+        WorkerLoadDTO load = Objects.isNull(entry) ? null : this.getActiveLoad(entry);
+        return Objects.nonNull(load) && Boolean.TRUE.equals(load.getDefinitionCache());
+    }
+
+    /**
+     * Remove entries neither reported nor dispatched in expire time.
+     */
+    public void removeExpired() {
+        long expireTime = DateUtil.milliLongTime() - EXPIRE_MILLIS;
+        this.workers.entrySet().removeIf(e -> {
+            Entry entry = e.getValue();
+            WorkerLoadDTO load = entry.load;
+            boolean reportExpired = Objects.isNull(load) || load.getReportTime() < expireTime;
+            return reportExpired && entry.dispatchTime < expireTime;
+        });
+    }
+
+    private static boolean isSteady(WorkerLoadDTO forwarded, WorkerLoadDTO load) {
+        return forwarded.getRunningInstanceNum().equals(load.getRunningInstanceNum())
+                && forwarded.getContainerTaskNum().equals(load.getContainerTaskNum())
+                && forwarded.getCpuNum().equals(load.getCpuNum())
+                && forwarded.getCapacity().equals(load.getCapacity())
+                && Objects.equals(forwarded.getDefinitionCache(), load.getDefinitionCache())
+                && Math.abs(forwarded.getSystemLoad() - load.getSystemLoad()) < SYSTEM_LOAD_DELTA;
+    }
+
+    private WorkerLoadDTO getActiveLoad(Entry entry) {
+        WorkerLoadDTO load = entry.load;
+        if (Objects.isNull(load) || load.getReportTime() < DateUtil.milliLongTime() - EXPIRE_MILLIS) {
+            return null;
+        }
+        return load;
+    }
+
+    /**
+     * Load entry of worker.
+     */
+    private static class Entry {
+        private volatile WorkerLoadDTO load;
+        private volatile long dispatchTime;
+
+        /**
+         * Load last forwarded to other servers.
+         */
+        private WorkerLoadDTO forwarded;
+        private final AtomicInteger dispatched = new AtomicInteger();
+    }
+}
@@ -0,0 +1,114 @@
+package io.openjob.server.common;
+
+import com.google.common.collect.Maps;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Versioned worker membership of apps.
+ * Version is the hash of sorted addresses, so all servers give the same version for the same membership,
+ * recent memberships are kept to answer worker heartbeat with added and removed addresses only.
+ *
+ * @author stelin swoft@qq.com
+ * @since 1.0.8
+ */
+public class WorkerMembership {
+
+    /**
+     * History size of every app.
+     */
+    private static final Integer HISTORY_SIZE = 8;
+
+    /**
+     * App membership history.
+     * Key is appId, value is version to addresses, the last one is current.
+     */
+    private final Map<Long, LinkedHashMap<Long, Set<String>>> appHistory = Maps.newConcurrentMap();
+
+    /**
+     * App current version.
+     */
+    private final Map<Long, Long> appVersions = Maps.newConcurrentMap();
+
+    /**
+     * Refresh app membership.
+     *
+     * @param appId     appId
+     * @param addresses addresses
+     */
+    public synchronized void refresh(Long appId, Collection<String> addresses) {
+        Set<String> current = Collections.unmodifiableSet(new HashSet<>(addresses));
+        Long version = version(current);
+        if (version.equals(this.appVersions.get(appId))) {
+            return;
+        }
+
+        LinkedHashMap<Long, Set<String>> history = this.appHistory.computeIfAbsent(appId, k -> new LinkedHashMap<>(16));
+        history.remove(version);
+        history.put(version, current);
+        while (history.size() > HISTORY_SIZE) {
+            history.remove(history.keySet().iterator().next());
+        }
+        this.appVersions.put(appId, version);
+    }
+
+    /**
+     * Refresh all apps, apps not in the map have no workers.
+     *
+     * @param appAddresses app addresses
+     */
+    public synchronized void refreshAll(Map<Long, ? extends Collection<String>> appAddresses) {
+        appAddresses.forEach(this::refresh);
+        this.appVersions.keySet().stream()
+                .filter(appId -> !appAddresses.containsKey(appId))
+                .forEach(appId -> this.refresh(appId, Collections.emptySet()));
+    }
+
+    /**
+     * Current version.
+     *
+     * @param appId appId
+     * @return Long
+     */
+    public Long getVersion(Long appId) {
+        return this.appVersions.getOrDefault(appId, version(Collections.emptySet()));
+    }
+
+    /**
+     * Addresses of a known version.
+     *
+     * @param appId   appId
+     * @param version version
+     * @return Set, null if version is unknown.
+     */
+    public synchronized Set<String> getAddresses(Long appId, Long version) {
+        if (Objects.isNull(version)) {
+            return null;
+        }
+
+        LinkedHashMap<Long, Set<String>> history = this.appHistory.get(appId);
+        return Objects.isNull(history) ? null : history.get(version);
+    }
+
+    /**
+     * Membership version.
+     *
+     * @param addresses addresses
+     * @return Long
+     */
+    public static Long version(Collection<String> addresses) {
+        Hasher hasher = Hashing.murmur3_128().newHasher();
+        new TreeSet<>(addresses).forEach(a -> hasher.putString(a, StandardCharsets.UTF_8).putByte((byte) 0));
+        return hasher.hash().asLong();
+    }
+}
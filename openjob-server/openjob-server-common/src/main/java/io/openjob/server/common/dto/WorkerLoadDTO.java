@@ -0,0 +1,48 @@
+package io.openjob.server.common.dto;
+
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * Worker load reported by heartbeat.
+ *
+ * @author stelin swoft@qq.com
+ * @since 1.0.8
+ */
+@Data
+public class WorkerLoadDTO implements Serializable {
+    private String address;
+
+    /**
+     * Running job instances.
+     */
+    private Integer runningInstanceNum;
+
+    /**
+     * Tasks queued or running in task containers.
+     */
+    private Integer containerTaskNum;
+
+    /**
+     * System load average, negative is not available.
+     */
+    private Double systemLoad;
+
+    private Integer cpuNum;
+
+    /**
+     * Capacity weight.
+     */
+    private Integer capacity;
+
+    /**
+     * Worker caches job definitions, old workers do not report it.
+     */
+    private Boolean definitionCache;
+
+    /**
+     * Report time(ms).
+     */
+    private Long reportTime;
+}
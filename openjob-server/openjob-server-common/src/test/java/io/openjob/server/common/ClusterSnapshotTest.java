@@ -0,0 +1,39 @@
+package io.openjob.server.common;
+
+import io.openjob.common.context.Node;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * @author stelin swoft@qq.com
+ * @since 1.0.8
+ */
+public class ClusterSnapshotTest {
+    @Test
+    public void testWith() {
+        Set<Long> slots = new HashSet<>(Arrays.asList(1L, 2L));
+        ClusterSnapshot first = ClusterSnapshot.EMPTY.withCurrentSlots(slots);
+
+        Map<Long, Node> nodes = new HashMap<>();
+        nodes.put(1L, new Node());
+        ClusterSnapshot second = first.withNodes(nodes);
+
+        // Versions
+        Assertions.assertEquals(first.getVersion() + 1, second.getVersion());
+        Assertions.assertEquals(first.getCurrentSlots(), second.getCurrentSlots());
+        Assertions.assertTrue(first.getNodes().isEmpty());
+
+        // Copied and immutable
+        slots.add(3L);
+        nodes.clear();
+        Assertions.assertEquals(2, second.getCurrentSlots().size());
+        Assertions.assertEquals(1, second.getNodes().size());
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> second.getCurrentSlots().add(4L));
+    }
+}
@@ -0,0 +1,50 @@
+package io.openjob.server.common;
+
+import io.openjob.common.util.DateUtil;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author stelin swoft@qq.com
+ * @since 1.0.8
+ */
+public class HeartbeatTableTest {
+    @Test
+    public void testDrain() {
+        HeartbeatTable table = new HeartbeatTable();
+        Long now = DateUtil.timestamp();
+        table.heartbeat("127.0.0.1:25588", now);
+        table.heartbeat("127.0.0.1:25589", now);
+        table.heartbeat("127.0.0.1:25588", now + 5);
+
+        // Coalesced by time
+        Map<Long, List<String>> workers = table.drainWorkers();
+        Assertions.assertEquals(Collections.singletonList("127.0.0.1:25589"), workers.get(now));
+        Assertions.assertEquals(Collections.singletonList("127.0.0.1:25588"), workers.get(now + 5));
+
+        // Nothing changed
+        Assertions.assertTrue(table.drainWorkers().isEmpty());
+    }
+
+    @Test
+    public void testAlive() {
+        HeartbeatTable table = new HeartbeatTable();
+        table.setFlushPeriod(30L);
+        Long now = DateUtil.timestamp();
+        table.heartbeat("127.0.0.1:25588", now);
+        table.heartbeat("127.0.0.1:25589", now - 20);
+
+        // Local
+        Assertions.assertTrue(table.isWorkerAlive("127.0.0.1:25588", 0L, 15L));
+        Assertions.assertFalse(table.isWorkerAlive("127.0.0.1:25589", now - 20, 15L));
+
+        // Reported to other servers
+        Assertions.assertTrue(table.isWorkerAlive("127.0.0.1:25590", now - 40, 15L));
+        Assertions.assertFalse(table.isWorkerAlive("127.0.0.1:25590", now - 50, 15L));
+        Assertions.assertTrue(table.isWorkerAlive("127.0.0.1:25589", now - 10, 15L));
+    }
+}
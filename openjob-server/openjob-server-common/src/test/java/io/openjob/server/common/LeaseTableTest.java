@@ -0,0 +1,106 @@
+package io.openjob.server.common;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author stelin swoft@qq.com
+ * @since 1.0.8
+ */
+public class LeaseTableTest {
+    @Test
+    public void testExpire() throws InterruptedException {
+        LeaseTable table = new LeaseTable();
+        table.setLeasePeriod(200L);
+        List<Long> expired = new CopyOnWriteArrayList<>();
+        table.start(leases -> leases.forEach(l -> expired.add(l.getInstanceId())));
+
+        table.grant(1L, 1L, 1L, "");
+        table.grant(2L, 1L, 1L, "");
+        table.grant(3L, 2L, 2L, "");
+        table.release(3L);
+
+        // Only renewed lease is kept.
+        for (int i = 0; i < 5; i++) {
+            TimeUnit.MILLISECONDS.sleep(100);
+            Assertions.assertEquals(Collections.singletonList(4L), table.renew(Arrays.asList(1L, 4L)));
+        }
+        Assertions.assertEquals(Collections.singletonList(2L), expired);
+        Assertions.assertTrue(table.contains(1L));
+
+        // Not renewed.
+        TimeUnit.MILLISECONDS.sleep(400);
+        Assertions.assertEquals(Arrays.asList(2L, 1L), expired);
+        Assertions.assertFalse(table.contains(1L));
+        table.stop();
+    }
+
+    @Test
+    public void testReleaseBySlots() {
+        LeaseTable table = new LeaseTable();
+        table.grant(1L, 1L, 1L, "");
+        table.grant(2L, 2L, 1L, "");
+        table.releaseBySlotsIds(Collections.singleton(1L));
+
+        Assertions.assertFalse(table.contains(1L));
+        Assertions.assertTrue(table.contains(2L));
+        Assertions.assertEquals(1, table.getByJobId(1L).size());
+    }
+
+    @Test
+    public void testGetByJobId() {
+        LeaseTable table = new LeaseTable();
+        table.grant(1L, 1L, 1L, "127.0.0.1:25588");
+        table.grant(2L, 1L, 1L, "127.0.0.1:25588");
+        table.grant(3L, 1L, null, "127.0.0.1:25588");
+        Assertions.assertEquals(2, table.getByJobId(1L).size());
+
+        // Replaced lease is kept.
+        table.grant(1L, 1L, 1L, "127.0.0.1:25589");
+        table.release(2L);
+        List<LeaseTable.Lease> leases = table.getByJobId(1L);
+        Assertions.assertEquals(1, leases.size());
+        Assertions.assertEquals("127.0.0.1:25589", leases.get(0).getWorkerAddress());
+
+        table.release(1L);
+        Assertions.assertTrue(table.getByJobId(1L).isEmpty());
+    }
+
+    @Test
+    public void testConcurrentGrantAndRelease() throws InterruptedException {
+        LeaseTable table = new LeaseTable();
+        AtomicInteger lost = new AtomicInteger();
+
+        // Instances of one job are granted and released concurrently, the set of job is emptied again and again.
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            long base = t * 100000L;
+            threads.add(new Thread(() -> {
+                for (long id = base; id < base + 20000; id++) {
+                    table.grant(id, 1L, 1L, "");
+                    long instanceId = id;
+                    if (table.getByJobId(1L).stream().noneMatch(l -> l.getInstanceId() == instanceId)) {
+                        lost.incrementAndGet();
+                    }
+                    table.release(id);
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Granted instance is never lost from job index.
+        Assertions.assertEquals(0, lost.get());
+        Assertions.assertTrue(table.getByJobId(1L).isEmpty());
+    }
+}
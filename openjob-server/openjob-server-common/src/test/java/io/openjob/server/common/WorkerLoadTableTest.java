@@ -0,0 +1,107 @@
+package io.openjob.server.common;
+
+import io.openjob.common.util.DateUtil;
+import io.openjob.server.common.dto.WorkerLoadDTO;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author stelin swoft@qq.com
+ * @since 1.0.8
+ */
+public class WorkerLoadTableTest {
+    @Test
+    public void testLoad() {
+        WorkerLoadTable table = new WorkerLoadTable();
+        table.report(newLoad("127.0.0.1:25588", 2, 2, 4, DateUtil.milliLongTime()));
+        Assertions.assertEquals(1.5D, table.getLoad("127.0.0.1:25588"), 0.0001D);
+        Assertions.assertEquals(4, table.getCapacity("127.0.0.1:25588"));
+
+        // Dispatched until next report.
+        table.dispatch("127.0.0.1:25588");
+        table.dispatch("127.0.0.1:25588");
+        Assertions.assertEquals(2D, table.getLoad("127.0.0.1:25588"), 0.0001D);
+        table.report(newLoad("127.0.0.1:25588", 4, 0, 4, DateUtil.milliLongTime()));
+        Assertions.assertEquals(1.5D, table.getLoad("127.0.0.1:25588"), 0.0001D);
+
+        // Unknown worker
+        table.dispatch("127.0.0.1:25589");
+        Assertions.assertEquals(1D, table.getLoad("127.0.0.1:25589"), 0.0001D);
+        Assertions.assertEquals(1, table.getCapacity("127.0.0.1:25589"));
+    }
+
+    @Test
+    public void testExpire() {
+        WorkerLoadTable table = new WorkerLoadTable();
+        long now = DateUtil.milliLongTime();
+        table.report(newLoad("127.0.0.1:25588", 8, 0, 4, now - 60000L));
+        Assertions.assertEquals(0D, table.getLoad("127.0.0.1:25588"), 0.0001D);
+
+        // Out of order report is ignored.
+        table.report(newLoad("127.0.0.1:25589", 8, 0, 4, now));
+        table.report(newLoad("127.0.0.1:25589", 0, 0, 4, now - 1000L));
+        Assertions.assertEquals(2.5D, table.getLoad("127.0.0.1:25589"), 0.0001D);
+
+        table.removeExpired();
+        Assertions.assertEquals(1, table.getCapacity("127.0.0.1:25588"));
+        Assertions.assertEquals(4, table.getCapacity("127.0.0.1:25589"));
+
+        // Dispatched but never reported, kept until dispatch time expired.
+        table.dispatch("127.0.0.1:25590");
+        table.removeExpired();
+        Assertions.assertEquals(1D, table.getLoad("127.0.0.1:25590"), 0.0001D);
+    }
+
+    @Test
+    public void testShouldForward() {
+        WorkerLoadTable table = new WorkerLoadTable();
+        long now = DateUtil.milliLongTime();
+        Assertions.assertTrue(table.shouldForward(newLoad("127.0.0.1:25588", 2, 2, 4, now)));
+
+        // Steady heartbeats are not forwarded.
+        for (int i = 1; i <= 3; i++) {
+            Assertions.assertFalse(table.shouldForward(newLoad("127.0.0.1:25588", 2, 2, 4, now + i * 3000L)));
+        }
+
+        // Changed load.
+        Assertions.assertTrue(table.shouldForward(newLoad("127.0.0.1:25588", 3, 2, 4, now + 12000L)));
+        WorkerLoadDTO systemLoad = newLoad("127.0.0.1:25588", 3, 2, 4, now + 15000L);
+        systemLoad.setSystemLoad(3D);
+        Assertions.assertTrue(table.shouldForward(systemLoad));
+
+        // Steady load is forwarded again after the interval.
+        WorkerLoadDTO steady = newLoad("127.0.0.1:25588", 3, 2, 4, now + 25000L);
+        steady.setSystemLoad(3D);
+        Assertions.assertTrue(table.shouldForward(steady));
+    }
+
+    @Test
+    public void testDefinitionCached() {
+        WorkerLoadTable table = new WorkerLoadTable();
+        long now = DateUtil.milliLongTime();
+        table.report(newLoad("127.0.0.1:25588", 0, 0, 4, now));
+        Assertions.assertFalse(table.isDefinitionCached("127.0.0.1:25588"));
+        Assertions.assertFalse(table.isDefinitionCached("127.0.0.1:25589"));
+
+        WorkerLoadDTO load = newLoad("127.0.0.1:25588", 0, 0, 4, now + 1000L);
+        load.setDefinitionCache(true);
+        table.report(load);
+        Assertions.assertTrue(table.isDefinitionCached("127.0.0.1:25588"));
+
+        // Capability change is forwarded.
+        Assertions.assertTrue(table.shouldForward(newLoad("127.0.0.1:25588", 0, 0, 4, now)));
+        Assertions.assertTrue(table.shouldForward(load));
+    }
+
+    private static WorkerLoadDTO newLoad(String address, Integer runningInstanceNum, Integer containerTaskNum, Integer capacity, Long reportTime) {
+        WorkerLoadDTO load = new WorkerLoadDTO();
+        load.setAddress(address);
+        load.setRunningInstanceNum(runningInstanceNum);
+        load.setContainerTaskNum(containerTaskNum);
+        load.setSystemLoad(2D);
+        load.setCpuNum(4);
+        load.setCapacity(capacity);
+        load.setReportTime(reportTime);
+        return load;
+    }
+}
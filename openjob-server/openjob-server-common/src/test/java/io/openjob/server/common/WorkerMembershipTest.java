@@ -0,0 +1,80 @@
+package io.openjob.server.common;
+
+import io.openjob.common.response.ServerHeartbeatResponse;
+import io.openjob.common.util.KryoUtil;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * @author stelin swoft@qq.com
+ * @since 1.0.8
+ */
+public class WorkerMembershipTest {
+    @Test
+    public void testVersion() {
+        WorkerMembership membership = new WorkerMembership();
+        List<String> workers = this.workers(3);
+        membership.refresh(1L, workers);
+
+        Long version = membership.getVersion(1L);
+        List<String> reversed = new ArrayList<>(workers);
+        Collections.reverse(reversed);
+        Assertions.assertEquals(version, WorkerMembership.version(reversed));
+        Assertions.assertEquals(new HashSet<>(workers), membership.getAddresses(1L, version));
+
+        // Changed
+        workers.add("127.0.0.1:30000");
+        membership.refresh(1L, workers);
+        Assertions.assertNotEquals(version, membership.getVersion(1L));
+        Assertions.assertNotNull(membership.getAddresses(1L, version));
+
+        // Removed app
+        membership.refreshAll(Collections.emptyMap());
+        Assertions.assertEquals(WorkerMembership.version(Collections.emptyList()), membership.getVersion(1L));
+    }
+
+    @Test
+    public void testPayloadSize() {
+        List<String> workers = this.workers(500);
+
+        // Full list
+        ServerHeartbeatResponse full = new ServerHeartbeatResponse();
+        full.setWorkerVersion(WorkerMembership.version(workers));
+        full.setWorkerAddressList(new HashSet<>(workers));
+
+        // One worker added
+        Set<String> add = new HashSet<>(Collections.singletonList("127.0.0.1:30000"));
+        ServerHeartbeatResponse delta = new ServerHeartbeatResponse();
+        delta.setWorkerVersion(WorkerMembership.version(workers));
+        delta.setAddWorkers(add);
+        delta.setRemoveWorkers(new HashSet<>());
+
+        // Not changed
+        ServerHeartbeatResponse unchanged = new ServerHeartbeatResponse();
+        unchanged.setWorkerVersion(WorkerMembership.version(workers));
+
+        int fullSize = KryoUtil.serialize(full).length;
+        int deltaSize = KryoUtil.serialize(delta).length;
+        int unchangedSize = KryoUtil.serialize(unchanged).length;
+        Assertions.assertTrue(unchangedSize < deltaSize);
+        Assertions.assertTrue(deltaSize * 50 < fullSize);
+
+        // Payload of unchanged and delta is not related to worker size.
+        Assertions.assertTrue(unchangedSize < 64);
+        Assertions.assertTrue(deltaSize < 128);
+    }
+
+    private List<String> workers(int size) {
+        List<String> workers = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            workers.add(String.format("10.0.%d.%d:25588", i / 250, i % 250));
+        }
+        return workers;
+    }
+}
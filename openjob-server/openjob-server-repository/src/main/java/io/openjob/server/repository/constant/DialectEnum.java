@@ -0,0 +1,80 @@
+package io.openjob.server.repository.constant;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Database dialect of jdbc batch statements.
+ *
+ * @author stelin swoft@qq.com
+ * @since 1.0.8
+ */
+@AllArgsConstructor
+@Getter
+public enum DialectEnum {
+    /**
+     * Mysql and tidb, batch is rewritten to multi-row statements by `rewriteBatchedStatements`.
+     */
+    MYSQL("mysql", "`", 500),
+
+    /**
+     * H2.
+     */
+    H2("h2", "`", 500),
+
+    /**
+     * Postgresql.
+     */
+    POSTGRESQL("postgresql", "\"", 1000),
+
+    /**
+     * Oracle, identifiers are created in lower case with quotes.
+     */
+    ORACLE("oracle", "\"", 1000),
+    ;
+
+    /**
+     * Database product name.
+     */
+    private final String product;
+
+    /**
+     * Identifier quote.
+     */
+    private final String quote;
+
+    /**
+     * Rows of one jdbc batch.
+     */
+    private final Integer batchSize;
+
+    /**
+     * Quote identifier.
+     *
+     * @param identifier identifier
+     * @return String
+     */
+    public String quote(String identifier) {
+        return this.quote + identifier + this.quote;
+    }
+
+    /**
+     * Resolve dialect by database product name, default is mysql.
+     *
+     * @param jdbcTemplate jdbcTemplate
+     * @return DialectEnum
+     */
+    public static DialectEnum of(JdbcTemplate jdbcTemplate) {
+        String productName = jdbcTemplate.execute((ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName());
+        String product = Objects.isNull(productName) ? "" : productName.toLowerCase();
+        return Arrays.stream(values())
+                .filter(d -> product.contains(d.getProduct()))
+                .findFirst()
+                .orElse(MYSQL);
+    }
+}
@@ -47,15 +47,6 @@ public interface JobInstanceDAO {
      */
     Integer batchUpdateStatus(List<JobInstance> updateList);
 
-    /**
-     * Update
-     *
-     * @param ids            ids
-     * @param lastReportTime lastReportTime
-     * @return Integer
-     */
-    Integer updateLastReportTimeByIds(List<Long> ids, Long lastReportTime);
-
     /**
      * Get by id.
      *
@@ -75,14 +66,20 @@ public interface JobInstanceDAO {
     List<JobInstance> getUnDispatchedList(Set<Long> slotsIds, Long executeTime, InstanceStatusEnum status);
 
     /**
-     * Get failover list.
+     * Get running list, one time job is excluded.
      *
-     * @param slotsIds       slots id.
-     * @param lastReportTime last report time.
-     * @param status         status list.
+     * @param slotsIds slots id.
      * @return List
      */
-    List<JobInstance> getFailoverList(Set<Long> slotsIds, Long lastReportTime, InstanceStatusEnum status);
+    List<JobInstance> getRunningList(Set<Long> slotsIds);
+
+    /**
+     * Get list by ids.
+     *
+     * @param ids ids
+     * @return List
+     */
+    List<JobInstance> getListByIds(List<Long> ids);
 
     /**
      * Update to running.
@@ -105,17 +102,6 @@ public interface JobInstanceDAO {
      */
     Integer updateDispatchVersion(Long id, Long dispatchVersion);
 
-    /**
-     * Get one by id and status.
-     *
-     * @param jobId      jobId
-     * @param id         id
-     * @param statusList statusList
-     * @return JobInstance
-     */
-    JobInstance getOneByJobIdAndStatusAndExcludeExecuteOnce(Long jobId, Long id, List<Integer> statusList);
-
-
     /**
      * Get first by job id
      *
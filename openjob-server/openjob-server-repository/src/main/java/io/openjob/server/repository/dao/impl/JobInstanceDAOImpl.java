@@ -5,6 +5,7 @@ import io.openjob.common.constant.InstanceStatusEnum;
 import io.openjob.common.constant.TimeExpressionTypeEnum;
 import io.openjob.common.util.DateUtil;
 import io.openjob.server.common.dto.PageDTO;
+import io.openjob.server.repository.constant.DialectEnum;
 import io.openjob.server.repository.dao.JobInstanceDAO;
 import io.openjob.server.repository.dto.GroupCountDTO;
 import io.openjob.server.repository.dto.JobInstancePageDTO;
@@ -15,10 +16,14 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.Nonnull;
 import javax.persistence.criteria.Predicate;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -32,6 +37,7 @@ import java.util.Set;
 public class JobInstanceDAOImpl implements JobInstanceDAO {
     private final JobInstanceRepository jobInstanceRepository;
     private final JdbcTemplate jdbcTemplate;
+    private volatile String updateStatusSql;
 
     @Autowired
     public JobInstanceDAOImpl(JobInstanceRepository jobInstanceRepository, JdbcTemplate jdbcTemplate) {
@@ -59,12 +65,34 @@ public class JobInstanceDAOImpl implements JobInstanceDAO {
 
     @Override
     public Integer batchUpdateStatus(List<JobInstance> updateList) {
-        return null;
-    }
+        if (updateList.isEmpty()) {
+            return 0;
+        }
 
-    @Override
-    public Integer updateLastReportTimeByIds(List<Long> ids, Long lastReportTime) {
-        return this.jobInstanceRepository.updateLastReportTimeByIds(ids, lastReportTime);
+        if (Objects.isNull(this.updateStatusSql)) {
+            DialectEnum d = DialectEnum.of(this.jdbcTemplate);
+            this.updateStatusSql = String.format("UPDATE %s SET %s=?, %s=?, %s=?, %s=? WHERE %s=?", d.quote("job_instance"),
+                    d.quote("status"), d.quote("fail_status"), d.quote("complete_time"), d.quote("update_time"), d.quote("id"));
+        }
+
+        String sql = this.updateStatusSql;
+        int[] ints = this.jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(@Nonnull PreparedStatement ps, int i) throws SQLException {
+                JobInstance j = updateList.get(i);
+                ps.setInt(1, j.getStatus());
+                ps.setInt(2, j.getFailStatus());
+                ps.setLong(3, j.getCompleteTime());
+                ps.setLong(4, j.getUpdateTime());
+                ps.setLong(5, j.getId());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return updateList.size();
+            }
+        });
+        return ints.length;
     }
 
     @Override
@@ -78,9 +106,14 @@ public class JobInstanceDAOImpl implements JobInstanceDAO {
     }
 
     @Override
-    public List<JobInstance> getFailoverList(Set<Long> slotsIds, Long lastReportTime, InstanceStatusEnum statusEnum) {
-        return this.jobInstanceRepository.findByLastReportTimeLessThanAndSlotsIdInAndStatusAndTimeExpressionTypeNotAndDeleted(
-                lastReportTime, slotsIds, statusEnum.getStatus(), TimeExpressionTypeEnum.ONE_TIME.name(), CommonConstant.NO);
+    public List<JobInstance> getRunningList(Set<Long> slotsIds) {
+        return this.jobInstanceRepository.findBySlotsIdInAndStatusAndTimeExpressionTypeNotAndDeleted(
+                slotsIds, InstanceStatusEnum.RUNNING.getStatus(), TimeExpressionTypeEnum.ONE_TIME.name(), CommonConstant.NO);
+    }
+
+    @Override
+    public List<JobInstance> getListByIds(List<Long> ids) {
+        return this.jobInstanceRepository.findAllById(ids);
     }
 
     @Override
@@ -93,11 +126,6 @@ public class JobInstanceDAOImpl implements JobInstanceDAO {
         return this.jobInstanceRepository.updateDispatchVersion(id, dispatchVersion);
     }
 
-    @Override
-    public JobInstance getOneByJobIdAndStatusAndExcludeExecuteOnce(Long jobId, Long id, List<Integer> statusList) {
-        return this.jobInstanceRepository.findFirstByJobIdAndIdNotAndStatusInAndDeletedAndExecuteOnce(jobId, id, statusList, CommonConstant.NO, CommonConstant.NO);
-    }
-
     @Override
     public JobInstance getFirstByJobId(Long jobId) {
         return this.jobInstanceRepository.findFirstByJobIdAndDeleted(jobId, CommonConstant.NO);
@@ -2,6 +2,7 @@ package io.openjob.server.repository.dao.impl;
 
 import io.openjob.common.constant.TaskConstant;
 import io.openjob.server.common.dto.PageDTO;
+import io.openjob.server.repository.constant.DialectEnum;
 import io.openjob.server.repository.dao.JobInstanceTaskDAO;
 import io.openjob.server.repository.dto.TaskGroupCountDTO;
 import io.openjob.server.repository.entity.JobInstanceTask;
@@ -11,9 +12,14 @@ import org.springframework.data.domain.Example;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * @author stelin swoft@qq.com
@@ -21,11 +27,20 @@ import java.util.List;
  */
 @Component
 public class JobInstanceTaskDAOImpl implements JobInstanceTaskDAO {
+    private static final String[] INSERT_COLUMNS = {
+            "job_id", "job_instance_id", "dispatch_version", "circle_id", "task_id", "parent_task_id", "task_name",
+            "status", "result", "worker_address", "deleted", "delete_time", "create_time", "update_time"
+    };
+
     private final JobInstanceTaskRepository jobInstanceTaskRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private volatile String insertSql;
+    private volatile Integer batchSize;
 
     @Autowired
-    public JobInstanceTaskDAOImpl(JobInstanceTaskRepository jobInstanceTaskRepository) {
+    public JobInstanceTaskDAOImpl(JobInstanceTaskRepository jobInstanceTaskRepository, JdbcTemplate jdbcTemplate) {
         this.jobInstanceTaskRepository = jobInstanceTaskRepository;
+        this.jdbcTemplate = jdbcTemplate;
     }
 
     @Override
@@ -40,7 +55,30 @@ public class JobInstanceTaskDAOImpl implements JobInstanceTaskDAO {
 
     @Override
     public Integer batchSave(List<JobInstanceTask> taskList) {
-        return this.jobInstanceTaskRepository.saveAll(taskList).size();
+        if (taskList.isEmpty()) {
+            return 0;
+        }
+
+        // Jdbc batch insert, jpa insert is not batched for identity primary key.
+        this.initInsertSql();
+        int[][] counts = this.jdbcTemplate.batchUpdate(this.insertSql, taskList, this.batchSize, (ps, t) -> {
+            // Boxed values are set by object, null is set as sql null.
+            ps.setObject(1, t.getJobId(), Types.BIGINT);
+            ps.setObject(2, t.getJobInstanceId(), Types.BIGINT);
+            ps.setObject(3, t.getDispatchVersion(), Types.BIGINT);
+            ps.setObject(4, t.getCircleId(), Types.BIGINT);
+            ps.setString(5, t.getTaskId());
+            ps.setString(6, t.getParentTaskId());
+            ps.setString(7, t.getTaskName());
+            ps.setObject(8, t.getStatus(), Types.INTEGER);
+            ps.setString(9, t.getResult());
+            ps.setString(10, t.getWorkerAddress());
+            ps.setObject(11, t.getDeleted(), Types.INTEGER);
+            ps.setObject(12, t.getDeleteTime(), Types.BIGINT);
+            ps.setObject(13, t.getCreateTime(), Types.BIGINT);
+            ps.setObject(14, t.getUpdateTime(), Types.BIGINT);
+        });
+        return Arrays.stream(counts).mapToInt(c -> c.length).sum();
     }
 
     @Override
@@ -113,6 +151,31 @@ public class JobInstanceTaskDAOImpl implements JobInstanceTaskDAO {
         return this.jobInstanceTaskRepository.countByParentTaskIds(parentTaskIds);
     }
 
+    private void initInsertSql() {
+        if (Objects.nonNull(this.insertSql)) {
+            return;
+        }
+
+        DialectEnum dialect = DialectEnum.of(this.jdbcTemplate);
+        List<String> columns = new ArrayList<>();
+        List<String> values = new ArrayList<>();
+
+        // Oracle id is generated by sequence.
+        if (DialectEnum.ORACLE.equals(dialect)) {
+            columns.add(dialect.quote("id"));
+            values.add("job_instance_task_id.nextval");
+        }
+
+        for (String column : INSERT_COLUMNS) {
+            columns.add(dialect.quote(column));
+            values.add("?");
+        }
+
+        this.batchSize = dialect.getBatchSize();
+        this.insertSql = String.format("INSERT INTO %s (%s) VALUES (%s)",
+                dialect.quote("job_instance_task"), String.join(", ", columns), String.join(", ", values));
+    }
+
     private void pageQuery(Integer page, Integer size, JobInstanceTask jobInstanceTask, PageDTO<JobInstanceTask> pageDTO, PageRequest pageRequest) {
         Page<JobInstanceTask> pageList = this.jobInstanceTaskRepository.findAll(Example.of(jobInstanceTask), pageRequest);
         if (!pageList.isEmpty()) {
@@ -32,18 +32,6 @@ public interface JobInstanceRepository extends JpaRepository<JobInstance, Long>,
     @Query(value = "update JobInstance as j set j.status=?2,j.failStatus=?3,j.completeTime=?4,j.updateTime=?5 where j.id=?1")
     Integer updateStatus(Long id, Integer status, Integer failStatus, Long completeTime, Long updateTime);
 
-    /**
-     * Update for last report time.
-     *
-     * @param ids            ids
-     * @param lastReportTime lastReportTime
-     * @return Integer
-     */
-    @Transactional(rollbackFor = Exception.class)
-    @Modifying
-    @Query(value = "update JobInstance as j set j.lastReportTime=?2,j.updateTime=?2 where j.id in (?1)")
-    Integer updateLastReportTimeByIds(List<Long> ids, Long lastReportTime);
-
     /**
      * Update by running
      *
@@ -73,17 +61,16 @@ public interface JobInstanceRepository extends JpaRepository<JobInstance, Long>,
 
 
     /**
-     * Find failover list.
+     * Find running list.
      *
-     * @param lastReportTime last report time
-     * @param slotsIds       slots ids
-     * @param status         status
-     * @param type           type
-     * @param deleted        deleted
+     * @param slotsIds slots ids
+     * @param status   status
+     * @param type     excluded type
+     * @param deleted  deleted
      * @return List
      */
-    List<JobInstance> findByLastReportTimeLessThanAndSlotsIdInAndStatusAndTimeExpressionTypeNotAndDeleted(
-            Long lastReportTime, Set<Long> slotsIds, Integer status, String type, Integer deleted);
+    List<JobInstance> findBySlotsIdInAndStatusAndTimeExpressionTypeNotAndDeleted(
+            Set<Long> slotsIds, Integer status, String type, Integer deleted);
 
     /**
      * Find not dispatch list.
@@ -96,18 +83,6 @@ public interface JobInstanceRepository extends JpaRepository<JobInstance, Long>,
      */
     List<JobInstance> findByExecuteTimeLessThanAndSlotsIdInAndStatusAndDeleted(Long executeTime, Set<Long> slotsIds, Integer status, Integer deleted);
 
-    /**
-     * Find first by id and status.
-     *
-     * @param jobId       jobId
-     * @param id          id
-     * @param statusList  statusList
-     * @param deleted     deleted
-     * @param executeOnce executeOnce
-     * @return JobInstance
-     */
-    JobInstance findFirstByJobIdAndIdNotAndStatusInAndDeletedAndExecuteOnce(Long jobId, Long id, List<Integer> statusList, Integer deleted, Integer executeOnce);
-
     /**
      * Find first by job id and deleted
      *
@@ -1,6 +1,7 @@
 package io.openjob.server.repository.dao;
 
 import io.openjob.common.constant.CommonConstant;
+import io.openjob.common.constant.InstanceStatusEnum;
 import io.openjob.common.util.DateUtil;
 import io.openjob.server.repository.RepositoryTest;
 import io.openjob.server.repository.entity.JobInstance;
@@ -10,7 +11,11 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.context.jdbc.Sql;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
  * @author stelin swoft@qq.com
@@ -52,4 +57,72 @@ public class JobInstanceDAOTest extends RepositoryTest {
 
         optionalJobInstance.ifPresent(j -> Assertions.assertEquals(j.getJobId(), 1L));
     }
+
+    @Test
+    public void testBatchUpdateStatus() {
+        List<Long> singleIds = new ArrayList<>();
+        List<Long> batchIds = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            singleIds.add(this.jobInstanceDAO.save(this.newJobInstance()));
+            batchIds.add(this.jobInstanceDAO.save(this.newJobInstance()));
+        }
+        Long untouchedId = this.jobInstanceDAO.save(this.newJobInstance());
+        Long start = DateUtil.timestamp();
+
+        // Single row updates.
+        singleIds.forEach(id -> this.jobInstanceDAO.updateStatusById(id, InstanceStatusEnum.FAIL.getStatus(), 1));
+
+        // Batch updates with the same values.
+        List<JobInstance> updateList = batchIds.stream().map(id -> {
+            JobInstance jobInstance = new JobInstance();
+            jobInstance.setId(id);
+            jobInstance.setStatus(InstanceStatusEnum.FAIL.getStatus());
+            jobInstance.setFailStatus(1);
+            jobInstance.setCompleteTime(DateUtil.timestamp());
+            jobInstance.setUpdateTime(DateUtil.timestamp());
+            return jobInstance;
+        }).collect(Collectors.toList());
+        Assertions.assertEquals(batchIds.size(), this.jobInstanceDAO.batchUpdateStatus(updateList));
+        Assertions.assertEquals(0, this.jobInstanceDAO.batchUpdateStatus(new ArrayList<>()));
+        Long end = DateUtil.timestamp();
+
+        // Batch rows are the same as single rows, other columns are not changed.
+        for (int i = 0; i < singleIds.size(); i++) {
+            JobInstance single = this.jobInstanceDAO.getById(singleIds.get(i));
+            JobInstance batch = this.jobInstanceDAO.getById(batchIds.get(i));
+            for (JobInstance j : Arrays.asList(single, batch)) {
+                Assertions.assertEquals(InstanceStatusEnum.FAIL.getStatus(), j.getStatus());
+                Assertions.assertEquals(1, j.getFailStatus());
+                Assertions.assertTrue(j.getCompleteTime() >= start && j.getCompleteTime() <= end);
+                Assertions.assertTrue(j.getUpdateTime() >= start && j.getUpdateTime() <= end);
+                Assertions.assertEquals(1L, j.getJobId());
+                Assertions.assertEquals(0L, j.getDispatchVersion());
+            }
+        }
+
+        JobInstance untouched = this.jobInstanceDAO.getById(untouchedId);
+        Assertions.assertEquals(InstanceStatusEnum.WAITING.getStatus(), untouched.getStatus());
+        Assertions.assertEquals(0, untouched.getFailStatus());
+    }
+
+    private JobInstance newJobInstance() {
+        JobInstance jobInstance = new JobInstance();
+        jobInstance.setJobId(1L);
+        jobInstance.setParams("");
+        jobInstance.setSlotsId(1L);
+        jobInstance.setNamespaceId(1L);
+        jobInstance.setAppId(1L);
+        jobInstance.setExecuteTime(DateUtil.timestamp());
+        jobInstance.setDeleted(CommonConstant.NO);
+        jobInstance.setDeleteTime(0L);
+        jobInstance.setStatus(InstanceStatusEnum.WAITING.getStatus());
+        jobInstance.setFailStatus(0);
+        jobInstance.setCompleteTime(0L);
+        jobInstance.setDispatchVersion(0L);
+        jobInstance.setExecuteTimeout(0);
+        jobInstance.setUpdateTime(DateUtil.timestamp());
+        jobInstance.setCreateTime(DateUtil.timestamp());
+        jobInstance.setExecuteOnce(CommonConstant.NO);
+        return jobInstance;
+    }
 }
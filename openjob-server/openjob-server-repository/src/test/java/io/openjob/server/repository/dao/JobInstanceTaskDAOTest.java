@@ -0,0 +1,93 @@
+package io.openjob.server.repository.dao;
+
+import io.openjob.common.constant.CommonConstant;
+import io.openjob.common.util.DateUtil;
+import io.openjob.server.repository.RepositoryTest;
+import io.openjob.server.repository.entity.JobInstanceTask;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * @author stelin swoft@qq.com
+ * @since 1.0.8
+ */
+@Sql(scripts = "classpath:db/schema/job_instance_task.sql")
+public class JobInstanceTaskDAOTest extends RepositoryTest {
+    private final JobInstanceTaskDAO jobInstanceTaskDAO;
+
+    @Autowired
+    public JobInstanceTaskDAOTest(JobInstanceTaskDAO jobInstanceTaskDAO) {
+        this.jobInstanceTaskDAO = jobInstanceTaskDAO;
+    }
+
+    @Test
+    public void testBatchSave() {
+        int total = 2000;
+        List<JobInstanceTask> taskList = this.newTaskList("jdbc", total);
+        Integer count = this.jobInstanceTaskDAO.batchSave(taskList);
+        Assertions.assertEquals(total, count);
+        Assertions.assertEquals(0, this.jobInstanceTaskDAO.batchSave(new ArrayList<>()));
+
+        // Row contents
+        JobInstanceTask expected = taskList.get(1);
+        JobInstanceTask task = this.jobInstanceTaskDAO.getByTaskId("jdbc-1");
+        Assertions.assertEquals(expected.getJobId(), task.getJobId());
+        Assertions.assertEquals(expected.getJobInstanceId(), task.getJobInstanceId());
+        Assertions.assertEquals(expected.getDispatchVersion(), task.getDispatchVersion());
+        Assertions.assertEquals(expected.getCircleId(), task.getCircleId());
+        Assertions.assertEquals(expected.getParentTaskId(), task.getParentTaskId());
+        Assertions.assertEquals(expected.getTaskName(), task.getTaskName());
+        Assertions.assertEquals(expected.getStatus(), task.getStatus());
+        Assertions.assertEquals(expected.getResult(), task.getResult());
+        Assertions.assertEquals(expected.getWorkerAddress(), task.getWorkerAddress());
+        Assertions.assertEquals(expected.getDeleted(), task.getDeleted());
+        Assertions.assertEquals(expected.getDeleteTime(), task.getDeleteTime());
+        Assertions.assertEquals(expected.getCreateTime(), task.getCreateTime());
+        Assertions.assertEquals(expected.getUpdateTime(), task.getUpdateTime());
+    }
+
+    @Test
+    public void testBatchSaveNull() {
+        JobInstanceTask nullTask = this.newTaskList("null", 1).get(0);
+        nullTask.setResult(null);
+        nullTask.setCreateTime(null);
+        nullTask.setUpdateTime(null);
+        Assertions.assertEquals(1, this.jobInstanceTaskDAO.batchSave(Collections.singletonList(nullTask)));
+
+        // Null columns are saved as null.
+        JobInstanceTask task = this.jobInstanceTaskDAO.getByTaskId("null-0");
+        Assertions.assertEquals("null-0", task.getTaskName());
+        Assertions.assertNull(task.getResult());
+        Assertions.assertNull(task.getCreateTime());
+        Assertions.assertNull(task.getUpdateTime());
+    }
+
+    private List<JobInstanceTask> newTaskList(String prefix, int total) {
+        List<JobInstanceTask> taskList = new ArrayList<>();
+        for (int i = 0; i < total; i++) {
+            JobInstanceTask task = new JobInstanceTask();
+            task.setJobId(1L);
+            task.setJobInstanceId(1L);
+            task.setDispatchVersion(0L);
+            task.setCircleId(1L);
+            task.setTaskId(prefix + "-" + i);
+            task.setParentTaskId("0");
+            task.setTaskName(prefix + "-" + i);
+            task.setStatus(1);
+            task.setResult("result-" + i);
+            task.setWorkerAddress("127.0.0.1:25588");
+            task.setDeleted(CommonConstant.NO);
+            task.setDeleteTime(0L);
+            task.setCreateTime(DateUtil.timestamp());
+            task.setUpdateTime(DateUtil.timestamp());
+            taskList.add(task);
+        }
+        return taskList;
+    }
+}
@@ -0,0 +1,21 @@
+CREATE TABLE IF NOT EXISTS `job_instance_task`
+(
+    `id`               int(11) unsigned    NOT NULL AUTO_INCREMENT,
+    `job_id`           bigint(20) unsigned NOT NULL,
+    `job_instance_id`  bigint(20) unsigned NOT NULL,
+    `dispatch_version` bigint(20)          NOT NULL DEFAULT '0',
+    `circle_id`        bigint(20) unsigned NOT NULL,
+    `task_id`          varchar(64)         NOT NULL DEFAULT '',
+    `parent_task_id`   varchar(64)         NOT NULL DEFAULT '0',
+    `task_name`        varchar(128)        NOT NULL DEFAULT '',
+    `status`           tinyint(2) unsigned NOT NULL DEFAULT '1',
+    `result`           longtext,
+    `worker_address`   varchar(128)        NOT NULL DEFAULT '',
+    `deleted`          tinyint(2)          NOT NULL DEFAULT '2',
+    `delete_time`      bigint(12) unsigned NOT NULL DEFAULT '0',
+    `create_time`      bigint(12) unsigned          DEFAULT NULL,
+    `update_time`      bigint(12) unsigned          DEFAULT NULL,
+    PRIMARY KEY (`id`),
+    UNIQUE KEY `udx_task_id` (`task_id`)
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8mb4;
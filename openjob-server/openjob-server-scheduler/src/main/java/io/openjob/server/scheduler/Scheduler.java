@@ -1,11 +1,16 @@
 package io.openjob.server.scheduler;
 
+import io.openjob.server.common.ClusterContext;
+import io.openjob.server.common.LeaseTable;
 import io.openjob.server.scheduler.autoconfigure.SchedulerProperties;
+import io.openjob.server.scheduler.constant.WorkerSelectStrategyEnum;
 import io.openjob.server.scheduler.scheduler.DelayAddListScheduler;
 import io.openjob.server.scheduler.scheduler.DelayDeleteListScheduler;
 import io.openjob.server.scheduler.scheduler.DelayFailZsetScheduler;
 import io.openjob.server.scheduler.scheduler.DelayStatusListScheduler;
 import io.openjob.server.scheduler.scheduler.DelayZsetScheduler;
+import io.openjob.server.scheduler.service.JobSchedulingService;
+import io.openjob.server.scheduler.util.WorkerUtil;
 import io.openjob.server.scheduler.wheel.WheelManager;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
@@ -25,6 +30,7 @@ public class Scheduler {
     private final DelayStatusListScheduler delayStatusListScheduler;
     private final DelayDeleteListScheduler delayDeleteListScheduler;
     private final SchedulerProperties schedulerProperties;
+    private final JobSchedulingService jobSchedulingService;
 
     @Autowired
     public Scheduler(WheelManager wheelManager,
@@ -33,7 +39,8 @@ public class Scheduler {
                      DelayAddListScheduler delayAddListScheduler,
                      DelayStatusListScheduler delayStatusListScheduler,
                      DelayDeleteListScheduler delayDeleteListScheduler,
-                     SchedulerProperties schedulerProperties) {
+                     SchedulerProperties schedulerProperties,
+                     JobSchedulingService jobSchedulingService) {
         this.wheelManager = wheelManager;
         this.delayZsetScheduler = delayZsetScheduler;
         this.delayFailZsetScheduler = delayFailZsetScheduler;
@@ -41,6 +48,7 @@ public class Scheduler {
         this.delayStatusListScheduler = delayStatusListScheduler;
         this.delayDeleteListScheduler = delayDeleteListScheduler;
         this.schedulerProperties = schedulerProperties;
+        this.jobSchedulingService = jobSchedulingService;
     }
 
     /**
@@ -50,6 +58,14 @@ public class Scheduler {
         // Timing wheel manager.
         this.wheelManager.start();
 
+        // Running job instance leases.
+        LeaseTable leaseTable = ClusterContext.getLeaseTable();
+        leaseTable.setLeasePeriod(this.schedulerProperties.getInstanceFailPeriodTime() * 1000L);
+        leaseTable.start(this.jobSchedulingService::failoverExpiredLeases);
+
+        // Worker select strategy.
+        WorkerUtil.setSelectStrategy(WorkerSelectStrategyEnum.of(this.schedulerProperties.getScheduler().getWorkerSelectStrategy()));
+
         // Enable delay.
         if (this.schedulerProperties.getDelay().getEnable()) {
             // Delay zset scheduler.
@@ -26,6 +26,16 @@ public class SchedulerProperties {
          * Executor keep alive time(Second)
          */
         private Integer executorKeepAliveTime = 90;
+
+        /**
+         * Failover check timeout(ms), workers are checked concurrently with one request each.
+         */
+        private Long failoverCheckTimeout = 3000L;
+
+        /**
+         * Worker select strategy of dispatch, such as random, leastLoaded, powerOfTwo and weighted, default is random.
+         */
+        private String workerSelectStrategy = "random";
     }
 
     @Data
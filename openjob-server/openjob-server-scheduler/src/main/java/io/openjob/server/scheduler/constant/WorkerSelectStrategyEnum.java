@@ -0,0 +1,50 @@
+package io.openjob.server.scheduler.constant;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Arrays;
+
+/**
+ * @author stelin swoft@qq.com
+ * @since 1.0.8
+ */
+@Getter
+@AllArgsConstructor
+public enum WorkerSelectStrategyEnum {
+    /**
+     * Random.
+     */
+    RANDOM("random"),
+
+    /**
+     * Least loaded worker.
+     */
+    LEAST_LOADED("leastLoaded"),
+
+    /**
+     * Less loaded of two random workers.
+     */
+    POWER_OF_TWO("powerOfTwo"),
+
+    /**
+     * Random weighted by worker capacity.
+     */
+    WEIGHTED("weighted"),
+    ;
+
+    private final String type;
+
+    /**
+     * Strategy of type, default is random.
+     *
+     * @param type type
+     * @return WorkerSelectStrategyEnum
+     */
+    public static WorkerSelectStrategyEnum of(String type) {
+        return Arrays.stream(values())
+                .filter(s -> s.getType().equals(type))
+                .findFirst()
+                .orElse(RANDOM);
+    }
+}
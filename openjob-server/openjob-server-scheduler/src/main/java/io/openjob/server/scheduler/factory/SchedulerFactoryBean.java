@@ -1,5 +1,6 @@
 package io.openjob.server.scheduler.factory;
 
+import io.openjob.server.common.ClusterContext;
 import io.openjob.server.scheduler.scheduler.DelayAddListScheduler;
 import io.openjob.server.scheduler.scheduler.DelayDeleteListScheduler;
 import io.openjob.server.scheduler.scheduler.DelayFailZsetScheduler;
@@ -45,6 +46,9 @@ public class SchedulerFactoryBean implements DisposableBean {
         // Timing wheel manager.
         this.wheelManager.stop();
 
+        // Running job instance leases.
+        ClusterContext.getLeaseTable().stop();
+
         // Delay zset scheduler.
         this.delayZsetScheduler.stop();
 
@@ -5,11 +5,14 @@ import io.openjob.common.constant.FailStatusEnum;
 import io.openjob.common.constant.InstanceStatusEnum;
 import io.openjob.common.constant.TaskConstant;
 import io.openjob.common.constant.TimeExpressionTypeEnum;
+import io.openjob.common.request.ServerBatchCheckTaskMasterRequest;
 import io.openjob.common.request.ServerCheckTaskMasterRequest;
+import io.openjob.common.response.WorkerBatchCheckTaskMasterResponse;
 import io.openjob.common.response.WorkerResponse;
 import io.openjob.common.util.DateUtil;
 import io.openjob.common.util.FutureUtil;
 import io.openjob.server.common.ClusterContext;
+import io.openjob.server.common.LeaseTable;
 import io.openjob.server.common.cron.CronExpression;
 import io.openjob.server.common.util.ServerUtil;
 import io.openjob.server.repository.constant.JobStatusEnum;
@@ -25,6 +28,7 @@ import io.openjob.server.scheduler.dto.JobExecuteRequestDTO;
 import io.openjob.server.scheduler.dto.JobExecuteResponseDTO;
 import io.openjob.server.scheduler.timer.AbstractTimerTask;
 import io.openjob.server.scheduler.timer.SchedulerTimerTask;
+import io.openjob.server.scheduler.util.TaskMasterCheckUtil;
 import io.openjob.server.scheduler.wheel.SchedulerWheel;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -36,7 +40,6 @@ import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
@@ -80,41 +83,66 @@ public class JobSchedulingService {
 
     /**
      * Schedule failover job.
+     * Running job instances are failed over by lease expiry, only not dispatched instances are scanned.
      */
     public void scheduleFailoverJob() {
-        Set<JobInstance> dispatchList = new HashSet<>();
         Set<Long> currentSlots = ClusterContext.getCurrentSlots();
 
         // Retry dispatch list.
         long executeTime = DateUtil.timestamp() - this.schedulerProperties.getInstanceFailPeriodTime();
         List<JobInstance> unDispatchList = this.jobInstanceDAO.getUnDispatchedList(currentSlots, executeTime, InstanceStatusEnum.WAITING);
-        if (!CollectionUtils.isEmpty(unDispatchList)) {
-            dispatchList.addAll(unDispatchList);
-            log.info("Retry dispatch list!{}", unDispatchList.stream().map(JobInstance::getId).collect(Collectors.toList()));
+        if (CollectionUtils.isEmpty(unDispatchList)) {
+            return;
         }
 
-        // Fail over list.
-        // Must exclude one time job.
-        long failoverReportTime = DateUtil.timestamp() - this.schedulerProperties.getInstanceFailPeriodTime();
-        List<JobInstance> failoverList = this.jobInstanceDAO.getFailoverList(currentSlots, failoverReportTime, InstanceStatusEnum.RUNNING);
-        if (!CollectionUtils.isEmpty(failoverList)) {
-            dispatchList.addAll(failoverList);
-            log.info("Retry failover list!{}", failoverList.stream().map(JobInstance::getId).collect(Collectors.toList()));
+        log.info("Retry dispatch list!{}", unDispatchList.stream().map(JobInstance::getId).collect(Collectors.toList()));
+        this.schedulerWheel.addTimerTask(unDispatchList.stream()
+                .map(this::convertToTimerTaskByFailover)
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Failover job instances with expired leases.
+     *
+     * @param leases expired leases
+     */
+    public void failoverExpiredLeases(List<LeaseTable.Lease> leases) {
+        // Slots may be migrated.
+        Set<Long> currentSlots = ClusterContext.getCurrentSlots();
+        List<Long> instanceIds = leases.stream()
+                .filter(l -> currentSlots.contains(l.getSlotsId()))
+                .map(LeaseTable.Lease::getInstanceId)
+                .collect(Collectors.toList());
+        if (instanceIds.isEmpty()) {
+            return;
+        }
+
+        // Must exclude one time job and completed job.
+        List<JobInstance> failoverList = this.jobInstanceDAO.getListByIds(instanceIds)
+                .stream()
+                .filter(j -> InstanceStatusEnum.isRunning(j.getStatus()))
+                .filter(j -> !TimeExpressionTypeEnum.isOneTime(j.getTimeExpressionType()))
+                .collect(Collectors.toList());
+        if (failoverList.isEmpty()) {
+            return;
         }
 
+        // Task master is still running, renewals are lost, grant a new lease.
+        Set<Long> runningIds = this.checkTaskMasters(failoverList);
+        LeaseTable leaseTable = ClusterContext.getLeaseTable();
         List<AbstractTimerTask> timerTasks = new ArrayList<>();
-        dispatchList.forEach(js -> {
-            // Check worker instance.
-            if (InstanceStatusEnum.isRunning(js.getStatus()) && this.checkTaskMaster(js)) {
+        failoverList.forEach(j -> {
+            if (runningIds.contains(j.getId())) {
+                leaseTable.grant(j.getId(), j.getSlotsId(), CommonConstant.YES.equals(j.getExecuteOnce()) ? null : j.getJobId(), j.getWorkerAddress());
                 return;
             }
-
-            // Add time wheel.
-            timerTasks.add(this.convertToTimerTaskByFailover(js));
+            timerTasks.add(this.convertToTimerTaskByFailover(j));
         });
 
-        // Batch add time task to timing wheel.
-        this.schedulerWheel.addTimerTask(timerTasks);
+        if (!timerTasks.isEmpty()) {
+            log.info("Retry failover list!{}", timerTasks.stream().map(AbstractTimerTask::getTaskId).collect(Collectors.toList()));
+            this.schedulerWheel.addTimerTask(timerTasks);
+        }
     }
 
     /**
@@ -317,16 +345,27 @@ public class JobSchedulingService {
         return latestParentTask.getCircleId() + 1;
     }
 
-    private Boolean checkTaskMaster(JobInstance js) {
-        try {
-            ServerCheckTaskMasterRequest checkRequest = new ServerCheckTaskMasterRequest();
-            checkRequest.setJobInstanceId(js.getId());
-            checkRequest.setJobId(js.getJobId());
-            FutureUtil.mustAsk(ServerUtil.getWorkerTaskMasterActor(js.getWorkerAddress()), checkRequest, WorkerResponse.class, 3000L);
-            return true;
-        } catch (Throwable e) {
-            log.info("Check worker failed! workerAddress={}", js.getWorkerAddress());
-            return false;
-        }
+    /**
+     * Check task masters, instances are grouped by worker and all workers are checked concurrently.
+     * A failed batch falls back to check one by one, so a pass waits at most two check timeouts.
+     *
+     * @param instances running instances
+     * @return instance ids with running task master
+     */
+    private Set<Long> checkTaskMasters(List<JobInstance> instances) {
+        long timeout = this.schedulerProperties.getScheduler().getFailoverCheckTimeout();
+        return TaskMasterCheckUtil.check(instances,
+                (workerAddress, instanceIds) -> {
+                    ServerBatchCheckTaskMasterRequest checkRequest = new ServerBatchCheckTaskMasterRequest();
+                    checkRequest.setJobInstanceIds(instanceIds);
+                    return FutureUtil.ask(ServerUtil.getWorkerTaskMasterActor(workerAddress), checkRequest, WorkerBatchCheckTaskMasterResponse.class, timeout)
+                            .thenApply(WorkerBatchCheckTaskMasterResponse::getJobInstanceIds);
+                },
+                js -> {
+                    ServerCheckTaskMasterRequest checkRequest = new ServerCheckTaskMasterRequest();
+                    checkRequest.setJobInstanceId(js.getId());
+                    checkRequest.setJobId(js.getJobId());
+                    return FutureUtil.ask(ServerUtil.getWorkerTaskMasterActor(js.getWorkerAddress()), checkRequest, WorkerResponse.class, timeout);
+                });
     }
 }
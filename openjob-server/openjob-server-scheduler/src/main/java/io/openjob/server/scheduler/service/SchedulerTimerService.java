@@ -1,36 +1,47 @@
 package io.openjob.server.scheduler.service;
 
+import akka.actor.ActorSelection;
 import io.openjob.common.OpenjobSpringContext;
 import io.openjob.common.constant.CommonConstant;
 import io.openjob.common.constant.FailStatusEnum;
 import io.openjob.common.constant.InstanceStatusEnum;
+import io.openjob.common.request.ServerStopJobInstanceRequest;
 import io.openjob.common.request.ServerSubmitJobInstanceRequest;
 import io.openjob.common.response.WorkerResponse;
+import io.openjob.common.response.WorkerSubmitJobInstanceResponse;
 import io.openjob.common.util.DateUtil;
 import io.openjob.common.util.FutureUtil;
 import io.openjob.server.alarm.constant.AlarmEventEnum;
 import io.openjob.server.alarm.dto.AlarmEventDTO;
 import io.openjob.server.alarm.event.AlarmEvent;
 import io.openjob.server.alarm.event.AlarmEventPublisher;
+import io.openjob.server.common.ClusterContext;
+import io.openjob.server.common.LeaseTable;
 import io.openjob.server.common.dto.WorkerDTO;
 import io.openjob.server.common.util.ServerUtil;
 import io.openjob.server.repository.constant.ExecuteStrategyEnum;
 import io.openjob.server.repository.dao.JobInstanceDAO;
 import io.openjob.server.repository.dao.JobInstanceLogDAO;
-import io.openjob.server.repository.entity.JobInstance;
 import io.openjob.server.repository.entity.JobInstanceLog;
+import io.openjob.server.scheduler.autoconfigure.SchedulerProperties;
 import io.openjob.server.scheduler.timer.SchedulerTimerTask;
 import io.openjob.server.scheduler.util.WorkerUtil;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
-import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * @author stelin swoft@qq.com
@@ -42,9 +53,26 @@ public class SchedulerTimerService {
     private final JobInstanceLogDAO jobInstanceLogDAO;
     private final JobInstanceDAO jobInstanceDAO;
 
-    public SchedulerTimerService(JobInstanceLogDAO jobInstanceLogDAO, JobInstanceDAO jobInstanceDAO) {
+    /**
+     * Dispatch response executor, scheduler threads do not wait for worker response.
+     */
+    private final ThreadPoolExecutor dispatchExecutor;
+
+    public SchedulerTimerService(JobInstanceLogDAO jobInstanceLogDAO, JobInstanceDAO jobInstanceDAO, SchedulerProperties schedulerProperties) {
         this.jobInstanceLogDAO = jobInstanceLogDAO;
         this.jobInstanceDAO = jobInstanceDAO;
+
+        AtomicInteger threadId = new AtomicInteger(1);
+        this.dispatchExecutor = new ThreadPoolExecutor(
+                1,
+                schedulerProperties.getScheduler().getExecutorMaxPoolSize(),
+                schedulerProperties.getScheduler().getExecutorKeepAliveTime(),
+                TimeUnit.SECONDS,
+                new LinkedBlockingDeque<>(schedulerProperties.getScheduler().getExecutorBlockingSize()),
+                r -> new Thread(r, String.format("openjob-scheduler-dispatch-%s", threadId.getAndIncrement())),
+                new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+        this.dispatchExecutor.allowCoreThreadTimeOut(true);
     }
 
     /**
@@ -57,7 +85,7 @@ public class SchedulerTimerService {
         Boolean concurrency = ExecuteStrategyEnum.isConcurrency(task.getExecuteStrategy());
         Boolean executeOnce = CommonConstant.YES.equals(task.getExecuteOnce());
         if (concurrency || executeOnce) {
-            this.doRun(task, Collections.emptySet());
+            this.doRun(task, new HashSet<>());
             return;
         }
 
@@ -88,26 +116,62 @@ public class SchedulerTimerService {
             return;
         }
 
-        try {
-            FutureUtil.mustAsk(ServerUtil.getWorkerTaskMasterActor(workerDTO.getAddress()), submitReq, WorkerResponse.class, 3000L);
-            log.info("Dispatch task success! taskId={}", task.getTaskId());
-
-            // Update by dispatcher.
-            OpenjobSpringContext.getBean(SchedulerTimerService.class)
-                    .updateByDispatcher(workerDTO.getAddress(),
-                            task.getJobId(),
-                            task.getTaskId(),
-                            dispatchVersion,
-                            InstanceStatusEnum.RUNNING,
-                            "Dispatch  task success!");
-        } catch (Throwable ex) {
-            // Add failover list.
-            failoverList.add(workerDTO.getAddress());
-
-            // Update by dispatcher.
-            this.addInstanceLog(task.getJobId(), task.getTaskId(), Arrays.toString(ex.getStackTrace()));
-            log.info("Dispatch task fail! taskId={} message={}", task.getTaskId(), ex.getMessage());
+        // Lease is granted before dispatch, so the running instance is seen by discard and overlay of next instance,
+        // it is released when dispatch fails, otherwise renewed by worker heartbeats.
+        Long jobId = CommonConstant.YES.equals(task.getExecuteOnce()) ? null : task.getJobId();
+        ClusterContext.getLeaseTable().grant(task.getTaskId(), task.getSlotsId(), jobId, workerDTO.getAddress());
+
+        // Only workers advertising definition cache are dispatched without definition,
+        // resend with definition when worker has not cached the job version.
+        if (!ClusterContext.getWorkerLoadTable().isDefinitionCached(workerDTO.getAddress())) {
+            this.setDefinition(submitReq, task);
         }
+
+        // Dispatch without blocking scheduler thread, response is handled by dispatch executor.
+        // Old workers reply with other response types, which are never a definition miss.
+        ActorSelection workerActor = ServerUtil.getWorkerTaskMasterActor(workerDTO.getAddress());
+        FutureUtil.ask(workerActor, submitReq, Object.class, 3000L)
+                .thenCompose(workerResponse -> {
+                    if (!(workerResponse instanceof WorkerSubmitJobInstanceResponse)
+                            || !Boolean.TRUE.equals(((WorkerSubmitJobInstanceResponse) workerResponse).getDefinitionMiss())) {
+                        return CompletableFuture.completedFuture(workerResponse);
+                    }
+                    this.setDefinition(submitReq, task);
+                    return FutureUtil.ask(workerActor, submitReq, Object.class, 3000L);
+                })
+                .whenCompleteAsync((workerResponse, throwable) -> {
+                    if (Objects.nonNull(throwable)) {
+                        this.dispatchFail(task, workerDTO, failoverList, FutureUtil.unwrap(throwable));
+                        return;
+                    }
+
+                    try {
+                        log.info("Dispatch task success! taskId={}", task.getTaskId());
+
+                        // Update by dispatcher.
+                        OpenjobSpringContext.getBean(SchedulerTimerService.class)
+                                .updateByDispatcher(workerDTO.getAddress(),
+                                        task.getJobId(),
+                                        task.getTaskId(),
+                                        dispatchVersion,
+                                        InstanceStatusEnum.RUNNING,
+                                        "Dispatch  task success!");
+                    } catch (Throwable ex) {
+                        log.error(String.format("Dispatch task update fail! taskId=%s", task.getTaskId()), ex);
+                    }
+                }, this.dispatchExecutor);
+    }
+
+    private void dispatchFail(SchedulerTimerTask task, WorkerDTO workerDTO, Set<String> failoverList, Throwable ex) {
+        // Not running.
+        ClusterContext.getLeaseTable().release(task.getTaskId());
+
+        // Add failover list.
+        failoverList.add(workerDTO.getAddress());
+
+        // Update by dispatcher.
+        this.addInstanceLog(task.getJobId(), task.getTaskId(), Arrays.toString(ex.getStackTrace()));
+        log.info("Dispatch task fail! taskId={} message={}", task.getTaskId(), ex.getMessage());
     }
 
     /**
@@ -138,14 +202,11 @@ public class SchedulerTimerService {
     }
 
     private void doDiscard(SchedulerTimerTask task) {
-        List<Integer> statusList = Arrays.asList(
-                InstanceStatusEnum.WAITING.getStatus(),
-                InstanceStatusEnum.RUNNING.getStatus()
-        );
-        JobInstance jobInstance = this.jobInstanceDAO.getOneByJobIdAndStatusAndExcludeExecuteOnce(task.getJobId(), task.getTaskId(), statusList);
+        // Running instances of job are leased by current server, slots of job instances are the same as job.
+        List<LeaseTable.Lease> runningList = ClusterContext.getLeaseTable().getByJobId(task.getJobId());
 
         // Exist one task.
-        if (Objects.nonNull(jobInstance)) {
+        if (runningList.stream().anyMatch(l -> !l.getInstanceId().equals(task.getTaskId()))) {
             this.addInstanceLog(task.getJobId(), task.getTaskId(), "Discard after task!");
             this.jobInstanceDAO.updateStatusById(task.getTaskId(), InstanceStatusEnum.FAIL.getStatus(), FailStatusEnum.EXECUTE_DISCARD.getStatus());
 
@@ -155,7 +216,7 @@ public class SchedulerTimerService {
         }
 
         // Do run.
-        this.doRun(task, Collections.emptySet());
+        this.doRun(task, new HashSet<>());
     }
 
     private void addAlarmEvent(SchedulerTimerTask task) {
@@ -168,7 +229,35 @@ public class SchedulerTimerService {
     }
 
     private void doOverlay(SchedulerTimerTask task) {
-        System.out.println(task);
+        // Stop running instances of job, then run this one.
+        // Lease is kept until worker confirms the stop, otherwise it is renewed or expired by heartbeats.
+        LeaseTable leaseTable = ClusterContext.getLeaseTable();
+        leaseTable.getByJobId(task.getJobId()).forEach(l -> {
+            if (l.getInstanceId().equals(task.getTaskId())) {
+                return;
+            }
+
+            ServerStopJobInstanceRequest stopRequest = new ServerStopJobInstanceRequest();
+            stopRequest.setJobId(task.getJobId());
+            stopRequest.setJobInstanceId(l.getInstanceId());
+            FutureUtil.ask(ServerUtil.getWorkerTaskMasterActor(l.getWorkerAddress()), stopRequest, WorkerResponse.class, 3000L)
+                    .whenCompleteAsync((r, throwable) -> {
+                        if (Objects.nonNull(throwable)) {
+                            log.warn("Overlay stop failed! jobInstanceId={} message={}", l.getInstanceId(), FutureUtil.unwrap(throwable).getMessage());
+                            return;
+                        }
+
+                        try {
+                            leaseTable.release(l.getInstanceId());
+                            this.addInstanceLog(task.getJobId(), l.getInstanceId(), String.format("Overlay by task! taskId=%s", task.getTaskId()));
+                            this.jobInstanceDAO.updateStatusById(l.getInstanceId(), InstanceStatusEnum.STOP.getStatus(), FailStatusEnum.NONE.getStatus());
+                        } catch (Throwable ex) {
+                            log.error(String.format("Overlay stop update fail! jobInstanceId=%s", l.getInstanceId()), ex);
+                        }
+                    }, this.dispatchExecutor);
+        });
+
+        this.doRun(task, new HashSet<>());
     }
 
     private void addInstanceLog(Long jobId, Long instanceId, String message) {
@@ -187,14 +276,21 @@ public class SchedulerTimerService {
     private ServerSubmitJobInstanceRequest getServerSubmitJobInstanceRequest(SchedulerTimerTask task, Long dispatchVersion) {
         ServerSubmitJobInstanceRequest submitReq = new ServerSubmitJobInstanceRequest();
         submitReq.setJobId(task.getJobId());
+        submitReq.setJobVersion(this.getJobVersion(task));
         submitReq.setJobInstanceId(task.getTaskId());
         submitReq.setCircleId(task.getCircleId());
         submitReq.setDispatchVersion(dispatchVersion);
+        submitReq.setWorkflowId(task.getWorkflowId());
+        submitReq.setExecuteOnce(Optional.ofNullable(task.getExecuteOnce()).orElse(CommonConstant.NO));
+        submitReq.setSlotsId(task.getSlotsId());
+        return submitReq;
+    }
+
+    private void setDefinition(ServerSubmitJobInstanceRequest submitReq, SchedulerTimerTask task) {
         submitReq.setJobParamType(task.getJobParamType());
         submitReq.setJobParams(task.getJobParams());
         submitReq.setJobExtendParamsType(task.getJobExtendParamsType());
         submitReq.setJobExtendParams(task.getJobExtendParams());
-        submitReq.setWorkflowId(task.getWorkflowId());
         submitReq.setProcessorType(task.getProcessorType());
         submitReq.setProcessorInfo(task.getProcessorInfo());
         submitReq.setExecuteType(task.getExecuteType());
@@ -204,7 +300,42 @@ public class SchedulerTimerService {
         submitReq.setTimeExpressionType(task.getTimeExpressionType());
         submitReq.setTimeExpression(task.getTimeExpression());
         submitReq.setExecuteTimeout(task.getExecuteTimeout());
-        submitReq.setExecuteOnce(Optional.ofNullable(task.getExecuteOnce()).orElse(CommonConstant.NO));
-        return submitReq;
+    }
+
+    /**
+     * Job version is the FNV-1a hash of definition, definition is copied to every job instance,
+     * so a changed job or an instance with custom params is a new version.
+     *
+     * @param task task
+     * @return Long
+     */
+    private Long getJobVersion(SchedulerTimerTask task) {
+        List<Object> definition = Arrays.asList(
+                task.getJobParamType(),
+                task.getJobParams(),
+                task.getJobExtendParamsType(),
+                task.getJobExtendParams(),
+                task.getProcessorType(),
+                task.getProcessorInfo(),
+                task.getExecuteType(),
+                task.getFailRetryTimes(),
+                task.getFailRetryInterval(),
+                task.getConcurrency(),
+                task.getTimeExpressionType(),
+                task.getTimeExpression(),
+                task.getExecuteTimeout()
+        );
+
+        long hash = 0xcbf29ce484222325L;
+        for (Object field : definition) {
+            byte[] bytes = String.valueOf(field).getBytes(StandardCharsets.UTF_8);
+            for (byte b : bytes) {
+                hash = (hash ^ (b & 0xff)) * 0x100000001b3L;
+            }
+
+            // Field separator.
+            hash = (hash ^ 0xff) * 0x100000001b3L;
+        }
+        return hash;
     }
 }
@@ -0,0 +1,82 @@
+package io.openjob.server.scheduler.util;
+
+import io.openjob.server.repository.entity.JobInstance;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Check task masters of job instances on workers.
+ * Instances are checked by worker in one batch, a failed or timeout batch falls back to check one by one,
+ * so a worker without batch check or a lost batch response still keeps its running instances.
+ *
+ * @author stelin swoft@qq.com
+ * @since 1.0.8
+ */
+@Slf4j
+public class TaskMasterCheckUtil {
+    private TaskMasterCheckUtil() {
+
+    }
+
+    /**
+     * Check task masters.
+     *
+     * @param instances   job instances
+     * @param batchCheck  batch check of worker, completed with running instance ids
+     * @param singleCheck single check of instance, completed normally when it is running
+     * @return running instance ids
+     */
+    public static Set<Long> check(List<JobInstance> instances,
+                                  BiFunction<String, List<Long>, CompletionStage<List<Long>>> batchCheck,
+                                  Function<JobInstance, CompletionStage<?>> singleCheck) {
+        Map<String, List<JobInstance>> workerInstances = instances.stream()
+                .filter(js -> StringUtils.isNotBlank(js.getWorkerAddress()))
+                .collect(Collectors.groupingBy(JobInstance::getWorkerAddress));
+
+        Set<Long> runningIds = ConcurrentHashMap.newKeySet();
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        workerInstances.forEach((workerAddress, workerInstanceList) -> {
+            List<Long> instanceIds = workerInstanceList.stream().map(JobInstance::getId).collect(Collectors.toList());
+            futures.add(batchCheck.apply(workerAddress, instanceIds)
+                    .toCompletableFuture()
+                    .handle((ids, e) -> {
+                        if (Objects.isNull(e)) {
+                            runningIds.addAll(ids);
+                            return CompletableFuture.<Void>completedFuture(null);
+                        }
+
+                        log.info("Batch check worker failed, fallback to check one by one! workerAddress={} instanceSize={}", workerAddress, instanceIds.size());
+                        return checkOneByOne(workerInstanceList, singleCheck, runningIds);
+                    })
+                    .thenCompose(Function.identity()));
+        });
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        return runningIds;
+    }
+
+    private static CompletableFuture<Void> checkOneByOne(List<JobInstance> instances, Function<JobInstance, CompletionStage<?>> singleCheck, Set<Long> runningIds) {
+        List<CompletableFuture<Void>> futures = instances.stream()
+                .map(js -> singleCheck.apply(js)
+                        .toCompletableFuture()
+                        .thenAccept(r -> runningIds.add(js.getId()))
+                        .exceptionally(e -> {
+                            log.info("Check worker failed! workerAddress={} jobInstanceId={}", js.getWorkerAddress(), js.getId());
+                            return null;
+                        }))
+                .collect(Collectors.toList());
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
+    }
+}
@@ -1,7 +1,9 @@
 package io.openjob.server.scheduler.util;
 
 import io.openjob.server.common.ClusterContext;
+import io.openjob.server.common.WorkerLoadTable;
 import io.openjob.server.common.dto.WorkerDTO;
+import io.openjob.server.scheduler.constant.WorkerSelectStrategyEnum;
 import org.springframework.util.CollectionUtils;
 
 import java.util.List;
@@ -16,7 +18,12 @@ import java.util.stream.Collectors;
 public class WorkerUtil {
 
     /**
-     * Select one worker by appid.
+     * Worker select strategy.
+     */
+    private static volatile WorkerSelectStrategyEnum selectStrategy = WorkerSelectStrategyEnum.RANDOM;
+
+    /**
+     * Select one worker by appid, selected worker is counted as dispatched until its next load report.
      *
      * @param appId        appId
      * @param failoverList failover list.
@@ -35,7 +42,81 @@ public class WorkerUtil {
             return null;
         }
 
-        int index = ThreadLocalRandom.current().nextInt(availableWorkers.size());
-        return availableWorkers.get(index);
+        WorkerLoadTable workerLoadTable = ClusterContext.getWorkerLoadTable();
+        WorkerDTO workerDTO = selectWorker(availableWorkers, workerLoadTable, selectStrategy);
+        workerLoadTable.dispatch(workerDTO.getAddress());
+        return workerDTO;
+    }
+
+    /**
+     * Select one worker by strategy.
+     *
+     * @param workers         available workers
+     * @param workerLoadTable worker loads
+     * @param strategy        strategy
+     * @return WorkerDTO
+     */
+    public static WorkerDTO selectWorker(List<WorkerDTO> workers, WorkerLoadTable workerLoadTable, WorkerSelectStrategyEnum strategy) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (workers.size() == 1 || WorkerSelectStrategyEnum.RANDOM.equals(strategy)) {
+            return workers.get(random.nextInt(workers.size()));
+        }
+
+        if (WorkerSelectStrategyEnum.LEAST_LOADED.equals(strategy)) {
+            return selectLeastLoaded(workers, workerLoadTable, random);
+        }
+
+        if (WorkerSelectStrategyEnum.WEIGHTED.equals(strategy)) {
+            return selectWeighted(workers, workerLoadTable, random);
+        }
+
+        // Power of two, less loaded of two distinct random workers.
+        int first = random.nextInt(workers.size());
+        int second = random.nextInt(workers.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        WorkerDTO firstWorker = workers.get(first);
+        WorkerDTO secondWorker = workers.get(second);
+        return workerLoadTable.getLoad(secondWorker.getAddress()) < workerLoadTable.getLoad(firstWorker.getAddress()) ? secondWorker : firstWorker;
+    }
+
+    public static void setSelectStrategy(WorkerSelectStrategyEnum selectStrategy) {
+        WorkerUtil.selectStrategy = selectStrategy;
+    }
+
+    private static WorkerDTO selectLeastLoaded(List<WorkerDTO> workers, WorkerLoadTable workerLoadTable, ThreadLocalRandom random) {
+        WorkerDTO selected = null;
+        double minLoad = Double.MAX_VALUE;
+        int ties = 0;
+        for (WorkerDTO w : workers) {
+            double load = workerLoadTable.getLoad(w.getAddress());
+            if (load < minLoad) {
+                selected = w;
+                minLoad = load;
+                ties = 1;
+            } else if (load == minLoad && random.nextInt(++ties) == 0) {
+                // Equally loaded workers are selected randomly.
+                selected = w;
+            }
+        }
+        return selected;
+    }
+
+    private static WorkerDTO selectWeighted(List<WorkerDTO> workers, WorkerLoadTable workerLoadTable, ThreadLocalRandom random) {
+        long total = 0;
+        long[] weights = new long[workers.size()];
+        for (int i = 0; i < workers.size(); i++) {
+            total += workerLoadTable.getCapacity(workers.get(i).getAddress());
+            weights[i] = total;
+        }
+
+        long point = random.nextLong(total);
+        for (int i = 0; i < weights.length; i++) {
+            if (point < weights[i]) {
+                return workers.get(i);
+            }
+        }
+        return workers.get(workers.size() - 1);
     }
 }
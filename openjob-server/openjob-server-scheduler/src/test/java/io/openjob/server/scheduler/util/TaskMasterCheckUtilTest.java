@@ -0,0 +1,84 @@
+package io.openjob.server.scheduler.util;
+
+import io.openjob.server.repository.entity.JobInstance;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * @author stelin swoft@qq.com
+ * @since 1.0.8
+ */
+public class TaskMasterCheckUtilTest {
+    @Test
+    public void testGroupByWorker() {
+        List<JobInstance> instances = Arrays.asList(
+                newInstance(1L, "127.0.0.1:25588"),
+                newInstance(2L, "127.0.0.1:25589"),
+                newInstance(3L, "127.0.0.1:25588"),
+                newInstance(4L, ""));
+
+        // One batch per worker, instance without worker is not checked.
+        Map<String, List<Long>> batches = new ConcurrentHashMap<>();
+        Set<Long> runningIds = TaskMasterCheckUtil.check(instances,
+                (address, ids) -> {
+                    batches.put(address, ids);
+                    return CompletableFuture.completedFuture(ids.subList(0, 1));
+                },
+                js -> {
+                    throw new IllegalStateException("Single check is not expected!");
+                });
+
+        Assertions.assertEquals(2, batches.size());
+        Assertions.assertEquals(Arrays.asList(1L, 3L), batches.get("127.0.0.1:25588"));
+        Assertions.assertEquals(Arrays.asList(2L), batches.get("127.0.0.1:25589"));
+        Assertions.assertEquals(new HashSet<>(Arrays.asList(1L, 2L)), runningIds);
+    }
+
+    @Test
+    public void testBatchTimeout() {
+        List<JobInstance> instances = Arrays.asList(
+                newInstance(1L, "127.0.0.1:25588"),
+                newInstance(2L, "127.0.0.1:25588"),
+                newInstance(3L, "127.0.0.1:25589"));
+
+        // Batch of 25588 timeout, its instances are checked one by one and the timeout one is not running.
+        Set<Long> runningIds = TaskMasterCheckUtil.check(instances,
+                (address, ids) -> {
+                    CompletableFuture<List<Long>> future = new CompletableFuture<>();
+                    if ("127.0.0.1:25588".equals(address)) {
+                        future.completeExceptionally(new TimeoutException("Batch check timeout!"));
+                    } else {
+                        future.complete(ids);
+                    }
+                    return future;
+                },
+                js -> {
+                    CompletableFuture<Object> future = new CompletableFuture<>();
+                    if (js.getId().equals(1L)) {
+                        future.complete(new Object());
+                    } else {
+                        future.completeExceptionally(new TimeoutException("Check timeout!"));
+                    }
+                    return future;
+                });
+
+        Assertions.assertEquals(new HashSet<>(Arrays.asList(1L, 3L)), runningIds);
+    }
+
+    private static JobInstance newInstance(Long id, String workerAddress) {
+        JobInstance instance = new JobInstance();
+        instance.setId(id);
+        instance.setJobId(1L);
+        instance.setWorkerAddress(workerAddress);
+        return instance;
+    }
+}
@@ -0,0 +1,25 @@
+package io.openjob.worker.actor;
+
+import akka.routing.ConsistentHashingRouter;
+import io.openjob.common.request.JobInstanceRequest;
+
+/**
+ * Hash key of consistent hashing router, all requests of one job instance are routed to the same routee.
+ *
+ * @author stelin swoft@qq.com
+ * @since 1.0.8
+ */
+public class JobInstanceHashMapper implements ConsistentHashingRouter.ConsistentHashMapper {
+
+    @Override
+    public Object hashKey(Object message) {
+        if (message instanceof JobInstanceRequest) {
+            return ((JobInstanceRequest) message).getJobInstanceId();
+        }
+
+        // Other messages are routed by type, so one type is handled by a single routee.
+        // Such as `ServerBatchCheckTaskMasterRequest`, it only reads the task master pool and is sent on failover,
+        // so batches from all servers are handled in turn by one routee.
+        return message.getClass().getName();
+    }
+}
@@ -3,6 +3,7 @@ package io.openjob.worker.actor;
 import io.openjob.common.actor.BaseActor;
 import io.openjob.common.constant.CommonConstant;
 import io.openjob.common.constant.JobInstanceStopEnum;
+import io.openjob.common.request.ServerBatchCheckTaskMasterRequest;
 import io.openjob.common.request.ServerCheckTaskMasterRequest;
 import io.openjob.common.request.ServerInstanceTaskChildListPullRequest;
 import io.openjob.common.request.ServerInstanceTaskListPullRequest;
@@ -10,10 +11,13 @@ import io.openjob.common.request.ServerStopInstanceTaskRequest;
 import io.openjob.common.request.ServerStopJobInstanceRequest;
 import io.openjob.common.request.ServerSubmitJobInstanceRequest;
 import io.openjob.common.response.Result;
+import io.openjob.common.response.WorkerBatchCheckTaskMasterResponse;
 import io.openjob.common.response.WorkerInstanceTaskChildListPullResponse;
 import io.openjob.common.response.WorkerInstanceTaskListPullResponse;
 import io.openjob.common.response.WorkerResponse;
+import io.openjob.common.response.WorkerSubmitJobInstanceResponse;
 import io.openjob.worker.dto.JobInstanceDTO;
+import io.openjob.worker.master.JobDefinitionCache;
 import io.openjob.worker.master.MapReduceTaskMaster;
 import io.openjob.worker.master.TaskMaster;
 import io.openjob.worker.master.TaskMasterFactory;
@@ -23,6 +27,7 @@ import io.openjob.worker.request.ProcessorMapTaskRequest;
 
 import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
  * @author stelin swoft@qq.com
@@ -37,6 +42,7 @@ public class TaskMasterActor extends BaseActor {
                 .match(ServerStopJobInstanceRequest.class, this::stopJobInstance)
                 .match(ServerStopInstanceTaskRequest.class, this::stopInstanceTask)
                 .match(ServerCheckTaskMasterRequest.class, this::checkJobInstance)
+                .match(ServerBatchCheckTaskMasterRequest.class, this::batchCheckJobInstance)
                 .match(ContainerBatchTaskStatusRequest.class, this::handleContainerTaskStatus)
                 .match(ProcessorMapTaskRequest.class, this::handleProcessorMapTask)
                 .match(ServerInstanceTaskListPullRequest.class, this::handlePullInstanceTaskList)
@@ -54,32 +60,47 @@ public class TaskMasterActor extends BaseActor {
             throw new RuntimeException(String.format("Task master is running! jobInstanceId=%s", submitReq.getJobInstanceId()));
         }
 
+        // Definition is omitted, use cached one or ask server to resend it.
+        ServerSubmitJobInstanceRequest definition = submitReq;
+        if (submitReq.withoutDefinition()) {
+            definition = JobDefinitionCache.get(submitReq.getJobId(), submitReq.getJobVersion());
+            if (Objects.isNull(definition)) {
+                WorkerSubmitJobInstanceResponse response = new WorkerSubmitJobInstanceResponse();
+                response.setDefinitionMiss(true);
+                getSender().tell(Result.success(response), getSelf());
+                return;
+            }
+        } else {
+            JobDefinitionCache.put(submitReq);
+        }
+
         JobInstanceDTO jobInstanceDTO = new JobInstanceDTO();
         jobInstanceDTO.setJobId(submitReq.getJobId());
         jobInstanceDTO.setJobInstanceId(submitReq.getJobInstanceId());
         jobInstanceDTO.setCircleId(submitReq.getCircleId());
         jobInstanceDTO.setDispatchVersion(submitReq.getDispatchVersion());
-        jobInstanceDTO.setJobParamType(submitReq.getJobParamType());
-        jobInstanceDTO.setJobParams(submitReq.getJobParams());
-        jobInstanceDTO.setJobExtendParamsType(submitReq.getJobExtendParamsType());
-        jobInstanceDTO.setJobExtendParams(submitReq.getJobExtendParams());
+        jobInstanceDTO.setJobParamType(definition.getJobParamType());
+        jobInstanceDTO.setJobParams(definition.getJobParams());
+        jobInstanceDTO.setJobExtendParamsType(definition.getJobExtendParamsType());
+        jobInstanceDTO.setJobExtendParams(definition.getJobExtendParams());
         jobInstanceDTO.setWorkflowId(submitReq.getWorkflowId());
-        jobInstanceDTO.setExecuteType(submitReq.getExecuteType());
-        jobInstanceDTO.setProcessorType(submitReq.getProcessorType());
-        jobInstanceDTO.setProcessorInfo(submitReq.getProcessorInfo());
-        jobInstanceDTO.setFailRetryInterval(submitReq.getFailRetryInterval());
-        jobInstanceDTO.setFailRetryTimes(submitReq.getFailRetryTimes());
-        jobInstanceDTO.setExecuteTimeout(submitReq.getExecuteTimeout());
-        jobInstanceDTO.setConcurrency(submitReq.getConcurrency());
-        jobInstanceDTO.setTimeExpression(submitReq.getTimeExpression());
-        jobInstanceDTO.setTimeExpressionType(submitReq.getTimeExpressionType());
+        jobInstanceDTO.setExecuteType(definition.getExecuteType());
+        jobInstanceDTO.setProcessorType(definition.getProcessorType());
+        jobInstanceDTO.setProcessorInfo(definition.getProcessorInfo());
+        jobInstanceDTO.setFailRetryInterval(definition.getFailRetryInterval());
+        jobInstanceDTO.setFailRetryTimes(definition.getFailRetryTimes());
+        jobInstanceDTO.setExecuteTimeout(definition.getExecuteTimeout());
+        jobInstanceDTO.setConcurrency(definition.getConcurrency());
+        jobInstanceDTO.setTimeExpression(definition.getTimeExpression());
+        jobInstanceDTO.setTimeExpressionType(definition.getTimeExpressionType());
         jobInstanceDTO.setExecuteOnce(Optional.ofNullable(submitReq.getExecuteOnce()).orElse(CommonConstant.NO));
+        jobInstanceDTO.setSlotsId(submitReq.getSlotsId());
 
         TaskMaster taskMaster = TaskMasterPool.get(submitReq.getJobInstanceId(), (id) -> TaskMasterFactory.create(jobInstanceDTO, getContext()));
         taskMaster.submit();
 
         // Result
-        getSender().tell(Result.success(new WorkerResponse()), getSelf());
+        getSender().tell(Result.success(new WorkerSubmitJobInstanceResponse()), getSelf());
     }
 
     /**
@@ -130,6 +151,19 @@ public class TaskMasterActor extends BaseActor {
         getSender().tell(Result.fail("Task master is not exist! instanceId=" + checkRequest.getJobInstanceId()), getSelf());
     }
 
+    /**
+     * Batch check job instance.
+     *
+     * @param batchCheckRequest batch check request.
+     */
+    public void batchCheckJobInstance(ServerBatchCheckTaskMasterRequest batchCheckRequest) {
+        WorkerBatchCheckTaskMasterResponse response = new WorkerBatchCheckTaskMasterResponse();
+        response.setJobInstanceIds(batchCheckRequest.getJobInstanceIds().stream()
+                .filter(TaskMasterPool::contains)
+                .collect(Collectors.toList()));
+        getSender().tell(Result.success(response), getSelf());
+    }
+
     /**
      * Hande container task status.
      *
@@ -138,6 +172,7 @@ public class TaskMasterActor extends BaseActor {
     public void handleContainerTaskStatus(ContainerBatchTaskStatusRequest batchTaskStatusReq) {
         TaskMaster taskMaster = TaskMasterPool.get(batchTaskStatusReq.getJobInstanceId());
         if (Objects.nonNull(taskMaster)) {
+            batchTaskStatusReq.restore();
             taskMaster.updateStatus(batchTaskStatusReq);
         }
 
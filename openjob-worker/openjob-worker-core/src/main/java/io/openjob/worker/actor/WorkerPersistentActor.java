@@ -2,6 +2,17 @@ package io.openjob.worker.actor;
 
 import akka.actor.ActorSelection;
 import akka.persistence.AbstractPersistentActorWithAtLeastOnceDelivery;
+import akka.persistence.AtLeastOnceDelivery;
+import akka.persistence.DeleteMessagesFailure;
+import akka.persistence.DeleteMessagesSuccess;
+import akka.persistence.DeleteSnapshotsFailure;
+import akka.persistence.DeleteSnapshotsSuccess;
+import akka.persistence.RecoveryCompleted;
+import akka.persistence.SaveSnapshotFailure;
+import akka.persistence.SaveSnapshotSuccess;
+import akka.persistence.SnapshotOffer;
+import akka.persistence.SnapshotSelectionCriteria;
+import io.openjob.common.constant.AkkaConstant;
 import io.openjob.common.constant.StatusEnum;
 import io.openjob.common.request.WorkerDelayStatusRequest;
 import io.openjob.common.request.WorkerJobInstanceStatusRequest;
@@ -9,6 +20,8 @@ import io.openjob.common.request.WorkerJobInstanceTaskBatchRequest;
 import io.openjob.common.response.Result;
 import io.openjob.common.response.ServerResponse;
 import io.openjob.common.response.WorkerResponse;
+import io.openjob.worker.init.ServerSlotContext;
+import io.openjob.worker.persistence.DeliveryConfirmedEvent;
 import io.openjob.worker.request.ContainerBatchTaskStatusRequest;
 import io.openjob.worker.request.MasterDestroyContainerRequest;
 import io.openjob.worker.request.MasterStopContainerRequest;
@@ -19,13 +32,26 @@ import lombok.extern.slf4j.Slf4j;
 import java.util.Objects;
 
 /**
+ * Deliveries are persisted to the journal before they are sent and confirmations are persisted when acked,
+ * so unconfirmed deliveries are recovered and sent again after the worker restarts.
+ *
  * @author stelin swoft@qq.com
  * @since 1.0.0
  */
 @Slf4j
 public class WorkerPersistentActor extends AbstractPersistentActorWithAtLeastOnceDelivery {
+    /**
+     * Events between two delivery snapshots.
+     */
+    private static final Long COMPACT_EVENTS = 1000L;
+
     private final Integer id;
 
+    /**
+     * Sequence number of the last delivery snapshot.
+     */
+    private long snapshotSequenceNr = 0L;
+
     public WorkerPersistentActor(Integer id) {
         this.id = id;
     }
@@ -33,7 +59,16 @@ public class WorkerPersistentActor extends AbstractPersistentActorWithAtLeastOnc
     @Override
     public Receive createReceiveRecover() {
         return receiveBuilder()
-                .matchAny(System.out::println)
+                .match(SnapshotOffer.class, this::handleSnapshotOffer)
+                .match(ContainerBatchTaskStatusRequest.class, this::deliverBatchTaskStatus)
+                .match(WorkerJobInstanceStatusRequest.class, this::deliverJobInstanceStatus)
+                .match(WorkerJobInstanceTaskBatchRequest.class, this::deliverBatchJobInstanceTask)
+                .match(WorkerDelayStatusRequest.class, this::deliverDelayStatus)
+                .match(MasterDestroyContainerRequest.class, this::deliverDestroyContainer)
+                .match(MasterStopContainerRequest.class, this::deliverStopContainer)
+                .match(MasterStopInstanceTaskRequest.class, this::deliverStopInstanceTask)
+                .match(DeliveryConfirmedEvent.class, e -> confirmDelivery(e.getDeliveryId()))
+                .match(RecoveryCompleted.class, r -> this.handleRecoveryCompleted())
                 .build();
     }
 
@@ -48,6 +83,13 @@ public class WorkerPersistentActor extends AbstractPersistentActorWithAtLeastOnc
                 .match(MasterStopContainerRequest.class, this::handleStopContainer)
                 .match(MasterStopInstanceTaskRequest.class, this::handleStopInstanceTask)
                 .match(Result.class, this::handleResult)
+                .match(AtLeastOnceDelivery.UnconfirmedWarning.class, this::handleUnconfirmedWarning)
+                .match(SaveSnapshotSuccess.class, this::handleSaveSnapshotSuccess)
+                .match(SaveSnapshotFailure.class, f -> log.warn("Save delivery snapshot fail! id={}", this.id, f.cause()))
+                .match(DeleteMessagesSuccess.class, d -> log.debug("Delete delivery events success! id={} toSequenceNr={}", this.id, d.toSequenceNr()))
+                .match(DeleteMessagesFailure.class, f -> log.warn("Delete delivery events fail! id={}", this.id, f.cause()))
+                .match(DeleteSnapshotsSuccess.class, d -> log.debug("Delete delivery snapshots success! id={}", this.id))
+                .match(DeleteSnapshotsFailure.class, f -> log.warn("Delete delivery snapshots fail! id={}", this.id, f.cause()))
                 .build();
     }
 
@@ -57,6 +99,10 @@ public class WorkerPersistentActor extends AbstractPersistentActorWithAtLeastOnc
      * @param batchRequest batch request.
      */
     public void handleBatchTaskStatus(ContainerBatchTaskStatusRequest batchRequest) {
+        persistAsync(batchRequest, this::deliverBatchTaskStatus);
+    }
+
+    private void deliverBatchTaskStatus(ContainerBatchTaskStatusRequest batchRequest) {
         ActorSelection masterSelection = getContext().actorSelection(batchRequest.getMasterActorPath());
         deliver(masterSelection, deliveryId -> {
             batchRequest.setDeliveryId(deliveryId);
@@ -70,7 +116,11 @@ public class WorkerPersistentActor extends AbstractPersistentActorWithAtLeastOnc
      * @param jobInstanceStatusReq status request.
      */
     public void handleJobInstanceStatus(WorkerJobInstanceStatusRequest jobInstanceStatusReq) {
-        ActorSelection serverWorkerActor = WorkerUtil.getServerWorkerJobInstanceActor();
+        persistAsync(jobInstanceStatusReq, this::deliverJobInstanceStatus);
+    }
+
+    private void deliverJobInstanceStatus(WorkerJobInstanceStatusRequest jobInstanceStatusReq) {
+        ActorSelection serverWorkerActor = WorkerUtil.getServerWorkerJobInstanceActor(jobInstanceStatusReq.getSlotsId());
         deliver(serverWorkerActor, deliveryId -> {
             jobInstanceStatusReq.setDeliveryId(deliveryId);
             return jobInstanceStatusReq;
@@ -83,7 +133,11 @@ public class WorkerPersistentActor extends AbstractPersistentActorWithAtLeastOnc
      * @param jobInstanceTaskBatchRequest job instance task batch request
      */
     public void handleBatchJobInstanceTask(WorkerJobInstanceTaskBatchRequest jobInstanceTaskBatchRequest) {
-        ActorSelection serverWorkerActor = WorkerUtil.getServerWorkerJobInstanceActor();
+        persistAsync(jobInstanceTaskBatchRequest, this::deliverBatchJobInstanceTask);
+    }
+
+    private void deliverBatchJobInstanceTask(WorkerJobInstanceTaskBatchRequest jobInstanceTaskBatchRequest) {
+        ActorSelection serverWorkerActor = WorkerUtil.getServerWorkerJobInstanceActor(jobInstanceTaskBatchRequest.getSlotsId());
         deliver(serverWorkerActor, deliveryId -> {
             jobInstanceTaskBatchRequest.setDeliveryId(deliveryId);
             return jobInstanceTaskBatchRequest;
@@ -96,6 +150,10 @@ public class WorkerPersistentActor extends AbstractPersistentActorWithAtLeastOnc
      * @param workerDelayStatusRequest workerDelayStatusRequest
      */
     public void handleDelayStatus(WorkerDelayStatusRequest workerDelayStatusRequest) {
+        persistAsync(workerDelayStatusRequest, this::deliverDelayStatus);
+    }
+
+    private void deliverDelayStatus(WorkerDelayStatusRequest workerDelayStatusRequest) {
         ActorSelection serverDelayStatusActor = WorkerUtil.getServerDelayStatusActor();
         deliver(serverDelayStatusActor, deliveryId -> {
             workerDelayStatusRequest.setDeliveryId(deliveryId);
@@ -109,6 +167,10 @@ public class WorkerPersistentActor extends AbstractPersistentActorWithAtLeastOnc
      * @param destroyRequest destroyRequest
      */
     public void handleDestroyContainer(MasterDestroyContainerRequest destroyRequest) {
+        persistAsync(destroyRequest, this::deliverDestroyContainer);
+    }
+
+    private void deliverDestroyContainer(MasterDestroyContainerRequest destroyRequest) {
         ActorSelection workerContainerActor = WorkerUtil.getWorkerContainerActor(destroyRequest.getWorkerAddress());
         deliver(workerContainerActor, deliveryId -> {
             destroyRequest.setDeliveryId(deliveryId);
@@ -122,6 +184,10 @@ public class WorkerPersistentActor extends AbstractPersistentActorWithAtLeastOnc
      * @param stopRequest stopRequest
      */
     public void handleStopContainer(MasterStopContainerRequest stopRequest) {
+        persistAsync(stopRequest, this::deliverStopContainer);
+    }
+
+    private void deliverStopContainer(MasterStopContainerRequest stopRequest) {
         ActorSelection workerContainerActor = WorkerUtil.getWorkerContainerActor(stopRequest.getWorkerAddress());
         deliver(workerContainerActor, deliveryId -> {
             stopRequest.setDeliveryId(deliveryId);
@@ -135,6 +201,10 @@ public class WorkerPersistentActor extends AbstractPersistentActorWithAtLeastOnc
      * @param stopTaskRequest stopTaskRequest
      */
     public void handleStopInstanceTask(MasterStopInstanceTaskRequest stopTaskRequest) {
+        persistAsync(stopTaskRequest, this::deliverStopInstanceTask);
+    }
+
+    private void deliverStopInstanceTask(MasterStopInstanceTaskRequest stopTaskRequest) {
         ActorSelection workerContainerActor = WorkerUtil.getWorkerContainerActor(stopTaskRequest.getWorkerAddress());
         deliver(workerContainerActor, deliveryId -> {
             stopTaskRequest.setDeliveryId(deliveryId);
@@ -155,19 +225,93 @@ public class WorkerPersistentActor extends AbstractPersistentActorWithAtLeastOnc
 
         if (result.getData() instanceof WorkerResponse) {
             WorkerResponse workerResponse = (WorkerResponse) result.getData();
-            confirmDelivery(workerResponse.getDeliveryId());
+            this.confirm(workerResponse.getDeliveryId());
             return;
         }
 
         if (result.getData() instanceof ServerResponse) {
             ServerResponse serverResponse = (ServerResponse) result.getData();
-            confirmDelivery(serverResponse.getDeliveryId());
+            this.confirm(serverResponse.getDeliveryId());
             return;
         }
 
         log.error("Handle result data not defined data={}", result.getData().toString());
     }
 
+    /**
+     * Handle unconfirmed warning, servers the messages were routed to are skipped for slots routing.
+     *
+     * @param warning warning
+     */
+    public void handleUnconfirmedWarning(AtLeastOnceDelivery.UnconfirmedWarning warning) {
+        warning.getUnconfirmedDeliveries().forEach(d -> ServerSlotContext.markFailed(d.destination().address()));
+    }
+
+    /**
+     * Handle delivery snapshot offer.
+     *
+     * @param snapshotOffer snapshot offer
+     */
+    public void handleSnapshotOffer(SnapshotOffer snapshotOffer) {
+        if (snapshotOffer.snapshot() instanceof AtLeastOnceDelivery.AtLeastOnceDeliverySnapshot) {
+            setDeliverySnapshot((AtLeastOnceDelivery.AtLeastOnceDeliverySnapshot) snapshotOffer.snapshot());
+        }
+        this.snapshotSequenceNr = snapshotOffer.metadata().sequenceNr();
+    }
+
+    /**
+     * Handle save snapshot success, events and snapshots before it are not needed.
+     *
+     * @param success success
+     */
+    public void handleSaveSnapshotSuccess(SaveSnapshotSuccess success) {
+        long sequenceNr = success.metadata().sequenceNr();
+        deleteMessages(sequenceNr);
+        deleteSnapshots(SnapshotSelectionCriteria.create(sequenceNr - 1, Long.MAX_VALUE));
+    }
+
+    /**
+     * Deliveries to workers are dropped after recovery, task masters and containers do not survive restart.
+     */
+    private void handleRecoveryCompleted() {
+        getDeliverySnapshot().getUnconfirmedDeliveries().forEach(d -> {
+            if (!AkkaConstant.SERVER_SYSTEM_NAME.equals(d.destination().address().system())) {
+                confirmDelivery(d.deliveryId());
+            }
+        });
+
+        if (numberOfUnconfirmed() > 0) {
+            log.info("Recover unconfirmed deliveries! id={} unconfirmed={}", this.id, numberOfUnconfirmed());
+        }
+    }
+
+    /**
+     * Confirm delivery, the confirmation is persisted so recovered deliveries are not sent again.
+     *
+     * @param deliveryId delivery id
+     */
+    private void confirm(Long deliveryId) {
+        DeliveryConfirmedEvent event = new DeliveryConfirmedEvent();
+        event.setDeliveryId(deliveryId);
+        persistAsync(event, e -> {
+            confirmDelivery(e.getDeliveryId());
+            this.compact();
+        });
+    }
+
+    /**
+     * Snapshot delivery state with unconfirmed deliveries, the journal is deleted up to it.
+     * It is called in persist handler, so events before it are applied and events after it are replayed.
+     */
+    private void compact() {
+        if (lastSequenceNr() - this.snapshotSequenceNr < COMPACT_EVENTS) {
+            return;
+        }
+
+        this.snapshotSequenceNr = lastSequenceNr();
+        saveSnapshot(getDeliverySnapshot());
+    }
+
     @Override
     public String persistenceId() {
         return String.format("persistence-new-id-%d", id);
@@ -20,6 +20,12 @@ public class WorkerAkkaConstant {
     public static final String ACTOR_CONTAINER = "task-container";
     public static final String ACTOR_PERSISTENT_ROUTING = "persistent-routing";
 
+    /**
+     * Router
+     */
+    public static final String ROUTER_ROUND_ROBIN = "roundRobin";
+    public static final String ROUTER_CONSISTENT_HASHING = "consistentHashing";
+
     /**
      * Path
      */
@@ -27,15 +27,35 @@ public class WorkerConstant {
     public static final String WORKER_HEARTBEAT_ACTOR_NUM = "openjob.worker.heartbeat.actor.num";
     public static final String WORKER_TASK_MASTER_ACTOR_NUM = "openjob.worker.task.master.actor.num";
     public static final String WORKER_TASK_CONTAINER_ACTOR_NUM = "openjob.worker.task.container.actor.num";
+    public static final String WORKER_TASK_ACTOR_ROUTER = "openjob.worker.task.actor.router";
+    public static final String WORKER_TASK_CONTAINER_TYPE = "openjob.worker.task.container.type";
+    public static final String WORKER_TASK_CONTAINER_SHARED_THREAD_NUM = "openjob.worker.task.container.shared.thread.num";
+    public static final String WORKER_TASK_CONTAINER_VIRTUAL_ENABLE = "openjob.worker.task.container.virtual.enable";
     public static final String WORKER_TASK_MAP_BATCH_SIZE = "openjob.worker.task.map.batch.size";
+    public static final String WORKER_TASK_STATUS_BATCH_SIZE = "openjob.worker.task.status.batch.size";
+    public static final String WORKER_TASK_STATUS_LINGER = "openjob.worker.task.status.linger";
+    public static final String WORKER_TASK_STATUS_DELIVERY = "openjob.worker.task.status.delivery";
+    public static final String WORKER_TASK_FLUSH_BATCH_SIZE = "openjob.worker.task.flush.batch.size";
+    public static final String WORKER_TASK_FLUSH_WINDOW = "openjob.worker.task.flush.window";
+    public static final String WORKER_TASK_FLUSH_TIMEOUT = "openjob.worker.task.flush.timeout";
+    public static final String WORKER_JOB_DEFINITION_CACHE_SIZE = "openjob.worker.job.definition.cache.size";
     public static final String WORKER_TASK_PERSISTENT_ACTOR_NUM = "openjob.worker.persistent.actor.num";
     public static final String WORKER_HEARTBEAT_INTERVAL = "openjob.worker.heartbeat.interval";
+    public static final String WORKER_CAPACITY = "openjob.worker.capacity";
     public static final String WORKER_HEARTBEAT_FAIL_TIMES = "openjob.worker.heartbeat.fail.times";
     public static final String WORKER_DELAY_MASTER_ACTOR_NUM = "openjob.worker.delay.master.actor.num";
     public static final String WORKER_DELAY_PULL_SIZE = "openjob.worker.delay.pull.size";
     public static final String WORKER_DELAY_PULL_SLEEP = "openjob.worker.delay.pull.sleep";
     public static final String WORKER_DELAY_PULL_STEP = "openjob.worker.delay.pull.step";
     public static final String WORKER_DELAY_TIMEOUT = "openjob.worker.delay.timeout";
+    public static final String WORKER_SHELL_PUMP_THREAD_NUM = "openjob.worker.shell.pump.thread.num";
+    public static final String WORKER_SHELL_LOG_RATE = "openjob.worker.shell.log.rate";
+    public static final String WORKER_HTTP_IO_THREAD_NUM = "openjob.worker.http.io.thread.num";
+    public static final String WORKER_HTTP_MAX_CONNECTIONS = "openjob.worker.http.max.connections";
+    public static final String WORKER_HTTP_MAX_PER_ROUTE = "openjob.worker.http.max.per.route";
+    public static final String WORKER_HTTP_KEEP_ALIVE = "openjob.worker.http.keep.alive";
+    public static final String WORKER_HTTP_TIMEOUT = "openjob.worker.http.timeout";
+    public static final String WORKER_HTTP_LEASE_TIMEOUT = "openjob.worker.http.lease.timeout";
 
 
     /**
@@ -47,7 +67,39 @@ public class WorkerConstant {
     public static final Integer DEFAULT_WORKER_HEARTBEAT_ACTOR_NUM = 1;
     public static final Integer DEFAULT_WORKER_TASK_MASTER_ACTOR_NUM = 32;
     public static final Integer DEFAULT_WORKER_TASK_CONTAINER_ACTOR_NUM = 32;
+
+    /**
+     * Task master and container router, `roundRobin` or `consistentHashing` by job instance id.
+     */
+    public static final String DEFAULT_WORKER_TASK_ACTOR_ROUTER = WorkerAkkaConstant.ROUTER_ROUND_ROBIN;
+    public static final String DEFAULT_WORKER_TASK_CONTAINER_TYPE = "thread";
+    public static final Integer DEFAULT_WORKER_TASK_CONTAINER_SHARED_THREAD_NUM = 128;
     public static final Integer DEFAULT_WORKER_TASK_MAP_BATCH_SIZE = 128;
+    public static final Integer DEFAULT_WORKER_TASK_STATUS_BATCH_SIZE = 256;
+
+    /**
+     * Max wait(ms) to fill a status batch after a partial one.
+     */
+    public static final Long DEFAULT_WORKER_TASK_STATUS_LINGER = 20L;
+
+    /**
+     * Task status delivery, `all` is at least once for all statuses,
+     * `terminal` is at least once only for finish statuses and fire-and-forget for others.
+     */
+    public static final String DEFAULT_WORKER_TASK_STATUS_DELIVERY = "all";
+    public static final String WORKER_TASK_STATUS_DELIVERY_TERMINAL = "terminal";
+
+    /**
+     * Finished tasks are flushed to server in batches, at most `window` batches are waiting for ack.
+     */
+    public static final Integer DEFAULT_WORKER_TASK_FLUSH_BATCH_SIZE = 500;
+    public static final Integer DEFAULT_WORKER_TASK_FLUSH_WINDOW = 4;
+    public static final Long DEFAULT_WORKER_TASK_FLUSH_TIMEOUT = 3000L;
+
+    /**
+     * Cached job definitions, dispatch of a cached job version omits the definition.
+     */
+    public static final Integer DEFAULT_WORKER_JOB_DEFINITION_CACHE_SIZE = 1024;
     public static final Integer DEFAULT_WORKER_PERSISTENT_ACTOR_NUM = 2;
 
     /**
@@ -55,11 +107,36 @@ public class WorkerConstant {
      */
     public static final Integer DEFAULT_WORKER_HEARTBEAT_INTERVAL = 5;
     public static final Integer DEFAULT_WORKER_HEARTBEAT_FAIL_TIMES = 2;
+
+    /**
+     * Capacity weight reported by heartbeat for load-aware dispatch.
+     */
+    public static final Integer DEFAULT_WORKER_CAPACITY = Runtime.getRuntime().availableProcessors();
     public static final Integer DEFAULT_WORKER_DELAY_MASTER_ACTOR_NUM = 1;
     public static final Integer DEFAULT_WORKER_DELAY_PULL_SIZE = 8;
     public static final Long DEFAULT_WORKER_DELAY_PULL_SLEEP = 500L;
     public static final Long DEFAULT_WORKER_DELAY_PULL_STEP = 500L;
     public static final Long DEFAULT_WORKER_DELAY_TIMEOUT = 3000L;
+    public static final Integer DEFAULT_WORKER_SHELL_PUMP_THREAD_NUM = 1;
+
+    /**
+     * Shell log lines per second, zero is unlimited.
+     */
+    public static final Integer DEFAULT_WORKER_SHELL_LOG_RATE = 0;
+    public static final Integer DEFAULT_WORKER_HTTP_IO_THREAD_NUM = Runtime.getRuntime().availableProcessors();
+    public static final Integer DEFAULT_WORKER_HTTP_MAX_CONNECTIONS = 256;
+    public static final Integer DEFAULT_WORKER_HTTP_MAX_PER_ROUTE = 32;
+
+    /**
+     * Http keep alive and request timeout(ms).
+     */
+    public static final Long DEFAULT_WORKER_HTTP_KEEP_ALIVE = 30000L;
+    public static final Long DEFAULT_WORKER_HTTP_TIMEOUT = 30000L;
+
+    /**
+     * Http connection lease timeout(ms) from pool, a full pool fails fast instead of eating request timeout.
+     */
+    public static final Long DEFAULT_WORKER_HTTP_LEASE_TIMEOUT = 3000L;
 
     /**
      * Check worker retry times
@@ -1,7 +1,13 @@
 package io.openjob.worker.container;
 
+import io.openjob.common.constant.FailStatusEnum;
+import io.openjob.common.constant.JobInstanceStopEnum;
+import io.openjob.common.constant.TaskStatusEnum;
+import io.openjob.worker.request.ContainerTaskStatusRequest;
 import io.openjob.worker.request.MasterStartContainerRequest;
 
+import java.util.concurrent.Semaphore;
+
 /**
  * @author stelin swoft@qq.com
  * @since 1.0.0
@@ -9,12 +15,39 @@ import io.openjob.worker.request.MasterStartContainerRequest;
 public abstract class BaseTaskContainer implements TaskContainer {
     protected MasterStartContainerRequest startRequest;
 
+    /**
+     * Permits of in-flight async futures, async tasks release container threads, so they are bounded by concurrency here.
+     */
+    protected Semaphore asyncPermits;
+
     public BaseTaskContainer(MasterStartContainerRequest startRequest) {
         this.startRequest = startRequest;
+        this.asyncPermits = new Semaphore(Math.max(1, startRequest.getConcurrency()));
     }
 
     @Override
     public void stopTask(String taskId) {
         TaskContainerManager.INSTANCE.stopAndRemoveTask(taskId);
     }
+
+    protected void reportStopStatus(Integer type) {
+        ContainerTaskStatusRequest request = new ContainerTaskStatusRequest();
+        request.setJobId(startRequest.getJobId());
+        request.setJobInstanceId(startRequest.getJobInstanceId());
+        request.setTaskId(startRequest.getTaskId());
+        request.setWorkerAddress("");
+        request.setMasterActorPath(startRequest.getMasterAkkaPath());
+
+        if (JobInstanceStopEnum.isNormal(type)) {
+            request.setStatus(TaskStatusEnum.FAILED.getStatus());
+            request.setFailStatus(FailStatusEnum.NONE.getStatus());
+            request.setResult("stopped");
+        } else {
+            request.setStatus(TaskStatusEnum.FAILED.getStatus());
+            request.setFailStatus(FailStatusEnum.EXECUTE_TIMEOUT.getStatus());
+            request.setResult("timeout");
+        }
+
+        TaskStatusReporter.report(request);
+    }
 }
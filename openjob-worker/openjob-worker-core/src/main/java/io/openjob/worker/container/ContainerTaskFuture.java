@@ -0,0 +1,30 @@
+package io.openjob.worker.container;
+
+import java.util.concurrent.FutureTask;
+
+/**
+ * Future of task in container, removed from task container manager when it is done,
+ * including tasks cancelled or drained before they run.
+ *
+ * @author stelin swoft@qq.com
+ * @since 1.0.8
+ */
+public class ContainerTaskFuture extends FutureTask<Void> {
+    private final String taskId;
+
+    /**
+     * New container task future.
+     *
+     * @param taskId   task unique id
+     * @param runnable runnable
+     */
+    public ContainerTaskFuture(String taskId, Runnable runnable) {
+        super(runnable, null);
+        this.taskId = taskId;
+    }
+
+    @Override
+    protected void done() {
+        TaskContainerManager.INSTANCE.removeTask(this.taskId, this);
+    }
+}
@@ -0,0 +1,159 @@
+package io.openjob.worker.container;
+
+import com.google.common.collect.Sets;
+import io.openjob.worker.context.JobContext;
+import io.openjob.worker.request.MasterStartContainerRequest;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Task container running on the shared executor.
+ * Concurrency permits of a job instance bound how many tasks it can put into the shared executor,
+ * the rest tasks are waiting in the container queue, so one big instance can not starve others.
+ *
+ * @author stelin swoft@qq.com
+ * @see SharedTaskExecutor
+ * @since 1.0.8
+ */
+@Slf4j
+public class SharedTaskContainer extends BaseTaskContainer {
+
+    /**
+     * Pending tasks.
+     */
+    private final Queue<FutureTask<?>> pendingTasks = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Active tasks.
+     */
+    private final Set<FutureTask<?>> activeTasks = Sets.newConcurrentHashSet();
+
+    /**
+     * Concurrency permits.
+     */
+    private final AtomicInteger permits;
+
+    /**
+     * Destroyed
+     */
+    private final AtomicBoolean destroyed = new AtomicBoolean(false);
+
+    /**
+     * New shared task container.
+     *
+     * @param startRequest start request.
+     */
+    public SharedTaskContainer(MasterStartContainerRequest startRequest) {
+        super(startRequest);
+        this.permits = new AtomicInteger(Math.max(1, this.startRequest.getConcurrency()));
+    }
+
+    @Override
+    public void execute(JobContext jobContext) {
+        // Destroyed
+        if (this.destroyed.get()) {
+            log.warn("Shared task container is destroyed! jobInstanceId={}", this.startRequest.getJobInstanceId());
+            return;
+        }
+
+        // Add task future, it is removed when done.
+        FutureTask<?> future = new ContainerTaskFuture(jobContext.getTaskUniqueId(), new ThreadTaskProcessor(jobContext, this.asyncPermits));
+        TaskContainerManager.INSTANCE.addTask(jobContext.getTaskUniqueId(), future);
+
+        this.pendingTasks.offer(future);
+
+        // Destroyed while adding.
+        if (this.destroyed.get()) {
+            this.cancelAll();
+            return;
+        }
+        this.dispatch();
+    }
+
+    @Override
+    public void stop(Integer type) {
+        // stop
+        this.cancelAll();
+
+        // report status.
+        this.reportStopStatus(type);
+
+        // remove from pool
+        TaskContainerPool.remove(startRequest.getJobInstanceId());
+    }
+
+    @Override
+    public void destroy() {
+        // stop
+        this.cancelAll();
+
+        // remove from pool
+        TaskContainerPool.remove(startRequest.getJobInstanceId());
+    }
+
+    private void dispatch() {
+        while (!this.pendingTasks.isEmpty() && this.tryAcquire()) {
+            FutureTask<?> future = this.pendingTasks.poll();
+
+            // Polled by other thread
+            if (Objects.isNull(future)) {
+                this.permits.incrementAndGet();
+                continue;
+            }
+
+            this.activeTasks.add(future);
+            try {
+                SharedTaskExecutor.INSTANCE.execute(() -> this.run(future));
+            } catch (RejectedExecutionException e) {
+                this.activeTasks.remove(future);
+                this.permits.incrementAndGet();
+                future.cancel(false);
+                log.error("Shared task executor rejected! jobInstanceId={}", this.startRequest.getJobInstanceId());
+            }
+        }
+    }
+
+    private void run(FutureTask<?> future) {
+        try {
+            future.run();
+        } finally {
+            this.activeTasks.remove(future);
+            this.permits.incrementAndGet();
+
+            // Release permit to run next pending task.
+            this.dispatch();
+        }
+    }
+
+    private boolean tryAcquire() {
+        while (true) {
+            int current = this.permits.get();
+            if (current <= 0) {
+                return false;
+            }
+
+            if (this.permits.compareAndSet(current, current - 1)) {
+                return true;
+            }
+        }
+    }
+
+    private void cancelAll() {
+        this.destroyed.set(true);
+
+        FutureTask<?> future;
+        while (Objects.nonNull(future = this.pendingTasks.poll())) {
+            future.cancel(false);
+        }
+
+        this.activeTasks.forEach(f -> f.cancel(true));
+    }
+}
@@ -0,0 +1,115 @@
+package io.openjob.worker.container;
+
+import io.openjob.worker.config.OpenjobConfig;
+import io.openjob.worker.constant.WorkerConstant;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nonnull;
+import java.lang.reflect.Method;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Global executor shared by all task containers.
+ * Concurrency of every job instance is limited by container permits, so the pool only needs to bound total threads.
+ *
+ * @author stelin swoft@qq.com
+ * @see SharedTaskContainer
+ * @since 1.0.8
+ */
+@Slf4j
+public class SharedTaskExecutor {
+    public static final SharedTaskExecutor INSTANCE = new SharedTaskExecutor();
+
+    /**
+     * Executor service.
+     */
+    private volatile ExecutorService executorService;
+
+    private SharedTaskExecutor() {
+
+    }
+
+    /**
+     * Execute
+     *
+     * @param runnable runnable
+     */
+    public void execute(Runnable runnable) {
+        this.getExecutorService().execute(runnable);
+    }
+
+    /**
+     * Stop
+     */
+    public synchronized void stop() {
+        if (Objects.nonNull(this.executorService)) {
+            this.executorService.shutdownNow();
+            this.executorService = null;
+        }
+    }
+
+    private ExecutorService getExecutorService() {
+        if (Objects.isNull(this.executorService)) {
+            synchronized (this) {
+                if (Objects.isNull(this.executorService)) {
+                    this.executorService = this.createExecutorService();
+                }
+            }
+        }
+        return this.executorService;
+    }
+
+    private ExecutorService createExecutorService() {
+        // Virtual thread
+        if (OpenjobConfig.getBoolean(WorkerConstant.WORKER_TASK_CONTAINER_VIRTUAL_ENABLE, false)) {
+            ExecutorService virtualExecutor = this.createVirtualExecutorService();
+            if (Objects.nonNull(virtualExecutor)) {
+                log.info("Shared task executor use virtual thread.");
+                return virtualExecutor;
+            }
+        }
+
+        int threadNum = OpenjobConfig.getInteger(WorkerConstant.WORKER_TASK_CONTAINER_SHARED_THREAD_NUM,
+                WorkerConstant.DEFAULT_WORKER_TASK_CONTAINER_SHARED_THREAD_NUM);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                threadNum,
+                threadNum,
+                60,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                new ThreadFactory() {
+                    private final AtomicInteger index = new AtomicInteger(1);
+
+                    @Override
+                    public Thread newThread(@Nonnull Runnable r) {
+                        return new Thread(r, String.format("Openjob-container-shared-thread-%d", index.getAndIncrement()));
+                    }
+                }
+        );
+        executor.allowCoreThreadTimeOut(true);
+        log.info("Shared task executor use thread pool. threadNum={}", threadNum);
+        return executor;
+    }
+
+    /**
+     * Virtual thread is only available on JDK 21+, so it is created by reflection.
+     *
+     * @return ExecutorService
+     */
+    private ExecutorService createVirtualExecutorService() {
+        try {
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) method.invoke(null);
+        } catch (Throwable throwable) {
+            log.warn("Virtual thread is not supported, fallback to thread pool! message={}", throwable.getMessage());
+            return null;
+        }
+    }
+}
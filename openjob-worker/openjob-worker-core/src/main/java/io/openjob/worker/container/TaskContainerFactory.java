@@ -1,5 +1,7 @@
 package io.openjob.worker.container;
 
+import io.openjob.worker.config.OpenjobConfig;
+import io.openjob.worker.constant.WorkerConstant;
 import io.openjob.worker.request.MasterStartContainerRequest;
 import org.apache.commons.lang3.StringUtils;
 
@@ -8,6 +10,7 @@ import java.lang.reflect.Constructor;
 /**
  * @author stelin swoft@qq.com
  * @see ThreadTaskContainer
+ * @see SharedTaskContainer
  * @since 1.0.0
  */
 public class TaskContainerFactory {
@@ -19,7 +22,7 @@ public class TaskContainerFactory {
      * @return TaskContainer
      */
     public static TaskContainer create(MasterStartContainerRequest startRequest) {
-        String containerType = "thread";
+        String containerType = OpenjobConfig.getString(WorkerConstant.WORKER_TASK_CONTAINER_TYPE, WorkerConstant.DEFAULT_WORKER_TASK_CONTAINER_TYPE);
 
         try {
             String className = String.format("io.openjob.worker.container.%sTaskContainer", StringUtils.capitalize(containerType));
@@ -1,6 +1,7 @@
 package io.openjob.worker.container;
 
 import com.google.common.collect.Maps;
+import io.openjob.worker.util.HttpAsyncClientUtil;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.Map;
@@ -50,6 +51,16 @@ public class TaskContainerManager {
         this.taskId2Future.remove(taskId);
     }
 
+    /**
+     * Remove task of the future, a new future of the same task is kept.
+     *
+     * @param taskId taskId
+     * @param future future
+     */
+    public void removeTask(String taskId, Future<?> future) {
+        this.taskId2Future.remove(taskId, future);
+    }
+
     /**
      * Stop and remove task
      *
@@ -63,10 +74,20 @@ public class TaskContainerManager {
         this.removeTask(taskId);
     }
 
+    /**
+     * Tasks queued or running in task containers.
+     *
+     * @return Integer
+     */
+    public Integer getTaskSize() {
+        return this.taskId2Future.size();
+    }
+
     /**
      * Stop
      */
     public void stop() {
-
+        SharedTaskExecutor.INSTANCE.stop();
+        HttpAsyncClientUtil.close();
     }
 }
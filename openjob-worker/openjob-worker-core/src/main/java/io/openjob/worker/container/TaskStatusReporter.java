@@ -1,8 +1,10 @@
 package io.openjob.worker.container;
 
+import io.openjob.common.task.TaskQueue;
+import io.openjob.worker.config.OpenjobConfig;
+import io.openjob.worker.constant.WorkerConstant;
 import io.openjob.worker.request.ContainerTaskStatusRequest;
 import io.openjob.worker.task.ContainerTaskStatusConsumer;
-import io.openjob.common.task.TaskQueue;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -15,15 +17,22 @@ public class TaskStatusReporter {
     private static final ContainerTaskStatusConsumer TASK_CONSUMER;
 
     static {
-        TASK_QUEUE = new TaskQueue<>(0L, 1024);
+        int batchSize = OpenjobConfig.getInteger(WorkerConstant.WORKER_TASK_STATUS_BATCH_SIZE, WorkerConstant.DEFAULT_WORKER_TASK_STATUS_BATCH_SIZE);
+        long linger = OpenjobConfig.getLong(WorkerConstant.WORKER_TASK_STATUS_LINGER, WorkerConstant.DEFAULT_WORKER_TASK_STATUS_LINGER);
+        String delivery = OpenjobConfig.getString(WorkerConstant.WORKER_TASK_STATUS_DELIVERY, WorkerConstant.DEFAULT_WORKER_TASK_STATUS_DELIVERY);
+
+        // Size and time bounded batches.
+        TASK_QUEUE = new TaskQueue<>(0L, Math.max(1024, batchSize * 4));
         TASK_CONSUMER = new ContainerTaskStatusConsumer(
                 0L,
                 1,
                 1,
                 "Openjob-container-status",
-                50,
+                batchSize,
                 "Openjob-container-status-consumer",
-                TASK_QUEUE
+                TASK_QUEUE,
+                linger,
+                WorkerConstant.WORKER_TASK_STATUS_DELIVERY_TERMINAL.equals(delivery)
         );
 
         TASK_CONSUMER.start();
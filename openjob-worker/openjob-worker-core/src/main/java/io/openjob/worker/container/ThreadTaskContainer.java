@@ -1,15 +1,12 @@
 package io.openjob.worker.container;
 
-import io.openjob.common.constant.FailStatusEnum;
-import io.openjob.common.constant.JobInstanceStopEnum;
-import io.openjob.common.constant.TaskStatusEnum;
 import io.openjob.worker.context.JobContext;
-import io.openjob.worker.request.ContainerTaskStatusRequest;
 import io.openjob.worker.request.MasterStartContainerRequest;
 
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
@@ -41,17 +38,23 @@ public class ThreadTaskContainer extends BaseTaskContainer {
 
     @Override
     public void execute(JobContext jobContext) {
-        // Submit future
-        Future<?> future = this.executorService.submit(new ThreadTaskProcessor(jobContext));
-
-        // Add task future
+        // Add task future before it runs, it is removed when done.
+        ContainerTaskFuture future = new ContainerTaskFuture(jobContext.getTaskUniqueId(), new ThreadTaskProcessor(jobContext, this.asyncPermits));
         TaskContainerManager.INSTANCE.addTask(jobContext.getTaskUniqueId(), future);
+
+        // Submit future
+        try {
+            this.executorService.execute(future);
+        } catch (RejectedExecutionException e) {
+            future.cancel(false);
+            throw e;
+        }
     }
 
     @Override
     public void stop(Integer type) {
         // stop
-        this.executorService.shutdownNow();
+        this.shutdown();
 
         // report status.
         this.reportStopStatus(type);
@@ -63,30 +66,20 @@ public class ThreadTaskContainer extends BaseTaskContainer {
     @Override
     public void destroy() {
         // stop
-        this.executorService.shutdownNow();
+        this.shutdown();
 
         // remove from pool
         TaskContainerPool.remove(startRequest.getJobInstanceId());
     }
 
-    private void reportStopStatus(Integer type) {
-        ContainerTaskStatusRequest request = new ContainerTaskStatusRequest();
-        request.setJobId(startRequest.getJobId());
-        request.setJobInstanceId(startRequest.getJobInstanceId());
-        request.setTaskId(startRequest.getTaskId());
-        request.setWorkerAddress("");
-        request.setMasterActorPath(startRequest.getMasterAkkaPath());
-
-        if (JobInstanceStopEnum.isNormal(type)) {
-            request.setStatus(TaskStatusEnum.FAILED.getStatus());
-            request.setFailStatus(FailStatusEnum.NONE.getStatus());
-            request.setResult("stopped");
-        } else {
-            request.setStatus(TaskStatusEnum.FAILED.getStatus());
-            request.setFailStatus(FailStatusEnum.EXECUTE_TIMEOUT.getStatus());
-            request.setResult("timeout");
-        }
-
-        TaskStatusReporter.report(request);
+    /**
+     * Shutdown executor, drained tasks never run and are cancelled.
+     */
+    protected void shutdown() {
+        this.executorService.shutdownNow().forEach(r -> {
+            if (r instanceof Future) {
+                ((Future<?>) r).cancel(false);
+            }
+        });
     }
 }
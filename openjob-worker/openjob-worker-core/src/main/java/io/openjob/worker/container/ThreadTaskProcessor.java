@@ -18,6 +18,10 @@ import org.slf4j.LoggerFactory;
 
 import java.lang.reflect.InvocationTargetException;
 import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
 
 /**
  * @author stelin swoft@qq.com
@@ -31,9 +35,14 @@ public class ThreadTaskProcessor implements TaskProcessor, Runnable {
 
     protected ProcessorHandler processorHandler;
 
+    /**
+     * Async permits of job instance, bound in-flight async futures by instance concurrency.
+     */
+    protected Semaphore asyncPermits;
 
-    public ThreadTaskProcessor(JobContext jobContext) {
+    public ThreadTaskProcessor(JobContext jobContext, Semaphore asyncPermits) {
         this.jobContext = jobContext;
+        this.asyncPermits = asyncPermits;
     }
 
     @Override
@@ -57,6 +66,7 @@ public class ThreadTaskProcessor implements TaskProcessor, Runnable {
         }
 
         ProcessResult result = new ProcessResult(false);
+        boolean async = false;
 
         try {
             // Java
@@ -68,6 +78,14 @@ public class ThreadTaskProcessor implements TaskProcessor, Runnable {
 
             if (Objects.nonNull(this.processorHandler)) {
                 this.processorHandler.preProcess(this.jobContext);
+
+                // Async processor, status is reported when completed.
+                if (this.processorHandler.isAsync()) {
+                    this.processAsync();
+                    async = true;
+                    return;
+                }
+
                 result = this.processorHandler.process(this.jobContext);
 
                 // Not broadcast
@@ -103,6 +121,11 @@ public class ThreadTaskProcessor implements TaskProcessor, Runnable {
             logger.error(String.format("Processor invoke exception! jobInstanceId=%s message=%s", this.jobContext.getJobInstanceId(), target.getMessage()), target);
             log.error(String.format("Processor invoke exception! jobInstanceId=%s message=%s", this.jobContext.getJobInstanceId(), target.getMessage()), target);
             result.setResult(ExceptionUtil.formatStackTraceAsString(target));
+        } catch (InterruptedException interruptedException) {
+            // Stopped while waiting async permit.
+            result.setStatus(TaskStatusEnum.STOP);
+            result.setResult("Processor is stopped!");
+            logger.warn("Processor is interrupted! jobInstanceId=" + this.jobContext.getJobInstanceId());
         } catch (Throwable ex) {
             Throwable cause = Objects.nonNull(ex.getCause()) ? ex.getCause() : ex;
 
@@ -111,14 +134,13 @@ public class ThreadTaskProcessor implements TaskProcessor, Runnable {
             logger.error(String.format("Processor execute exception! jobInstanceId=%s message=%s", this.jobContext.getJobInstanceId(), cause.getMessage()), cause);
             log.error(String.format("Processor execute exception! jobInstanceId=%s message=%s", this.jobContext.getJobInstanceId(), cause.getMessage()), cause);
         } finally {
-            // Remove task future
-            TaskContainerManager.INSTANCE.removeTask(this.jobContext.getTaskUniqueId());
-
             // Remove job context
             ThreadLocalUtil.removeJobContext();
 
             // Report status
-            this.reportTaskStatus(result, workerAddress);
+            if (!async) {
+                this.reportTaskStatus(result, workerAddress);
+            }
         }
     }
 
@@ -134,6 +156,64 @@ public class ThreadTaskProcessor implements TaskProcessor, Runnable {
         }
     }
 
+    /**
+     * Process async, task thread is released once a permit is acquired and the future is started.
+     * Task thread waits for a permit when in-flight futures reach instance concurrency, permit is released when completed.
+     * Result future is added to task container manager, so the task is stopped by cancel it.
+     *
+     * @throws Exception Exception
+     */
+    private void processAsync() throws Exception {
+        this.asyncPermits.acquire();
+
+        CompletableFuture<ProcessResult> future;
+        try {
+            future = this.processorHandler.processAsync(this.jobContext);
+        } catch (Throwable ex) {
+            this.asyncPermits.release();
+            throw ex;
+        }
+
+        String taskId = this.jobContext.getTaskUniqueId();
+        TaskContainerManager.INSTANCE.addTask(taskId, future);
+        future.whenComplete((r, e) -> {
+            this.asyncPermits.release();
+            TaskContainerManager.INSTANCE.removeTask(taskId, future);
+            this.reportTaskStatus(this.completeAsync(r, e), "");
+        });
+    }
+
+    private ProcessResult completeAsync(ProcessResult result, Throwable throwable) {
+        // Stopped
+        if (throwable instanceof CancellationException) {
+            this.stop();
+
+            ProcessResult stopResult = new ProcessResult(TaskStatusEnum.STOP);
+            stopResult.setResult("Processor is stopped!");
+            logger.warn("Processor is stopped! jobInstanceId={}", this.jobContext.getJobInstanceId());
+            return stopResult;
+        }
+
+        // Exception
+        if (Objects.nonNull(throwable)) {
+            Throwable cause = throwable instanceof CompletionException && Objects.nonNull(throwable.getCause()) ? throwable.getCause() : throwable;
+            logger.error(String.format("Processor execute exception! jobInstanceId=%s message=%s", this.jobContext.getJobInstanceId(), cause.getMessage()), cause);
+            return new ProcessResult(false, ExceptionUtil.formatStackTraceAsString(cause));
+        }
+
+        // Not broadcast
+        if (!ExecuteTypeEnum.isBroadcast(this.jobContext.getExecuteType())) {
+            try {
+                this.processorHandler.postProcess(this.jobContext);
+            } catch (Throwable ex) {
+                logger.error("Processor post process exception!", ex);
+            }
+        }
+
+        logger.info("Task processor completed! jobInstanceId={}", this.jobContext.getJobInstanceId());
+        return result;
+    }
+
     private void reportTaskStatus(ProcessResult result, String workerAddress) {
         ContainerTaskStatusRequest request = new ContainerTaskStatusRequest();
         request.setJobId(this.jobContext.getJobId());
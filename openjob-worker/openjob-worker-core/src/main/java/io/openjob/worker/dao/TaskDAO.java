@@ -195,6 +195,24 @@ public class TaskDAO {
         }
     }
 
+    /**
+     * Get list after id.
+     *
+     * @param instanceId instance id.
+     * @param circleId   circle id.
+     * @param lastId     last id, exclusive.
+     * @param size       size
+     * @return List
+     */
+    public List<Task> getListAfterId(Long instanceId, Long circleId, Long lastId, Long size) {
+        try {
+            return taskPersistence.findListAfterId(instanceId, circleId, lastId, size);
+        } catch (SQLException e) {
+            log.error("Task getListAfterId failed!", e);
+            throw new RuntimeException(e);
+        }
+    }
+
     /**
      * Get list by task name
      *
@@ -217,10 +235,11 @@ public class TaskDAO {
      *
      * @param parentTaskId  parentTaskId
      * @param lastMapTaskId lastMapTaskId
+     * @return Integer deleted rows
      */
-    public void deleteRedundantMapTask(String parentTaskId, Long lastMapTaskId) {
+    public Integer deleteRedundantMapTask(String parentTaskId, Long lastMapTaskId) {
         try {
-            this.taskPersistence.deleteRedundantMapTask(parentTaskId, lastMapTaskId);
+            return this.taskPersistence.deleteRedundantMapTask(parentTaskId, lastMapTaskId);
         } catch (Throwable e) {
             log.error("Task batchUpdateStatusByTaskId failed!", e);
             throw new RuntimeException(e);
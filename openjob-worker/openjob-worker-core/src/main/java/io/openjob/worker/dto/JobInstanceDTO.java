@@ -29,4 +29,5 @@ public class JobInstanceDTO {
     private String timeExpressionType;
     private String timeExpression;
     private Integer executeOnce;
+    private Long slotsId;
 }
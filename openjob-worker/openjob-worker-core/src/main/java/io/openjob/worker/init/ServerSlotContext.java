@@ -0,0 +1,129 @@
+package io.openjob.worker.init;
+
+import akka.actor.Address;
+import com.google.common.collect.Maps;
+import io.openjob.common.constant.AkkaConstant;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.CollectionUtils;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Server slots learned from heartbeat response.
+ * Job instance messages are sent to the server owning the slots directly,
+ * failed server is skipped locally until it expires or new slots are learned.
+ *
+ * @author stelin swoft@qq.com
+ * @since 1.0.8
+ */
+@Slf4j
+public class ServerSlotContext {
+
+    /**
+     * Failed server expire time(ms).
+     */
+    private static final Long FAILED_EXPIRE_MS = 30000L;
+
+    /**
+     * Slots servers.
+     * Key is slots id, value is server akka address.
+     */
+    private static volatile Map<Long, String> slotsServers = Collections.emptyMap();
+
+    /**
+     * Slots version.
+     */
+    private static volatile Long slotsVersion;
+
+    /**
+     * Failed servers.
+     * Key is server akka address, value is failed time.
+     */
+    private static final Map<String, Long> FAILED_SERVERS = Maps.newConcurrentMap();
+
+    /**
+     * Refresh server slots.
+     *
+     * @param version     version
+     * @param serverSlots server slots
+     */
+    public static synchronized void refresh(Long version, Map<String, List<Long>> serverSlots) {
+        if (Objects.isNull(serverSlots) || Objects.equals(version, slotsVersion)) {
+            return;
+        }
+
+        Map<Long, String> newSlotsServers = new HashMap<>(256);
+        serverSlots.forEach((address, slots) -> {
+            if (!CollectionUtils.isEmpty(slots)) {
+                slots.forEach(s -> newSlotsServers.put(s, address));
+            }
+        });
+
+        slotsServers = newSlotsServers;
+        slotsVersion = version;
+        FAILED_SERVERS.clear();
+        log.info("Server slots refreshed! version={} servers={}", version, serverSlots.keySet());
+    }
+
+    /**
+     * Get server address owning the slots.
+     *
+     * @param slotsId slotsId
+     * @return String, null if unknown or failed.
+     */
+    public static String getServerAddress(Long slotsId) {
+        if (Objects.isNull(slotsId)) {
+            return null;
+        }
+
+        String address = slotsServers.get(slotsId);
+        if (Objects.isNull(address) || isFailed(address)) {
+            return null;
+        }
+        return address;
+    }
+
+    /**
+     * Mark server failed.
+     *
+     * @param address server akka address
+     */
+    public static void markFailed(String address) {
+        FAILED_SERVERS.put(address, System.currentTimeMillis());
+        log.warn("Server is marked failed! address={}", address);
+    }
+
+    /**
+     * Mark server of the actor address failed, such as a message routed to the slots owner is not acked.
+     *
+     * @param address actor address
+     */
+    public static void markFailed(Address address) {
+        if (!AkkaConstant.SERVER_SYSTEM_NAME.equals(address.system()) || !address.getHost().isPresent() || !address.getPort().isPresent()) {
+            return;
+        }
+        markFailed(String.format("%s:%d", address.getHost().get(), address.getPort().get()));
+    }
+
+    public static Long getSlotsVersion() {
+        return slotsVersion;
+    }
+
+    private static Boolean isFailed(String address) {
+        Long failedTime = FAILED_SERVERS.get(address);
+        if (Objects.isNull(failedTime)) {
+            return false;
+        }
+
+        // Expired
+        if (System.currentTimeMillis() - failedTime > FAILED_EXPIRE_MS) {
+            FAILED_SERVERS.remove(address, failedTime);
+            return false;
+        }
+        return true;
+    }
+}
@@ -3,11 +3,14 @@ package io.openjob.worker.init;
 import akka.actor.ActorRef;
 import akka.actor.ActorSystem;
 import akka.actor.Props;
+import akka.routing.ConsistentHashingPool;
+import akka.routing.Pool;
 import akka.routing.RoundRobinPool;
 import com.typesafe.config.Config;
 import com.typesafe.config.ConfigFactory;
 import io.openjob.common.constant.AkkaConstant;
 import io.openjob.worker.actor.DelayTaskMasterActor;
+import io.openjob.worker.actor.JobInstanceHashMapper;
 import io.openjob.worker.actor.TaskContainerActor;
 import io.openjob.worker.actor.TaskMasterActor;
 import io.openjob.worker.actor.WorkerHeartbeatActor;
@@ -61,7 +64,7 @@ public class WorkerActorSystem {
         newConfig.put("akka.remote.artery.canonical.port", String.valueOf(WorkerConfig.getWorkerPort()));
 
         // Persistence
-        newConfig.put("akka.persistence.journal.leveldb.dir", this.getPersistencePath("journal"));
+        newConfig.put("akka.persistence.journal.mapped.dir", this.getPersistencePath("journal"));
         newConfig.put("akka.persistence.snapshot-store.local.dir", this.getPersistencePath("snapshots"));
 
 
@@ -86,14 +89,14 @@ public class WorkerActorSystem {
         // Master actor.
         int taskMasterNum = OpenjobConfig.getInteger(WorkerConstant.WORKER_TASK_MASTER_ACTOR_NUM, WorkerConstant.DEFAULT_WORKER_TASK_MASTER_ACTOR_NUM);
         Props masterProps = Props.create(TaskMasterActor.class)
-                .withRouter(new RoundRobinPool(taskMasterNum))
+                .withRouter(getTaskRouter(taskMasterNum))
                 .withDispatcher(WorkerAkkaConstant.DISPATCHER_TASK_MASTER);
         actorSystem.actorOf(masterProps, AkkaConstant.WORKER_ACTOR_MASTER);
 
         // Container actor.
         int taskContainerNum = OpenjobConfig.getInteger(WorkerConstant.WORKER_TASK_CONTAINER_ACTOR_NUM, WorkerConstant.DEFAULT_WORKER_TASK_CONTAINER_ACTOR_NUM);
         Props containerProps = Props.create(TaskContainerActor.class)
-                .withRouter(new RoundRobinPool(taskContainerNum))
+                .withRouter(getTaskRouter(taskContainerNum))
                 .withDispatcher(WorkerAkkaConstant.DISPATCHER_TASK_CONTAINER);
         actorSystem.actorOf(containerProps, WorkerAkkaConstant.ACTOR_CONTAINER);
 
@@ -124,6 +127,21 @@ public class WorkerActorSystem {
         persistentRoutingRef.tell(msg, sender);
     }
 
+    /**
+     * Get task router.
+     * Consistent hashing routes all requests of one job instance to the same actor, so they are handled in order.
+     *
+     * @param num actor num
+     * @return Pool
+     */
+    static Pool getTaskRouter(Integer num) {
+        String router = OpenjobConfig.getString(WorkerConstant.WORKER_TASK_ACTOR_ROUTER, WorkerConstant.DEFAULT_WORKER_TASK_ACTOR_ROUTER);
+        if (WorkerAkkaConstant.ROUTER_CONSISTENT_HASHING.equals(router)) {
+            return new ConsistentHashingPool(num).withHashMapper(new JobInstanceHashMapper());
+        }
+        return new RoundRobinPool(num);
+    }
+
     /**
      * Get persistence
      *
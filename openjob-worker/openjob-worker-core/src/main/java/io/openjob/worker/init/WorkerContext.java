@@ -23,6 +23,11 @@ public class WorkerContext {
      */
     private static final AtomicLong ATOMIC_APPID = new AtomicLong(0);
 
+    /**
+     * Online workers version.
+     */
+    private static volatile Long workerVersion;
+
     /**
      * Init
      *
@@ -51,6 +56,14 @@ public class WorkerContext {
         return ONLINE_WORKERS;
     }
 
+    public static Long getWorkerVersion() {
+        return workerVersion;
+    }
+
+    public static void setWorkerVersion(Long workerVersion) {
+        WorkerContext.workerVersion = workerVersion;
+    }
+
     public static Long getAppId() {
         return ATOMIC_APPID.get();
     }
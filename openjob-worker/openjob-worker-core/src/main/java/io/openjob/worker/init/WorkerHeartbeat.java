@@ -6,21 +6,23 @@ import io.openjob.common.response.ServerHeartbeatResponse;
 import io.openjob.common.util.FutureUtil;
 import io.openjob.worker.OpenjobWorker;
 import io.openjob.worker.config.OpenjobConfig;
+import io.openjob.worker.container.TaskContainerManager;
 import io.openjob.worker.constant.WorkerConstant;
 import io.openjob.worker.master.TaskMasterPool;
 import io.openjob.worker.util.WorkerUtil;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.util.CollectionUtils;
 
-import java.util.Comparator;
+import java.lang.management.ManagementFactory;
 import java.util.HashSet;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.Collectors;
 
 /**
  * @author stelin swoft@qq.com
@@ -88,26 +90,58 @@ public class WorkerHeartbeat {
         heartbeatReq.setAppName(OpenjobConfig.getString(WorkerConstant.WORKER_APP_NAME));
         heartbeatReq.setVersion("1.0");
         heartbeatReq.setRunningJobInstanceIds(TaskMasterPool.getRunningTask());
-        try {
-            //Heartbeat
-            ServerHeartbeatResponse heartbeatResponse = FutureUtil.mustAsk(WorkerUtil.getServerHeartbeatActor(), heartbeatReq, ServerHeartbeatResponse.class, 3000L);
+        heartbeatReq.setSlotsVersion(ServerSlotContext.getSlotsVersion());
+        heartbeatReq.setWorkerVersion(WorkerContext.getWorkerVersion());
+
+        // Load metrics for load-aware dispatch.
+        heartbeatReq.setContainerTaskNum(TaskContainerManager.INSTANCE.getTaskSize());
+        heartbeatReq.setSystemLoad(ManagementFactory.getOperatingSystemMXBean().getSystemLoadAverage());
+        heartbeatReq.setCpuNum(Runtime.getRuntime().availableProcessors());
+        heartbeatReq.setCapacity(OpenjobConfig.getInteger(WorkerConstant.WORKER_CAPACITY, WorkerConstant.DEFAULT_WORKER_CAPACITY));
+
+        // Job definitions are cached by task master, server may dispatch without definition.
+        heartbeatReq.setDefinitionCache(true);
+
+        // Heartbeat, response is handled on heartbeat thread without blocking it while waiting.
+        FutureUtil.ask(WorkerUtil.getServerHeartbeatActor(), heartbeatReq, ServerHeartbeatResponse.class, 3000L)
+                .whenCompleteAsync((heartbeatResponse, throwable) -> {
+                    try {
+                        if (Objects.nonNull(throwable)) {
+                            throw FutureUtil.unwrap(throwable);
+                        }
+
+                        // Refresh worker.
+                        this.refresh(heartbeatResponse);
+
+                        // Reset counter
+                        this.failCounter.set(0);
+                    } catch (Throwable e) {
+                        this.heartbeatFail(serverAddress, workerAddress, failTimes, e);
+                    }
+                }, this.heartbeatService);
+    }
 
-            // Refresh worker.
-            this.refresh(heartbeatResponse);
+    /**
+     * Heartbeat fail.
+     *
+     * @param serverAddress serverAddress
+     * @param workerAddress workerAddress
+     * @param failTimes     failTimes
+     * @param e             throwable
+     */
+    private void heartbeatFail(String serverAddress, String workerAddress, Integer failTimes, Throwable e) {
+        int count = this.failCounter.incrementAndGet();
+        log.error(String.format("Worker heartbeat fail. serverAddress=%s workerAddress=%s failTimes=%s", serverAddress, workerAddress, count), e);
 
-            // Reset counter
-            this.failCounter.set(0);
-        } catch (Throwable e) {
-            int count = this.failCounter.incrementAndGet();
-            log.error(String.format("Worker heartbeat fail. serverAddress=%s workerAddress=%s failTimes=%s", serverAddress, workerAddress, count), e);
+        if (count >= failTimes) {
+            // Skip failed server for slots routing.
+            ServerSlotContext.markFailed(WorkerUtil.getServerAddress());
 
-            if (count >= failTimes) {
-                log.info("Begin to refresh server! server={} port={} failTimes={}", WorkerConfig.getServerHost(), WorkerConfig.getServerPort(), failTimes);
-                WorkerConfig.refreshServer();
+            log.info("Begin to refresh server! server={} port={} failTimes={}", WorkerConfig.getServerHost(), WorkerConfig.getServerPort(), failTimes);
+            WorkerConfig.refreshServer();
 
-                // Reset counter
-                this.failCounter.set(0);
-            }
+            // Reset counter
+            this.failCounter.set(0);
         }
     }
 
@@ -118,6 +152,9 @@ public class WorkerHeartbeat {
         // Refresh online workers.
         this.refreshOnlineWorkers(heartbeatResponse);
 
+        // Refresh server slots.
+        ServerSlotContext.refresh(heartbeatResponse.getSlotsVersion(), heartbeatResponse.getServerSlots());
+
         // Refresh delay.
         if (WorkerConfig.getDelayEnable()) {
             this.openjobWorker.getWorkerInitializer().getDelayManager().refresh(heartbeatResponse.getSystemResponse());
@@ -130,30 +167,31 @@ public class WorkerHeartbeat {
      * @param heartbeatResponse heartbeatResponse
      */
     private void refreshOnlineWorkers(ServerHeartbeatResponse heartbeatResponse) {
+        Set<String> contextWorkers = WorkerContext.getOnlineWorkers();
+        Set<String> onlineWorkers;
+        if (Objects.nonNull(heartbeatResponse.getWorkerAddressList())) {
+            // Full workers
+            onlineWorkers = new HashSet<>(heartbeatResponse.getWorkerAddressList());
+        } else {
+            // Changed workers
+            onlineWorkers = new HashSet<>(contextWorkers);
+            Optional.ofNullable(heartbeatResponse.getAddWorkers()).ifPresent(onlineWorkers::addAll);
+            Optional.ofNullable(heartbeatResponse.getRemoveWorkers()).ifPresent(onlineWorkers::removeAll);
+        }
+
         // Offline workers.
         // Must before refresh context online workers.
-        Set<String> offlineWorkers = new HashSet<>(WorkerContext.getOnlineWorkers());
-        offlineWorkers.removeAll(heartbeatResponse.getWorkerAddressList());
+        Set<String> offlineWorkers = new HashSet<>(contextWorkers);
+        offlineWorkers.removeAll(onlineWorkers);
         if (!CollectionUtils.isEmpty(offlineWorkers)) {
             log.info("Offline workers! workers={}", offlineWorkers);
             TaskMasterPool.offlineWorkers(offlineWorkers);
         }
 
-        // Online worker unique.
-        String onlineWorkerUnique = heartbeatResponse.getWorkerAddressList()
-                .stream()
-                .sorted(Comparator.comparing(String::hashCode))
-                .collect(Collectors.toList()).toString();
-
-        // Context worker unique.
-        String contextWorkerUnique = WorkerContext.getOnlineWorkers()
-                .stream()
-                .sorted(Comparator.comparing(String::hashCode))
-                .collect(Collectors.toList()).toString();
-
         // Refresh online workers.
-        if (!onlineWorkerUnique.equals(contextWorkerUnique)) {
-            this.openjobWorker.getWorkerContext().refreshOnlineWorkers(heartbeatResponse.getWorkerAddressList());
+        if (!onlineWorkers.equals(contextWorkers)) {
+            this.openjobWorker.getWorkerContext().refreshOnlineWorkers(onlineWorkers);
         }
+        WorkerContext.setWorkerVersion(heartbeatResponse.getWorkerVersion());
     }
 }
@@ -33,9 +33,11 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 /**
@@ -45,9 +47,24 @@ import java.util.stream.Collectors;
 @Slf4j
 public abstract class AbstractDistributeTaskMaster extends AbstractTaskMaster {
 
+    /**
+     * Reconcile by count query every ticks when counters are not balanced.
+     */
+    private static final Integer RECONCILE_TICKS = 10;
+
     protected ScheduledExecutorService scheduledService;
     protected AtomicBoolean submitting = new AtomicBoolean(false);
 
+    /**
+     * Task status counter.
+     */
+    protected TaskStatusCounter statusCounter = new TaskStatusCounter();
+
+    /**
+     * Complete check ticks.
+     */
+    protected AtomicLong checkTicks = new AtomicLong(0);
+
     public AbstractDistributeTaskMaster(JobInstanceDTO jobInstanceDTO, ActorContext actorContext) {
         super(jobInstanceDTO, actorContext);
     }
@@ -83,10 +100,80 @@ public abstract class AbstractDistributeTaskMaster extends AbstractTaskMaster {
 
     @Override
     protected Boolean isTaskComplete(Long instanceId, Long circleId) {
+        // Counters balanced
+        if (this.statusCounter.isBalanced(circleId)) {
+            return true;
+        }
+
+        // Counters may drift, such as redundant map task deleted, so reconcile by count at a coarse interval.
+        if (this.checkTicks.incrementAndGet() % RECONCILE_TICKS != 0) {
+            return false;
+        }
+
         Integer nonFinishCount = taskDAO.countTaskAndExcludeId(instanceId, circleId, TaskStatusEnum.NON_FINISH_LIST, this.circleTaskUniqueId);
         return nonFinishCount <= 0;
     }
 
+    @Override
+    protected Boolean hasFailedTask(Long instanceId, Long circleId) {
+        return this.statusCounter.hasFailed(circleId);
+    }
+
+    @Override
+    protected void doCircleSecondDelayTask() throws InterruptedException {
+        // Remove last circle counters
+        this.statusCounter.remove(this.circleIdGenerator.get());
+
+        super.doCircleSecondDelayTask();
+    }
+
+    /**
+     * Task status changed.
+     *
+     * @param circleId circleId
+     * @param status   status
+     * @param rows     effect rows
+     */
+    public void onTaskStatusChanged(Long circleId, Integer status, Integer rows) {
+        // Ignore last circle status
+        if (!circleId.equals(this.circleIdGenerator.get())) {
+            return;
+        }
+
+        this.statusCounter.changed(circleId, status, rows);
+
+        // Only finish status to check complete
+        if (rows <= 0 || !TaskStatusEnum.FINISH_LIST.contains(status) || !this.statusCounter.isBalanced(circleId)) {
+            return;
+        }
+
+        // Complete in scheduled thread, so it is serialized with submitter and checker.
+        try {
+            this.scheduledService.execute(this::checkTaskComplete);
+        } catch (RejectedExecutionException e) {
+            log.warn("Task complete check rejected! jobInstanceId={}", this.jobInstanceDTO.getJobInstanceId());
+        }
+    }
+
+    /**
+     * Check task complete
+     */
+    protected void checkTaskComplete() {
+        // When task is running to check status.
+        if (!this.running.get() || this.submitting.get()) {
+            return;
+        }
+
+        long instanceId = this.jobInstanceDTO.getJobInstanceId();
+        if (this.isTaskComplete(instanceId, this.circleIdGenerator.get())) {
+            try {
+                this.completeTask();
+            } catch (InterruptedException e) {
+                log.error("Check task complete failed!", e);
+            }
+        }
+    }
+
     /**
      * Do submit
      */
@@ -191,7 +278,11 @@ public abstract class AbstractDistributeTaskMaster extends AbstractTaskMaster {
                 .map(m -> this.convertToTask(m, workerAddress)).collect(Collectors.toList());
 
         // Batch add task.
-        taskDAO.batchAdd(taskList);
+        Integer rows = taskDAO.batchAdd(taskList);
+        if (rows > 0) {
+            taskList.stream().collect(Collectors.groupingBy(Task::getCircleId, Collectors.counting()))
+                    .forEach((circleId, count) -> this.statusCounter.created(circleId, count));
+        }
     }
 
     protected JobContext getBaseJobContext() {
@@ -263,6 +354,10 @@ public abstract class AbstractDistributeTaskMaster extends AbstractTaskMaster {
         task.setStatus(processResult.getStatus().getStatus());
         task.setResult(processResult.getResult());
         TaskDAO.INSTANCE.batchAdd(Collections.singletonList(task));
+
+        // Process result task is finished when created.
+        this.statusCounter.created(circleId, 1L);
+        this.statusCounter.changed(circleId, task.getStatus(), 1L);
     }
 
     protected TaskResult convertTaskToTaskResult(Task task) {
@@ -321,22 +416,7 @@ public abstract class AbstractDistributeTaskMaster extends AbstractTaskMaster {
         }
 
         protected void checkTaskStatus() {
-            // When task is running to check status.
-            if (!this.taskMaster.running.get()) {
-                return;
-            }
-
-            long instanceId = this.taskMaster.jobInstanceDTO.getJobInstanceId();
-
-            // Dispatch fail task.
-            boolean isComplete = this.taskMaster.isTaskComplete(instanceId, taskMaster.circleIdGenerator.get());
-            if (isComplete) {
-                try {
-                    this.taskMaster.completeTask();
-                } catch (InterruptedException e) {
-                    log.error("TaskSubmitterAndChecker completeTask failed!", e);
-                }
-            }
+            this.taskMaster.checkTaskComplete();
         }
     }
 
@@ -1,6 +1,7 @@
 package io.openjob.worker.master;
 
 import akka.actor.ActorContext;
+import akka.actor.ActorSelection;
 import com.google.common.collect.Sets;
 import io.openjob.common.constant.AkkaConstant;
 import io.openjob.common.constant.CommonConstant;
@@ -16,21 +17,27 @@ import io.openjob.common.request.ServerStopInstanceTaskRequest;
 import io.openjob.common.request.WorkerJobInstanceStatusRequest;
 import io.openjob.common.request.WorkerJobInstanceTaskBatchRequest;
 import io.openjob.common.request.WorkerJobInstanceTaskRequest;
+import io.openjob.common.response.ServerResponse;
 import io.openjob.common.response.WorkerInstanceTaskChildListPullResponse;
 import io.openjob.common.response.WorkerInstanceTaskListPullResponse;
 import io.openjob.common.response.WorkerInstanceTaskResponse;
 import io.openjob.common.util.DateUtil;
+import io.openjob.common.util.FutureUtil;
 import io.openjob.common.util.TaskUtil;
+import io.openjob.worker.config.OpenjobConfig;
 import io.openjob.worker.constant.WorkerAkkaConstant;
+import io.openjob.worker.constant.WorkerConstant;
 import io.openjob.worker.dao.TaskDAO;
 import io.openjob.worker.dto.JobInstanceDTO;
 import io.openjob.worker.entity.Task;
+import io.openjob.worker.init.ServerSlotContext;
 import io.openjob.worker.init.WorkerActorSystem;
 import io.openjob.worker.request.ContainerBatchTaskStatusRequest;
 import io.openjob.worker.request.MasterDestroyContainerRequest;
 import io.openjob.worker.request.MasterStartContainerRequest;
 import io.openjob.worker.request.MasterStopContainerRequest;
 import io.openjob.worker.request.MasterStopInstanceTaskRequest;
+import io.openjob.worker.util.WorkerUtil;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.math.NumberUtils;
 import org.springframework.util.CollectionUtils;
@@ -40,7 +47,10 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
@@ -406,20 +416,34 @@ public abstract class AbstractTaskMaster implements TaskMaster {
         instanceRequest.setJobId(this.jobInstanceDTO.getJobId());
         instanceRequest.setStatus(this.getInstanceStatus());
         instanceRequest.setFailStatus(this.getFailStatus());
+        instanceRequest.setSlotsId(this.jobInstanceDTO.getSlotsId());
         WorkerActorSystem.atLeastOnceDelivery(instanceRequest, null);
     }
 
-    @SuppressWarnings("all")
     protected void doJobInstanceTasks() {
-        long size = 100;
-        long page = CommonConstant.FIRST_PAGE;
+        int size = OpenjobConfig.getInteger(WorkerConstant.WORKER_TASK_FLUSH_BATCH_SIZE, WorkerConstant.DEFAULT_WORKER_TASK_FLUSH_BATCH_SIZE);
+        int window = OpenjobConfig.getInteger(WorkerConstant.WORKER_TASK_FLUSH_WINDOW, WorkerConstant.DEFAULT_WORKER_TASK_FLUSH_WINDOW);
+        long timeout = OpenjobConfig.getLong(WorkerConstant.WORKER_TASK_FLUSH_TIMEOUT, WorkerConstant.DEFAULT_WORKER_TASK_FLUSH_TIMEOUT);
+
+        // Pace is driven by server acks, at most `window` batches are in flight.
+        // Rows are deleted when the batch is acked or handed over, so queries go on by id cursor.
+        Semaphore inFlight = new Semaphore(window);
+        Queue<List<String>> completedTaskIds = new ConcurrentLinkedQueue<>();
+        ActorSelection serverActor = WorkerUtil.getServerWorkerJobInstanceActor(this.jobInstanceDTO.getSlotsId());
+        long lastId = 0L;
         while (true) {
-            List<Task> queryTask = TaskDAO.INSTANCE.getList(this.jobInstanceDTO.getJobInstanceId(), this.circleIdGenerator.get(), size);
+            // Every ask completes in timeout, so waiting for the window is bounded.
+            inFlight.acquireUninterruptibly();
+            this.deleteCompletedTasks(completedTaskIds);
+
+            List<Task> queryTask = TaskDAO.INSTANCE.getListAfterId(this.jobInstanceDTO.getJobInstanceId(), this.circleIdGenerator.get(), lastId, (long) size);
 
             // Empty query.
             if (CollectionUtils.isEmpty(queryTask)) {
+                inFlight.release();
                 break;
             }
+            lastId = queryTask.get(queryTask.size() - 1).getId();
 
             // Convert to `WorkerJobInstanceTaskRequest`
             List<WorkerJobInstanceTaskRequest> taskRequestList = queryTask.stream()
@@ -428,26 +452,43 @@ public abstract class AbstractTaskMaster implements TaskMaster {
 
             WorkerJobInstanceTaskBatchRequest workerJobInstanceTaskBatchRequest = new WorkerJobInstanceTaskBatchRequest();
             workerJobInstanceTaskBatchRequest.setTaskRequestList(taskRequestList);
-            WorkerActorSystem.atLeastOnceDelivery(workerJobInstanceTaskBatchRequest, null);
+            workerJobInstanceTaskBatchRequest.setSlotsId(this.jobInstanceDTO.getSlotsId());
 
-            // Delete tasks.
             List<String> deleteTaskIds = queryTask.stream().map(Task::getTaskId).collect(Collectors.toList());
-            taskDAO.batchDeleteByTaskIds(deleteTaskIds);
-
-            // Next page.
-            page++;
-
-            try {
-                Thread.sleep(30);
-            } catch (InterruptedException e) {
-                log.error("DoCompleteTask sleep error!", e);
-            }
+            FutureUtil.ask(serverActor, workerJobInstanceTaskBatchRequest, ServerResponse.class, timeout)
+                    .whenComplete((response, throwable) -> {
+                        try {
+                            // Not acked, hand over to at least once delivery.
+                            if (Objects.nonNull(throwable)) {
+                                log.warn("Flush job instance tasks fail, fallback to at least once delivery! jobInstanceId={} message={}",
+                                        this.jobInstanceDTO.getJobInstanceId(), FutureUtil.unwrap(throwable).getMessage());
+                                ServerSlotContext.markFailed(serverActor.anchorPath().address());
+                                WorkerActorSystem.atLeastOnceDelivery(workerJobInstanceTaskBatchRequest, null);
+                            }
+
+                            // Rows are deleted by flush thread, not on the ask callback thread.
+                            completedTaskIds.offer(deleteTaskIds);
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
 
             // Query complete.
             if (queryTask.size() < size) {
                 break;
             }
         }
+
+        // All batches are acked or handed over before the task is completed.
+        inFlight.acquireUninterruptibly(window);
+        this.deleteCompletedTasks(completedTaskIds);
+    }
+
+    private void deleteCompletedTasks(Queue<List<String>> completedTaskIds) {
+        List<String> taskIds;
+        while ((taskIds = completedTaskIds.poll()) != null) {
+            this.taskDAO.batchDeleteByTaskIds(taskIds);
+        }
     }
 
     protected Integer getCircleTaskStatus() {
@@ -464,8 +505,7 @@ public abstract class AbstractTaskMaster implements TaskMaster {
         // Not stop
         long circleId = this.circleIdGenerator.get();
         long instanceId = this.jobInstanceDTO.getJobInstanceId();
-        long failedCount = TaskDAO.INSTANCE.countTask(instanceId, circleId, Collections.singletonList(TaskStatusEnum.FAILED.getStatus()));
-        return failedCount > 0 ? TaskStatusEnum.FAILED.getStatus() : TaskStatusEnum.SUCCESS.getStatus();
+        return this.hasFailedTask(instanceId, circleId) ? TaskStatusEnum.FAILED.getStatus() : TaskStatusEnum.SUCCESS.getStatus();
     }
 
     protected Integer getInstanceStatus() {
@@ -482,8 +522,12 @@ public abstract class AbstractTaskMaster implements TaskMaster {
         // Not stop
         long circleId = this.circleIdGenerator.get();
         long instanceId = this.jobInstanceDTO.getJobInstanceId();
+        return this.hasFailedTask(instanceId, circleId) ? InstanceStatusEnum.FAIL.getStatus() : InstanceStatusEnum.SUCCESS.getStatus();
+    }
+
+    protected Boolean hasFailedTask(Long instanceId, Long circleId) {
         long failedCount = TaskDAO.INSTANCE.countTask(instanceId, circleId, Collections.singletonList(TaskStatusEnum.FAILED.getStatus()));
-        return failedCount > 0 ? InstanceStatusEnum.FAIL.getStatus() : InstanceStatusEnum.SUCCESS.getStatus();
+        return failedCount > 0;
     }
 
     protected Integer getFailStatus() {
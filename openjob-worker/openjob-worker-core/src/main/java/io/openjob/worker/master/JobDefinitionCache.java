@@ -0,0 +1,67 @@
+package io.openjob.worker.master;
+
+import io.openjob.common.request.ServerSubmitJobInstanceRequest;
+import io.openjob.worker.config.OpenjobConfig;
+import io.openjob.worker.constant.WorkerConstant;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Job definitions of dispatched versions, key is job id and version.
+ * Server dispatches a cached version without definition, the definition is resent only on a version miss.
+ * Versions of the same job are cached together, so instances of old and new versions do not evict each other.
+ *
+ * @author stelin swoft@qq.com
+ * @since 1.0.8
+ */
+public class JobDefinitionCache {
+
+    private static final Integer CAPACITY = OpenjobConfig.getInteger(WorkerConstant.WORKER_JOB_DEFINITION_CACHE_SIZE,
+            WorkerConstant.DEFAULT_WORKER_JOB_DEFINITION_CACHE_SIZE);
+
+    /**
+     * Least recently used definitions are evicted.
+     */
+    private static final Map<JobVersion, ServerSubmitJobInstanceRequest> DEFINITIONS = new LinkedHashMap<JobVersion, ServerSubmitJobInstanceRequest>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<JobVersion, ServerSubmitJobInstanceRequest> eldest) {
+            return this.size() > CAPACITY;
+        }
+    };
+
+    /**
+     * Cache definition of a full submit request.
+     *
+     * @param submitReq submit request with definition
+     */
+    public static synchronized void put(ServerSubmitJobInstanceRequest submitReq) {
+        if (Objects.nonNull(submitReq.getJobVersion())) {
+            DEFINITIONS.put(new JobVersion(submitReq.getJobId(), submitReq.getJobVersion()), submitReq);
+        }
+    }
+
+    /**
+     * Get definition of job version.
+     *
+     * @param jobId      job id
+     * @param jobVersion job version
+     * @return Submit request with definition, null is a version miss.
+     */
+    public static synchronized ServerSubmitJobInstanceRequest get(Long jobId, Long jobVersion) {
+        return DEFINITIONS.get(new JobVersion(jobId, jobVersion));
+    }
+
+    /**
+     * Cache key of job version.
+     */
+    @Data
+    @AllArgsConstructor
+    private static class JobVersion {
+        private Long jobId;
+        private Long jobVersion;
+    }
+}
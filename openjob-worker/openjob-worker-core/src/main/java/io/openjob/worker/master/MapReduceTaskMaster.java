@@ -113,9 +113,12 @@ public class MapReduceTaskMaster extends AbstractDistributeTaskMaster {
         String parentTaskId = TaskUtil.getRandomUniqueId(mapTaskReq.getJobId(), mapTaskReq.getJobInstanceId(),
                 this.jobInstanceDTO.getDispatchVersion(), this.circleTaskId, mapTaskReq.getTaskId());
 
-        // Last partition to delete redundant map task
+        // Last partition to delete redundant map task, deleted tasks are not created any more.
         if (mapTaskReq.getTaskNum() > 0) {
-            this.taskDAO.deleteRedundantMapTask(parentTaskId, Long.valueOf(mapTaskReq.getTaskNum()));
+            Integer deleted = this.taskDAO.deleteRedundantMapTask(parentTaskId, Long.valueOf(mapTaskReq.getTaskNum()));
+            if (deleted > 0) {
+                this.statusCounter.created(this.circleIdGenerator.get(), -deleted);
+            }
         }
 
         // Already map task ids by instanceId,parentTaskId
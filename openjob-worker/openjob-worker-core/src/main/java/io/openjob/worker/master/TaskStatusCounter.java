@@ -0,0 +1,111 @@
+package io.openjob.worker.master;
+
+import com.google.common.collect.Maps;
+import io.openjob.common.constant.TaskStatusEnum;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Task status counters of one job instance, grouped by circle id.
+ * Counters only grow and are updated on every effective status transition,
+ * so a circle is complete when finished tasks catch up with created tasks.
+ *
+ * @author stelin swoft@qq.com
+ * @since 1.0.8
+ */
+public class TaskStatusCounter {
+
+    /**
+     * Circle counters.
+     */
+    private final Map<Long, CircleCounter> circleCounters = Maps.newConcurrentMap();
+
+    /**
+     * Task created.
+     *
+     * @param circleId circleId
+     * @param delta    delta
+     */
+    public void created(Long circleId, long delta) {
+        this.getCircleCounter(circleId).created.addAndGet(delta);
+    }
+
+    /**
+     * Task status changed.
+     *
+     * @param circleId circleId
+     * @param status   status
+     * @param delta    delta
+     */
+    public void changed(Long circleId, Integer status, long delta) {
+        if (delta <= 0) {
+            return;
+        }
+
+        CircleCounter counter = this.getCircleCounter(circleId);
+        if (TaskStatusEnum.isRunning(status)) {
+            counter.running.addAndGet(delta);
+        } else if (TaskStatusEnum.isSuccess(status)) {
+            counter.succeeded.addAndGet(delta);
+        } else if (TaskStatusEnum.isFailed(status)) {
+            counter.failed.addAndGet(delta);
+        } else if (TaskStatusEnum.STOP.getStatus().equals(status)) {
+            counter.stopped.addAndGet(delta);
+        }
+    }
+
+    /**
+     * Whether all created tasks of circle are finished.
+     *
+     * @param circleId circleId
+     * @return Boolean
+     */
+    public Boolean isBalanced(Long circleId) {
+        CircleCounter counter = this.getCircleCounter(circleId);
+        long finished = counter.succeeded.get() + counter.failed.get() + counter.stopped.get();
+        return finished >= counter.created.get();
+    }
+
+    /**
+     * Whether circle has failed task.
+     *
+     * @param circleId circleId
+     * @return Boolean
+     */
+    public Boolean hasFailed(Long circleId) {
+        return this.getCircleCounter(circleId).failed.get() > 0;
+    }
+
+    /**
+     * Remove circle counters.
+     *
+     * @param circleId circleId
+     */
+    public void remove(Long circleId) {
+        this.circleCounters.remove(circleId);
+    }
+
+    @Override
+    public String toString() {
+        return this.circleCounters.toString();
+    }
+
+    private CircleCounter getCircleCounter(Long circleId) {
+        return this.circleCounters.computeIfAbsent(circleId, k -> new CircleCounter());
+    }
+
+    private static class CircleCounter {
+        private final AtomicLong created = new AtomicLong(0);
+        private final AtomicLong running = new AtomicLong(0);
+        private final AtomicLong succeeded = new AtomicLong(0);
+        private final AtomicLong failed = new AtomicLong(0);
+        private final AtomicLong stopped = new AtomicLong(0);
+
+        @Override
+        public String toString() {
+            return String.format("created=%d running=%d succeeded=%d failed=%d stopped=%d",
+                    created.get(), running.get(), succeeded.get(), failed.get(), stopped.get());
+        }
+    }
+}
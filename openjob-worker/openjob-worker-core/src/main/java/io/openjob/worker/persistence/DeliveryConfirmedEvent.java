@@ -0,0 +1,16 @@
+package io.openjob.worker.persistence;
+
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * Delivery confirmed event of worker persistent actor.
+ *
+ * @author stelin swoft@qq.com
+ * @since 1.0.8
+ */
+@Data
+public class DeliveryConfirmedEvent implements Serializable {
+    private Long deliveryId;
+}
@@ -11,6 +11,7 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
@@ -179,6 +180,11 @@ public class H2TaskMemoryPersistence implements TaskPersistence {
             sql = "UPDATE `task` SET `status`=?,`update_time`=?,`result`=? WHERE `task_id`=?";
         }
 
+        // Finish status only can be changed once.
+        if (TaskStatusEnum.FINISH_LIST.contains(currentStatus)) {
+            sql = String.format("%s AND `status` NOT IN (%s)", sql, StringUtils.join(TaskStatusEnum.FINISH_LIST, ","));
+        }
+
         PreparedStatement ps = null;
         long timestamp = DateUtil.timestamp();
         try (Connection connection = this.connectionPool.getConnection()) {
@@ -202,7 +208,7 @@ public class H2TaskMemoryPersistence implements TaskPersistence {
             int[] result = ps.executeBatch();
             connection.commit();
             connection.setAutoCommit(true);
-            return result.length;
+            return Arrays.stream(result).filter(r -> r > 0).sum();
         } finally {
             if (Objects.nonNull(ps)) {
                 ps.close();
@@ -275,7 +281,8 @@ public class H2TaskMemoryPersistence implements TaskPersistence {
 
     @Override
     public Integer batchUpdateFailoverByWorkerAddress(List<String> workerAddressList) throws SQLException {
-        String sql = "UPDATE `task` SET `status`=? WHERE `worker_address`=? and `status`=?";
+        // Init tasks are dispatched to the worker too, their running status may not be reported.
+        String sql = "UPDATE `task` SET `status`=? WHERE `worker_address`=? and `status` IN (?,?)";
         PreparedStatement ps = null;
         try (Connection connection = this.connectionPool.getConnection()) {
             connection.setAutoCommit(false);
@@ -283,7 +290,8 @@ public class H2TaskMemoryPersistence implements TaskPersistence {
             for (String workerAddress : workerAddressList) {
                 ps.setInt(1, TaskStatusEnum.FAILOVER.getStatus());
                 ps.setString(2, workerAddress);
-                ps.setInt(3, TaskStatusEnum.RUNNING.getStatus());
+                ps.setInt(3, TaskStatusEnum.INIT.getStatus());
+                ps.setInt(4, TaskStatusEnum.RUNNING.getStatus());
                 ps.addBatch();
             }
 
@@ -401,6 +409,29 @@ public class H2TaskMemoryPersistence implements TaskPersistence {
         }
     }
 
+    @Override
+    public List<Task> findListAfterId(Long instanceId, Long circleId, Long lastId, Long size) throws SQLException {
+        ResultSet rs = null;
+        String sql = "SELECT * FROM `task` WHERE `instance_id`=? AND `circle_id`=? AND `id`>? ORDER BY `id` LIMIT ?";
+        try (Connection connection = this.connectionPool.getConnection(); PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setLong(1, instanceId);
+            ps.setLong(2, circleId);
+            ps.setLong(3, lastId);
+            ps.setLong(4, size);
+            rs = ps.executeQuery();
+
+            List<Task> taskList = new ArrayList<>();
+            while (rs.next()) {
+                taskList.add(convert(rs));
+            }
+            return taskList;
+        } finally {
+            if (Objects.nonNull(rs)) {
+                rs.close();
+            }
+        }
+    }
+
     @Override
     public List<Task> findListByTaskName(Long instanceId, Long circleId, String taskName) throws SQLException {
         ResultSet rs = null;
@@ -473,6 +504,7 @@ public class H2TaskMemoryPersistence implements TaskPersistence {
      */
     private Task convert(ResultSet rs) throws SQLException {
         Task task = new Task();
+        task.setId(rs.getLong("id"));
         task.setJobId(rs.getLong("job_id"));
         task.setInstanceId(rs.getLong("instance_id"));
         task.setDispatchVersion(rs.getLong("dispatch_version"));
@@ -81,10 +81,11 @@ public interface TaskPersistence {
 
     /**
      * Batch update by task id.
+     * Finish status will not be overwritten, so the effect rows are the real transitions.
      *
      * @param tasks         tasks
      * @param currentStatus currentStatus
-     * @return Integer
+     * @return Integer effect rows
      * @throws SQLException SQLException
      */
     Integer batchUpdateStatusByTaskId(List<Task> tasks, Integer currentStatus) throws SQLException;
@@ -131,6 +132,18 @@ public interface TaskPersistence {
      */
     List<Task> findListBySize(Long instanceId, Long circleId, Long size) throws SQLException;
 
+    /**
+     * Find list after id by page size, ordered by id
+     *
+     * @param instanceId instance id
+     * @param circleId   circle id
+     * @param lastId     last id, exclusive
+     * @param size       size
+     * @return List
+     * @throws SQLException SQLException
+     */
+    List<Task> findListAfterId(Long instanceId, Long circleId, Long lastId, Long size) throws SQLException;
+
     /**
      * Find list by task id
      *
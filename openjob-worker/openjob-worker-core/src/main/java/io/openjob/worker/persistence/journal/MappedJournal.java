@@ -0,0 +1,110 @@
+package io.openjob.worker.persistence.journal;
+
+import akka.dispatch.Futures;
+import akka.persistence.AtomicWrite;
+import akka.persistence.PersistentRepr;
+import akka.persistence.journal.japi.AsyncWriteJournal;
+import akka.serialization.Serialization;
+import akka.serialization.SerializationExtension;
+import com.typesafe.config.Config;
+import io.openjob.common.util.FutureUtil;
+import scala.concurrent.Future;
+import scala.concurrent.Promise;
+import scala.jdk.javaapi.CollectionConverters;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Akka persistence journal plugin on memory-mapped segments.
+ *
+ * @author stelin swoft@qq.com
+ * @since 1.0.8
+ */
+public class MappedJournal extends AsyncWriteJournal {
+    private final MappedJournalStore store;
+    private final Serialization serialization;
+
+    /**
+     * New mapped journal.
+     *
+     * @param config plugin config
+     * @throws IOException IOException
+     */
+    public MappedJournal(Config config) throws IOException {
+        this.store = new MappedJournalStore(
+                new File(config.getString("dir")),
+                config.getBytes("segment-size").intValue(),
+                config.getBoolean("fsync")
+        );
+        this.serialization = SerializationExtension.get(getContext().getSystem());
+    }
+
+    @Override
+    public Future<Iterable<Optional<Exception>>> doAsyncWriteMessages(Iterable<AtomicWrite> messages) {
+        List<Optional<Exception>> results = new ArrayList<>();
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (AtomicWrite write : messages) {
+            List<MappedJournalStore.Event> events = new ArrayList<>();
+            try {
+                for (PersistentRepr repr : CollectionConverters.asJava(write.payload())) {
+                    events.add(new MappedJournalStore.Event(repr.persistenceId(), repr.sequenceNr(), this.serialization.serialize(repr).get()));
+                }
+            } catch (Exception e) {
+                // Serialize failed, only this write is rejected.
+                results.add(Optional.of(e));
+                continue;
+            }
+
+            futures.add(this.store.write(events));
+            results.add(Optional.empty());
+        }
+
+        return toScala(CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .thenApply(v -> (Iterable<Optional<Exception>>) results));
+    }
+
+    @Override
+    public Future<Void> doAsyncDeleteMessagesTo(String persistenceId, long toSequenceNr) {
+        long highestSequenceNr = this.store.highestSequenceNr(persistenceId);
+        return toScala(this.store.delete(persistenceId, Math.min(toSequenceNr, highestSequenceNr)));
+    }
+
+    @Override
+    public Future<Void> doAsyncReplayMessages(String persistenceId, long fromSequenceNr, long toSequenceNr, long max, Consumer<PersistentRepr> replayCallback) {
+        return Futures.future(() -> {
+            this.store.replay(persistenceId, fromSequenceNr, toSequenceNr, max,
+                    e -> replayCallback.accept(this.serialization.deserialize(e.getPayload(), PersistentRepr.class).get()));
+            return null;
+        }, getContext().getDispatcher());
+    }
+
+    @Override
+    public Future<Long> doAsyncReadHighestSequenceNr(String persistenceId, long fromSequenceNr) {
+        return Futures.successful(this.store.highestSequenceNr(persistenceId));
+    }
+
+    @Override
+    public void postStop() throws Exception {
+        this.store.close();
+        super.postStop();
+    }
+
+    private static <T> Future<T> toScala(CompletableFuture<T> future) {
+        Promise<T> promise = Futures.promise();
+        future.whenComplete((result, throwable) -> {
+            if (Objects.nonNull(throwable)) {
+                promise.failure(FutureUtil.unwrap(throwable));
+                return;
+            }
+            promise.success(result);
+        });
+        return promise.future();
+    }
+}
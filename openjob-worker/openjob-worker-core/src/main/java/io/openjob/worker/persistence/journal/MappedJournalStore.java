@@ -0,0 +1,629 @@
+package io.openjob.worker.persistence.journal;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Append only journal on memory-mapped segment files.
+ * Frames are written by one writer thread, every group of pending frames is forced once (group commit).
+ * A segment is removed when all events in it are deleted, every new segment starts with a checkpoint of
+ * sequence numbers, so recovery is one sequential scan of the remaining segments.
+ * Frame layout is `length(int) crc(int) type(byte) body`, a zero length is the end of a segment.
+ * Removed segments are unmapped when no replay is reading them, mapped memory is not left to gc.
+ *
+ * @author stelin swoft@qq.com
+ * @since 1.0.8
+ */
+@Slf4j
+public class MappedJournalStore implements Closeable {
+    private static final byte TYPE_WRITE = 1;
+    private static final byte TYPE_DELETE = 2;
+    private static final byte TYPE_CHECKPOINT = 3;
+    private static final int HEADER_SIZE = 8;
+    private static final int MAX_GROUP_SIZE = 1024;
+    private static final String SEGMENT_SUFFIX = ".segment";
+
+    private final File dir;
+    private final Integer segmentSize;
+    private final Boolean fsync;
+
+    /**
+     * Segments in order, the last one is active.
+     */
+    private final List<Segment> segments = new CopyOnWriteArrayList<>();
+
+    /**
+     * Segments removed but not unmapped yet, only used by writer.
+     */
+    private final List<Segment> removedSegments = new ArrayList<>();
+
+    /**
+     * Replay holds read lock, segments are unmapped with write lock.
+     */
+    private final ReadWriteLock mappingLock = new ReentrantReadWriteLock();
+
+    /**
+     * Sequence numbers of persistence ids.
+     */
+    private final Map<String, PersistenceState> states = new ConcurrentHashMap<>();
+
+    private final BlockingQueue<PendingFrame> pendingFrames = new LinkedBlockingQueue<>();
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    /**
+     * New journal store and recover from segments.
+     *
+     * @param dir         directory
+     * @param segmentSize segment size(bytes)
+     * @param fsync       force every group to disk
+     * @throws IOException IOException
+     */
+    public MappedJournalStore(File dir, Integer segmentSize, Boolean fsync) throws IOException {
+        this.dir = dir;
+        this.segmentSize = segmentSize;
+        this.fsync = fsync;
+
+        if (!dir.exists() && !dir.mkdirs()) {
+            throw new IOException(String.format("Journal dir create failed! dir=%s", dir));
+        }
+        this.recover();
+
+        this.writer = new Thread(this::writeLoop, "Openjob-journal-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Write events atomically.
+     *
+     * @param events events
+     * @return CompletableFuture, completed after the group is committed.
+     */
+    public CompletableFuture<Void> write(List<Event> events) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 * events.size());
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(TYPE_WRITE);
+            out.writeInt(events.size());
+            for (Event event : events) {
+                writeUtf(out, event.getPersistenceId());
+                out.writeLong(event.getSequenceNr());
+                out.writeInt(event.getPayload().length);
+                out.write(event.getPayload());
+            }
+        } catch (IOException e) {
+            CompletableFuture<Void> future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+            return future;
+        }
+        return this.submit(new PendingFrame(bytes.toByteArray(), events, null, 0L));
+    }
+
+    /**
+     * Delete events to sequence number, segments are removed once all their events are deleted.
+     *
+     * @param persistenceId persistence id
+     * @param toSequenceNr  to sequence number(inclusive)
+     * @return CompletableFuture
+     */
+    public CompletableFuture<Void> delete(String persistenceId, Long toSequenceNr) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(TYPE_DELETE);
+            writeUtf(out, persistenceId);
+            out.writeLong(toSequenceNr);
+        } catch (IOException e) {
+            CompletableFuture<Void> future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+            return future;
+        }
+        return this.submit(new PendingFrame(bytes.toByteArray(), Collections.emptyList(), persistenceId, toSequenceNr));
+    }
+
+    /**
+     * Highest sequence number, deleted events are counted.
+     *
+     * @param persistenceId persistence id
+     * @return Long
+     */
+    public Long highestSequenceNr(String persistenceId) {
+        PersistenceState state = this.states.get(persistenceId);
+        return Objects.isNull(state) ? 0L : state.highestSequenceNr;
+    }
+
+    /**
+     * Replay events not deleted.
+     *
+     * @param persistenceId  persistence id
+     * @param fromSequenceNr from sequence number(inclusive)
+     * @param toSequenceNr   to sequence number(inclusive)
+     * @param max            max events
+     * @param consumer       consumer
+     */
+    public void replay(String persistenceId, Long fromSequenceNr, Long toSequenceNr, Long max, Consumer<Event> consumer) {
+        PersistenceState state = this.states.get(persistenceId);
+        if (Objects.isNull(state) || max <= 0) {
+            return;
+        }
+
+        long from = Math.max(fromSequenceNr, state.deletedToSequenceNr + 1);
+        long[] count = {0};
+        this.mappingLock.readLock().lock();
+        try {
+            this.replay(persistenceId, from, toSequenceNr, max, consumer, count);
+        } finally {
+            this.mappingLock.readLock().unlock();
+        }
+    }
+
+    private void replay(String persistenceId, Long from, Long toSequenceNr, Long max, Consumer<Event> consumer, long[] count) {
+        for (Segment segment : this.segments) {
+            this.scan(segment.buffer, segment.position, (type, body) -> {
+                if (type != TYPE_WRITE) {
+                    return true;
+                }
+
+                int size = body.getInt();
+                for (int i = 0; i < size; i++) {
+                    String id = readUtf(body);
+                    long sequenceNr = body.getLong();
+                    int length = body.getInt();
+                    if (sequenceNr < from || sequenceNr > toSequenceNr || !persistenceId.equals(id)) {
+                        body.position(body.position() + length);
+                        continue;
+                    }
+
+                    byte[] payload = new byte[length];
+                    body.get(payload);
+                    consumer.accept(new Event(id, sequenceNr, payload));
+                    if (++count[0] >= max) {
+                        return false;
+                    }
+                }
+                return true;
+            });
+
+            if (count[0] >= max) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Segment count.
+     *
+     * @return Integer
+     */
+    public Integer getSegmentCount() {
+        return this.segments.size();
+    }
+
+    @Override
+    public void close() {
+        this.running = false;
+        try {
+            this.writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (this.fsync) {
+            this.segments.forEach(s -> s.buffer.force());
+        }
+
+        // Unmap all segments, active segments are kept mapped when writer is still running.
+        this.mappingLock.writeLock().lock();
+        try {
+            this.unmapRemovedSegments();
+            if (!this.writer.isAlive()) {
+                this.segments.forEach(s -> unmap(s.buffer));
+                this.segments.clear();
+            }
+        } finally {
+            this.mappingLock.writeLock().unlock();
+        }
+    }
+
+    private CompletableFuture<Void> submit(PendingFrame frame) {
+        if (HEADER_SIZE + frame.body.length > this.segmentSize / 2) {
+            frame.future.completeExceptionally(new IllegalArgumentException(
+                    String.format("Journal frame is too large! size=%d segmentSize=%d", frame.body.length, this.segmentSize)));
+            return frame.future;
+        }
+
+        if (!this.running) {
+            frame.future.completeExceptionally(new IllegalStateException("Journal is closed!"));
+            return frame.future;
+        }
+
+        this.pendingFrames.add(frame);
+        return frame.future;
+    }
+
+    private void writeLoop() {
+        List<PendingFrame> group = new ArrayList<>();
+        while (this.running || !this.pendingFrames.isEmpty()) {
+            try {
+                PendingFrame first = this.pendingFrames.poll(100, TimeUnit.MILLISECONDS);
+                if (Objects.isNull(first)) {
+                    continue;
+                }
+
+                group.add(first);
+                this.pendingFrames.drainTo(group, MAX_GROUP_SIZE - 1);
+                this.commit(group);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Throwable e) {
+                log.error("Journal commit failed!", e);
+                group.forEach(f -> f.future.completeExceptionally(e));
+            } finally {
+                group.clear();
+            }
+        }
+    }
+
+    private void commit(List<PendingFrame> group) throws IOException {
+        boolean deleted = false;
+        Set<Segment> dirtySegments = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (PendingFrame frame : group) {
+            Segment segment = this.append(frame.body);
+            dirtySegments.add(segment);
+
+            // Apply to index.
+            for (Event event : frame.events) {
+                this.getState(event.getPersistenceId()).wrote(event.getSequenceNr());
+                segment.wrote(event.getPersistenceId(), event.getSequenceNr());
+            }
+
+            if (Objects.nonNull(frame.deletePersistenceId)) {
+                this.getState(frame.deletePersistenceId).deleted(frame.deleteToSequenceNr);
+                deleted = true;
+            }
+        }
+
+        // Group commit.
+        if (this.fsync) {
+            dirtySegments.forEach(s -> s.buffer.force());
+        }
+
+        if (deleted) {
+            this.removeDeletedSegments();
+        }
+        group.forEach(f -> f.future.complete(null));
+    }
+
+    private Segment append(byte[] body) throws IOException {
+        Segment segment = this.segments.get(this.segments.size() - 1);
+        if (segment.position + HEADER_SIZE + body.length > this.segmentSize) {
+            segment = this.rotate(segment.id + 1);
+        }
+
+        this.putFrame(segment, body);
+        return segment;
+    }
+
+    private void putFrame(Segment segment, byte[] body) {
+        CRC32 crc = new CRC32();
+        crc.update(body, 0, body.length);
+
+        ByteBuffer buffer = segment.buffer.duplicate();
+        buffer.position(segment.position + 4);
+        buffer.putInt((int) crc.getValue());
+        buffer.put(body);
+
+        // Length is written last, so a torn frame is skipped by crc or zero length.
+        buffer.putInt(segment.position, body.length);
+        segment.position = segment.position + HEADER_SIZE + body.length;
+    }
+
+    private Segment rotate(Long id) throws IOException {
+        Segment segment = this.openSegment(id);
+
+        // Checkpoint keeps sequence numbers after old segments are removed.
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 * (this.states.size() + 1));
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(TYPE_CHECKPOINT);
+            out.writeInt(this.states.size());
+            for (Map.Entry<String, PersistenceState> entry : this.states.entrySet()) {
+                writeUtf(out, entry.getKey());
+                out.writeLong(entry.getValue().highestSequenceNr);
+                out.writeLong(entry.getValue().deletedToSequenceNr);
+            }
+        }
+
+        this.putFrame(segment, bytes.toByteArray());
+        this.segments.add(segment);
+        return segment;
+    }
+
+    private void removeDeletedSegments() {
+        while (this.segments.size() > 1) {
+            Segment head = this.segments.get(0);
+            boolean allDeleted = head.maxSequenceNrs.entrySet().stream()
+                    .allMatch(e -> e.getValue() <= this.getState(e.getKey()).deletedToSequenceNr);
+            if (!allDeleted) {
+                return;
+            }
+
+            this.segments.remove(0);
+            this.removedSegments.add(head);
+        }
+
+        // Replaying segments are unmapped by next remove or close.
+        if (!this.removedSegments.isEmpty() && this.mappingLock.writeLock().tryLock()) {
+            try {
+                this.unmapRemovedSegments();
+            } finally {
+                this.mappingLock.writeLock().unlock();
+            }
+        }
+    }
+
+    private void unmapRemovedSegments() {
+        for (Segment segment : this.removedSegments) {
+            unmap(segment.buffer);
+            if (!segment.file.delete()) {
+                log.warn("Journal segment delete failed! file={}", segment.file);
+            }
+        }
+        this.removedSegments.clear();
+    }
+
+    /**
+     * Unmap buffer at once, mapped memory and file handle are released without waiting gc.
+     * Buffer must not be accessed after it.
+     *
+     * @param buffer mapped buffer
+     */
+    private static void unmap(MappedByteBuffer buffer) {
+        try {
+            try {
+                // Java 9+
+                Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+                Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+                Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+                theUnsafe.setAccessible(true);
+                invokeCleaner.invoke(theUnsafe.get(null), buffer);
+            } catch (NoSuchMethodException e) {
+                // Java 8
+                Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+                cleanerMethod.setAccessible(true);
+                Object cleaner = cleanerMethod.invoke(buffer);
+                if (Objects.nonNull(cleaner)) {
+                    cleaner.getClass().getMethod("clean").invoke(cleaner);
+                }
+            }
+        } catch (Throwable e) {
+            log.warn("Journal segment unmap failed! message={}", e.getMessage());
+        }
+    }
+
+    private void recover() throws IOException {
+        File[] files = Objects.requireNonNull(this.dir.listFiles((d, name) -> name.endsWith(SEGMENT_SUFFIX)));
+        Arrays.sort(files);
+
+        for (File file : files) {
+            Segment segment = this.openSegment(Long.parseLong(file.getName().replace(SEGMENT_SUFFIX, "")));
+            segment.position = this.scan(segment.buffer, this.segmentSize, (type, body) -> {
+                this.recoverFrame(segment, type, body);
+                return true;
+            });
+
+            // Clear torn frame.
+            ByteBuffer buffer = segment.buffer.duplicate();
+            if (segment.position + 4 <= this.segmentSize && buffer.getInt(segment.position) != 0) {
+                for (int i = segment.position; i < this.segmentSize; i++) {
+                    buffer.put(i, (byte) 0);
+                }
+            }
+            this.segments.add(segment);
+        }
+
+        if (this.segments.isEmpty()) {
+            this.rotate(1L);
+        }
+        log.info("Journal recovered! dir={} segments={} persistenceIds={}", this.dir, this.segments.size(), this.states.size());
+    }
+
+    private void recoverFrame(Segment segment, byte type, ByteBuffer body) {
+        if (type == TYPE_WRITE) {
+            int size = body.getInt();
+            for (int i = 0; i < size; i++) {
+                String persistenceId = readUtf(body);
+                long sequenceNr = body.getLong();
+                int length = body.getInt();
+                body.position(body.position() + length);
+                this.getState(persistenceId).wrote(sequenceNr);
+                segment.wrote(persistenceId, sequenceNr);
+            }
+        } else if (type == TYPE_DELETE) {
+            String persistenceId = readUtf(body);
+            this.getState(persistenceId).deleted(body.getLong());
+        } else if (type == TYPE_CHECKPOINT) {
+            int size = body.getInt();
+            for (int i = 0; i < size; i++) {
+                PersistenceState state = this.getState(readUtf(body));
+                state.wrote(body.getLong());
+                state.deleted(body.getLong());
+            }
+        }
+    }
+
+    /**
+     * Scan valid frames.
+     *
+     * @param mapped  mapped buffer
+     * @param limit   limit position
+     * @param visitor visitor, returns false to stop.
+     * @return end position of valid frames.
+     */
+    private int scan(MappedByteBuffer mapped, int limit, FrameVisitor visitor) {
+        ByteBuffer buffer = mapped.duplicate();
+        int position = 0;
+        CRC32 crc = new CRC32();
+        while (position + HEADER_SIZE <= limit) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || position + HEADER_SIZE + length > limit) {
+                break;
+            }
+
+            ByteBuffer body = buffer.duplicate();
+            body.limit(position + HEADER_SIZE + length);
+            body.position(position + HEADER_SIZE);
+            crc.reset();
+            crc.update(body.duplicate());
+            if ((int) crc.getValue() != buffer.getInt(position + 4)) {
+                break;
+            }
+
+            position += HEADER_SIZE + length;
+            if (!visitor.visit(body.get(), body)) {
+                break;
+            }
+        }
+        return position;
+    }
+
+    private Segment openSegment(Long id) throws IOException {
+        File file = new File(this.dir, String.format("%020d%s", id, SEGMENT_SUFFIX));
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(this.segmentSize);
+            MappedByteBuffer buffer = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, this.segmentSize);
+            return new Segment(id, file, buffer);
+        }
+    }
+
+    private PersistenceState getState(String persistenceId) {
+        return this.states.computeIfAbsent(persistenceId, k -> new PersistenceState());
+    }
+
+    private static void writeUtf(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readUtf(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Journal event.
+     */
+    public static class Event {
+        private final String persistenceId;
+        private final Long sequenceNr;
+        private final byte[] payload;
+
+        public Event(String persistenceId, Long sequenceNr, byte[] payload) {
+            this.persistenceId = persistenceId;
+            this.sequenceNr = sequenceNr;
+            this.payload = payload;
+        }
+
+        public String getPersistenceId() {
+            return persistenceId;
+        }
+
+        public Long getSequenceNr() {
+            return sequenceNr;
+        }
+
+        public byte[] getPayload() {
+            return payload;
+        }
+    }
+
+    private interface FrameVisitor {
+        boolean visit(byte type, ByteBuffer body);
+    }
+
+    private static class Segment {
+        private final Long id;
+        private final File file;
+        private final MappedByteBuffer buffer;
+
+        /**
+         * Max sequence number of persistence ids in segment, only used by writer.
+         */
+        private final Map<String, Long> maxSequenceNrs = new HashMap<>(4);
+
+        /**
+         * Write position, frames before it are readable.
+         */
+        private volatile int position;
+
+        private Segment(Long id, File file, MappedByteBuffer buffer) {
+            this.id = id;
+            this.file = file;
+            this.buffer = buffer;
+        }
+
+        private void wrote(String persistenceId, Long sequenceNr) {
+            this.maxSequenceNrs.merge(persistenceId, sequenceNr, Math::max);
+        }
+    }
+
+    private static class PersistenceState {
+        private volatile long highestSequenceNr;
+        private volatile long deletedToSequenceNr;
+
+        private void wrote(long sequenceNr) {
+            this.highestSequenceNr = Math.max(this.highestSequenceNr, sequenceNr);
+        }
+
+        private void deleted(long toSequenceNr) {
+            this.deletedToSequenceNr = Math.max(this.deletedToSequenceNr, toSequenceNr);
+        }
+    }
+
+    private static class PendingFrame {
+        private final byte[] body;
+        private final List<Event> events;
+        private final String deletePersistenceId;
+        private final Long deleteToSequenceNr;
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        private PendingFrame(byte[] body, List<Event> events, String deletePersistenceId, Long deleteToSequenceNr) {
+            this.body = body;
+            this.events = events;
+            this.deletePersistenceId = deletePersistenceId;
+            this.deleteToSequenceNr = deleteToSequenceNr;
+        }
+    }
+}
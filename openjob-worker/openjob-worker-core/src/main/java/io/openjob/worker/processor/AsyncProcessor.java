@@ -0,0 +1,36 @@
+package io.openjob.worker.processor;
+
+import io.openjob.worker.context.JobContext;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Async processor, the task thread is released once the work is started,
+ * and the task status is reported when the result future is completed.
+ *
+ * @author stelin swoft@qq.com
+ * @since 1.0.8
+ */
+public interface AsyncProcessor extends BaseProcessor {
+
+    /**
+     * Process async, cancel the result future to stop it.
+     *
+     * @param context job context.
+     * @return CompletableFuture
+     * @throws Exception exception.
+     */
+    CompletableFuture<ProcessResult> processAsync(JobContext context) throws Exception;
+
+    /**
+     * Process and wait the result.
+     *
+     * @param context job context.
+     * @return ProcessResult
+     * @throws Exception exception.
+     */
+    @Override
+    default ProcessResult process(JobContext context) throws Exception {
+        return this.processAsync(context).get();
+    }
+}
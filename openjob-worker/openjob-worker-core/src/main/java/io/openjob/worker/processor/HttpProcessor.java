@@ -0,0 +1,220 @@
+package io.openjob.worker.processor;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.openjob.common.constant.HttpMethodEnum;
+import io.openjob.common.constant.MediaTypeEnum;
+import io.openjob.common.constant.ResponseModeEnum;
+import io.openjob.common.constant.TaskStatusEnum;
+import io.openjob.common.dto.HttpProcessorDTO;
+import io.openjob.common.util.JsonUtil;
+import io.openjob.worker.config.OpenjobConfig;
+import io.openjob.worker.constant.WorkerConstant;
+import io.openjob.worker.context.JobContext;
+import io.openjob.worker.util.HttpAsyncClientUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.util.EntityUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Http processor, the request is sent by the shared non-blocking client,
+ * so the io is multiplexed on reactor threads and the pooled connections are reused by all jobs.
+ * The task thread is not blocked, the result is completed on the response.
+ *
+ * @author stelin swoft@qq.com
+ * @since 1.0.8
+ */
+@Slf4j
+public class HttpProcessor implements AsyncProcessor {
+    protected static final Logger logger = LoggerFactory.getLogger("openjob");
+
+    /**
+     * Max length of response in result.
+     */
+    protected static final Integer MAX_RESULT_LENGTH = 1024;
+
+    protected volatile CompletableFuture<HttpResponse> responseFuture;
+
+    @Override
+    public CompletableFuture<ProcessResult> processAsync(JobContext context) {
+        HttpProcessorDTO processorDTO = JsonUtil.decode(context.getProcessorInfo(), HttpProcessorDTO.class);
+
+        // Request
+        long timeout = this.getTimeout(processorDTO);
+        HttpRequestBase request = this.buildRequest(processorDTO, timeout);
+        logger.info("Http request method={} url={}", request.getMethod(), processorDTO.getUrl());
+        this.responseFuture = HttpAsyncClientUtil.execute(request, timeout);
+
+        // Response is handled on io reactor thread.
+        return this.responseFuture.handle((response, throwable) -> {
+            if (Objects.nonNull(throwable)) {
+                return this.getFailedResult(throwable);
+            }
+            return this.getResult(processorDTO, response);
+        });
+    }
+
+    @Override
+    public void stop(JobContext context) {
+        if (Objects.nonNull(this.responseFuture)) {
+            this.responseFuture.cancel(true);
+        }
+    }
+
+    /**
+     * Get result of response
+     *
+     * @param processorDTO processorDTO
+     * @param response     response
+     * @return ProcessResult
+     */
+    protected ProcessResult getResult(HttpProcessorDTO processorDTO, HttpResponse response) {
+        ProcessResult result = new ProcessResult(false);
+        int statusCode = response.getStatusLine().getStatusCode();
+        String body;
+        try {
+            body = Objects.isNull(response.getEntity()) ? "" : EntityUtils.toString(response.getEntity(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            result.setResult(String.format("Http response read failed! message=%s", e.getMessage()));
+            logger.error(result.getResult());
+            return result;
+        }
+        logger.info("Http response status={} body={}", statusCode, StringUtils.abbreviate(body, MAX_RESULT_LENGTH));
+
+        if (this.checkResponse(processorDTO, statusCode, body)) {
+            result.setStatus(TaskStatusEnum.SUCCESS);
+        }
+        result.setResult(StringUtils.abbreviate(body, MAX_RESULT_LENGTH));
+        return result;
+    }
+
+    /**
+     * Get result of failed request
+     *
+     * @param throwable throwable
+     * @return ProcessResult
+     */
+    protected ProcessResult getFailedResult(Throwable throwable) {
+        ProcessResult result = new ProcessResult(false);
+        Throwable cause = throwable instanceof CompletionException && Objects.nonNull(throwable.getCause()) ? throwable.getCause() : throwable;
+
+        // Stopped
+        if (cause instanceof CancellationException) {
+            result.setStatus(TaskStatusEnum.STOP);
+            result.setResult("Http request is cancelled!");
+            logger.warn(result.getResult());
+            return result;
+        }
+
+        // Timeout
+        if (cause instanceof TimeoutException) {
+            result.setResult(cause.getMessage());
+        } else {
+            result.setResult(String.format("Http request failed! message=%s", cause.getMessage()));
+        }
+        logger.error(result.getResult());
+        return result;
+    }
+
+    /**
+     * Build request
+     *
+     * @param processorDTO processorDTO
+     * @param timeout      timeout
+     * @return HttpRequestBase
+     */
+    protected HttpRequestBase buildRequest(HttpProcessorDTO processorDTO, long timeout) {
+        HttpRequestBase request;
+        if (HttpMethodEnum.JSON.getType().equalsIgnoreCase(processorDTO.getMethod())) {
+            HttpPost httpPost = new HttpPost(processorDTO.getUrl());
+            if (StringUtils.isNotEmpty(processorDTO.getBody())) {
+                String contentType = StringUtils.isEmpty(processorDTO.getContentType()) ? MediaTypeEnum.JSON.getType() : processorDTO.getContentType();
+                httpPost.setEntity(new StringEntity(processorDTO.getBody(), ContentType.create(contentType, StandardCharsets.UTF_8)));
+            }
+            request = httpPost;
+        } else {
+            request = new HttpGet(processorDTO.getUrl());
+        }
+
+        // Cookie
+        if (StringUtils.isNotEmpty(processorDTO.getCookie())) {
+            request.setHeader("Cookie", processorDTO.getCookie());
+        }
+        request.setHeader(HttpHeaders.CONNECTION, "keep-alive");
+
+        // Connection lease from pool has its own short timeout.
+        int timeoutMs = (int) Math.min(timeout, Integer.MAX_VALUE);
+        long leaseTimeout = OpenjobConfig.getLong(WorkerConstant.WORKER_HTTP_LEASE_TIMEOUT, WorkerConstant.DEFAULT_WORKER_HTTP_LEASE_TIMEOUT);
+        request.setConfig(RequestConfig.custom()
+                .setConnectTimeout(timeoutMs)
+                .setConnectionRequestTimeout((int) Math.min(leaseTimeout, timeoutMs))
+                .setSocketTimeout(timeoutMs)
+                .build());
+        return request;
+    }
+
+    /**
+     * Check response
+     *
+     * @param processorDTO processorDTO
+     * @param statusCode   statusCode
+     * @param body         body
+     * @return Boolean
+     */
+    protected Boolean checkResponse(HttpProcessorDTO processorDTO, int statusCode, String body) {
+        // Json
+        if (ResponseModeEnum.isJson(processorDTO.getResponseMode())) {
+            if (StringUtils.isBlank(processorDTO.getKey())) {
+                return false;
+            }
+
+            // Body not json is failed.
+            JsonNode node;
+            try {
+                node = JsonUtil.OBJECT_MAPPER.readTree(body);
+            } catch (IOException e) {
+                logger.error("Http response is not json! message={}", e.getMessage());
+                return false;
+            }
+            for (String field : StringUtils.split(processorDTO.getKey(), '.')) {
+                node = node.path(field);
+            }
+            return !node.isMissingNode() && Objects.equals(node.asText(), processorDTO.getValue());
+        }
+
+        // String
+        if (ResponseModeEnum.isString(processorDTO.getResponseMode())) {
+            return StringUtils.contains(body, processorDTO.getValue());
+        }
+
+        // Status
+        if (StringUtils.isBlank(processorDTO.getValue())) {
+            return statusCode >= 200 && statusCode < 300;
+        }
+        return String.valueOf(statusCode).equals(processorDTO.getValue().trim());
+    }
+
+    private long getTimeout(HttpProcessorDTO processorDTO) {
+        if (Objects.nonNull(processorDTO.getTimeout()) && processorDTO.getTimeout() > 0) {
+            return processorDTO.getTimeout();
+        }
+        return OpenjobConfig.getLong(WorkerConstant.WORKER_HTTP_TIMEOUT, WorkerConstant.DEFAULT_WORKER_HTTP_TIMEOUT);
+    }
+}
@@ -0,0 +1,296 @@
+package io.openjob.worker.processor;
+
+import io.openjob.worker.config.OpenjobConfig;
+import io.openjob.worker.constant.WorkerConstant;
+import io.openjob.worker.context.JobContext;
+import io.openjob.worker.util.ThreadLocalUtil;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Shared output pump of child processes.
+ * Process pipes are not selectable, so a few pump threads poll `available()` of all registered pipes
+ * and only read what is ready, one pump thread can serve many child processes without blocking.
+ *
+ * @author stelin swoft@qq.com
+ * @since 1.0.8
+ */
+@Slf4j
+public class ProcessOutputPump {
+    /**
+     * Max bytes of one line, longer line will be split on character boundary.
+     */
+    static final Integer MAX_LINE_BYTES = 64 * 1024;
+
+    /**
+     * Read buffer size.
+     */
+    private static final Integer READ_BUFFER_SIZE = 8 * 1024;
+
+    /**
+     * Max idle park time(ms).
+     */
+    private static final Long MAX_IDLE_PARK_MS = 20L;
+
+    /**
+     * Created after constants, pump threads read them when started.
+     */
+    public static final ProcessOutputPump INSTANCE = new ProcessOutputPump();
+
+    private final PumpThread[] pumpThreads;
+    private final AtomicInteger index = new AtomicInteger(0);
+
+    private ProcessOutputPump() {
+        int threadNum = OpenjobConfig.getInteger(WorkerConstant.WORKER_SHELL_PUMP_THREAD_NUM, WorkerConstant.DEFAULT_WORKER_SHELL_PUMP_THREAD_NUM);
+        this.pumpThreads = new PumpThread[Math.max(1, threadNum)];
+        for (int i = 0; i < this.pumpThreads.length; i++) {
+            this.pumpThreads[i] = new PumpThread(String.format("Openjob-process-pump-%d", i + 1));
+            this.pumpThreads[i].start();
+        }
+    }
+
+    /**
+     * Register process output.
+     *
+     * @param process      process
+     * @param inputStream  input stream
+     * @param charset      charset
+     * @param context      job context
+     * @param lineConsumer line consumer
+     * @return PumpHandle
+     */
+    public PumpHandle register(Process process, InputStream inputStream, Charset charset, JobContext context, Consumer<String> lineConsumer) {
+        PumpEntry entry = new PumpEntry(process, inputStream, charset, context, lineConsumer);
+        PumpThread pumpThread = this.pumpThreads[Math.abs(this.index.getAndIncrement() % this.pumpThreads.length)];
+        pumpThread.register(entry);
+        return entry;
+    }
+
+    /**
+     * Split position of bytes, an incomplete UTF-8 character at the end is not split.
+     *
+     * @param bytes   bytes
+     * @param length  length
+     * @param charset charset
+     * @return split position
+     */
+    static int lineBoundary(byte[] bytes, int length, Charset charset) {
+        if (!StandardCharsets.UTF_8.equals(charset) || length <= 0) {
+            return length;
+        }
+
+        // Lead byte of the last character, continuation bytes are 10xxxxxx.
+        int lead = length - 1;
+        while (lead > 0 && length - lead < 4 && (bytes[lead] & 0xC0) == 0x80) {
+            lead--;
+        }
+
+        int b = bytes[lead] & 0xFF;
+        int charBytes = b >= 0xF0 ? 4 : b >= 0xE0 ? 3 : b >= 0xC0 ? 2 : 1;
+        return lead > 0 && lead + charBytes > length ? lead : length;
+    }
+
+    /**
+     * Pump handle.
+     */
+    public interface PumpHandle {
+
+        /**
+         * Wait output drained.
+         *
+         * @param timeout timeout(ms)
+         * @return Boolean
+         * @throws InterruptedException InterruptedException
+         */
+        Boolean await(Long timeout) throws InterruptedException;
+
+        /**
+         * Cancel pump.
+         */
+        void cancel();
+    }
+
+    private static class PumpEntry implements PumpHandle {
+        private final Process process;
+        private final InputStream inputStream;
+        private final Charset charset;
+        private final JobContext context;
+        private final Consumer<String> lineConsumer;
+        private final ByteArrayOutputStream lineBuffer = new ByteArrayOutputStream(256);
+        private final CountDownLatch drained = new CountDownLatch(1);
+        private volatile boolean cancelled = false;
+
+        private PumpEntry(Process process, InputStream inputStream, Charset charset, JobContext context, Consumer<String> lineConsumer) {
+            this.process = process;
+            this.inputStream = inputStream;
+            this.charset = charset;
+            this.context = context;
+            this.lineConsumer = lineConsumer;
+        }
+
+        @Override
+        public Boolean await(Long timeout) throws InterruptedException {
+            return this.drained.await(timeout, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public void cancel() {
+            this.cancelled = true;
+        }
+
+        /**
+         * Read ready bytes.
+         *
+         * @param buffer buffer
+         * @return read bytes, -1 is finished.
+         */
+        private int pump(byte[] buffer) {
+            try {
+                int available = this.cancelled ? 0 : this.inputStream.available();
+                if (available <= 0) {
+                    // Process exited and pipe is drained.
+                    if (this.cancelled || !this.process.isAlive()) {
+                        this.finish();
+                        return -1;
+                    }
+                    return 0;
+                }
+
+                int read = this.inputStream.read(buffer, 0, Math.min(available, buffer.length));
+                if (read < 0) {
+                    this.finish();
+                    return -1;
+                }
+
+                for (int i = 0; i < read; i++) {
+                    // Line separator byte is the same for UTF-8 and GBK.
+                    if (buffer[i] == '\n') {
+                        this.flushLine();
+                        continue;
+                    }
+
+                    this.lineBuffer.write(buffer[i]);
+                    if (this.lineBuffer.size() >= MAX_LINE_BYTES) {
+                        this.splitLine();
+                    }
+                }
+                return read;
+            } catch (IOException e) {
+                log.warn("Process output pump read failed! message={}", e.getMessage());
+                this.finish();
+                return -1;
+            }
+        }
+
+        private void splitLine() {
+            byte[] bytes = this.lineBuffer.toByteArray();
+            int end = lineBoundary(bytes, bytes.length, this.charset);
+            this.lineBuffer.reset();
+            this.consumeLine(bytes, end);
+
+            // Incomplete character is kept for the next line.
+            this.lineBuffer.write(bytes, end, bytes.length - end);
+        }
+
+        private void flushLine() {
+            byte[] bytes = this.lineBuffer.toByteArray();
+            this.lineBuffer.reset();
+            this.consumeLine(bytes, bytes.length);
+        }
+
+        private void consumeLine(byte[] bytes, int length) {
+            String line = new String(bytes, 0, length, this.charset);
+
+            // Windows line separator
+            if (line.endsWith("\r")) {
+                line = line.substring(0, line.length() - 1);
+            }
+
+            ThreadLocalUtil.setJobContext(this.context);
+            try {
+                this.lineConsumer.accept(line);
+            } catch (Throwable throwable) {
+                log.error("Process output line consume failed!", throwable);
+            } finally {
+                ThreadLocalUtil.removeJobContext();
+            }
+        }
+
+        private void finish() {
+            if (this.lineBuffer.size() > 0) {
+                this.flushLine();
+            }
+
+            try {
+                this.inputStream.close();
+            } catch (IOException e) {
+                log.warn("Process output pump close failed! message={}", e.getMessage());
+            }
+            this.drained.countDown();
+        }
+    }
+
+    private static class PumpThread extends Thread {
+        private final Queue<PumpEntry> registering = new ConcurrentLinkedQueue<>();
+        private final List<PumpEntry> entries = new ArrayList<>();
+        private final byte[] buffer = new byte[READ_BUFFER_SIZE];
+
+        private PumpThread(String name) {
+            super(name);
+            this.setDaemon(true);
+        }
+
+        private void register(PumpEntry entry) {
+            this.registering.offer(entry);
+            LockSupport.unpark(this);
+        }
+
+        @Override
+        public void run() {
+            long idleParkMs = 1L;
+            while (!Thread.currentThread().isInterrupted()) {
+                PumpEntry newEntry;
+                while ((newEntry = this.registering.poll()) != null) {
+                    this.entries.add(newEntry);
+                }
+
+                // Read ready bytes of all entries
+                boolean progress = false;
+                Iterator<PumpEntry> iterator = this.entries.iterator();
+                while (iterator.hasNext()) {
+                    int read = iterator.next().pump(this.buffer);
+                    if (read < 0) {
+                        iterator.remove();
+                    } else if (read > 0) {
+                        progress = true;
+                    }
+                }
+
+                // Back off when idle, nothing registered to park until unpark.
+                if (progress) {
+                    idleParkMs = 1L;
+                } else if (this.entries.isEmpty()) {
+                    LockSupport.park(this);
+                } else {
+                    LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(idleParkMs));
+                    idleParkMs = Math.min(idleParkMs * 2, MAX_IDLE_PARK_MS);
+                }
+            }
+        }
+    }
+}
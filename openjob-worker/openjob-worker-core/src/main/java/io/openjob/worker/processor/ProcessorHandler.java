@@ -1,12 +1,20 @@
 package io.openjob.worker.processor;
 
-import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import io.openjob.worker.context.JobContext;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * @author stelin swoft@qq.com
@@ -21,6 +29,13 @@ public class ProcessorHandler implements JobProcessor {
     private Method postMethod;
     private Method stopMethod;
 
+    /**
+     * Method invokers, compiled once for every method.
+     */
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private final Map<Method, MethodHandle> methodInvokers = Maps.newConcurrentMap();
+
     public ProcessorHandler() {
     }
 
@@ -35,7 +50,27 @@ public class ProcessorHandler implements JobProcessor {
             return this.baseProcessor.process(context);
         }
 
-        return (ProcessResult) this.processMethod.invoke(this.target, this.getMethodParams(this.processMethod, context));
+        return (ProcessResult) this.invoke(this.processMethod, context);
+    }
+
+    /**
+     * Whether processor is async.
+     *
+     * @return Boolean
+     */
+    public Boolean isAsync() {
+        return this.baseProcessor instanceof AsyncProcessor;
+    }
+
+    /**
+     * Process async, only for async processor.
+     *
+     * @param context context
+     * @return CompletableFuture
+     * @throws Exception Exception
+     */
+    public CompletableFuture<ProcessResult> processAsync(JobContext context) throws Exception {
+        return ((AsyncProcessor) this.baseProcessor).processAsync(context);
     }
 
     @Override
@@ -49,7 +84,7 @@ public class ProcessorHandler implements JobProcessor {
         if (Objects.isNull(this.stopMethod)) {
             return;
         }
-        this.stopMethod.invoke(this.target, this.getMethodParams(this.stopMethod, context));
+        this.invoke(this.stopMethod, context);
     }
 
     @Override
@@ -63,40 +98,73 @@ public class ProcessorHandler implements JobProcessor {
         if (Objects.isNull(this.preMethod)) {
             return;
         }
-        this.preMethod.invoke(this.target, this.getMethodParams(this.preMethod, context));
+        this.invoke(this.preMethod, context);
     }
 
     @Override
     public ProcessResult postProcess(JobContext context) throws Exception {
         // Implement interface
         if (Objects.nonNull(this.baseProcessor)) {
-            return ((JobProcessor) this.baseProcessor).postProcess(context);
+            if (this.baseProcessor instanceof JobProcessor) {
+                return ((JobProcessor) this.baseProcessor).postProcess(context);
+            }
+            return new ProcessResult(true);
         }
 
         if (Objects.isNull(this.postMethod)) {
             return new ProcessResult(true);
         }
 
-        return (ProcessResult) this.postMethod.invoke(this.target, this.getMethodParams(this.postMethod, context));
+        return (ProcessResult) this.invoke(this.postMethod, context);
     }
 
     /**
-     * Get method params
+     * Invoke method.
+     * Exception is wrapped by `InvocationTargetException`, the same as reflection invoke.
      *
      * @param method  method
      * @param context context
-     * @return array
+     * @return Object
+     * @throws InvocationTargetException InvocationTargetException
+     */
+    private Object invoke(Method method, JobContext context) throws InvocationTargetException {
+        MethodHandle invoker = this.methodInvokers.computeIfAbsent(method, this::compileInvoker);
+        try {
+            return (Object) invoker.invokeExact(context);
+        } catch (Throwable throwable) {
+            throw new InvocationTargetException(throwable);
+        }
+    }
+
+    /**
+     * Compile method to `(JobContext)Object` invoker.
+     * `JobContext` parameter is bound to context, others are bound to default value.
+     *
+     * @param method method
+     * @return MethodHandle
      */
-    private Object[] getMethodParams(Method method, JobContext context) {
-        List<Object> args = Lists.newArrayList();
-        Class<?>[] parameterTypes = method.getParameterTypes();
-        for (Class<?> parameterType : parameterTypes) {
-            if (parameterType.equals(JobContext.class)) {
-                args.add(context);
-                continue;
+    private MethodHandle compileInvoker(Method method) {
+        try {
+            MethodHandle handle = MethodHandles.lookup().unreflect(method).bindTo(this.target);
+
+            // Bind default value from the end, so the index is not changed.
+            int contextNum = 0;
+            Class<?>[] parameterTypes = method.getParameterTypes();
+            for (int i = parameterTypes.length - 1; i >= 0; i--) {
+                if (parameterTypes[i].equals(JobContext.class)) {
+                    contextNum++;
+                    continue;
+                }
+
+                Object defaultValue = parameterTypes[i].isPrimitive() ? Array.get(Array.newInstance(parameterTypes[i], 1), 0) : null;
+                handle = MethodHandles.insertArguments(handle, i, defaultValue);
             }
-            args.add(null);
+
+            // All context parameters are the same one.
+            handle = MethodHandles.permuteArguments(handle, MethodType.methodType(handle.type().returnType(), JobContext.class), new int[contextNum]);
+            return handle.asType(MethodType.methodType(Object.class, JobContext.class));
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(String.format("Processor method compile failed! method=%s", method), e);
         }
-        return args.toArray();
     }
 }
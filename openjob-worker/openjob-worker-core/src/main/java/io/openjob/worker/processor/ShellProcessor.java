@@ -1,5 +1,6 @@
 package io.openjob.worker.processor;
 
+import com.google.common.util.concurrent.RateLimiter;
 import com.sun.jna.Pointer;
 import com.sun.jna.platform.win32.Kernel32;
 import com.sun.jna.platform.win32.WinNT;
@@ -7,8 +8,9 @@ import io.openjob.common.constant.ShellTypeEnum;
 import io.openjob.common.constant.TaskStatusEnum;
 import io.openjob.common.dto.ShellProcessorDTO;
 import io.openjob.common.util.JsonUtil;
+import io.openjob.worker.config.OpenjobConfig;
+import io.openjob.worker.constant.WorkerConstant;
 import io.openjob.worker.context.JobContext;
-import io.openjob.worker.util.ThreadLocalUtil;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -19,14 +21,12 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.UnsupportedEncodingException;
 import java.lang.reflect.Field;
+import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.LinkedBlockingDeque;
-import java.util.concurrent.ThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * @author stelin swoft@qq.com
@@ -36,10 +36,26 @@ import java.util.concurrent.TimeUnit;
 public class ShellProcessor implements JobProcessor {
 
     protected static final Logger logger = LoggerFactory.getLogger("openjob");
-    protected ExecutorService executorService;
+
+    /**
+     * Wait output drained after process exited(ms).
+     */
+    protected static final Long OUTPUT_DRAIN_TIMEOUT = 3000L;
+
+    protected ProcessOutputPump.PumpHandle pumpHandle;
     protected Process process;
     protected String type;
 
+    /**
+     * Log rate limiter, null is unlimited.
+     */
+    protected RateLimiter logRateLimiter;
+
+    /**
+     * Suppressed log lines.
+     */
+    protected final AtomicLong suppressedLines = new AtomicLong(0L);
+
     @Override
     public void preProcess(JobContext context) {
 
@@ -52,21 +68,26 @@ public class ShellProcessor implements JobProcessor {
         processBuilder.redirectErrorStream(true);
         this.process = processBuilder.start();
 
-        // Process stream
-        this.executorService = new ThreadPoolExecutor(
-                1,
-                1,
-                30,
-                TimeUnit.SECONDS,
-                new LinkedBlockingDeque<>(1),
-                r -> new Thread(r, "Openjob-shell-stream")
-        );
+        // Log rate
+        int logRate = OpenjobConfig.getInteger(WorkerConstant.WORKER_SHELL_LOG_RATE, WorkerConstant.DEFAULT_WORKER_SHELL_LOG_RATE);
+        if (logRate > 0) {
+            this.logRateLimiter = RateLimiter.create(logRate);
+        }
 
-        // Input stream and error stream
-        this.executorService.submit(new InputStreamRunnable(context, this.process.getInputStream(), this));
+        // Input stream and error stream are pumped by shared threads.
+        this.pumpHandle = ProcessOutputPump.INSTANCE.register(this.process, this.process.getInputStream(),
+                this.getCharset(), context, this::processStdout);
 
         // Waiting
-        if (this.process.waitFor() == 0) {
+        int exitCode = this.process.waitFor();
+
+        // Waiting output drained
+        if (!this.pumpHandle.await(OUTPUT_DRAIN_TIMEOUT)) {
+            this.pumpHandle.cancel();
+        }
+        this.flushSuppressedLines();
+
+        if (exitCode == 0) {
             result.setStatus(TaskStatusEnum.SUCCESS);
         }
         return result;
@@ -74,11 +95,6 @@ public class ShellProcessor implements JobProcessor {
 
     @Override
     public ProcessResult postProcess(JobContext context) {
-        try {
-            this.executorService.shutdown();
-        } catch (Throwable throwable) {
-            log.error("Shell processor post failed!", throwable);
-        }
         return ProcessResult.success();
     }
 
@@ -93,9 +109,9 @@ public class ShellProcessor implements JobProcessor {
                 this.process.destroy();
             }
 
-            // Executor service
-            if (Objects.nonNull(this.executorService)) {
-                this.executorService.shutdown();
+            // Output pump
+            if (Objects.nonNull(this.pumpHandle)) {
+                this.pumpHandle.cancel();
             }
         } catch (Throwable throwable) {
             logger.error("Processor stop failed!", throwable);
@@ -109,9 +125,32 @@ public class ShellProcessor implements JobProcessor {
      * @param message message
      */
     protected void processStdout(String message) {
+        // Unlimited
+        if (Objects.isNull(this.logRateLimiter)) {
+            logger.info(message);
+            return;
+        }
+
+        // Rate limited
+        if (!this.logRateLimiter.tryAcquire()) {
+            this.suppressedLines.incrementAndGet();
+            return;
+        }
+
+        this.flushSuppressedLines();
         logger.info(message);
     }
 
+    /**
+     * Flush suppressed lines
+     */
+    protected void flushSuppressedLines() {
+        long suppressed = this.suppressedLines.getAndSet(0L);
+        if (suppressed > 0) {
+            logger.warn("Shell output is rate limited, {} lines are suppressed!", suppressed);
+        }
+    }
+
     /**
      * Parse command
      *
@@ -293,42 +332,19 @@ public class ShellProcessor implements JobProcessor {
      * @throws UnsupportedEncodingException UnsupportedEncodingException
      */
     protected InputStreamReader getInputStreamReader(InputStream inputStream) throws UnsupportedEncodingException {
-        if (ShellTypeEnum.WINDOWS.getType().equals(this.type)) {
-            return new InputStreamReader(inputStream, "GBK");
-        }
-
-        return new InputStreamReader(inputStream, StandardCharsets.UTF_8);
+        return new InputStreamReader(inputStream, this.getCharset());
     }
 
-    protected static class InputStreamRunnable implements Runnable {
-        private final JobContext context;
-        private final InputStream inputStream;
-        private final ShellProcessor shellProcessor;
-
-        public InputStreamRunnable(JobContext context, InputStream inputStream, ShellProcessor shellProcessor) {
-            this.inputStream = inputStream;
-            this.context = context;
-            this.shellProcessor = shellProcessor;
+    /**
+     * Get output charset
+     *
+     * @return Charset
+     */
+    protected Charset getCharset() {
+        if (ShellTypeEnum.WINDOWS.getType().equals(this.type)) {
+            return Charset.forName("GBK");
         }
 
-        @Override
-        public void run() {
-            // Init context
-            ThreadLocalUtil.setJobContext(this.context);
-
-            try {
-                String line;
-                BufferedReader br = new BufferedReader(this.shellProcessor.getInputStreamReader(this.inputStream));
-                while (!Thread.currentThread().isInterrupted() && (line = br.readLine()) != null) {
-                    this.shellProcessor.processStdout(line);
-                }
-            } catch (Throwable e) {
-                logger.error("ShellProcessor reader stream", e);
-                log.error("ShellProcessor reader stream", e);
-            } finally {
-                // Clear context
-                ThreadLocalUtil.removeJobContext();
-            }
-        }
+        return StandardCharsets.UTF_8;
     }
 }
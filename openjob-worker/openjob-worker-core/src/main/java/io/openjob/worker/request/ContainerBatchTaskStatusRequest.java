@@ -1,16 +1,18 @@
 package io.openjob.worker.request;
 
+import io.openjob.common.request.JobInstanceRequest;
 import lombok.Data;
 
 import java.io.Serializable;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * @author stelin swoft@qq.com
  * @since 1.0.0
  */
 @Data
-public class ContainerBatchTaskStatusRequest implements Serializable {
+public class ContainerBatchTaskStatusRequest implements Serializable, JobInstanceRequest {
     private Long jobId;
     private Long jobInstanceId;
     private Long circleId;
@@ -18,4 +20,30 @@ public class ContainerBatchTaskStatusRequest implements Serializable {
     private String masterActorPath;
     private Long deliveryId;
     private List<ContainerTaskStatusRequest> taskStatusList;
+
+    /**
+     * Compact status list, fields shared with batch are only sent once in batch.
+     */
+    public void compact() {
+        this.taskStatusList.forEach(s -> {
+            s.setJobId(null);
+            s.setJobInstanceId(null);
+            s.setWorkerAddress(null);
+            s.setMasterActorPath(null);
+        });
+    }
+
+    /**
+     * Restore status list after compacted.
+     */
+    public void restore() {
+        this.taskStatusList.forEach(s -> {
+            if (Objects.isNull(s.getJobInstanceId())) {
+                s.setJobId(this.jobId);
+                s.setJobInstanceId(this.jobInstanceId);
+                s.setWorkerAddress(this.workerAddress);
+                s.setMasterActorPath(this.masterActorPath);
+            }
+        });
+    }
 }
@@ -1,5 +1,6 @@
 package io.openjob.worker.request;
 
+import io.openjob.common.request.JobInstanceRequest;
 import lombok.Data;
 
 import java.io.Serializable;
@@ -10,7 +11,7 @@ import java.util.List;
  * @since 1.0.0
  */
 @Data
-public class MasterBatchStartContainerRequest implements Serializable {
+public class MasterBatchStartContainerRequest implements Serializable, JobInstanceRequest {
     private Long jobInstanceId;
     private Long jobId;
     private List<MasterStartContainerRequest> startContainerRequests;
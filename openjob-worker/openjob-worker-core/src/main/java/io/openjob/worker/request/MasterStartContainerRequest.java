@@ -2,6 +2,7 @@ package io.openjob.worker.request;
 
 import io.openjob.common.constant.CommonConstant;
 import io.openjob.common.constant.TaskConstant;
+import io.openjob.common.request.JobInstanceRequest;
 import io.openjob.common.util.TaskUtil;
 import lombok.Data;
 import org.apache.commons.lang3.math.NumberUtils;
@@ -14,7 +15,7 @@ import java.util.List;
  * @since 1.0.0
  */
 @Data
-public class MasterStartContainerRequest implements Serializable {
+public class MasterStartContainerRequest implements Serializable, JobInstanceRequest {
     private Long jobId;
 
     private Long jobInstanceId;
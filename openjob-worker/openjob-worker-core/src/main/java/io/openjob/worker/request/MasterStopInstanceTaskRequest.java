@@ -1,5 +1,6 @@
 package io.openjob.worker.request;
 
+import io.openjob.common.request.JobInstanceRequest;
 import lombok.Data;
 
 import java.io.Serializable;
@@ -9,7 +10,7 @@ import java.io.Serializable;
  * @since 1.0.7
  */
 @Data
-public class MasterStopInstanceTaskRequest implements Serializable {
+public class MasterStopInstanceTaskRequest implements Serializable, JobInstanceRequest {
 
     /**
      * Delivery id
@@ -1,5 +1,7 @@
 package io.openjob.worker.task;
 
+import akka.actor.ActorRef;
+import io.openjob.common.constant.TaskStatusEnum;
 import io.openjob.common.task.BaseConsumer;
 import io.openjob.common.task.TaskQueue;
 import io.openjob.worker.init.WorkerActorSystem;
@@ -15,27 +17,46 @@ import java.util.stream.Collectors;
  * @since 1.0.0
  */
 public class ContainerTaskStatusConsumer extends BaseConsumer<ContainerTaskStatusRequest> {
+    private final Boolean terminalOnly;
 
+    /**
+     * New container task status consumer.
+     *
+     * @param id                    id
+     * @param consumerCoreThreadNum consumerCoreThreadNum
+     * @param consumerMaxThreadNum  consumerMaxThreadNum
+     * @param consumerThreadName    consumerThreadName
+     * @param pollSize              max statuses of a batch
+     * @param pollThreadName        pollThreadName
+     * @param queues                queues
+     * @param linger                max wait(ms) to fill a batch after a partial one
+     * @param terminalOnly          only finish statuses are delivered at least once
+     */
     public ContainerTaskStatusConsumer(Long id,
                                        Integer consumerCoreThreadNum,
                                        Integer consumerMaxThreadNum,
                                        String consumerThreadName,
                                        Integer pollSize,
                                        String pollThreadName,
-                                       TaskQueue<ContainerTaskStatusRequest> queues) {
-        super(id, consumerCoreThreadNum, consumerMaxThreadNum, consumerThreadName, pollSize, pollThreadName, queues);
+                                       TaskQueue<ContainerTaskStatusRequest> queues,
+                                       Long linger,
+                                       Boolean terminalOnly) {
+        super(id, consumerCoreThreadNum, consumerMaxThreadNum, consumerThreadName, pollSize, pollThreadName, queues, 1000L, linger);
+        this.terminalOnly = terminalOnly;
     }
 
     @Override
     public void consume(Long id, List<ContainerTaskStatusRequest> tasks) {
-        consumerExecutor.submit(new TaskStatusConsumerRunnable(tasks));
+        consumerExecutor.submit(new TaskStatusConsumerRunnable(tasks, this.terminalOnly));
     }
 
     private static class TaskStatusConsumerRunnable implements Runnable {
         private final List<ContainerTaskStatusRequest> taskList;
+        private final Boolean terminalOnly;
 
-        public TaskStatusConsumerRunnable(List<ContainerTaskStatusRequest> taskList) {
+        public TaskStatusConsumerRunnable(List<ContainerTaskStatusRequest> taskList, Boolean terminalOnly) {
             this.taskList = taskList;
+            this.terminalOnly = terminalOnly;
         }
 
         @Override
@@ -43,19 +64,42 @@ public class ContainerTaskStatusConsumer extends BaseConsumer<ContainerTaskStatu
             Map<Long, List<ContainerTaskStatusRequest>> groupTaskList = taskList.stream()
                     .collect(Collectors.groupingBy(ContainerTaskStatusRequest::getJobInstanceId));
 
-
             for (Map.Entry<Long, List<ContainerTaskStatusRequest>> entry : groupTaskList.entrySet()) {
-                ContainerTaskStatusRequest firstTask = entry.getValue().get(0);
-                ContainerBatchTaskStatusRequest batchRequest = new ContainerBatchTaskStatusRequest();
-                batchRequest.setJobId(firstTask.getJobId());
-                batchRequest.setJobInstanceId(firstTask.getJobInstanceId());
-                batchRequest.setWorkerAddress(firstTask.getWorkerAddress());
-                batchRequest.setMasterActorPath(firstTask.getMasterActorPath());
-                batchRequest.setCircleId(firstTask.getCircleId());
-                batchRequest.setTaskStatusList(entry.getValue());
-
-                WorkerActorSystem.atLeastOnceDelivery(batchRequest, null);
+                // At least once for all statuses.
+                if (!this.terminalOnly) {
+                    WorkerActorSystem.atLeastOnceDelivery(this.batchRequest(entry.getValue()), null);
+                    continue;
+                }
+
+                // Finish statuses are at least once, running statuses are fire-and-forget.
+                // Master only moves init to running, so a late running status is ignored.
+                Map<Boolean, List<ContainerTaskStatusRequest>> finishMap = entry.getValue().stream()
+                        .collect(Collectors.partitioningBy(s -> TaskStatusEnum.FINISH_LIST.contains(s.getStatus())));
+                if (!finishMap.get(true).isEmpty()) {
+                    WorkerActorSystem.atLeastOnceDelivery(this.batchRequest(finishMap.get(true)), null);
+                }
+
+                if (!finishMap.get(false).isEmpty()) {
+                    ContainerBatchTaskStatusRequest batchRequest = this.batchRequest(finishMap.get(false));
+                    WorkerActorSystem.getActorSystem().actorSelection(batchRequest.getMasterActorPath())
+                            .tell(batchRequest, ActorRef.noSender());
+                }
             }
         }
+
+        private ContainerBatchTaskStatusRequest batchRequest(List<ContainerTaskStatusRequest> statusList) {
+            ContainerTaskStatusRequest firstTask = statusList.get(0);
+            ContainerBatchTaskStatusRequest batchRequest = new ContainerBatchTaskStatusRequest();
+            batchRequest.setJobId(firstTask.getJobId());
+            batchRequest.setJobInstanceId(firstTask.getJobInstanceId());
+            batchRequest.setWorkerAddress(firstTask.getWorkerAddress());
+            batchRequest.setMasterActorPath(firstTask.getMasterActorPath());
+            batchRequest.setCircleId(firstTask.getCircleId());
+            batchRequest.setTaskStatusList(statusList);
+
+            // Shared fields are sent once in batch.
+            batchRequest.compact();
+            return batchRequest;
+        }
     }
 }
@@ -5,7 +5,10 @@ import io.openjob.common.task.TaskQueue;
 import io.openjob.worker.dao.TaskDAO;
 import io.openjob.worker.entity.Task;
 import io.openjob.worker.exception.BatchUpdateStatusException;
+import io.openjob.worker.master.AbstractDistributeTaskMaster;
 import io.openjob.worker.master.DistributeStatusHandler;
+import io.openjob.worker.master.TaskMaster;
+import io.openjob.worker.master.TaskMasterPool;
 import io.openjob.worker.request.ContainerTaskStatusRequest;
 import lombok.extern.slf4j.Slf4j;
 
@@ -43,7 +46,15 @@ public class DistributeStatusConsumer extends BaseConsumer<ContainerTaskStatusRe
 
         @Override
         public void run() {
-            statusList.stream().collect(Collectors.groupingBy(ContainerTaskStatusRequest::getStatus))
+            // Group by instance and circle, status counters is kept by every circle.
+            statusList.stream().collect(Collectors.groupingBy(ContainerTaskStatusRequest::getJobInstanceId))
+                    .forEach((instanceId, instanceList) -> instanceList.stream()
+                            .collect(Collectors.groupingBy(ContainerTaskStatusRequest::getCircleId))
+                            .forEach((circleId, circleList) -> this.updateCircleStatus(instanceId, circleId, circleList)));
+        }
+
+        private void updateCircleStatus(Long instanceId, Long circleId, List<ContainerTaskStatusRequest> circleList) {
+            circleList.stream().collect(Collectors.groupingBy(ContainerTaskStatusRequest::getStatus))
                     .forEach((status, requestList) -> {
                         List<Task> updateList = requestList.stream().map(r -> {
                             String taskUniqueId = r.getTaskUniqueId();
@@ -51,7 +62,13 @@ public class DistributeStatusConsumer extends BaseConsumer<ContainerTaskStatusRe
                         }).collect(Collectors.toList());
 
                         try {
-                            TaskDAO.INSTANCE.batchUpdateStatusByTaskId(updateList, status);
+                            Integer rows = TaskDAO.INSTANCE.batchUpdateStatusByTaskId(updateList, status);
+
+                            // Notify task master with effect rows.
+                            TaskMaster taskMaster = TaskMasterPool.get(instanceId);
+                            if (taskMaster instanceof AbstractDistributeTaskMaster) {
+                                ((AbstractDistributeTaskMaster) taskMaster).onTaskStatusChanged(circleId, status, rows);
+                            }
                         } catch (BatchUpdateStatusException e) {
                             DistributeStatusHandler.handle(requestList);
                             log.warn("Batch update status failed, will be retry.");
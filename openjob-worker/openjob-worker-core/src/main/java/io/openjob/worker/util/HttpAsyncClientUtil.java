@@ -0,0 +1,156 @@
+package io.openjob.worker.util;
+
+import io.openjob.worker.config.OpenjobConfig;
+import io.openjob.worker.constant.WorkerConstant;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+
+import java.io.IOException;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Shared non-blocking http client, connections are pooled and kept alive per route.
+ *
+ * @author stelin swoft@qq.com
+ * @since 1.0.8
+ */
+@Slf4j
+public class HttpAsyncClientUtil {
+
+    /**
+     * Http async client
+     */
+    private static volatile CloseableHttpAsyncClient httpAsyncClient;
+
+    /**
+     * Timeout scheduler, cancelled timers are removed at once.
+     */
+    private static final ScheduledThreadPoolExecutor TIMEOUT_SCHEDULER = createTimeoutScheduler();
+
+    /**
+     * Execute request, the response is completed on io reactor thread.
+     *
+     * @param request request
+     * @return CompletableFuture
+     */
+    public static CompletableFuture<HttpResponse> execute(HttpUriRequest request) {
+        CompletableFuture<HttpResponse> future = new CompletableFuture<>();
+        Future<HttpResponse> requestFuture = getHttpAsyncClient().execute(request, new FutureCallback<HttpResponse>() {
+            @Override
+            public void completed(HttpResponse result) {
+                future.complete(result);
+            }
+
+            @Override
+            public void failed(Exception ex) {
+                future.completeExceptionally(ex);
+            }
+
+            @Override
+            public void cancelled() {
+                future.cancel(false);
+            }
+        });
+
+        // Abort request when cancelled or timeout by caller.
+        future.whenComplete((r, e) -> {
+            if (Objects.nonNull(e) && !requestFuture.isDone()) {
+                requestFuture.cancel(true);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Execute request with total timeout, the future is completed by `TimeoutException` without blocking.
+     *
+     * @param request request
+     * @param timeout timeout(ms)
+     * @return CompletableFuture
+     */
+    public static CompletableFuture<HttpResponse> execute(HttpUriRequest request, long timeout) {
+        CompletableFuture<HttpResponse> future = execute(request);
+        ScheduledFuture<?> timer = TIMEOUT_SCHEDULER.schedule(
+                () -> future.completeExceptionally(new TimeoutException(String.format("Http request timeout! timeout=%dms", timeout))),
+                timeout, TimeUnit.MILLISECONDS);
+        future.whenComplete((r, e) -> timer.cancel(false));
+        return future;
+    }
+
+    /**
+     * Close
+     */
+    public static synchronized void close() {
+        if (Objects.nonNull(httpAsyncClient)) {
+            try {
+                httpAsyncClient.close();
+            } catch (IOException e) {
+                log.warn("Http async client close failed! message={}", e.getMessage());
+            }
+            httpAsyncClient = null;
+        }
+    }
+
+    private static CloseableHttpAsyncClient getHttpAsyncClient() {
+        if (Objects.isNull(httpAsyncClient)) {
+            synchronized (HttpAsyncClientUtil.class) {
+                if (Objects.isNull(httpAsyncClient)) {
+                    httpAsyncClient = createHttpAsyncClient();
+                }
+            }
+        }
+        return httpAsyncClient;
+    }
+
+    private static ScheduledThreadPoolExecutor createTimeoutScheduler() {
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread thread = new Thread(r, "Openjob-http-timeout");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.setRemoveOnCancelPolicy(true);
+        return scheduler;
+    }
+
+    private static CloseableHttpAsyncClient createHttpAsyncClient() {
+        try {
+            IOReactorConfig ioReactorConfig = IOReactorConfig.custom()
+                    .setIoThreadCount(OpenjobConfig.getInteger(WorkerConstant.WORKER_HTTP_IO_THREAD_NUM, WorkerConstant.DEFAULT_WORKER_HTTP_IO_THREAD_NUM))
+                    .setSoKeepAlive(true)
+                    .build();
+
+            // Connection pool
+            PoolingNHttpClientConnectionManager connectionManager = new PoolingNHttpClientConnectionManager(new DefaultConnectingIOReactor(ioReactorConfig));
+            connectionManager.setMaxTotal(OpenjobConfig.getInteger(WorkerConstant.WORKER_HTTP_MAX_CONNECTIONS, WorkerConstant.DEFAULT_WORKER_HTTP_MAX_CONNECTIONS));
+            connectionManager.setDefaultMaxPerRoute(OpenjobConfig.getInteger(WorkerConstant.WORKER_HTTP_MAX_PER_ROUTE, WorkerConstant.DEFAULT_WORKER_HTTP_MAX_PER_ROUTE));
+
+            // Keep alive, use server `Keep-Alive` header first.
+            Long keepAlive = OpenjobConfig.getLong(WorkerConstant.WORKER_HTTP_KEEP_ALIVE, WorkerConstant.DEFAULT_WORKER_HTTP_KEEP_ALIVE);
+            CloseableHttpAsyncClient client = HttpAsyncClients.custom()
+                    .setConnectionManager(connectionManager)
+                    .setKeepAliveStrategy((response, context) -> {
+                        long duration = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                        return duration > 0 ? Math.min(duration, keepAlive) : keepAlive;
+                    })
+                    .build();
+            client.start();
+            return client;
+        } catch (IOException e) {
+            throw new RuntimeException("Http async client create failed!", e);
+        }
+    }
+}
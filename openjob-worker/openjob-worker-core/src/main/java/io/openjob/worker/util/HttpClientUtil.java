@@ -8,11 +8,14 @@ import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
 import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.apache.http.util.EntityUtils;
 
 import java.io.IOException;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author stelin swoft@qq.com
@@ -26,7 +29,15 @@ public class HttpClientUtil {
     private static final CloseableHttpClient HTTP_CLIENT;
 
     static {
-        HTTP_CLIENT = HttpClients.createDefault();
+        // Pooled connections are kept alive and reused.
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(32);
+        connectionManager.setDefaultMaxPerRoute(8);
+        HTTP_CLIENT = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setKeepAliveStrategy(DefaultConnectionKeepAliveStrategy.INSTANCE)
+                .evictIdleConnections(30, TimeUnit.SECONDS)
+                .build();
     }
 
     /**
@@ -1,16 +1,21 @@
 package io.openjob.worker.util;
 
+import com.google.common.collect.Maps;
 import io.openjob.common.OpenjobSpringContext;
 import io.openjob.worker.processor.BaseProcessor;
 import io.openjob.worker.processor.ProcessorHandler;
 import io.openjob.worker.processor.ProcessorHandlerMapping;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.context.ApplicationContext;
 import io.openjob.worker.processor.ShellProcessor;
 import io.openjob.worker.processor.KettleProcessor;
+import io.openjob.worker.processor.HttpProcessor;
 
 import java.lang.reflect.Constructor;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
 
 /**
  * @author stelin swoft@qq.com
@@ -18,6 +23,17 @@ import java.util.Objects;
  */
 @Slf4j
 public class ProcessorUtil {
+
+    /**
+     * Processor suppliers by name, every name is only resolved once.
+     */
+    private static final ConcurrentMap<String, Supplier<ProcessorHandler>> PROCESSOR_SUPPLIERS = Maps.newConcurrentMap();
+
+    /**
+     * Default processor constructors by processor type.
+     */
+    private static final ConcurrentMap<String, Constructor<? extends BaseProcessor>> DEFAULT_PROCESSOR_CONSTRUCTORS = Maps.newConcurrentMap();
+
     /**
      * Get processor.
      *
@@ -25,31 +41,85 @@ public class ProcessorUtil {
      * @return BaseProcessor
      */
     public static ProcessorHandler getProcessor(String className) {
+        Supplier<ProcessorHandler> supplier = PROCESSOR_SUPPLIERS.get(className);
+        if (Objects.isNull(supplier)) {
+            supplier = resolveProcessor(className);
+
+            // Not cache missing processor, it may be registered later.
+            if (Objects.isNull(supplier)) {
+                return null;
+            }
+            PROCESSOR_SUPPLIERS.putIfAbsent(className, supplier);
+        }
+        return supplier.get();
+    }
+
+    /**
+     * Get default processor
+     *
+     * @param processorType processorType
+     * @return ProcessorHandler
+     * @see ShellProcessor
+     * @see KettleProcessor
+     * @see HttpProcessor
+     */
+    public static ProcessorHandler getDefaultProcessor(String processorType) {
+        try {
+            Constructor<? extends BaseProcessor> constructor = DEFAULT_PROCESSOR_CONSTRUCTORS.get(processorType);
+            if (Objects.isNull(constructor)) {
+                String className = String.format("io.openjob.worker.processor.%sProcessor", StringUtils.capitalize(processorType));
+                @SuppressWarnings("unchecked")
+                Constructor<? extends BaseProcessor> typeConstructor = ((Class<? extends BaseProcessor>) Class.forName(className))
+                        .getConstructor();
+                constructor = typeConstructor;
+                DEFAULT_PROCESSOR_CONSTRUCTORS.putIfAbsent(processorType, constructor);
+            }
+
+            // Default processor has state, so new one every time.
+            BaseProcessor baseProcessor = constructor.newInstance();
+            return new ProcessorHandler(baseProcessor);
+        } catch (Throwable e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Resolve processor supplier.
+     *
+     * @param className class name.
+     * @return Supplier
+     */
+    private static Supplier<ProcessorHandler> resolveProcessor(String className) {
         // Spring context
-        ProcessorHandler processorHandler = null;
-        if (Objects.nonNull(OpenjobSpringContext.getApplicationContext())) {
+        ApplicationContext applicationContext = OpenjobSpringContext.getApplicationContext();
+        if (Objects.nonNull(applicationContext)) {
             try {
                 // Bean name
-                Object obj = OpenjobSpringContext.getBean(className);
+                Object obj = applicationContext.getBean(className);
                 if (obj instanceof BaseProcessor) {
-                    return new ProcessorHandler((BaseProcessor) obj);
+                    // Prototype bean must be got every time.
+                    if (!applicationContext.isSingleton(className)) {
+                        return () -> new ProcessorHandler((BaseProcessor) applicationContext.getBean(className));
+                    }
+
+                    ProcessorHandler processorHandler = new ProcessorHandler((BaseProcessor) obj);
+                    return () -> processorHandler;
                 }
             } catch (Throwable ex) {
                 // @Openjob annotation for method
-                processorHandler = ProcessorHandlerMapping.getProcessorHandler(className);
+                ProcessorHandler processorHandler = ProcessorHandlerMapping.getProcessorHandler(className);
+                if (Objects.nonNull(processorHandler)) {
+                    return () -> processorHandler;
+                }
             }
         }
 
-        // Not find from spring context
-        if (Objects.nonNull(processorHandler)) {
-            return processorHandler;
-        }
-
         try {
             // Load from class name.
-            Object o = Class.forName(className).getDeclaredConstructor().newInstance();
-            if (o instanceof BaseProcessor) {
-                return new ProcessorHandler((BaseProcessor) o);
+            Class<?> processorClass = Class.forName(className);
+            if (BaseProcessor.class.isAssignableFrom(processorClass)) {
+                Constructor<?> constructor = processorClass.getDeclaredConstructor();
+                return () -> newProcessorHandler(className, constructor);
             }
         } catch (Throwable e) {
             log.error(String.format("Processor load failed! processor=%s", className), e);
@@ -57,24 +127,12 @@ public class ProcessorUtil {
         return null;
     }
 
-    /**
-     * Get default processor
-     *
-     * @param processorType processorType
-     * @return ProcessorHandler
-     * @see ShellProcessor
-     * @see KettleProcessor
-     */
-    public static ProcessorHandler getDefaultProcessor(String processorType) {
+    private static ProcessorHandler newProcessorHandler(String className, Constructor<?> constructor) {
         try {
-            String className = String.format("io.openjob.worker.processor.%sProcessor", StringUtils.capitalize(processorType));
-            @SuppressWarnings("unchecked")
-            Constructor<? extends BaseProcessor> constructor = ((Class<? extends BaseProcessor>) Class.forName(className))
-                    .getConstructor();
-            BaseProcessor baseProcessor = constructor.newInstance();
-            return new ProcessorHandler(baseProcessor);
+            return new ProcessorHandler((BaseProcessor) constructor.newInstance());
         } catch (Throwable e) {
-            throw new RuntimeException(e);
+            log.error(String.format("Processor load failed! processor=%s", className), e);
+            return null;
         }
     }
 }
@@ -5,6 +5,7 @@ import io.openjob.common.constant.AkkaConstant;
 import io.openjob.worker.config.OpenjobConfig;
 import io.openjob.worker.constant.WorkerAkkaConstant;
 import io.openjob.worker.constant.WorkerConstant;
+import io.openjob.worker.init.ServerSlotContext;
 import io.openjob.worker.init.WorkerActorSystem;
 import io.openjob.worker.init.WorkerConfig;
 import io.openjob.worker.init.WorkerContext;
@@ -13,6 +14,7 @@ import org.springframework.util.CollectionUtils;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ThreadLocalRandom;
 
@@ -54,6 +56,17 @@ public class WorkerUtil {
         return WorkerActorSystem.getActorSystem().actorSelection(getServerActorPath(address, AkkaConstant.SERVER_ACTOR_WORKER_INSTANCE));
     }
 
+    /**
+     * Server job instance actor owning the slots, fallback to current server.
+     *
+     * @param slotsId slotsId
+     * @return ActorSelection
+     */
+    public static ActorSelection getServerWorkerJobInstanceActor(Long slotsId) {
+        String address = getServerAddress(slotsId);
+        return WorkerActorSystem.getActorSystem().actorSelection(getServerActorPath(address, AkkaConstant.SERVER_ACTOR_WORKER_INSTANCE));
+    }
+
     public static ActorSelection getServerWorkerJobInstanceTaskLogActor() {
         String address = getServerAddress();
         return WorkerActorSystem.getActorSystem().actorSelection(getServerActorPath(address, AkkaConstant.SERVER_ACTOR_WORKER_INSTANCE_TASK_LOG));
@@ -96,6 +109,17 @@ public class WorkerUtil {
         return String.format("%s:%d", WorkerConfig.getServerHost(), WorkerConfig.getServerPort());
     }
 
+    /**
+     * Get server address owning the slots.
+     *
+     * @param slotsId slotsId
+     * @return String
+     */
+    public static String getServerAddress(Long slotsId) {
+        String address = ServerSlotContext.getServerAddress(slotsId);
+        return Objects.isNull(address) ? getServerAddress() : address;
+    }
+
     public static String getWorkerActorPath(String address, String path) {
         return String.format("akka://%s@%s%s", AkkaConstant.WORKER_SYSTEM_NAME, address, path);
     }
@@ -0,0 +1,39 @@
+package io.openjob.worker.actor;
+
+import io.openjob.common.request.ServerBatchCheckTaskMasterRequest;
+import io.openjob.common.request.ServerStopJobInstanceRequest;
+import io.openjob.worker.request.ContainerBatchTaskStatusRequest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+/**
+ * @author stelin swoft@qq.com
+ * @since 1.0.8
+ */
+public class JobInstanceHashMapperTest {
+    @Test
+    public void testHashKey() {
+        JobInstanceHashMapper mapper = new JobInstanceHashMapper();
+
+        // Requests of one job instance have the same key.
+        ServerStopJobInstanceRequest stopRequest = new ServerStopJobInstanceRequest();
+        stopRequest.setJobInstanceId(100L);
+        ContainerBatchTaskStatusRequest statusRequest = new ContainerBatchTaskStatusRequest();
+        statusRequest.setJobInstanceId(100L);
+        Assertions.assertEquals(100L, mapper.hashKey(stopRequest));
+        Assertions.assertEquals(mapper.hashKey(stopRequest), mapper.hashKey(statusRequest));
+
+        statusRequest.setJobInstanceId(101L);
+        Assertions.assertNotEquals(mapper.hashKey(stopRequest), mapper.hashKey(statusRequest));
+
+        // Other messages are hashed by type.
+        ServerBatchCheckTaskMasterRequest checkRequest = new ServerBatchCheckTaskMasterRequest();
+        checkRequest.setJobInstanceIds(Arrays.asList(100L, 101L));
+        ServerBatchCheckTaskMasterRequest otherCheckRequest = new ServerBatchCheckTaskMasterRequest();
+        otherCheckRequest.setJobInstanceIds(Arrays.asList(102L));
+        Assertions.assertEquals(ServerBatchCheckTaskMasterRequest.class.getName(), mapper.hashKey(checkRequest));
+        Assertions.assertEquals(mapper.hashKey(checkRequest), mapper.hashKey(otherCheckRequest));
+    }
+}
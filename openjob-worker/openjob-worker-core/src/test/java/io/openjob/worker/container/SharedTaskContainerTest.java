@@ -0,0 +1,190 @@
+package io.openjob.worker.container;
+
+import io.openjob.common.constant.JobInstanceStopEnum;
+import io.openjob.common.constant.ProcessorTypeEnum;
+import io.openjob.worker.context.JobContext;
+import io.openjob.worker.processor.AsyncProcessor;
+import io.openjob.worker.processor.JavaProcessor;
+import io.openjob.worker.processor.ProcessResult;
+import io.openjob.worker.request.MasterStartContainerRequest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @author stelin swoft@qq.com
+ * @since 1.0.8
+ */
+public class SharedTaskContainerTest {
+    private static final AtomicLong TASK_ID = new AtomicLong();
+    private static volatile CountDownLatch latch = new CountDownLatch(0);
+    private static final AtomicInteger STARTED = new AtomicInteger();
+    private static final Queue<CompletableFuture<ProcessResult>> ASYNC_FUTURES = new ConcurrentLinkedQueue<>();
+
+    @Test
+    public void testExecute() throws InterruptedException {
+        latch = new CountDownLatch(1);
+        STARTED.set(0);
+        int baseSize = TaskContainerManager.INSTANCE.getTaskSize();
+        SharedTaskContainer container = new SharedTaskContainer(newStartRequest(2));
+        for (int i = 0; i < 4; i++) {
+            container.execute(newJobContext());
+        }
+
+        // Concurrency is bound by permits, the rest tasks are pending.
+        Assertions.assertEquals(baseSize + 4, TaskContainerManager.INSTANCE.getTaskSize());
+        this.waitFor(() -> STARTED.get() == 2);
+        TimeUnit.MILLISECONDS.sleep(100);
+        Assertions.assertEquals(2, STARTED.get());
+
+        // All tasks are removed when done.
+        latch.countDown();
+        this.waitFor(() -> TaskContainerManager.INSTANCE.getTaskSize() == baseSize);
+        Assertions.assertEquals(4, STARTED.get());
+        container.destroy();
+    }
+
+    @Test
+    public void testStop() {
+        latch = new CountDownLatch(1);
+        STARTED.set(0);
+        int baseSize = TaskContainerManager.INSTANCE.getTaskSize();
+        SharedTaskContainer container = new SharedTaskContainer(newStartRequest(1));
+        for (int i = 0; i < 3; i++) {
+            container.execute(newJobContext());
+        }
+        this.waitFor(() -> STARTED.get() == 1);
+
+        // Active task is interrupted and pending tasks are cancelled.
+        container.stop(JobInstanceStopEnum.NORMAL.getType());
+        this.waitFor(() -> TaskContainerManager.INSTANCE.getTaskSize() == baseSize);
+        Assertions.assertEquals(1, STARTED.get());
+
+        // Destroyed container runs nothing.
+        container.execute(newJobContext());
+        Assertions.assertEquals(baseSize, TaskContainerManager.INSTANCE.getTaskSize());
+        Assertions.assertEquals(1, STARTED.get());
+        latch.countDown();
+    }
+
+    @Test
+    public void testThreadContainerDestroy() {
+        latch = new CountDownLatch(1);
+        STARTED.set(0);
+        int baseSize = TaskContainerManager.INSTANCE.getTaskSize();
+        ThreadTaskContainer container = new ThreadTaskContainer(newStartRequest(1));
+        for (int i = 0; i < 3; i++) {
+            container.execute(newJobContext());
+        }
+        this.waitFor(() -> STARTED.get() == 1);
+        Assertions.assertEquals(baseSize + 3, TaskContainerManager.INSTANCE.getTaskSize());
+
+        // Drained tasks are removed.
+        container.destroy();
+        this.waitFor(() -> TaskContainerManager.INSTANCE.getTaskSize() == baseSize);
+        Assertions.assertEquals(1, STARTED.get());
+        latch.countDown();
+    }
+
+    @Test
+    public void testAsyncConcurrency() throws InterruptedException {
+        STARTED.set(0);
+        int baseSize = TaskContainerManager.INSTANCE.getTaskSize();
+        ThreadTaskContainer container = new ThreadTaskContainer(newStartRequest(2));
+        for (int i = 0; i < 4; i++) {
+            JobContext jobContext = newJobContext();
+            jobContext.setProcessorInfo(AsyncBlockingProcessor.class.getName());
+            container.execute(jobContext);
+        }
+
+        // In-flight async futures are bound by concurrency though task threads are released.
+        this.waitFor(() -> STARTED.get() == 2);
+        TimeUnit.MILLISECONDS.sleep(100);
+        Assertions.assertEquals(2, STARTED.get());
+
+        // Completed future releases permit to next task.
+        ASYNC_FUTURES.poll().complete(new ProcessResult(true));
+        this.waitFor(() -> STARTED.get() == 3);
+        TimeUnit.MILLISECONDS.sleep(100);
+        Assertions.assertEquals(3, STARTED.get());
+
+        // All tasks are removed when done.
+        this.waitFor(() -> {
+            CompletableFuture<ProcessResult> future = ASYNC_FUTURES.poll();
+            if (Objects.nonNull(future)) {
+                future.complete(new ProcessResult(true));
+            }
+            return TaskContainerManager.INSTANCE.getTaskSize() == baseSize;
+        });
+        Assertions.assertEquals(4, STARTED.get());
+        container.destroy();
+    }
+
+    private void waitFor(java.util.function.BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 5000L;
+        while (!condition.getAsBoolean()) {
+            Assertions.assertTrue(System.currentTimeMillis() < deadline, "Wait timeout!");
+            try {
+                TimeUnit.MILLISECONDS.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private static MasterStartContainerRequest newStartRequest(Integer concurrency) {
+        MasterStartContainerRequest startRequest = new MasterStartContainerRequest();
+        startRequest.setJobId(1L);
+        startRequest.setJobInstanceId(TASK_ID.incrementAndGet());
+        startRequest.setTaskId(1L);
+        startRequest.setConcurrency(concurrency);
+        return startRequest;
+    }
+
+    private static JobContext newJobContext() {
+        JobContext jobContext = new JobContext();
+        jobContext.setJobId(1L);
+        jobContext.setJobInstanceId(1L);
+        jobContext.setDispatchVersion(1L);
+        jobContext.setCircleId(1L);
+        jobContext.setTaskId(TASK_ID.incrementAndGet());
+        jobContext.setFailAttemptTimes(1);
+        jobContext.setProcessorType(ProcessorTypeEnum.PROCESSOR.getType());
+        jobContext.setProcessorInfo(BlockingProcessor.class.getName());
+        return jobContext;
+    }
+
+    /**
+     * Processor blocked until latch is released.
+     */
+    public static class BlockingProcessor implements JavaProcessor {
+        @Override
+        public ProcessResult process(JobContext context) throws Exception {
+            STARTED.incrementAndGet();
+            latch.await();
+            return new ProcessResult(true);
+        }
+    }
+
+    /**
+     * Async processor completed by test.
+     */
+    public static class AsyncBlockingProcessor implements AsyncProcessor {
+        @Override
+        public CompletableFuture<ProcessResult> processAsync(JobContext context) {
+            STARTED.incrementAndGet();
+            CompletableFuture<ProcessResult> future = new CompletableFuture<>();
+            ASYNC_FUTURES.offer(future);
+            return future;
+        }
+    }
+}
@@ -159,4 +159,39 @@ public class TaskDAOTest {
         Set<Long> collect = getList.stream().map(Task::getJobId).collect(Collectors.toSet());
         Assertions.assertEquals(collect.size(), testSize);
     }
+
+    @Test
+    public void testGetListAfterId() {
+        long instanceId = 13L;
+        long circleId = 0L;
+        List<Task> taskList = new ArrayList<>();
+        for (long i = 0; i < 50; i++) {
+            Task task = new Task();
+            task.setJobId(i);
+            task.setInstanceId(instanceId);
+            task.setDispatchVersion(1L);
+            task.setMapTaskId(1L);
+            task.setCircleId(circleId);
+            task.setTaskId("afterIdTaskId" + i);
+            task.setTaskName("ROOT");
+            task.setTaskParentId(String.valueOf(0));
+            task.setStatus(1);
+            task.setWorkerAddress("");
+            taskList.add(task);
+        }
+        TaskDAO.INSTANCE.batchAdd(taskList);
+
+        // Rows are not deleted, pages are read by cursor.
+        List<Task> getList = new ArrayList<>();
+        long lastId = 0L;
+        List<Task> queryList;
+        while (!(queryList = TaskDAO.INSTANCE.getListAfterId(instanceId, circleId, lastId, 7L)).isEmpty()) {
+            getList.addAll(queryList);
+            lastId = queryList.get(queryList.size() - 1).getId();
+        }
+
+        Assertions.assertEquals(50, getList.size());
+        Assertions.assertEquals(50, getList.stream().map(Task::getJobId).collect(Collectors.toSet()).size());
+        Assertions.assertEquals(50, TaskDAO.INSTANCE.getList(instanceId, circleId, 100L).size());
+    }
 }
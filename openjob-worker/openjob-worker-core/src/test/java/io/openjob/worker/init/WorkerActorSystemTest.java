@@ -0,0 +1,34 @@
+package io.openjob.worker.init;
+
+import akka.routing.ConsistentHashingPool;
+import akka.routing.Pool;
+import akka.routing.RoundRobinPool;
+import io.openjob.worker.config.OpenjobConfig;
+import io.openjob.worker.constant.WorkerAkkaConstant;
+import io.openjob.worker.constant.WorkerConstant;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author stelin swoft@qq.com
+ * @since 1.0.8
+ */
+public class WorkerActorSystemTest {
+    @Test
+    public void testGetTaskRouter() {
+        // Default
+        Pool pool = WorkerActorSystem.getTaskRouter(4);
+        Assertions.assertTrue(pool instanceof RoundRobinPool);
+        Assertions.assertEquals(4, pool.nrOfInstances(null));
+
+        // Consistent hashing
+        OpenjobConfig.setConfig(WorkerConstant.WORKER_TASK_ACTOR_ROUTER, WorkerAkkaConstant.ROUTER_CONSISTENT_HASHING);
+        try {
+            pool = WorkerActorSystem.getTaskRouter(8);
+            Assertions.assertTrue(pool instanceof ConsistentHashingPool);
+            Assertions.assertEquals(8, pool.nrOfInstances(null));
+        } finally {
+            OpenjobConfig.removeConfig(WorkerConstant.WORKER_TASK_ACTOR_ROUTER);
+        }
+    }
+}
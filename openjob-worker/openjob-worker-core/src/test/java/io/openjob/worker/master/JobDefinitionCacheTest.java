@@ -0,0 +1,34 @@
+package io.openjob.worker.master;
+
+import io.openjob.common.request.ServerSubmitJobInstanceRequest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author stelin swoft@qq.com
+ * @since 1.0.8
+ */
+public class JobDefinitionCacheTest {
+    @Test
+    public void testVersion() {
+        ServerSubmitJobInstanceRequest submitReq = new ServerSubmitJobInstanceRequest();
+        submitReq.setJobId(1L);
+        submitReq.setJobVersion(10L);
+        submitReq.setProcessorType("java");
+        Assertions.assertFalse(submitReq.withoutDefinition());
+        JobDefinitionCache.put(submitReq);
+
+        Assertions.assertEquals("java", JobDefinitionCache.get(1L, 10L).getProcessorType());
+        Assertions.assertNull(JobDefinitionCache.get(1L, 11L));
+        Assertions.assertNull(JobDefinitionCache.get(2L, 10L));
+
+        // Versions of the same job are both cached.
+        ServerSubmitJobInstanceRequest newReq = new ServerSubmitJobInstanceRequest();
+        newReq.setJobId(1L);
+        newReq.setJobVersion(11L);
+        newReq.setProcessorType("shell");
+        JobDefinitionCache.put(newReq);
+        Assertions.assertEquals("java", JobDefinitionCache.get(1L, 10L).getProcessorType());
+        Assertions.assertEquals("shell", JobDefinitionCache.get(1L, 11L).getProcessorType());
+    }
+}
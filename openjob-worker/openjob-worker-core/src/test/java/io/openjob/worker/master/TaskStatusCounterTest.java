@@ -0,0 +1,48 @@
+package io.openjob.worker.master;
+
+import io.openjob.common.constant.TaskStatusEnum;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author stelin swoft@qq.com
+ * @since 1.0.8
+ */
+public class TaskStatusCounterTest {
+    @Test
+    public void testBalanced() {
+        TaskStatusCounter counter = new TaskStatusCounter();
+        Assertions.assertTrue(counter.isBalanced(1L));
+
+        counter.created(1L, 3L);
+        counter.changed(1L, TaskStatusEnum.RUNNING.getStatus(), 3L);
+        Assertions.assertFalse(counter.isBalanced(1L));
+
+        counter.changed(1L, TaskStatusEnum.SUCCESS.getStatus(), 2L);
+        Assertions.assertFalse(counter.isBalanced(1L));
+        Assertions.assertFalse(counter.hasFailed(1L));
+
+        counter.changed(1L, TaskStatusEnum.FAILED.getStatus(), 1L);
+        Assertions.assertTrue(counter.isBalanced(1L));
+        Assertions.assertTrue(counter.hasFailed(1L));
+
+        // Other circle
+        counter.created(2L, 1L);
+        Assertions.assertFalse(counter.isBalanced(2L));
+
+        counter.remove(1L);
+        Assertions.assertFalse(counter.hasFailed(1L));
+    }
+
+    @Test
+    public void testRedundantDeleted() {
+        TaskStatusCounter counter = new TaskStatusCounter();
+        counter.created(1L, 3L);
+        counter.changed(1L, TaskStatusEnum.SUCCESS.getStatus(), 2L);
+        Assertions.assertFalse(counter.isBalanced(1L));
+
+        // Redundant map task is deleted.
+        counter.created(1L, -1L);
+        Assertions.assertTrue(counter.isBalanced(1L));
+    }
+}
@@ -0,0 +1,166 @@
+package io.openjob.worker.persistence.journal;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author stelin swoft@qq.com
+ * @since 1.0.8
+ */
+@Slf4j
+public class MappedJournalStoreTest {
+    private static final int SEGMENT_SIZE = 64 * 1024 * 1024;
+    private static final byte[] PAYLOAD = new byte[64];
+
+    @Test
+    public void testRecover() throws Exception {
+        File dir = Files.createTempDirectory("openjob-journal").toFile();
+        try {
+            try (MappedJournalStore store = new MappedJournalStore(dir, SEGMENT_SIZE, true)) {
+                for (long i = 1; i <= 100; i += 2) {
+                    List<MappedJournalStore.Event> events = new ArrayList<>();
+                    events.add(new MappedJournalStore.Event("a", i, PAYLOAD));
+                    events.add(new MappedJournalStore.Event("a", i + 1, PAYLOAD));
+                    store.write(events);
+                }
+                store.delete("a", 40L).join();
+            }
+
+            try (MappedJournalStore store = new MappedJournalStore(dir, SEGMENT_SIZE, true)) {
+                Assertions.assertEquals(100L, store.highestSequenceNr("a"));
+                Assertions.assertEquals(0L, store.highestSequenceNr("b"));
+
+                List<Long> replayed = new ArrayList<>();
+                store.replay("a", 1L, Long.MAX_VALUE, Long.MAX_VALUE, e -> replayed.add(e.getSequenceNr()));
+                Assertions.assertEquals(60, replayed.size());
+                Assertions.assertEquals(41L, replayed.get(0));
+
+                replayed.clear();
+                store.replay("a", 50L, 90L, 5L, e -> replayed.add(e.getSequenceNr()));
+                Assertions.assertEquals(5, replayed.size());
+                Assertions.assertEquals(50L, replayed.get(0));
+            }
+        } finally {
+            this.delete(dir);
+        }
+    }
+
+    @Test
+    public void testSegmentRemove() throws Exception {
+        File dir = Files.createTempDirectory("openjob-journal").toFile();
+        try {
+            int segmentSize = 64 * 1024;
+            try (MappedJournalStore store = new MappedJournalStore(dir, segmentSize, false)) {
+                CompletableFuture<Void> last = null;
+                for (long i = 1; i <= 5000; i++) {
+                    last = store.write(Collections.singletonList(new MappedJournalStore.Event("a", i, PAYLOAD)));
+                }
+                last.join();
+                int segmentCount = store.getSegmentCount();
+                Assertions.assertTrue(segmentCount > 1);
+
+                // Confirmed segments are removed.
+                store.delete("a", 4000L).join();
+                Assertions.assertTrue(store.getSegmentCount() < segmentCount);
+                store.delete("a", 5000L).join();
+                Assertions.assertEquals(1, store.getSegmentCount());
+
+                // Removed segments are unmapped and their files deleted.
+                Assertions.assertEquals(1, Objects.requireNonNull(dir.listFiles()).length);
+            }
+
+            // Sequence number is kept by checkpoint.
+            try (MappedJournalStore store = new MappedJournalStore(dir, segmentSize, false)) {
+                Assertions.assertEquals(5000L, store.highestSequenceNr("a"));
+                List<Long> replayed = new ArrayList<>();
+                store.replay("a", 1L, Long.MAX_VALUE, Long.MAX_VALUE, e -> replayed.add(e.getSequenceNr()));
+                Assertions.assertTrue(replayed.isEmpty());
+            }
+        } finally {
+            this.delete(dir);
+        }
+    }
+
+    @Test
+    @Disabled("Benchmark of 2M fsync writes, run manually.")
+    public void testBenchmark() throws Exception {
+        int total = 1_000_000;
+        int producers = 4;
+        int confirmBatch = 1000;
+
+        // Every delivery is written, then confirmed by deleting in batches.
+        File dir = Files.createTempDirectory("openjob-journal").toFile();
+        long start = System.nanoTime();
+        try (MappedJournalStore store = new MappedJournalStore(dir, SEGMENT_SIZE, true)) {
+            ExecutorService executorService = Executors.newFixedThreadPool(producers);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                String persistenceId = "persistence-" + p;
+                futures.add(executorService.submit(() -> {
+                    CompletableFuture<Void> last = null;
+                    for (long seq = 1; seq <= total / producers; seq++) {
+                        last = store.write(Collections.singletonList(new MappedJournalStore.Event(persistenceId, seq, PAYLOAD)));
+                        if (seq % confirmBatch == 0) {
+                            last.join();
+                            store.delete(persistenceId, seq);
+                        }
+                    }
+                    return last.join();
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(5, TimeUnit.MINUTES);
+            }
+            executorService.shutdown();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        // Recover 1M unconfirmed events.
+        File recoverDir = Files.createTempDirectory("openjob-journal").toFile();
+        try (MappedJournalStore store = new MappedJournalStore(recoverDir, SEGMENT_SIZE, false)) {
+            CompletableFuture<Void> last = null;
+            for (long seq = 1; seq <= total; seq++) {
+                last = store.write(Collections.singletonList(new MappedJournalStore.Event("persistence-0", seq, PAYLOAD)));
+            }
+            last.join();
+        }
+
+        long recoverStart = System.nanoTime();
+        long[] replayed = {0};
+        try (MappedJournalStore store = new MappedJournalStore(recoverDir, SEGMENT_SIZE, false)) {
+            store.replay("persistence-0", 1L, Long.MAX_VALUE, Long.MAX_VALUE, e -> replayed[0]++);
+        }
+        long recoverMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - recoverStart);
+
+        log.info("Mapped journal: confirmed deliveries={}/s (1M, fsync group commit), recovery and replay of 1M events={}ms",
+                (long) (total / seconds), recoverMs);
+        Assertions.assertEquals(total, replayed[0]);
+        this.delete(dir);
+        this.delete(recoverDir);
+    }
+
+    private void delete(File dir) throws IOException {
+        File[] files = dir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                Files.deleteIfExists(file.toPath());
+            }
+        }
+        Files.deleteIfExists(dir.toPath());
+    }
+}
@@ -0,0 +1,141 @@
+package io.openjob.worker.processor;
+
+import com.sun.net.httpserver.HttpServer;
+import io.openjob.common.constant.HttpMethodEnum;
+import io.openjob.common.constant.ResponseModeEnum;
+import io.openjob.common.constant.TaskStatusEnum;
+import io.openjob.common.dto.HttpProcessorDTO;
+import io.openjob.common.util.JsonUtil;
+import io.openjob.worker.context.JobContext;
+import io.openjob.worker.util.HttpAsyncClientUtil;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author stelin swoft@qq.com
+ * @since 1.0.8
+ */
+public class HttpProcessorTest {
+    private static HttpServer server;
+    private static String url;
+
+    @BeforeAll
+    public static void startServer() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/ok", exchange -> {
+            byte[] body = "{\"code\":0,\"data\":{\"status\":\"ok\"}}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        });
+        server.createContext("/text", exchange -> {
+            byte[] body = "ok".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        });
+        server.createContext("/slow", exchange -> {
+            try {
+                Thread.sleep(2000L);
+            } catch (InterruptedException ignored) {
+            }
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.setExecutor(Executors.newFixedThreadPool(8));
+        server.start();
+        url = String.format("http://127.0.0.1:%d", server.getAddress().getPort());
+    }
+
+    @AfterAll
+    public static void stopServer() {
+        server.stop(0);
+        HttpAsyncClientUtil.close();
+    }
+
+    @Test
+    public void testProcess() throws Exception {
+        HttpProcessorDTO processorDTO = new HttpProcessorDTO();
+        processorDTO.setUrl(url + "/ok");
+        processorDTO.setMethod(HttpMethodEnum.FORM.getType());
+        processorDTO.setResponseMode(ResponseModeEnum.HTTP_JSON.getMode());
+        processorDTO.setKey("data.status");
+        processorDTO.setValue("ok");
+
+        JobContext context = new JobContext();
+        context.setProcessorInfo(JsonUtil.encode(processorDTO));
+        ProcessResult result = new HttpProcessor().process(context);
+        Assertions.assertEquals(TaskStatusEnum.SUCCESS, result.getStatus());
+
+        // Not matched
+        processorDTO.setValue("failed");
+        context.setProcessorInfo(JsonUtil.encode(processorDTO));
+        result = new HttpProcessor().process(context);
+        Assertions.assertEquals(TaskStatusEnum.FAILED, result.getStatus());
+
+        // Not json
+        processorDTO.setUrl(url + "/text");
+        processorDTO.setValue("ok");
+        context.setProcessorInfo(JsonUtil.encode(processorDTO));
+        result = new HttpProcessor().process(context);
+        Assertions.assertEquals(TaskStatusEnum.FAILED, result.getStatus());
+        Assertions.assertEquals("ok", result.getResult());
+    }
+
+    @Test
+    public void testProcessAsync() throws Exception {
+        HttpProcessorDTO processorDTO = new HttpProcessorDTO();
+        processorDTO.setUrl(url + "/slow");
+        processorDTO.setMethod(HttpMethodEnum.FORM.getType());
+        processorDTO.setTimeout(200L);
+
+        // Not blocked by the request.
+        JobContext context = new JobContext();
+        context.setProcessorInfo(JsonUtil.encode(processorDTO));
+        CompletableFuture<ProcessResult> future = new HttpProcessor().processAsync(context);
+        Assertions.assertFalse(future.isDone());
+
+        // Timeout
+        ProcessResult result = future.get(5, TimeUnit.SECONDS);
+        Assertions.assertEquals(TaskStatusEnum.FAILED, result.getStatus());
+        Assertions.assertTrue(result.getResult().contains("timeout"));
+
+        // Stop
+        processorDTO.setTimeout(5000L);
+        context.setProcessorInfo(JsonUtil.encode(processorDTO));
+        HttpProcessor processor = new HttpProcessor();
+        future = processor.processAsync(context);
+        processor.stop(context);
+        result = future.get(5, TimeUnit.SECONDS);
+        Assertions.assertEquals(TaskStatusEnum.STOP, result.getStatus());
+    }
+
+    @Test
+    public void testConcurrentRequests() throws Exception {
+        int total = 2000;
+        List<CompletableFuture<HttpResponse>> futures = new ArrayList<>(total);
+        for (int i = 0; i < total; i++) {
+            futures.add(HttpAsyncClientUtil.execute(new HttpGet(url + "/ok")));
+        }
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(60, TimeUnit.SECONDS);
+        for (CompletableFuture<HttpResponse> future : futures) {
+            Assertions.assertEquals(200, future.get().getStatusLine().getStatusCode());
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package io.openjob.worker.processor;
+
+import io.openjob.worker.context.JobContext;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * @author stelin swoft@qq.com
+ * @since 1.0.8
+ */
+public class ProcessOutputPumpTest {
+    @Test
+    public void testLines() throws Exception {
+        List<String> lines = this.pump("first\nsecond\r\nthird".getBytes(StandardCharsets.UTF_8));
+        Assertions.assertEquals(Arrays.asList("first", "second", "third"), lines);
+    }
+
+    @Test
+    public void testSplitLongLine() throws Exception {
+        // The 3 bytes character crosses the max line bytes.
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < ProcessOutputPump.MAX_LINE_BYTES - 1; i++) {
+            builder.append('a');
+        }
+        String head = builder.toString();
+        List<String> lines = this.pump((head + "中文\n").getBytes(StandardCharsets.UTF_8));
+
+        Assertions.assertEquals(Arrays.asList(head, "中文"), lines);
+    }
+
+    @Test
+    public void testLineBoundary() {
+        byte[] bytes = "a中".getBytes(StandardCharsets.UTF_8);
+
+        // Complete and incomplete last character.
+        Assertions.assertEquals(4, ProcessOutputPump.lineBoundary(bytes, 4, StandardCharsets.UTF_8));
+        Assertions.assertEquals(1, ProcessOutputPump.lineBoundary(bytes, 3, StandardCharsets.UTF_8));
+        Assertions.assertEquals(1, ProcessOutputPump.lineBoundary(bytes, 2, StandardCharsets.UTF_8));
+        Assertions.assertEquals(1, ProcessOutputPump.lineBoundary(bytes, 1, StandardCharsets.UTF_8));
+
+        // Only one incomplete character is not split.
+        byte[] single = "中".getBytes(StandardCharsets.UTF_8);
+        Assertions.assertEquals(2, ProcessOutputPump.lineBoundary(single, 2, StandardCharsets.UTF_8));
+    }
+
+    private List<String> pump(byte[] output) throws InterruptedException {
+        List<String> lines = Collections.synchronizedList(new ArrayList<>());
+        InputStream inputStream = new ByteArrayInputStream(output);
+        ProcessOutputPump.PumpHandle handle = ProcessOutputPump.INSTANCE.register(new ExitedProcess(inputStream),
+                inputStream, StandardCharsets.UTF_8, new JobContext(), lines::add);
+
+        Assertions.assertTrue(handle.await(3000L));
+        return lines;
+    }
+
+    private static class ExitedProcess extends Process {
+        private final InputStream inputStream;
+
+        private ExitedProcess(InputStream inputStream) {
+            this.inputStream = inputStream;
+        }
+
+        @Override
+        public OutputStream getOutputStream() {
+            return new ByteArrayOutputStream();
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            return this.inputStream;
+        }
+
+        @Override
+        public InputStream getErrorStream() {
+            return new ByteArrayInputStream(new byte[0]);
+        }
+
+        @Override
+        public int waitFor() {
+            return 0;
+        }
+
+        @Override
+        public int exitValue() {
+            return 0;
+        }
+
+        @Override
+        public void destroy() {
+        }
+    }
+}
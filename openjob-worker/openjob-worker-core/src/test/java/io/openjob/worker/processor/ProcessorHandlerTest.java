@@ -0,0 +1,120 @@
+package io.openjob.worker.processor;
+
+import io.openjob.common.constant.TaskStatusEnum;
+import io.openjob.worker.context.JobContext;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @author stelin swoft@qq.com
+ * @since 1.0.8
+ */
+public class ProcessorHandlerTest {
+    @Test
+    public void testDefaultValues() throws Exception {
+        Target target = new Target();
+        ProcessorHandler handler = newHandler(target);
+        handler.setProcessMethod(Target.class.getMethod("process", int.class, JobContext.class, String.class, boolean.class, long.class, double.class));
+
+        // Not context parameters are default values.
+        JobContext context = new JobContext();
+        ProcessResult result = handler.process(context);
+        Assertions.assertEquals(TaskStatusEnum.SUCCESS, result.getStatus());
+        Assertions.assertEquals(Arrays.asList(0, context, null, false, 0L, 0D), target.args);
+    }
+
+    @Test
+    public void testMultipleContexts() throws Exception {
+        Target target = new Target();
+        ProcessorHandler handler = newHandler(target);
+        handler.setProcessMethod(Target.class.getMethod("contexts", JobContext.class, String.class, JobContext.class));
+
+        // All context parameters are the same one.
+        JobContext context = new JobContext();
+        handler.process(context);
+        Assertions.assertEquals(3, target.args.size());
+        Assertions.assertSame(context, target.args.get(0));
+        Assertions.assertNull(target.args.get(1));
+        Assertions.assertSame(context, target.args.get(2));
+    }
+
+    @Test
+    public void testReturnTypes() throws Exception {
+        Target target = new Target();
+        ProcessorHandler handler = newHandler(target);
+
+        // Primitive return value is boxed and ignored.
+        handler.setPreMethod(Target.class.getMethod("count", JobContext.class));
+        handler.preProcess(new JobContext());
+        Assertions.assertEquals(1, target.args.size());
+
+        // Void return
+        handler.setStopMethod(Target.class.getMethod("stop", JobContext.class));
+        handler.stop(new JobContext());
+        Assertions.assertEquals(2, target.args.size());
+
+        // No post method
+        Assertions.assertEquals(TaskStatusEnum.SUCCESS, handler.postProcess(new JobContext()).getStatus());
+    }
+
+    @Test
+    public void testException() throws Exception {
+        Target target = new Target();
+        ProcessorHandler handler = newHandler(target);
+
+        // Exception is wrapped, the same as reflection invoke.
+        handler.setProcessMethod(Target.class.getMethod("fail", JobContext.class));
+        InvocationTargetException exception = Assertions.assertThrows(InvocationTargetException.class, () -> handler.process(new JobContext()));
+        Assertions.assertTrue(exception.getTargetException() instanceof IllegalStateException);
+
+        // Checked exception, interrupted is a stop.
+        handler.setProcessMethod(Target.class.getMethod("interrupted", JobContext.class));
+        exception = Assertions.assertThrows(InvocationTargetException.class, () -> handler.process(new JobContext()));
+        Assertions.assertTrue(exception.getTargetException() instanceof InterruptedException);
+    }
+
+    private static ProcessorHandler newHandler(Target target) {
+        ProcessorHandler handler = new ProcessorHandler();
+        handler.setTarget(target);
+        return handler;
+    }
+
+    /**
+     * Annotated processor target.
+     */
+    public static class Target {
+        private final List<Object> args = new ArrayList<>();
+
+        public ProcessResult process(int num, JobContext context, String name, boolean flag, long id, double rate) {
+            this.args.addAll(Arrays.asList(num, context, name, flag, id, rate));
+            return ProcessResult.success();
+        }
+
+        public ProcessResult contexts(JobContext first, String name, JobContext second) {
+            this.args.addAll(Arrays.asList(first, name, second));
+            return ProcessResult.success();
+        }
+
+        public int count(JobContext context) {
+            this.args.add(context);
+            return this.args.size();
+        }
+
+        public void stop(JobContext context) {
+            this.args.add(context);
+        }
+
+        public ProcessResult fail(JobContext context) {
+            throw new IllegalStateException("Process failed!");
+        }
+
+        public ProcessResult interrupted(JobContext context) throws InterruptedException {
+            throw new InterruptedException("Process interrupted!");
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package io.openjob.worker.processor;
+
+import com.google.common.util.concurrent.RateLimiter;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author stelin swoft@qq.com
+ * @since 1.0.8
+ */
+public class ShellProcessorTest {
+    @Test
+    public void testUnlimited() {
+        ShellProcessor processor = new ShellProcessor();
+        for (int i = 0; i < 100; i++) {
+            processor.processStdout("line");
+        }
+        Assertions.assertEquals(0L, processor.suppressedLines.get());
+    }
+
+    @Test
+    public void testRateLimited() throws InterruptedException {
+        // Only the first line acquires in the test.
+        ShellProcessor processor = new ShellProcessor();
+        processor.logRateLimiter = RateLimiter.create(0.001);
+        processor.processStdout("first");
+        Assertions.assertEquals(0L, processor.suppressedLines.get());
+
+        // Lines are suppressed from many pump threads.
+        int threadNum = 4;
+        int lineNum = 1000;
+        ExecutorService executorService = Executors.newFixedThreadPool(threadNum);
+        CountDownLatch latch = new CountDownLatch(threadNum);
+        for (int i = 0; i < threadNum; i++) {
+            executorService.submit(() -> {
+                for (int j = 0; j < lineNum; j++) {
+                    processor.processStdout("line");
+                }
+                latch.countDown();
+            });
+        }
+
+        Assertions.assertTrue(latch.await(10, TimeUnit.SECONDS));
+        executorService.shutdown();
+        Assertions.assertEquals((long) threadNum * lineNum, processor.suppressedLines.get());
+
+        // Flushed
+        processor.flushSuppressedLines();
+        Assertions.assertEquals(0L, processor.suppressedLines.get());
+    }
+}
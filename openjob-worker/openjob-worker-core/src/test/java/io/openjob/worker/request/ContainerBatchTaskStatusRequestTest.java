@@ -0,0 +1,66 @@
+package io.openjob.worker.request;
+
+import com.esotericsoftware.kryo.kryo5.Kryo;
+import io.openjob.common.constant.TaskStatusEnum;
+import io.openjob.common.util.KryoUtil;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author stelin swoft@qq.com
+ * @since 1.0.8
+ */
+public class ContainerBatchTaskStatusRequestTest {
+    private static final String MASTER_PATH = "akka://openjob@10.0.0.1:25588/user/task-master/$a";
+    private static final String WORKER_ADDRESS = "10.0.0.2:25588";
+
+    @Test
+    public void testCompact() {
+        Kryo kryo = KryoUtil.newKryo(false);
+        int fullSize = KryoUtil.serialize(kryo, this.batchRequest(256)).length;
+
+        ContainerBatchTaskStatusRequest batchRequest = this.batchRequest(256);
+        batchRequest.compact();
+        byte[] bytes = KryoUtil.serialize(kryo, batchRequest);
+        Assertions.assertTrue(bytes.length < fullSize / 2);
+
+        // Restore on master, every status is the same as sent.
+        ContainerBatchTaskStatusRequest received = (ContainerBatchTaskStatusRequest) KryoUtil.deserialize(kryo, bytes);
+        received.restore();
+        Assertions.assertEquals(this.batchRequest(256).getTaskStatusList(), received.getTaskStatusList());
+
+        ContainerTaskStatusRequest status = received.getTaskStatusList().get(10);
+        Assertions.assertEquals(2L, status.getJobInstanceId());
+        Assertions.assertEquals(MASTER_PATH, status.getMasterActorPath());
+        Assertions.assertEquals(WORKER_ADDRESS, status.getWorkerAddress());
+        Assertions.assertEquals(this.batchRequest(256).getTaskStatusList().get(10).getTaskUniqueId(), status.getTaskUniqueId());
+    }
+
+    private ContainerBatchTaskStatusRequest batchRequest(int size) {
+        List<ContainerTaskStatusRequest> statusList = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            ContainerTaskStatusRequest status = new ContainerTaskStatusRequest();
+            status.setJobId(1L);
+            status.setJobInstanceId(2L);
+            status.setDispatchVersion(1700000000000L);
+            status.setCircleId(1L);
+            status.setTaskId((long) i);
+            status.setStatus(TaskStatusEnum.RUNNING.getStatus());
+            status.setWorkerAddress(WORKER_ADDRESS);
+            status.setMasterActorPath(MASTER_PATH);
+            statusList.add(status);
+        }
+
+        ContainerBatchTaskStatusRequest batchRequest = new ContainerBatchTaskStatusRequest();
+        batchRequest.setJobId(1L);
+        batchRequest.setJobInstanceId(2L);
+        batchRequest.setCircleId(1L);
+        batchRequest.setWorkerAddress(WORKER_ADDRESS);
+        batchRequest.setMasterActorPath(MASTER_PATH);
+        batchRequest.setTaskStatusList(statusList);
+        return batchRequest;
+    }
+}
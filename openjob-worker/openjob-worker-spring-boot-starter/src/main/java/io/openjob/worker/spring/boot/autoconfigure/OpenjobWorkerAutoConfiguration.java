@@ -79,6 +79,30 @@ public class OpenjobWorkerAutoConfiguration implements InitializingBean {
             System.setProperty(WorkerConstant.WORKER_DELAY_MASTER_ACTOR_NUM, String.valueOf(this.properties.getActor().getDelayMasterNum()));
         }
 
+        // Container
+        if (StringUtils.isEmpty(System.getProperty(WorkerConstant.WORKER_TASK_CONTAINER_TYPE))
+                && Objects.nonNull(this.properties.getContainer().getType())) {
+            System.setProperty(WorkerConstant.WORKER_TASK_CONTAINER_TYPE, this.properties.getContainer().getType());
+        }
+        if (StringUtils.isEmpty(System.getProperty(WorkerConstant.WORKER_TASK_CONTAINER_SHARED_THREAD_NUM))
+                && Objects.nonNull(this.properties.getContainer().getSharedThreadNum())) {
+            System.setProperty(WorkerConstant.WORKER_TASK_CONTAINER_SHARED_THREAD_NUM, String.valueOf(this.properties.getContainer().getSharedThreadNum()));
+        }
+        if (StringUtils.isEmpty(System.getProperty(WorkerConstant.WORKER_TASK_CONTAINER_VIRTUAL_ENABLE))
+                && Objects.nonNull(this.properties.getContainer().getVirtualEnable())) {
+            System.setProperty(WorkerConstant.WORKER_TASK_CONTAINER_VIRTUAL_ENABLE, String.valueOf(this.properties.getContainer().getVirtualEnable()));
+        }
+
+        // Shell
+        if (StringUtils.isEmpty(System.getProperty(WorkerConstant.WORKER_SHELL_PUMP_THREAD_NUM))
+                && Objects.nonNull(this.properties.getShell().getPumpThreadNum())) {
+            System.setProperty(WorkerConstant.WORKER_SHELL_PUMP_THREAD_NUM, String.valueOf(this.properties.getShell().getPumpThreadNum()));
+        }
+        if (StringUtils.isEmpty(System.getProperty(WorkerConstant.WORKER_SHELL_LOG_RATE))
+                && Objects.nonNull(this.properties.getShell().getLogRate())) {
+            System.setProperty(WorkerConstant.WORKER_SHELL_LOG_RATE, String.valueOf(this.properties.getShell().getLogRate()));
+        }
+
         // Delay
         if (StringUtils.isEmpty(System.getProperty(WorkerConstant.WORKER_DELAY_ENABLE))
                 && Objects.nonNull(this.properties.getDelay().getEnable())) {
@@ -36,6 +36,16 @@ public class OpenjobWorkerProperties {
      */
     private Delay delay = new Delay();
 
+    /**
+     * Container configuration
+     */
+    private Container container = new Container();
+
+    /**
+     * Shell configuration
+     */
+    private Shell shell = new Shell();
+
     @Data
     public static class Server {
         /**
@@ -122,4 +132,35 @@ public class OpenjobWorkerProperties {
          */
         public Long timeout;
     }
+
+    @Data
+    public static class Container {
+        /**
+         * Default is thread, `shared` to run all containers on shared executor
+         */
+        private String type;
+
+        /**
+         * Shared executor thread num
+         */
+        private Integer sharedThreadNum;
+
+        /**
+         * Shared executor use virtual thread(JDK 21+)
+         */
+        private Boolean virtualEnable;
+    }
+
+    @Data
+    public static class Shell {
+        /**
+         * Output pump thread num
+         */
+        private Integer pumpThreadNum;
+
+        /**
+         * Output log lines per second, zero is unlimited
+         */
+        private Integer logRate;
+    }
 }